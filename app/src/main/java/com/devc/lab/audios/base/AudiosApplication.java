@@ -5,6 +5,7 @@ import android.app.Application;
 // import com.arthenica.mobileffmpeg.BuildConfig;
 // import com.devc.lab.audios.BuildConfig; // BuildConfig 작성 전에는 비활성화
 import com.devc.lab.audios.R;
+import com.devc.lab.audios.manager.MediaJobQueue;
 import com.devc.lab.audios.manager.NativeMediaInfoManager;
 import com.devc.lab.audios.manager.NativeAudioExtractorManager;
 import com.devc.lab.audios.manager.NativeAudioTrimManager;
@@ -28,6 +29,8 @@ public class AudiosApplication extends Application {
         initNativeAudioExtractor();
         
         initNativeAudioTrimManager();
+        
+        initMediaJobQueue();
 
         initFont();
     }
@@ -61,6 +64,12 @@ public class AudiosApplication extends Application {
         Timber.d("NativeAudioTrimManager 초기화 완료");
     }
 
+    private void initMediaJobQueue() {
+        // 작업 큐 영속화 - 추출/자르기 관리자 초기화 후 이전 실행에서 끝나지 않은 작업 재개
+        MediaJobQueue.getInstance().init(this);
+        Timber.d("MediaJobQueue 초기화 완료");
+    }
+    
     private void initFont() {
         // 임시로 폰트 설정 비활성화 - 기본 시스템 폰트 사용
         /*
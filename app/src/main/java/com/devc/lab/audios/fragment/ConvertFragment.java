@@ -22,10 +22,19 @@ import com.devc.lab.audios.manager.FileManager;
 import com.devc.lab.audios.manager.ToastManager;
 import com.devc.lab.audios.manager.AudioConversionManager;
 import com.devc.lab.audios.manager.DialogManager;
+import com.devc.lab.audios.manager.NativeMediaInfoManager;
 import com.devc.lab.audios.model.ConversionSettings;
 import com.devc.lab.audios.activity.MainActivity;
 import com.devc.lab.audios.model.MainViewModel;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
 public class ConvertFragment extends Fragment {
     private FragmentConvertBinding binding;
     private FileManager fileManager;
@@ -36,7 +45,11 @@ public class ConvertFragment extends Fragment {
     // 현재 변환 설정 저장
     private ConversionSettings currentConversionSettings;
     
-    // Activity Result Launchers (빠른 작업 제거로 단순화)
+    // 다운믹스 제안용 채널 수 조회 (설정 대화상자마다 파일을 열어 보므로 한 스레드에서 차례로)
+    private static final int MAX_CHANNEL_PROBE_FILES = 5;
+    private ExecutorService channelProbeExecutor;
+    
+    // Activity Result Launchers (빠른 작업 제거로 단순화, 여러 파일 선택 시 일괄 변환)
     private ActivityResultLauncher<String[]> generalFileLauncher;
     
     public static ConvertFragment newInstance() {
@@ -61,11 +74,13 @@ public class ConvertFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
         initManagers();
         setupUI();
+        observeBatchConversion();
     }
     
     private void initManagers() {
         fileManager = new FileManager(getContext());
         toastManager = new ToastManager(getContext());
+        channelProbeExecutor = Executors.newSingleThreadExecutor();
         audioConversionManager = new AudioConversionManager();
         dialogManager = new DialogManager(getContext());
         
@@ -113,12 +128,17 @@ public class ConvertFragment extends Fragment {
     }
     
     private void setupActivityResultLaunchers() {
-        // 모든 미디어 파일 선택 런처 (빠른 작업 제거로 단순화)
+        // 모든 미디어 파일 선택 런처 (하나면 단일 변환, 여러 개면 일괄 변환)
         generalFileLauncher = registerForActivityResult(
-            new ActivityResultContracts.OpenDocument(),
-            uri -> {
-                if (uri != null) {
-                    handleSelectedFile(uri, "general");
+            new ActivityResultContracts.OpenMultipleDocuments(),
+            uris -> {
+                if (uris == null || uris.isEmpty()) {
+                    return;
+                }
+                if (uris.size() == 1) {
+                    handleSelectedFile(uris.get(0), "general");
+                } else {
+                    handleSelectedFiles(uris);
                 }
             }
         );
@@ -168,7 +188,28 @@ public class ConvertFragment extends Fragment {
         }
     }
     
+    private void handleSelectedFiles(List<Uri> fileUris) {
+        toastManager.showToastShort(fileUris.size() + "개 파일 선택됨");
+        
+        showConversionSettingsDialog(fileUris, settings -> startBatchConversion(fileUris, settings));
+    }
+    
     private void showConversionSettingsDialog(Uri fileUri, String fileName, String fileType) {
+        showConversionSettingsDialog(Collections.singletonList(fileUri), settings -> {
+            settings.setInputPath(fileUri.toString());
+            
+            // 출력 파일명 생성 (경로는 AudioConversionManager에서 자동 생성)
+            String outputFileName = generateOutputFileName(fileName, settings.getFormat());
+            settings.setOutputPath(outputFileName); // 이제 파일명만 저장
+            
+            // 현재 변환 설정 저장 (콜백에서 사용)
+            currentConversionSettings = settings;
+            
+            startConversion(fileUri, settings);
+        });
+    }
+    
+    private void showConversionSettingsDialog(List<Uri> fileUris, Consumer<ConversionSettings> onStart) {
         DialogConversionSettingsBinding dialogBinding = DialogConversionSettingsBinding.inflate(getLayoutInflater());
         
         // 샘플 레이트 드로프다운 설정
@@ -183,22 +224,15 @@ public class ConvertFragment extends Fragment {
                 
         androidx.appcompat.app.AlertDialog dialog = builder.create();
         
+        // 멀티채널 원본이면 스테레오 다운믹스 제안
+        setupChannelSuggestion(dialogBinding, dialog, fileUris);
+        
         // 취소 버튼 클릭 리스너
         dialogBinding.btnCancel.setOnClickListener(v -> dialog.dismiss());
         
         // 변환 시작 버튼 클릭 리스너
         dialogBinding.btnStartConversion.setOnClickListener(v -> {
-            ConversionSettings settings = getConversionSettingsFromDialog(dialogBinding);
-            settings.setInputPath(fileUri.toString());
-            
-            // 출력 파일명 생성 (경로는 AudioConversionManager에서 자동 생성)
-            String outputFileName = generateOutputFileName(fileName, settings.getFormat());
-            settings.setOutputPath(outputFileName); // 이제 파일명만 저장
-            
-            // 현재 변환 설정 저장 (콜백에서 사용)
-            currentConversionSettings = settings;
-            
-            startConversion(fileUri, settings);
+            onStart.accept(getConversionSettingsFromDialog(dialogBinding));
             dialog.dismiss();
         });
         
@@ -206,24 +240,131 @@ public class ConvertFragment extends Fragment {
     }
     
     private void setupSampleRateDropdown(DialogConversionSettingsBinding dialogBinding) {
-        // Native API에서는 샘플레이트 설정이 무시되므로 제거
-        // UI 간소화로 사용자 혼란 방지
+        // 기본값: 원본 샘플레이트 유지 (재인코딩 없음)
+        dialogBinding.toggleSampleRate.check(R.id.btn_sample_rate_source);
     }
     
     private void setupBitrateSlider(DialogConversionSettingsBinding dialogBinding) {
-        // Native API에서는 비트레이트 설정이 무시되므로 제거
-        // UI 간소화로 사용자 혼란 방지
+        // 기본값: 원본 비트레이트 유지 (재인코딩 없음)
+        dialogBinding.toggleBitrate.check(R.id.btn_bitrate_source);
+    }
+    
+    /**
+     * 멀티채널 원본이면 스테레오 다운믹스 제안
+     * 앞쪽 최대 MAX_CHANNEL_PROBE_FILES개 파일만 조회하고 2채널을 넘는 첫 파일에서 멈춤
+     * 대화상자가 닫히면 조회를 취소하고 늦게 온 결과는 버림
+     */
+    private void setupChannelSuggestion(DialogConversionSettingsBinding dialogBinding,
+                                        androidx.appcompat.app.AlertDialog dialog, List<Uri> fileUris) {
+        // 기본값: 원본 채널 유지, 오디오 트랙 채널 수는 백그라운드에서 조회
+        dialogBinding.toggleChannels.check(R.id.btn_channels_source);
+        if (channelProbeExecutor == null || channelProbeExecutor.isShutdown()) {
+            return;
+        }
+        
+        List<Uri> probeUris = new ArrayList<>(fileUris.subList(0, Math.min(fileUris.size(), MAX_CHANNEL_PROBE_FILES)));
+        Future<?> probe = channelProbeExecutor.submit(() -> {
+            int multiChannels = 0;
+            for (Uri uri : probeUris) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                int channels = NativeMediaInfoManager.getInstance().getAudioChannelCount(uri);
+                if (channels > 2) {
+                    multiChannels = channels;
+                    break;
+                }
+            }
+            if (multiChannels == 0) {
+                return;
+            }
+            
+            int channels = multiChannels;
+            dialogBinding.getRoot().post(() -> {
+                if (!isAdded() || !dialog.isShowing()) {
+                    return;
+                }
+                // 사용자가 이미 다른 값을 골랐으면 문구만 표시
+                if (dialogBinding.toggleChannels.getCheckedButtonId() == R.id.btn_channels_source) {
+                    dialogBinding.toggleChannels.check(R.id.btn_channels_stereo);
+                }
+                dialogBinding.textChannelSuggestion.setText(describeChannels(channels)
+                    + " 음원입니다. 휴대폰 재생용이라면 스테레오 다운믹스로 인코딩 시간과 파일 크기를 줄일 수 있습니다");
+                dialogBinding.textChannelSuggestion.setVisibility(View.VISIBLE);
+            });
+        });
+        dialog.setOnDismissListener(d -> probe.cancel(true));
+    }
+    
+    private String describeChannels(int channels) {
+        switch (channels) {
+            case 6:
+                return "5.1채널";
+            case 8:
+                return "7.1채널";
+            default:
+                return channels + "채널";
+        }
     }
     
     private ConversionSettings getConversionSettingsFromDialog(DialogConversionSettingsBinding dialogBinding) {
         ConversionSettings settings = new ConversionSettings();
         
-        // M4A 포맷으로 고정 설정 (WEBM 지원 제거)
-        settings.setFormat(ConversionSettings.AudioFormat.M4A);
+        // WAV/FLAC은 무손실, OPUS는 고효율 손실 압축, M4A는 원본 코덱 유지 또는 AAC (WEBM 지원 제거)
+        int formatId = dialogBinding.toggleFormat.getCheckedButtonId();
+        if (formatId == R.id.btn_format_wav) {
+            settings.setFormat(ConversionSettings.AudioFormat.WAV);
+        } else if (formatId == R.id.btn_format_flac) {
+            settings.setFormat(ConversionSettings.AudioFormat.FLAC);
+        } else if (formatId == R.id.btn_format_opus) {
+            settings.setFormat(ConversionSettings.AudioFormat.OPUS);
+            settings.setSpeechOptimized(dialogBinding.switchSpeechPreset.isChecked());
+        } else {
+            settings.setFormat(ConversionSettings.AudioFormat.M4A);
+        }
         
-        // Native API는 원본 품질을 유지하므로 기본값 사용
-        settings.setBitrate(128); // 기본값 (실제로는 원본 비트레이트 유지)
-        settings.setSampleRate(44100); // 기본값 (실제로는 원본 샘플레이트 유지)
+        // 원본과 다른 값을 고르면 AAC로 재인코딩, 원본이면 stream copy
+        int bitrateId = dialogBinding.toggleBitrate.getCheckedButtonId();
+        if (bitrateId == R.id.btn_bitrate_96) {
+            settings.setBitrate(AudioConversionManager.AudioQuality.LOW.getBitrate());
+        } else if (bitrateId == R.id.btn_bitrate_128) {
+            settings.setBitrate(AudioConversionManager.AudioQuality.MEDIUM.getBitrate());
+        } else if (bitrateId == R.id.btn_bitrate_192) {
+            settings.setBitrate(AudioConversionManager.AudioQuality.HIGH.getBitrate());
+        } else if (bitrateId == R.id.btn_bitrate_320) {
+            settings.setBitrate(AudioConversionManager.AudioQuality.VERY_HIGH.getBitrate());
+        } else {
+            settings.setBitrate(ConversionSettings.KEEP_SOURCE);
+        }
+        
+        // 원본과 다른 값을 고르면 PolyphaseResampler로 변환 (16k/22.05k는 음성 내보내기용)
+        int sampleRateId = dialogBinding.toggleSampleRate.getCheckedButtonId();
+        if (sampleRateId == R.id.btn_sample_rate_16000) {
+            settings.setSampleRate(16000);
+        } else if (sampleRateId == R.id.btn_sample_rate_22050) {
+            settings.setSampleRate(22050);
+        } else if (sampleRateId == R.id.btn_sample_rate_44100) {
+            settings.setSampleRate(44100);
+        } else if (sampleRateId == R.id.btn_sample_rate_48000) {
+            settings.setSampleRate(48000);
+        } else {
+            settings.setSampleRate(ConversionSettings.KEEP_SOURCE);
+        }
+        
+        int channelsId = dialogBinding.toggleChannels.getCheckedButtonId();
+        if (channelsId == R.id.btn_channels_stereo) {
+            settings.setChannelMode(ConversionSettings.ChannelMode.STEREO);
+        } else if (channelsId == R.id.btn_channels_mono) {
+            settings.setChannelMode(ConversionSettings.ChannelMode.MONO);
+        } else if (channelsId == R.id.btn_channels_left) {
+            settings.setChannelMode(ConversionSettings.ChannelMode.LEFT);
+        } else if (channelsId == R.id.btn_channels_right) {
+            settings.setChannelMode(ConversionSettings.ChannelMode.RIGHT);
+        } else {
+            settings.setChannelMode(ConversionSettings.ChannelMode.SOURCE);
+        }
+        
+        settings.setNormalizeLoudness(dialogBinding.switchLoudnessNormalize.isChecked());
         
         return settings;
     }
@@ -251,19 +392,9 @@ public class ConvertFragment extends Fragment {
         
         com.devc.lab.audios.manager.LoggerManager.logger("Conversion Settings: " + settings.toString());
         
-        // AudioConversionManager 출력 포맷 변환
-        AudioConversionManager.OutputFormat outputFormat = convertToAudioConversionFormat(settings.getFormat());
-        AudioConversionManager.AudioQuality audioQuality = convertToAudioConversionQuality(settings.getBitrate());
-        
         try {
-            // 실제 AudioConversion 변환 시작
-            audioConversionManager.extractAudioFromVideoUri(
-                fileUri, 
-                settings.getOutputPath(), // 파일명
-                outputFormat, 
-                audioQuality, 
-                getContext()
-            );
+            // 실제 변환 시작 (비트레이트/샘플레이트가 원본과 다를 때만 재인코딩)
+            audioConversionManager.convertAudio(fileUri, settings, getContext());
             
         } catch (Exception e) {
             com.devc.lab.audios.manager.LoggerManager.logger("변환 시작 실패: " + e.getMessage());
@@ -272,17 +403,64 @@ public class ConvertFragment extends Fragment {
         }
     }
     
-    private AudioConversionManager.OutputFormat convertToAudioConversionFormat(ConversionSettings.AudioFormat format) {
-        // M4A 포맷만 지원하므로 단순화 (WEBM 지원 제거)
-        return AudioConversionManager.OutputFormat.M4A;
+    private void startBatchConversion(List<Uri> fileUris, ConversionSettings settings) {
+        MainActivity activity = (MainActivity) getActivity();
+        if (activity == null) {
+            return;
+        }
+        MainViewModel viewModel = activity.getMainViewModel();
+        
+        // 항목별 출력 파일명 (겹치는 이름은 BatchConversionQueue에서 번호를 붙임)
+        List<String> outputFileNames = new ArrayList<>();
+        for (Uri uri : fileUris) {
+            String fileName = fileManager.getFileName(getContext(), uri);
+            outputFileNames.add(generateOutputFileName(fileName != null ? fileName : "audio", settings.getFormat()));
+        }
+        
+        toastManager.showToastShort(fileUris.size() + "개 파일 일괄 변환을 시작합니다: " + settings.getFormat());
+        viewModel.startBatchConversion(fileUris, outputFileNames, settings);
+        showBatchProgressDialogIfNeeded(viewModel);
     }
     
-    private AudioConversionManager.AudioQuality convertToAudioConversionQuality(int bitrate) {
-        // Native API는 원본 품질을 유지하므로 MEDIUM을 기본값으로 사용
-        // 이 값은 로깅 목적으로만 사용되며 실제 변환에는 영향 없음
-        return AudioConversionManager.AudioQuality.MEDIUM;
+    /**
+     * 진행 중인 일괄 변환의 진행 다이얼로그 표시 (상태는 MainViewModel에 있으므로 화면이 다시 만들어져도 복원)
+     */
+    private void showBatchProgressDialogIfNeeded(MainViewModel viewModel) {
+        if (!viewModel.shouldShowBatchDialog()) {
+            return;
+        }
+        dialogManager.showBatchProgressDialog(viewModel.getBatchItemCount(), viewModel.getBatchSettings(),
+                                              viewModel::cancelBatchConversion,
+                                              viewModel::sendBatchConversionToBackground);
     }
     
+    /**
+     * 일괄 변환 진행 상황 관찰 (다이얼로그 갱신, 종료 시 결과 알림)
+     */
+    private void observeBatchConversion() {
+        MainActivity activity = (MainActivity) getActivity();
+        if (activity == null) {
+            return;
+        }
+        MainViewModel viewModel = activity.getMainViewModel();
+        showBatchProgressDialogIfNeeded(viewModel);
+        
+        viewModel.getBatchStatus().observe(getViewLifecycleOwner(), snapshot -> {
+            if (snapshot == null || !isFragmentActive()) {
+                return;
+            }
+            dialogManager.updateBatchProgress(snapshot);
+            
+            if (snapshot.finished && viewModel.consumeBatchResult()) {
+                dialogManager.dismissProgressDialog();
+                String result = "일괄 변환 완료: 성공 " + snapshot.completedCount + " / " + snapshot.totalCount;
+                if (snapshot.failedCount > 0) {
+                    result += ", 실패 " + snapshot.failedCount;
+                }
+                toastManager.showToastShort(result);
+            }
+        });
+    }
     
     /**
      * Fragment가 활성 상태이고 UI 업데이트가 안전한지 확인
@@ -312,6 +490,12 @@ public class ConvertFragment extends Fragment {
             audioConversionManager.cleanup();
         }
         
+        // 남은 채널 수 조회 중단
+        if (channelProbeExecutor != null) {
+            channelProbeExecutor.shutdownNow();
+            channelProbeExecutor = null;
+        }
+        
         // 참조 해제
         dialogManager = null;
         toastManager = null;
@@ -26,7 +26,10 @@ import com.devc.lab.audios.manager.AudioConversionManager;
 import com.devc.lab.audios.manager.DialogManager;
 import com.devc.lab.audios.manager.AudioTrimManager;
 import com.devc.lab.audios.manager.LoggerManager;
-import com.devc.lab.audios.manager.NativeAudioTrimManager;
+import com.devc.lab.audios.manager.MediaJob;
+import com.devc.lab.audios.manager.MediaJobQueue;
+import com.devc.lab.audios.manager.NativeAudioMergeManager;
+import com.devc.lab.audios.manager.TrimPreviewPlayer;
 import com.devc.lab.audios.model.EditViewModel;
 import com.devc.lab.audios.model.MainViewModel;
 import com.devc.lab.audios.view.WaveformView;
@@ -35,6 +38,11 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class EditFragment extends Fragment {
     private FragmentEditBinding binding;
@@ -48,6 +56,11 @@ public class EditFragment extends Fragment {
     private AudioConversionManager audioConversionManager;
     private DialogManager dialogManager;
     private AudioTrimManager audioTrimManager;
+    private NativeAudioMergeManager audioMergeManager;
+    private TrimPreviewPlayer trimPreviewPlayer;
+    
+    // 진행 중인 합치기 작업 ID (없으면 -1)
+    private long mergeJobId = -1;
     // LoggerManager는 static 메서드를 사용하므로 인스턴스 변수 불필요
     
     // 미디어 플레이어
@@ -62,6 +75,7 @@ public class EditFragment extends Fragment {
     
     // Activity Result Launchers
     private ActivityResultLauncher<String[]> audioFileLauncher;
+    private ActivityResultLauncher<String[]> mergeFilesLauncher;
     
     public static EditFragment newInstance() {
         return new EditFragment();
@@ -103,6 +117,9 @@ public class EditFragment extends Fragment {
         dialogManager = new DialogManager(getContext());
         audioTrimManager = AudioTrimManager.getInstance();
         audioTrimManager.init(getContext());
+        audioMergeManager = NativeAudioMergeManager.getInstance();
+        audioMergeManager.init(getContext());
+        trimPreviewPlayer = new TrimPreviewPlayer(getContext());
         // LoggerManager는 static 메서드를 사용하므로 인스턴스 불필요
         
         progressHandler = new Handler(Looper.getMainLooper());
@@ -112,6 +129,9 @@ public class EditFragment extends Fragment {
         
         // AudioTrimManager 콜백 설정 (자르기 작업용)
         setupAudioTrimCallbacks();
+        
+        // 선택 구간 미리듣기 콜백 설정
+        setupTrimPreviewCallbacks();
     }
     
     private void setupAudioConversionCallbacks() {
@@ -200,6 +220,65 @@ public class EditFragment extends Fragment {
         });
     }
     
+    /**
+     * 합치기 작업 콜백 (작업마다 생성, 메인 스레드에서 호출됨)
+     */
+    private MediaJob.Listener createMergeJobListener() {
+        return new MediaJob.Listener() {
+            @Override
+            public void onJobStart(long jobId) {
+                if (getActivity() == null) return;
+                dialogManager.showProgressDialog();
+                LoggerManager.logger("🔗 오디오 합치기 시작 (작업 #" + jobId + ")");
+            }
+            
+            @Override
+            public void onJobProgress(long jobId, int progress) {
+                if (getActivity() == null) return;
+                dialogManager.updateProgress(progress);
+            }
+            
+            @Override
+            public void onJobComplete(long jobId, String outputPath) {
+                if (jobId == mergeJobId) {
+                    mergeJobId = -1;
+                }
+                if (getActivity() == null) return;
+                dialogManager.dismissProgressDialog();
+                requestLibraryRefresh();
+                toastManager.showToastLong("합치기 완료! 파일이 편집 폴더에 저장되었습니다.");
+                LoggerManager.logger("✅ 합치기 완료: " + outputPath);
+            }
+            
+            @Override
+            public void onJobError(long jobId, String error) {
+                if (jobId == mergeJobId) {
+                    mergeJobId = -1;
+                }
+                if (getActivity() == null) return;
+                dialogManager.dismissProgressDialog();
+                toastManager.showToastLong("합치기 중 오류가 발생했습니다: " + error);
+                LoggerManager.logger("❌ 합치기 오류: " + error);
+            }
+        };
+    }
+    
+    private void setupTrimPreviewCallbacks() {
+        trimPreviewPlayer.setOnPreviewStateChangeListener(playing -> {
+            if (binding == null) return;
+            binding.btnPreviewSelection.setIcon(getResources().getDrawable(
+                playing ? R.drawable.ic_pause : R.drawable.ic_play, null));
+            binding.btnPreviewSelection.setText(playing ? "미리듣기 정지" : "선택 구간 미리듣기");
+        });
+        
+        trimPreviewPlayer.setOnPreviewErrorListener(error -> {
+            if (toastManager != null) {
+                toastManager.showToastShort(error);
+            }
+            LoggerManager.logger("❌ 미리듣기 오류: " + error);
+        });
+    }
+    
     private void setupActivityResultLaunchers() {
         audioFileLauncher = registerForActivityResult(
             new ActivityResultContracts.OpenDocument(),
@@ -209,6 +288,15 @@ public class EditFragment extends Fragment {
                 }
             }
         );
+        
+        mergeFilesLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenMultipleDocuments(),
+            uris -> {
+                if (uris != null && !uris.isEmpty()) {
+                    showMergeDialog(uris);
+                }
+            }
+        );
     }
     
     private void setupUI() {
@@ -216,8 +304,8 @@ public class EditFragment extends Fragment {
         binding.btnSelectFileToEdit.setOnClickListener(v -> selectFileToEdit());
         
         // 편집 도구 버튼들 클릭 리스너 (자르기 버튼 제거됨)
+        binding.btnMerge.setOnClickListener(v -> mergeAudio());
         // 임시 주석 처리된 버튼들의 리스너
-        // binding.btnMerge.setOnClickListener(v -> mergeAudio());
         // binding.btnVolume.setOnClickListener(v -> adjustVolume());
         // binding.btnEffects.setOnClickListener(v -> applyEffects());
         
@@ -290,6 +378,10 @@ public class EditFragment extends Fragment {
                 // URI에서 직접 메타데이터 추출
                 extractAudioMetadataFromUri(uri);
                 
+                // 선택 구간 미리듣기 준비 (시작부를 미리 디코딩해 첫 소리 지연 최소화)
+                trimPreviewPlayer.setSource(uri);
+                updatePreviewSelection();
+                
                 // UI 업데이트 (파일명 표시)
                 updateUIForSelectedFile(fileName);
                 
@@ -375,11 +467,13 @@ public class EditFragment extends Fragment {
     
     private void setEditToolsEnabled(boolean enabled) {
         // 자르기 버튼 제거로 인해 편집 도구 활성화/비활성화 로직 업데이트
+        // 합치기는 선택된 파일과 무관하게 항상 사용 가능
         // 임시 주석 처리된 버튼들 비활성화/활성화 제외
-        // binding.btnMerge.setEnabled(enabled);
         // binding.btnVolume.setEnabled(enabled);
         // binding.btnEffects.setEnabled(enabled);
         binding.btnSaveEdited.setEnabled(enabled);
+        binding.toggleSelectionMode.setEnabled(enabled);
+        binding.btnPreviewSelection.setEnabled(enabled);
         
         binding.btnPlayPause.setEnabled(enabled);
         binding.sliderProgress.setEnabled(enabled);
@@ -409,6 +503,20 @@ public class EditFragment extends Fragment {
     private void setupTrimControls() {
         // 자르기 적용 버튼이 제거되어 더 이상 필요 없음
         // 자르기 기능은 저장 버튼에서 통합 처리됨
+        
+        // 선택 구간 미리듣기 (파일 저장 없이 재생)
+        binding.btnPreviewSelection.setOnClickListener(v -> toggleSelectionPreview());
+        
+        // 선택 구간 모드 (남기기 / 삭제)
+        binding.toggleSelectionMode.addOnButtonCheckedListener((group, checkedId, isChecked) -> {
+            if (!isChecked) return;
+            
+            boolean delete = checkedId == R.id.btn_mode_delete;
+            editViewModel.setDeleteSelection(delete);
+            binding.waveformView.setSelectionMode(delete
+                ? WaveformView.SelectionMode.DELETE : WaveformView.SelectionMode.KEEP);
+            updateTrimTimeDisplay();
+        });
     }
     
     private void observeViewModel() {
@@ -427,6 +535,7 @@ public class EditFragment extends Fragment {
             if (position != null) {
                 binding.waveformView.setTrimStartPosition(position);
                 updateTrimTimeDisplay();
+                updatePreviewSelection();
             }
         });
         
@@ -435,6 +544,7 @@ public class EditFragment extends Fragment {
             if (position != null) {
                 binding.waveformView.setTrimEndPosition(position);
                 updateTrimTimeDisplay();
+                updatePreviewSelection();
             }
         });
         
@@ -498,34 +608,106 @@ public class EditFragment extends Fragment {
         binding.tvTrimDuration.setText(editViewModel.getTrimDurationText());
     }
     
-    // trimAudio() 메서드 제거됨 - 자르기 기능이 저장 버튼에 통합됨
+    /**
+     * 미리듣기 구간을 현재 선택 구간으로 갱신 (바뀐 부분만 디코딩됨)
+     */
+    private void updatePreviewSelection() {
+        if (trimPreviewPlayer == null || selectedFileUri == null || audioDurationMs <= 0) {
+            return;
+        }
+        Float start = editViewModel.getTrimStartPosition().getValue();
+        Float end = editViewModel.getTrimEndPosition().getValue();
+        if (start == null || end == null) {
+            return;
+        }
+        long durationUs = audioDurationMs * 1000L;
+        trimPreviewPlayer.setSelection((long) (start * durationUs), (long) (end * durationUs));
+    }
     
-    // 편집 도구 메서드들 - 임시 주석 처리 (편집도구 영역 숨김)
-    // TODO: 향후 편집도구 기능 완성 시 주석 해제
-    /*
-    private void mergeAudio() {
+    /**
+     * 선택 구간 미리듣기 재생/정지
+     */
+    private void toggleSelectionPreview() {
         if (selectedFileUri == null) {
             toastManager.showToastShort("먼저 파일을 선택해주세요");
             return;
         }
         
-        // 합치기 다이얼로그 표시
-        showMergeDialog();
+        if (trimPreviewPlayer.isPlaying()) {
+            trimPreviewPlayer.stop();
+            return;
+        }
+        
+        // 전체 재생과 겹치지 않도록 일시정지
+        if (isPlaying) {
+            pausePlayback();
+        }
+        updatePreviewSelection();
+        trimPreviewPlayer.play();
+    }
+    
+    // trimAudio() 메서드 제거됨 - 자르기 기능이 저장 버튼에 통합됨
+    
+    /**
+     * 합치기: 이어 붙일 파일들을 선택 (파일 선택기는 결과 순서를 보장하지 않으므로 파일 이름순으로 합침)
+     */
+    private void mergeAudio() {
+        if (MediaJobQueue.getInstance().isActive(mergeJobId)) {
+            toastManager.showToastShort("이미 합치기 작업이 진행 중입니다");
+            return;
+        }
+        
+        try {
+            mergeFilesLauncher.launch(new String[]{"audio/*"});
+            LoggerManager.logger("합칠 오디오 파일 선택 다이얼로그 실행");
+        } catch (Exception e) {
+            toastManager.showToastLong("파일 선택 중 오류가 발생했습니다: " + e.getMessage());
+            LoggerManager.logger("합치기 파일 선택 오류: " + e.getMessage());
+        }
     }
     
-    private void showMergeDialog() {
+    private void showMergeDialog(List<Uri> selectedUris) {
         if (getContext() == null) return;
         
-        MaterialAlertDialogBuilder builder = new MaterialAlertDialogBuilder(getContext());
+        if (selectedUris.size() < 2) {
+            toastManager.showToastShort("합칠 파일을 2개 이상 선택해주세요");
+            return;
+        }
         
-        builder.setTitle("오디오 합치기")
-               .setMessage("합치기 기능은 개발 중입니다.\n다른 오디오 파일과 합치는 기능이\n향후 업데이트에서 제공될 예정입니다.")
-               .setPositiveButton("확인", (dialog, which) -> dialog.dismiss())
+        // 파일 이름순 정렬 (이름이 같으면 URI 순) - 같은 파일을 고르면 항상 같은 순서
+        Map<Uri, String> names = new HashMap<>();
+        for (Uri uri : selectedUris) {
+            names.put(uri, fileManager.getFileName(getContext(), uri));
+        }
+        List<Uri> uris = new ArrayList<>(selectedUris);
+        Collections.sort(uris, (a, b) -> {
+            int byName = String.CASE_INSENSITIVE_ORDER.compare(names.get(a), names.get(b));
+            return byName != 0 ? byName : a.toString().compareTo(b.toString());
+        });
+        
+        StringBuilder message = new StringBuilder("파일 이름순으로 합칩니다.\n\n");
+        for (int i = 0; i < uris.size(); i++) {
+            message.append(i + 1).append(". ").append(names.get(uris.get(i))).append("\n");
+        }
+        message.append("\n포맷이 같은 파일은 음질 손실 없이 합쳐집니다.");
+        
+        new MaterialAlertDialogBuilder(getContext())
+               .setTitle("오디오 합치기")
+               .setMessage(message.toString())
+               .setPositiveButton("합치기", (dialog, which) -> {
+                   stopPlayback();
+                   String outputFileName = "merged_" + System.currentTimeMillis();
+                   mergeJobId = audioMergeManager.mergeAudio(uris, outputFileName, createMergeJobListener());
+               })
+               .setNegativeButton("취소", (dialog, which) -> dialog.dismiss())
                .show();
         
-        LoggerManager.logger("오디오 합치기 다이얼로그 표시");
+        LoggerManager.logger("오디오 합치기 다이얼로그 표시: " + uris.size() + "개 파일");
     }
     
+    // 편집 도구 메서드들 - 임시 주석 처리 (볼륨/효과)
+    // TODO: 향후 편집도구 기능 완성 시 주석 해제
+    /*
     private void adjustVolume() {
         if (selectedFileUri == null) {
             toastManager.showToastShort("먼저 파일을 선택해주세요");
@@ -597,11 +779,16 @@ public class EditFragment extends Fragment {
         String trimInfo = editViewModel.getTrimTimeText();
         String trimDuration = editViewModel.getTrimDurationText();
         
-        builder.setTitle("오디오 자르기 및 저장")
-               .setMessage("설정된 자르기 구간으로 오디오를 편집하고 저장하시겠습니까?\n\n" +
-                          "자르기 구간: " + trimInfo + "\n" +
+        boolean deleteSelection = editViewModel.isDeleteSelection();
+        
+        builder.setTitle(deleteSelection ? "구간 삭제 및 저장" : "오디오 자르기 및 저장")
+               .setMessage((deleteSelection
+                              ? "선택한 구간을 삭제하고 앞뒤를 이어 붙여 저장하시겠습니까?\n\n" +
+                                "삭제 구간: "
+                              : "설정된 자르기 구간으로 오디오를 편집하고 저장하시겠습니까?\n\n" +
+                                "자르기 구간: ") + trimInfo + "\n" +
                           "편집 후 길이: " + trimDuration)
-               .setPositiveButton("자르기 및 저장", (dialog, which) -> {
+               .setPositiveButton(deleteSelection ? "삭제 및 저장" : "자르기 및 저장", (dialog, which) -> {
                    performTrimAndSave();
                })
                .setNegativeButton("취소", (dialog, which) -> dialog.dismiss())
@@ -628,6 +815,10 @@ public class EditFragment extends Fragment {
             }
             
             if (Math.abs(startPos - 0f) < 0.001f && Math.abs(endPos - 1f) < 0.001f) {
+                if (editViewModel.isDeleteSelection()) {
+                    toastManager.showToastLong("전체 구간은 삭제할 수 없습니다");
+                    return;
+                }
                 // 전체 구간이 선택된 경우 단순 복사
                 performSimpleSave();
                 return;
@@ -770,6 +961,9 @@ public class EditFragment extends Fragment {
                 binding.tvTrimDuration.setText("00:00");
             }
             
+            // 선택 구간 모드 초기화 (남기기)
+            binding.toggleSelectionMode.check(R.id.btn_mode_keep);
+            
             // 편집 도구들 비활성화
             setEditToolsEnabled(false);
             
@@ -902,8 +1096,12 @@ public class EditFragment extends Fragment {
         
         // 진행중인 자르기 작업 취소 (다른 Fragment 간섭 방지를 위해 cleanup은 호출하지 않음)
         try {
-            NativeAudioTrimManager.getInstance().cancelTrimming();
-            LoggerManager.logger("EditFragment 종료 - 자르기 작업 취소 완료");
+            AudioTrimManager.getInstance().cancelAll();
+            if (mergeJobId >= 0) {
+                MediaJobQueue.getInstance().cancel(mergeJobId);
+                mergeJobId = -1;
+            }
+            LoggerManager.logger("EditFragment 종료 - 자르기/합치기 작업 취소 완료");
         } catch (Exception e) {
             LoggerManager.logger("EditFragment 종료 - 자르기 취소 실패: " + e.getMessage());
         }
@@ -911,6 +1109,12 @@ public class EditFragment extends Fragment {
         // 미디어 플레이어 정리
         stopPlayback();
         
+        // 미리듣기 정리
+        if (trimPreviewPlayer != null) {
+            trimPreviewPlayer.release();
+            trimPreviewPlayer = null;
+        }
+        
         // 핸들러 정리
         stopProgressUpdate();
         
@@ -0,0 +1,152 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AAC-LC 프레임 인코더 (동기 MediaCodec)
+ * 짧은 PCM 구간을 AAC 액세스 유닛 목록으로 인코딩 - 스마트 자르기 경계 프레임 재인코딩용
+ */
+public class AacFrameEncoder {
+
+    private static final String MIME_AAC = MediaFormat.MIMETYPE_AUDIO_AAC;
+    private static final long CODEC_TIMEOUT_US = 10_000;
+
+    /**
+     * AAC-LC 프레임당 샘플 수
+     */
+    public static final int FRAME_SIZE = 1024;
+
+    /**
+     * 인코딩된 AAC 액세스 유닛
+     */
+    public static class EncodedFrame {
+        public final byte[] data;
+
+        EncodedFrame(byte[] data) {
+            this.data = data;
+        }
+    }
+
+    private final int sampleRate;
+    private final int channelCount;
+    private final int bitrate;
+    private MediaFormat outputFormat;
+
+    public AacFrameEncoder(int sampleRate, int channelCount, int bitrate) {
+        this.sampleRate = sampleRate;
+        this.channelCount = channelCount;
+        this.bitrate = bitrate;
+    }
+
+    /**
+     * PCM 구간 인코딩 (입력 끝까지 flush)
+     * @param pcm interleaved 16bit PCM
+     * @param startFrame 인코딩 시작 프레임 인덱스 (채널 묶음 단위)
+     * @param frameCount 인코딩할 프레임 수
+     * @return 인코더가 출력한 모든 액세스 유닛 (코덱 설정 데이터 제외)
+     */
+    public List<EncodedFrame> encode(short[] pcm, int startFrame, int frameCount) throws IOException {
+        MediaFormat format = MediaFormat.createAudioFormat(MIME_AAC, sampleRate, channelCount);
+        format.setInteger(MediaFormat.KEY_AAC_PROFILE, MediaCodecInfo.CodecProfileLevel.AACObjectLC);
+        format.setInteger(MediaFormat.KEY_BIT_RATE, bitrate);
+
+        MediaCodec encoder = MediaCodec.createEncoderByType(MIME_AAC);
+        List<EncodedFrame> frames = new ArrayList<>();
+
+        try {
+            encoder.configure(format, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+            encoder.start();
+
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            int fedFrames = 0;
+            boolean inputDone = false;
+
+            while (true) {
+                if (!inputDone) {
+                    int inputIndex = encoder.dequeueInputBuffer(CODEC_TIMEOUT_US);
+                    if (inputIndex >= 0) {
+                        ByteBuffer inputBuffer = encoder.getInputBuffer(inputIndex);
+                        inputBuffer.clear();
+                        long ptsUs = fedFrames * 1_000_000L / sampleRate;
+
+                        int chunk = Math.min(frameCount - fedFrames,
+                            inputBuffer.remaining() / (2 * channelCount));
+                        if (chunk <= 0) {
+                            encoder.queueInputBuffer(inputIndex, 0, 0, ptsUs, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            inputDone = true;
+                        } else {
+                            ShortBuffer shorts = inputBuffer.order(ByteOrder.nativeOrder()).asShortBuffer();
+                            shorts.put(pcm, (startFrame + fedFrames) * channelCount, chunk * channelCount);
+                            encoder.queueInputBuffer(inputIndex, 0, chunk * channelCount * 2, ptsUs, 0);
+                            fedFrames += chunk;
+                        }
+                    }
+                }
+
+                int outputIndex = encoder.dequeueOutputBuffer(info, CODEC_TIMEOUT_US);
+                if (outputIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    outputFormat = encoder.getOutputFormat();
+                    continue;
+                }
+                if (outputIndex < 0) {
+                    continue;
+                }
+
+                if ((info.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) == 0 && info.size > 0) {
+                    ByteBuffer outputBuffer = encoder.getOutputBuffer(outputIndex);
+                    outputBuffer.position(info.offset);
+                    outputBuffer.limit(info.offset + info.size);
+                    byte[] data = new byte[info.size];
+                    outputBuffer.get(data);
+                    frames.add(new EncodedFrame(data));
+                }
+
+                encoder.releaseOutputBuffer(outputIndex, false);
+
+                if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                    break;
+                }
+            }
+        } finally {
+            try {
+                encoder.stop();
+            } catch (Exception e) {
+                LoggerManager.logger("⚠️ 인코더 stop 실패: " + e.getMessage());
+            }
+            encoder.release();
+        }
+
+        return frames;
+    }
+
+    /**
+     * 마지막 encode 호출의 출력 포맷 (csd-0 포함), 인코딩 전이면 null
+     */
+    public MediaFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * 프레임당 길이 (마이크로초)
+     */
+    public double getFrameDurationUs() {
+        return FRAME_SIZE * 1_000_000d / sampleRate;
+    }
+}
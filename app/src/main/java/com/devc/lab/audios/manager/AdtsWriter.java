@@ -0,0 +1,260 @@
+package com.devc.lab.audios.manager;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 스트리밍 ADTS(.aac) 출력
+ * raw AAC 프레임마다 7바이트 ADTS 헤더(CRC 없음)를 붙여 FileChannel로 순차 기록
+ * 샘플 테이블이나 moov가 없으므로 메모리 사용량이 길이와 무관하고 닫을 때 추가 기록이 없음
+ */
+public class AdtsWriter implements SampleSink, Closeable {
+
+    public static final int HEADER_SIZE = 7;
+    // ADTS frame_length 필드 최대값 (13bit)
+    static final int MAX_FRAME_LENGTH = 0x1FFF;
+    // MPEG-4 Audio Object Type
+    static final int OBJECT_TYPE_AAC_LC = 2;
+    private static final int OBJECT_TYPE_SBR = 5;
+    private static final int OBJECT_TYPE_PS = 29;
+    private static final int OBJECT_TYPE_ESCAPE = 31;
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final int[] SAMPLE_RATES = {
+        96_000, 88_200, 64_000, 48_000, 44_100, 32_000, 24_000, 22_050, 16_000, 12_000, 11_025, 8_000, 7_350
+    };
+
+    /**
+     * csd-0(AudioSpecificConfig) 중 ADTS 헤더에 필요한 값
+     */
+    static final class AudioConfig {
+        final int objectType;
+        final int sampleRateIndex;
+        final int channelConfig;
+
+        AudioConfig(int objectType, int sampleRateIndex, int channelConfig) {
+            this.objectType = objectType;
+            this.sampleRateIndex = sampleRateIndex;
+            this.channelConfig = channelConfig;
+        }
+    }
+
+    private final FileOutputStream stream;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] header = new byte[HEADER_SIZE];
+    private final AudioConfig config;
+    private long frameCount = 0;
+    private long bytesWritten = 0;
+    private boolean closed = false;
+
+    /**
+     * @param outputFile 출력 파일 (있으면 덮어씀)
+     * @param csd0 트랙 포맷의 csd-0 (AudioSpecificConfig, 위치는 변경하지 않음)
+     */
+    public AdtsWriter(File outputFile, ByteBuffer csd0) throws IOException {
+        this(outputFile, parseAudioSpecificConfig(csd0));
+    }
+
+    /**
+     * 인코더 출력처럼 csd-0 없이 설정을 아는 경우
+     * @param objectType MPEG-4 Audio Object Type (AAC-LC = 2)
+     * @param sampleRate 샘플레이트 (ADTS 표준 값이어야 함)
+     * @param channelCount 채널 수 (1~6, 8)
+     */
+    public AdtsWriter(File outputFile, int objectType, int sampleRate, int channelCount) throws IOException {
+        this(outputFile, new AudioConfig(objectType, findSampleRateIndex(sampleRate), toChannelConfig(channelCount)));
+    }
+
+    private AdtsWriter(File outputFile, AudioConfig config) throws IOException {
+        if (config.objectType < 1 || config.objectType > 4) {
+            throw new IllegalArgumentException("ADTS로 표현할 수 없는 AAC 프로필: " + config.objectType);
+        }
+        this.config = config;
+        this.stream = new FileOutputStream(outputFile);
+        this.channel = stream.getChannel();
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * 헤더 포함 기록한 바이트 수 (버퍼에 남은 것 포함)
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void writeSample(ByteBuffer data, SampleInfo info) {
+        try {
+            writeFrame(data, info.offset, info.size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * raw AAC 프레임 하나 기록 (data 위치는 변경하지 않음)
+     */
+    public void writeFrame(ByteBuffer data, int offset, int size) throws IOException {
+        if (closed) {
+            throw new IOException("이미 닫힌 AdtsWriter");
+        }
+        if (size <= 0) {
+            return;
+        }
+        buildHeader(header, config, size);
+
+        if (buffer.remaining() < HEADER_SIZE + size) {
+            flushBuffer();
+        }
+        ByteBuffer source = data.duplicate();
+        source.limit(offset + size);
+        source.position(offset);
+
+        if (buffer.remaining() < HEADER_SIZE + size) {
+            // 버퍼보다 큰 프레임은 직접 기록
+            writeFully(ByteBuffer.wrap(header));
+            writeFully(source);
+        } else {
+            buffer.put(header);
+            buffer.put(source);
+        }
+        frameCount++;
+        bytesWritten += HEADER_SIZE + size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBuffer();
+        } finally {
+            stream.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    /**
+     * ADTS 헤더 생성 (MPEG-4, CRC 없음, raw data block 1개, buffer fullness = VBR)
+     * @param payloadSize raw AAC 프레임 크기
+     */
+    static void buildHeader(byte[] header, AudioConfig config, int payloadSize) {
+        int frameLength = payloadSize + HEADER_SIZE;
+        if (frameLength > MAX_FRAME_LENGTH) {
+            throw new IllegalArgumentException("ADTS 프레임 길이 초과: " + frameLength);
+        }
+        int profile = config.objectType - 1;
+        header[0] = (byte) 0xFF;
+        header[1] = (byte) 0xF1;
+        header[2] = (byte) ((profile << 6) | (config.sampleRateIndex << 2) | (config.channelConfig >> 2));
+        header[3] = (byte) (((config.channelConfig & 0x3) << 6) | (frameLength >> 11));
+        header[4] = (byte) ((frameLength >> 3) & 0xFF);
+        header[5] = (byte) (((frameLength & 0x7) << 5) | 0x1F);
+        header[6] = (byte) 0xFC;
+    }
+
+    /**
+     * AudioSpecificConfig 분석 (HE-AAC 명시 신호는 기반 AAC 프로필과 코어 샘플레이트로 변환)
+     */
+    static AudioConfig parseAudioSpecificConfig(ByteBuffer csd0) {
+        if (csd0 == null || csd0.remaining() < 2) {
+            throw new IllegalArgumentException("csd-0이 없거나 너무 짧습니다");
+        }
+        BitReader reader = new BitReader(csd0);
+        int objectType = readObjectType(reader);
+        int sampleRateIndex = readSampleRateIndex(reader);
+        int channelConfig = reader.read(4);
+
+        if (objectType == OBJECT_TYPE_SBR || objectType == OBJECT_TYPE_PS) {
+            // 확장 샘플레이트는 건너뛰고 기반 프로필 사용 (ADTS에서는 SBR을 암시적으로 신호)
+            readSampleRateIndex(reader);
+            objectType = readObjectType(reader);
+        }
+        if (channelConfig == 0) {
+            throw new IllegalArgumentException("PCE 채널 구성은 ADTS로 내보낼 수 없습니다");
+        }
+        return new AudioConfig(objectType, sampleRateIndex, channelConfig);
+    }
+
+    private static int readObjectType(BitReader reader) {
+        int objectType = reader.read(5);
+        return objectType == OBJECT_TYPE_ESCAPE ? 32 + reader.read(6) : objectType;
+    }
+
+    private static int readSampleRateIndex(BitReader reader) {
+        int index = reader.read(4);
+        if (index == 0xF) {
+            return findSampleRateIndex(reader.read(24));
+        }
+        return index;
+    }
+
+    static int findSampleRateIndex(int sampleRate) {
+        for (int i = 0; i < SAMPLE_RATES.length; i++) {
+            if (SAMPLE_RATES[i] == sampleRate) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("ADTS에서 지원하지 않는 샘플레이트: " + sampleRate);
+    }
+
+    private static int toChannelConfig(int channelCount) {
+        if (channelCount >= 1 && channelCount <= 6) {
+            return channelCount;
+        }
+        if (channelCount == 8) {
+            return 7;
+        }
+        throw new IllegalArgumentException("ADTS에서 지원하지 않는 채널 수: " + channelCount);
+    }
+
+    /**
+     * MSB 우선 비트 읽기 (원본 버퍼 위치는 변경하지 않음)
+     */
+    private static final class BitReader {
+        private final ByteBuffer data;
+        private int bitPosition;
+
+        BitReader(ByteBuffer data) {
+            this.data = data.duplicate();
+            this.bitPosition = data.position() * 8;
+        }
+
+        int read(int bits) {
+            int value = 0;
+            for (int i = 0; i < bits; i++) {
+                int byteIndex = bitPosition >>> 3;
+                if (byteIndex >= data.limit()) {
+                    throw new IllegalArgumentException("csd-0이 너무 짧습니다");
+                }
+                int bit = (data.get(byteIndex) >>> (7 - (bitPosition & 7))) & 1;
+                value = (value << 1) | bit;
+                bitPosition++;
+            }
+            return value;
+        }
+    }
+}
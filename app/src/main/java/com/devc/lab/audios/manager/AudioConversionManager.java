@@ -5,6 +5,10 @@ import android.net.Uri;
 import android.os.Handler;
 import android.os.Looper;
 
+import com.devc.lab.audios.model.ConversionSettings;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -33,14 +37,15 @@ public class AudioConversionManager {
         void onFFmpegManagerFailure(String message, String failureReason);
     }
     
-    // 출력 포맷 열거형 (M4A만 지원, WEBM 지원 제거)
+    // 출력 포맷 열거형 (M4A, AAC(ADTS), MP3(원본 MP3만), WAV, FLAC, OPUS 지원, WEBM 지원 제거)
     public enum OutputFormat {
         M4A("m4a", "audio/mp4", ".m4a"),
-        // 레거시 포맷들 (M4A로 변환됨)
-        MP3("mp3", "audio/mp4", ".m4a"),
-        AAC("aac", "audio/mp4", ".m4a"), 
-        WAV("wav", "audio/mp4", ".m4a"),
-        FLAC("flac", "audio/mp4", ".m4a"),
+        AAC("aac", "audio/aac", ".aac"),
+        MP3("mp3", "audio/mpeg", ".mp3"),
+        WAV("wav", "audio/wav", ".wav"),
+        FLAC("flac", "audio/flac", ".flac"),
+        OPUS("opus", "audio/ogg", ".opus"),
+        // 레거시 포맷 (M4A로 변환됨)
         OGG("ogg", "audio/mp4", ".m4a");
         
         private final String format;
@@ -88,8 +93,8 @@ public class AudioConversionManager {
     private NativeAudioExtractorManager extractorManager;
     private NativeAudioTrimManager trimManager;
     
-    // 상태 추적
-    private boolean isConverting = false;
+    // 상태 추적 (이 관리자로 등록한 진행/대기 중 작업 ID)
+    private final Set<Long> activeJobIds = ConcurrentHashMap.newKeySet();
 
     public AudioConversionManager() {
         executorService = Executors.newSingleThreadExecutor();
@@ -102,7 +107,8 @@ public class AudioConversionManager {
     }
 
     /**
-     * Native 매니저들 초기화 및 콜백 설정
+     * Native 매니저들 초기화
+     * 작업별 콜백은 MediaJobQueue 등록 시 전달하므로 싱글톤 관리자의 리스너는 건드리지 않음
      */
     private void initializeNativeManagers() {
         mediaInfoManager = NativeMediaInfoManager.getInstance();
@@ -110,78 +116,51 @@ public class AudioConversionManager {
         trimManager = NativeAudioTrimManager.getInstance();
         
         LoggerManager.logger("AudioConversionManager - Native 매니저들 인스턴스 생성 완료");
-        
-        // 추출기 콜백 설정
-        setupExtractorCallbacks();
-        
-        // 자르기 관리자 콜백 설정
-        setupTrimmerCallbacks();
-        
-        LoggerManager.logger("AudioConversionManager - 콜백 설정 완료");
     }
     
     /**
-     * 추출기 콜백 설정
+     * 작업별 콜백 생성 (추출/편집 결과를 이 관리자의 리스너로 전달)
+     * @param failureMessage 실패 시 전달할 메시지
      */
-    private void setupExtractorCallbacks() {
-        extractorManager.setOnStartListener(() -> {
-            isConverting = true;
-            if (onStartListener != null) {
-                mainHandler.post(() -> onStartListener.onFFmpegManagerStart());
+    private MediaJob.Listener createJobListener(String failureMessage) {
+        return new MediaJob.Listener() {
+            @Override
+            public void onJobStart(long jobId) {
+                if (onStartListener != null) {
+                    onStartListener.onFFmpegManagerStart();
+                }
             }
-        });
-        
-        extractorManager.setOnProgressListener(progress -> {
-            if (onProgressListener != null) {
-                mainHandler.post(() -> onProgressListener.onFFmpegManagerProgress(progress));
+            
+            @Override
+            public void onJobProgress(long jobId, int progress) {
+                if (onProgressListener != null) {
+                    onProgressListener.onFFmpegManagerProgress(progress);
+                }
             }
-        });
-        
-        extractorManager.setOnCompletionListener(outputPath -> {
-            isConverting = false;
-            if (onCompletionListener != null) {
-                mainHandler.post(() -> onCompletionListener.onFFmpegManagerCompletion("", outputPath));
+            
+            @Override
+            public void onJobComplete(long jobId, String outputPath) {
+                activeJobIds.remove(jobId);
+                if (onCompletionListener != null) {
+                    onCompletionListener.onFFmpegManagerCompletion("", outputPath);
+                }
             }
-        });
-        
-        extractorManager.setOnErrorListener(error -> {
-            isConverting = false;
-            if (onFailureListener != null) {
-                mainHandler.post(() -> onFailureListener.onFFmpegManagerFailure("변환 실패", error));
+            
+            @Override
+            public void onJobError(long jobId, String error) {
+                activeJobIds.remove(jobId);
+                if (onFailureListener != null) {
+                    onFailureListener.onFFmpegManagerFailure(failureMessage, error);
+                }
             }
-        });
+        };
     }
     
-    /**
-     * 자르기 관리자 콜백 설정
-     */
-    private void setupTrimmerCallbacks() {
-        trimManager.setOnStartListener(() -> {
-            isConverting = true;
-            if (onStartListener != null) {
-                mainHandler.post(() -> onStartListener.onFFmpegManagerStart());
-            }
-        });
-        
-        trimManager.setOnProgressListener(progress -> {
-            if (onProgressListener != null) {
-                mainHandler.post(() -> onProgressListener.onFFmpegManagerProgress(progress));
-            }
-        });
-        
-        trimManager.setOnCompletionListener(outputPath -> {
-            isConverting = false;
-            if (onCompletionListener != null) {
-                mainHandler.post(() -> onCompletionListener.onFFmpegManagerCompletion("", outputPath));
-            }
-        });
-        
-        trimManager.setOnErrorListener(error -> {
-            isConverting = false;
-            if (onFailureListener != null) {
-                mainHandler.post(() -> onFailureListener.onFFmpegManagerFailure("편집 실패", error));
-            }
-        });
+    private void track(long jobId) {
+        activeJobIds.add(jobId);
+        if (!MediaJobQueue.getInstance().isActive(jobId)) {
+            activeJobIds.remove(jobId);
+        }
     }
     
     /**
@@ -194,11 +173,6 @@ public class AudioConversionManager {
             return;
         }
         
-        if (isConverting) {
-            notifyFailure("변환 진행 중", "다른 변환이 진행 중입니다.");
-            return;
-        }
-        
         // Native 매니저들에 Context 설정 (중요!)
         ensureNativeManagersInitialized(context);
         
@@ -218,7 +192,63 @@ public class AudioConversionManager {
         LoggerManager.logger("최종 파일명: " + fileName);
         
         LoggerManager.logger("오디오 추출 시작 - 포맷: " + format + ", 품질: " + quality + "kbps");
-        extractorManager.extractAudioFromVideoUri(inputUri, fileName, nativeFormat);
+        track(MediaJobQueue.getInstance().enqueueExtraction(inputUri, fileName, nativeFormat,
+                                                            toTranscodeTarget(quality),
+                                                            createJobListener("변환 실패")));
+    }
+    
+    /**
+     * URI의 모든 오디오 트랙 추출 (다국어 영상, 트랙별로 언어를 붙인 파일 생성, 재인코딩 없음)
+     */
+    public void extractAllAudioTracks(Uri inputUri, String outputFileName, OutputFormat format, Context context) {
+        if (inputUri == null || context == null) {
+            notifyFailure("입력 파라미터 오류", "URI 또는 Context가 null입니다.");
+            return;
+        }
+        
+        // Native 매니저들에 Context 설정 (중요!)
+        ensureNativeManagersInitialized(context);
+        
+        NativeAudioExtractorManager.AudioFormat nativeFormat = mapToNativeFormat(format);
+        LoggerManager.logger("전체 오디오 트랙 추출 시작 - 포맷: " + format);
+        track(MediaJobQueue.getInstance().enqueueAllTracksExtraction(inputUri, outputFileName, nativeFormat,
+                                                                     createJobListener("변환 실패")));
+    }
+    
+    /**
+     * 변환 설정 기반 오디오 변환 (비트레이트/샘플레이트가 원본과 다를 때만 재인코딩)
+     * @param settings 변환 설정 (outputPath에는 출력 파일명)
+     */
+    public void convertAudio(Uri inputUri, ConversionSettings settings, Context context) {
+        if (inputUri == null || settings == null || context == null) {
+            notifyFailure("입력 파라미터 오류", "URI, 변환 설정 또는 Context가 null입니다.");
+            return;
+        }
+        
+        track(submitConversion(inputUri, settings, context, createJobListener("변환 실패")));
+    }
+    
+    /**
+     * 변환 설정 기반 작업 등록 (결과는 전달한 리스너로만 보고되며 이 관리자의 콜백/취소 대상이 아님)
+     * 일괄 변환처럼 항목별로 결과를 받아야 할 때 사용
+     * @return 작업 ID
+     */
+    public long submitConversion(Uri inputUri, ConversionSettings settings, Context context,
+                                 MediaJob.Listener listener) {
+        // Native 매니저들에 Context 설정 (중요!)
+        ensureNativeManagersInitialized(context);
+        
+        AudioTranscoder.Target target = new AudioTranscoder.Target(settings.getBitrate() * 1000, settings.getSampleRate())
+            .withOpusPreset(settings.isSpeechOptimized() ? AudioTranscoder.OpusPreset.SPEECH
+                                                         : AudioTranscoder.OpusPreset.MUSIC)
+            .withChannelMix(toChannelMix(settings.getChannelMode()));
+        if (settings.isNormalizeLoudness()) {
+            target = target.withLoudnessTarget(LoudnessNormalizer.DEFAULT_TARGET_LUFS);
+        }
+        
+        LoggerManager.logger("오디오 변환 시작 - " + settings + ", 목표: " + target);
+        return MediaJobQueue.getInstance().enqueueExtraction(inputUri, settings.getOutputPath(),
+                                                             toNativeFormat(settings.getFormat()), target, listener);
     }
     
     /**
@@ -230,16 +260,12 @@ public class AudioConversionManager {
             return;
         }
         
-        if (isConverting) {
-            notifyFailure("변환 진행 중", "다른 변환이 진행 중입니다.");
-            return;
-        }
-        
         // Native 매니저들에 Context 설정 (중요!)
         ensureNativeManagersInitialized(context);
         
         LoggerManager.logger("오디오 추출 시작 - 입력: " + inputPath + ", 출력: " + outputPath);
-        extractorManager.extractAudioFromVideo(inputPath, outputPath, NativeAudioExtractorManager.AudioFormat.M4A);
+        track(MediaJobQueue.getInstance().enqueueExtraction(inputPath, outputPath,
+            NativeAudioExtractorManager.AudioFormat.M4A, createJobListener("변환 실패")));
     }
     
     /**
@@ -252,11 +278,6 @@ public class AudioConversionManager {
             return;
         }
         
-        if (isConverting) {
-            notifyFailure("변환 진행 중", "다른 변환이 진행 중입니다.");
-            return;
-        }
-        
         // Native 매니저들에 Context 설정 (중요!)
         ensureNativeManagersInitialized(context);
         
@@ -264,7 +285,9 @@ public class AudioConversionManager {
         NativeAudioExtractorManager.AudioFormat nativeFormat = mapToNativeFormat(format);
         
         LoggerManager.logger("오디오 추출 시작 - 포맷: " + format + ", 품질: " + quality + "kbps");
-        extractorManager.extractAudioFromVideo(inputPath, outputPath, nativeFormat);
+        track(MediaJobQueue.getInstance().enqueueExtraction(inputPath, outputPath, nativeFormat,
+                                                            toTranscodeTarget(quality),
+                                                            createJobListener("변환 실패")));
     }
     
     /**
@@ -276,16 +299,12 @@ public class AudioConversionManager {
             return;
         }
         
-        if (isConverting) {
-            notifyFailure("편집 진행 중", "다른 편집이 진행 중입니다.");
-            return;
-        }
-        
         // Native 매니저들에 Context 설정 (중요!)
         ensureNativeManagersInitialized(context);
         
         LoggerManager.logger("오디오 자르기 시작 - 시작: " + startTimeMs + "ms, 끝: " + endTimeMs + "ms");
-        trimManager.trimAudio(sourceUri, startTimeMs, endTimeMs, outputFileName);
+        track(MediaJobQueue.getInstance().enqueueTrim(sourceUri, startTimeMs, endTimeMs, outputFileName,
+            NativeAudioTrimManager.TrimMode.STREAM_COPY, createJobListener("편집 실패")));
     }
     
     /**
@@ -307,16 +326,14 @@ public class AudioConversionManager {
             return;
         }
         
-        if (isConverting) {
-            notifyFailure("편집 진행 중", "다른 편집이 진행 중입니다.");
-            return;
-        }
-        
         // Native 매니저들에 Context 설정 (중요!)
         ensureNativeManagersInitialized(context);
         
         LoggerManager.logger("오디오 자르기 시작 (비율) - 시작: " + startRatio + ", 끝: " + endRatio);
-        trimManager.trimAudioByRatio(sourceUri, startRatio, endRatio, durationMs, outputFileName);
+        long startTimeMs = (long) (startRatio * durationMs);
+        long endTimeMs = (long) (endRatio * durationMs);
+        track(MediaJobQueue.getInstance().enqueueTrim(sourceUri, startTimeMs, endTimeMs, outputFileName,
+            NativeAudioTrimManager.TrimMode.STREAM_COPY, createJobListener("편집 실패")));
     }
     
     /**
@@ -339,11 +356,11 @@ public class AudioConversionManager {
                 currentTask.cancel(true);
             }
             
-            // Native API 작업 취소
-            extractorManager.cancelExtraction();
-            trimManager.cancelTrimming();
+            // 이 관리자로 등록한 작업만 취소 (다른 화면의 작업은 유지)
+            for (Long jobId : activeJobIds) {
+                MediaJobQueue.getInstance().cancel(jobId);
+            }
             
-            isConverting = false;
             LoggerManager.logger("변환/편집 취소됨");
             
         } catch (Exception e) {
@@ -355,7 +372,7 @@ public class AudioConversionManager {
      * 현재 변환 중인지 확인
      */
     public boolean isConverting() {
-        return isConverting || extractorManager.isExtracting() || trimManager.isTrimming();
+        return !activeJobIds.isEmpty();
     }
     
     /**
@@ -377,7 +394,12 @@ public class AudioConversionManager {
      */
     public OutputFormat[] getSupportedFormats() {
         return new OutputFormat[]{
-            OutputFormat.M4A   // Native API 완전 지원
+            OutputFormat.M4A,  // Native API 완전 지원
+            OutputFormat.AAC,  // ADTS, AAC 원본은 재인코딩 없이 기록
+            OutputFormat.MP3,  // MP3 원본 프레임 그대로 (MP3 인코더 없음)
+            OutputFormat.WAV,  // 디코딩 후 PCM 기록
+            OutputFormat.FLAC, // 플랫폼 FLAC 인코더 + 자체 스트림 writer
+            OutputFormat.OPUS  // Opus 인코더 + OGG muxer
         };
     }
     
@@ -389,14 +411,70 @@ public class AudioConversionManager {
     }
     
     /**
-     * OutputFormat을 Native API 포맷으로 매핑 (M4A만 지원)
+     * OutputFormat을 Native API 포맷으로 매핑 (M4A, AAC, MP3, WAV, FLAC, OPUS 지원)
      */
     private NativeAudioExtractorManager.AudioFormat mapToNativeFormat(OutputFormat format) {
-        // Native API는 M4A만 지원하도록 단순화 (WEBM 지원 제거)
+        if (format == OutputFormat.MP3) {
+            return NativeAudioExtractorManager.AudioFormat.MP3;
+        }
+        if (format == OutputFormat.AAC) {
+            return NativeAudioExtractorManager.AudioFormat.AAC;
+        }
+        if (format == OutputFormat.WAV) {
+            return NativeAudioExtractorManager.AudioFormat.WAV;
+        }
+        if (format == OutputFormat.FLAC) {
+            return NativeAudioExtractorManager.AudioFormat.FLAC;
+        }
+        if (format == OutputFormat.OPUS) {
+            return NativeAudioExtractorManager.AudioFormat.OPUS;
+        }
+        // 나머지는 M4A로 단순화 (WEBM 지원 제거)
         LoggerManager.logger("모든 요청 포맷을 M4A로 변환: " + format + " → M4A");
         return NativeAudioExtractorManager.AudioFormat.M4A;
     }
     
+    /**
+     * 변환 설정 포맷을 Native API 포맷으로 매핑
+     */
+    private NativeAudioExtractorManager.AudioFormat toNativeFormat(ConversionSettings.AudioFormat format) {
+        switch (format) {
+            case WAV:
+                return NativeAudioExtractorManager.AudioFormat.WAV;
+            case FLAC:
+                return NativeAudioExtractorManager.AudioFormat.FLAC;
+            case OPUS:
+                return NativeAudioExtractorManager.AudioFormat.OPUS;
+            default:
+                return NativeAudioExtractorManager.AudioFormat.M4A;
+        }
+    }
+    
+    /**
+     * 변환 설정 채널 구성을 Native 채널 믹스로 매핑
+     */
+    private ChannelMix toChannelMix(ConversionSettings.ChannelMode mode) {
+        switch (mode) {
+            case STEREO:
+                return ChannelMix.STEREO;
+            case MONO:
+                return ChannelMix.MONO;
+            case LEFT:
+                return ChannelMix.LEFT;
+            case RIGHT:
+                return ChannelMix.RIGHT;
+            default:
+                return ChannelMix.SOURCE;
+        }
+    }
+    
+    /**
+     * AudioQuality를 변환 목표로 매핑 (null이면 원본 유지)
+     */
+    private AudioTranscoder.Target toTranscodeTarget(AudioQuality quality) {
+        return quality != null ? new AudioTranscoder.Target(quality.getBitrate() * 1000, 0) : null;
+    }
+    
     /**
      * 콜백 알림 메서드들
      */
@@ -452,14 +530,6 @@ public class AudioConversionManager {
                 executorService.shutdown();
             }
             
-            // Native API 정리
-            if (extractorManager != null) {
-                extractorManager.cleanup();
-            }
-            if (trimManager != null) {
-                trimManager.cleanup();
-            }
-            
             LoggerManager.logger("AudioConversionManager 리소스 정리 완료");
             
         } catch (Exception e) {
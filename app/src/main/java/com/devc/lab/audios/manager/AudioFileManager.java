@@ -2,7 +2,9 @@ package com.devc.lab.audios.manager;
 
 import android.content.Context;
 import android.net.Uri;
+import android.os.ParcelFileDescriptor;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -21,7 +23,39 @@ public class AudioFileManager {
     }
     
     /**
-     * URI에서 임시 파일 생성
+     * URI를 미디어 소스로 열기
+     * FileDescriptor를 직접 사용하고, seek 불가능한 provider인 경우에만 임시 파일로 복사
+     * @param sourceUri 원본 파일 URI
+     * @return 미디어 소스 핸들 또는 null
+     */
+    public MediaSourceHandle openMediaSource(Uri sourceUri) {
+        if (sourceUri == null) {
+            LoggerManager.logger("❌ openMediaSource: sourceUri가 null");
+            return null;
+        }
+        
+        try {
+            ParcelFileDescriptor parcelFd = context.getContentResolver().openFileDescriptor(sourceUri, "r");
+            MediaSourceHandle handle = MediaSourceHandle.fromDescriptor(parcelFd);
+            if (handle != null) {
+                LoggerManager.logger("📂 FileDescriptor 소스 열기 성공 (복사 없음): " + handle.getLength() + " bytes");
+                return handle;
+            }
+            LoggerManager.logger("⚠️ seek 불가능한 소스 - 임시 파일 복사로 폴백");
+            
+        } catch (FileNotFoundException | SecurityException | IllegalArgumentException e) {
+            LoggerManager.logger("⚠️ FileDescriptor 열기 실패 - 임시 파일 복사로 폴백: " + e.getMessage());
+        }
+        
+        File tempFile = createTempFileFromUri(sourceUri);
+        if (tempFile == null) {
+            return null;
+        }
+        return MediaSourceHandle.fromTempFile(tempFile, this);
+    }
+    
+    /**
+     * URI에서 임시 파일 생성 (seek 불가능한 소스용 폴백)
      * @param sourceUri 원본 파일 URI
      * @return 생성된 임시 파일 또는 null
      */
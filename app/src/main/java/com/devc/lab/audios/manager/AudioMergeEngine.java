@@ -0,0 +1,442 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 오디오 이어 붙이기 엔진
+ * 입력들의 MediaFormat(MIME, 샘플레이트, 채널 수, csd-0)을 비교하여 출력 트랙 포맷과 같은 입력은
+ * stream copy로 그대로 복사하고, 다른 입력만 디코딩 → 변환 → AAC 재인코딩
+ * 같은 기기에서 녹음한 음성 메모처럼 모두 호환되는 경우 코덱을 전혀 사용하지 않음
+ */
+public class AudioMergeEngine {
+
+    private static final long CODEC_TIMEOUT_US = 10_000;
+    private static final int DEFAULT_BITRATE_PER_CHANNEL = 64_000;
+
+    /**
+     * 출력 트랙 결정 결과
+     */
+    private static class MergePlan {
+        MediaFormat trackFormat;
+        int sampleRate;
+        int channelCount;
+        int bitrate;
+        boolean[] copyable;
+    }
+
+    /**
+     * 입력들을 순서대로 이어 붙여 M4A로 출력
+     * @param sessions 입력 세션 목록 (순서대로 이어 붙임)
+     * @param outputPath 출력 파일 경로
+     * @param progressCallback 진행률 콜백 (전체 입력 길이 기준)
+     * @return 재인코딩한 입력 수
+     */
+    public int merge(List<MediaSourceSession> sessions, String outputPath,
+                     MediaProcessingEngine.ProgressCallback progressCallback)
+                     throws AudioTrimException, InterruptedException {
+        if (sessions == null || sessions.isEmpty()) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.INVALID_INPUT_URI, "합칠 파일이 없습니다");
+        }
+
+        MergePlan plan = createPlan(sessions);
+
+        long totalUs = 0;
+        for (MediaSourceSession session : sessions) {
+            totalUs += Math.max(0, session.getDurationUs());
+        }
+
+        MediaMuxer muxer = null;
+        int reencoded = 0;
+        try {
+            muxer = new MediaMuxer(outputPath, MediaMuxer.OutputFormat.MUXER_OUTPUT_MPEG_4);
+            int trackIndex = muxer.addTrack(plan.trackFormat);
+            muxer.start();
+
+            long nextPtsUs = 0;
+            long doneUs = 0;
+            for (int i = 0; i < sessions.size(); i++) {
+                MediaSourceSession session = sessions.get(i);
+                final long progressBaseUs = doneUs;
+                final long progressTotalUs = totalUs;
+                MediaProcessingEngine.ProgressCallback inputProgress = progressCallback == null ? null
+                    : (processedUs, partUs) -> progressCallback.onProgress(progressBaseUs + processedUs, progressTotalUs);
+
+                long writtenUs;
+                if (plan.copyable[i]) {
+                    LoggerManager.logger("📎 입력 " + (i + 1) + " stream copy");
+                    writtenUs = copyInput(session, muxer, trackIndex, nextPtsUs, inputProgress);
+                } else {
+                    LoggerManager.logger("🔁 입력 " + (i + 1) + " 재인코딩 (" + session.getMime() + ")");
+                    writtenUs = transcodeInput(session, muxer, trackIndex, nextPtsUs, plan, inputProgress);
+                    reencoded++;
+                }
+
+                nextPtsUs += writtenUs;
+                doneUs += Math.max(0, session.getDurationUs());
+            }
+
+            muxer.stop();
+            LoggerManager.logger("✅ 합치기 완료: " + sessions.size() + "개 입력, 재인코딩 " + reencoded + "개, 길이 "
+                + (nextPtsUs / 1000) + "ms");
+            return reencoded;
+
+        } catch (IOException | IllegalStateException | IllegalArgumentException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_MUXER_FAILED, "합치기 실패", e);
+
+        } finally {
+            if (muxer != null) {
+                try {
+                    muxer.release();
+                } catch (Exception e) {
+                    LoggerManager.logger("⚠️ MediaMuxer 정리 실패: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 출력 트랙 포맷 결정
+     * 같은 AAC 포맷끼리 묶어 전체 길이가 가장 긴 묶음을 출력 포맷으로 삼고, 그 묶음만 stream copy
+     * 재인코딩이 필요한 입력이 있으면 인코더 csd-0가 출력 포맷과 같아야 하므로 실제 인코더 출력과 비교
+     */
+    private MergePlan createPlan(List<MediaSourceSession> sessions) throws AudioTrimException {
+        Map<String, Long> durationBySignature = new LinkedHashMap<>();
+        Map<String, MediaFormat> formatBySignature = new LinkedHashMap<>();
+        for (MediaSourceSession session : sessions) {
+            String signature = signatureOf(session.getAudioFormat());
+            if (signature == null) {
+                continue;
+            }
+            durationBySignature.put(signature, durationBySignature.getOrDefault(signature, 0L)
+                + Math.max(1, session.getDurationUs()));
+            formatBySignature.putIfAbsent(signature, session.getAudioFormat());
+        }
+
+        String bestSignature = null;
+        for (Map.Entry<String, Long> entry : durationBySignature.entrySet()) {
+            if (bestSignature == null || entry.getValue() > durationBySignature.get(bestSignature)) {
+                bestSignature = entry.getKey();
+            }
+        }
+
+        MergePlan plan = new MergePlan();
+        plan.copyable = new boolean[sessions.size()];
+
+        MediaFormat reference = bestSignature != null
+            ? formatBySignature.get(bestSignature) : sessions.get(0).getAudioFormat();
+        plan.sampleRate = reference.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        plan.channelCount = Math.min(2, reference.getInteger(MediaFormat.KEY_CHANNEL_COUNT));
+        plan.bitrate = reference.containsKey(MediaFormat.KEY_BIT_RATE)
+            ? reference.getInteger(MediaFormat.KEY_BIT_RATE) : DEFAULT_BITRATE_PER_CHANNEL * plan.channelCount;
+
+        boolean allCopyable = bestSignature != null;
+        for (int i = 0; i < sessions.size(); i++) {
+            plan.copyable[i] = bestSignature != null
+                && bestSignature.equals(signatureOf(sessions.get(i).getAudioFormat()));
+            allCopyable &= plan.copyable[i];
+        }
+
+        if (allCopyable) {
+            LoggerManager.logger("⚡ 모든 입력 포맷 호환 - 전체 stream copy");
+            plan.trackFormat = reference;
+            return plan;
+        }
+
+        // 재인코딩 입력과 한 트랙에 섞으려면 인코더 출력 csd-0가 복사 묶음과 같아야 함
+        MediaFormat encoderFormat = probeEncoderFormat(plan);
+        String encoderSignature = signatureOf(encoderFormat);
+        if (bestSignature != null && bestSignature.equals(encoderSignature)) {
+            plan.trackFormat = reference;
+        } else {
+            LoggerManager.logger("⚠️ 인코더 출력 포맷이 복사 묶음과 다름 - 전체 재인코딩");
+            plan.trackFormat = encoderFormat;
+            for (int i = 0; i < plan.copyable.length; i++) {
+                plan.copyable[i] = encoderSignature != null
+                    && encoderSignature.equals(signatureOf(sessions.get(i).getAudioFormat()));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * 출력 설정으로 짧게 인코딩하여 인코더의 실제 출력 포맷(csd-0) 확인
+     */
+    private MediaFormat probeEncoderFormat(MergePlan plan) throws AudioTrimException {
+        try {
+            AacFrameEncoder encoder = new AacFrameEncoder(plan.sampleRate, plan.channelCount, plan.bitrate);
+            encoder.encode(new short[AacFrameEncoder.FRAME_SIZE * plan.channelCount], 0, AacFrameEncoder.FRAME_SIZE);
+            if (encoder.getOutputFormat() == null) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                    "AAC 인코더 출력 포맷 확인 실패");
+            }
+            return encoder.getOutputFormat();
+        } catch (IOException | RuntimeException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                "AAC 인코더 생성 실패", e);
+        }
+    }
+
+    /**
+     * stream copy 호환성 판단용 포맷 서명 (AAC만 대상, 그 외 null)
+     */
+    private static String signatureOf(MediaFormat format) {
+        if (format == null || !MediaFormat.MIMETYPE_AUDIO_AAC.equals(format.getString(MediaFormat.KEY_MIME))) {
+            return null;
+        }
+
+        StringBuilder builder = new StringBuilder()
+            .append(format.getInteger(MediaFormat.KEY_SAMPLE_RATE)).append('/')
+            .append(format.getInteger(MediaFormat.KEY_CHANNEL_COUNT)).append('/');
+
+        if (format.containsKey("csd-0")) {
+            ByteBuffer csd = format.getByteBuffer("csd-0").duplicate();
+            csd.rewind();
+            while (csd.hasRemaining()) {
+                builder.append(String.format("%02x", csd.get()));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 입력 전체를 stream copy (타임스탬프를 basePtsUs부터 이어지도록 이동)
+     * @return 기록한 길이 (다음 입력의 시작 오프셋)
+     */
+    private long copyInput(MediaSourceSession session, MediaMuxer muxer, int trackIndex, long basePtsUs,
+                           MediaProcessingEngine.ProgressCallback progressCallback)
+                           throws AudioTrimException, InterruptedException {
+        MediaExtractor extractor = session.getExtractor();
+        extractor.seekTo(0, MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+        long firstSampleUs = Math.max(0, extractor.getSampleTime());
+
+        ByteBuffer buffer = DirectBufferPool.acquire(getMaxInputSize(session.getAudioFormat()));
+        try {
+            SampleCopyKernel.Result result = new SampleCopyKernel()
+                .setPtsOffsetUs(firstSampleUs - basePtsUs)
+                .setProgress(firstSampleUs, session.getDurationUs(), progressCallback)
+                .copy(new ExtractorSampleSource(extractor), new MuxerSampleSink(muxer, trackIndex), buffer);
+
+            if (result.sampleCount == 0) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_EXTRACTOR_FAILED,
+                    "입력에 오디오 샘플이 없습니다");
+            }
+
+            // 마지막 샘플 길이만큼 더해 다음 입력이 겹치지 않게 함
+            int sampleRate = session.getAudioFormat().getInteger(MediaFormat.KEY_SAMPLE_RATE);
+            long lastFrameUs = AacFrameEncoder.FRAME_SIZE * 1_000_000L / sampleRate;
+            return result.lastSampleTimeUs - firstSampleUs + lastFrameUs;
+
+        } finally {
+            DirectBufferPool.release(buffer);
+            session.rewind();
+        }
+    }
+
+    /**
+     * 입력 디코딩 → 채널/샘플레이트 변환 → AAC 인코딩 (동기 MediaCodec 파이프라인)
+     * @return 기록한 길이
+     */
+    private long transcodeInput(MediaSourceSession session, MediaMuxer muxer, int trackIndex, long basePtsUs,
+                                MergePlan plan, MediaProcessingEngine.ProgressCallback progressCallback)
+                                throws AudioTrimException, InterruptedException {
+        MediaExtractor extractor = session.getExtractor();
+        extractor.seekTo(0, MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+
+        MediaCodec decoder = null;
+        MediaCodec encoder = null;
+        try {
+            decoder = MediaCodec.createDecoderByType(session.getMime());
+            decoder.configure(session.getAudioFormat(), null, null, 0);
+            decoder.start();
+
+            MediaFormat encoderFormat = MediaFormat.createAudioFormat(
+                MediaFormat.MIMETYPE_AUDIO_AAC, plan.sampleRate, plan.channelCount);
+            encoderFormat.setInteger(MediaFormat.KEY_AAC_PROFILE, MediaCodecInfo.CodecProfileLevel.AACObjectLC);
+            encoderFormat.setInteger(MediaFormat.KEY_BIT_RATE, plan.bitrate);
+            encoder = MediaCodec.createEncoderByType(MediaFormat.MIMETYPE_AUDIO_AAC);
+            encoder.configure(encoderFormat, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+            encoder.start();
+
+            PcmFormatAdapter adapter = null;
+            short[] decoded = new short[0];
+            short[] pending = new short[0];
+            int pendingStart = 0;
+            int pendingEnd = 0;
+            long framesFed = 0;
+            long encodedFrames = 0;
+            double frameDurationUs = AacFrameEncoder.FRAME_SIZE * 1_000_000d / plan.sampleRate;
+
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            SampleCopyKernel.ProgressThrottle throttle = new SampleCopyKernel.ProgressThrottle(100, 1);
+            boolean extractorDone = false;
+            boolean decoderDone = false;
+            boolean encoderInputDone = false;
+
+            while (true) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("합치기 취소");
+                }
+
+                // 1. 추출 → 디코더
+                if (!extractorDone) {
+                    int inputIndex = decoder.dequeueInputBuffer(CODEC_TIMEOUT_US);
+                    if (inputIndex >= 0) {
+                        ByteBuffer inputBuffer = decoder.getInputBuffer(inputIndex);
+                        int size = extractor.readSampleData(inputBuffer, 0);
+                        if (size < 0) {
+                            decoder.queueInputBuffer(inputIndex, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            extractorDone = true;
+                        } else {
+                            decoder.queueInputBuffer(inputIndex, 0, size, extractor.getSampleTime(), 0);
+                            extractor.advance();
+                        }
+                    }
+                }
+
+                // 2. 디코더 출력 → 포맷 변환 → 대기 PCM
+                if (!decoderDone) {
+                    int outputIndex = decoder.dequeueOutputBuffer(info, CODEC_TIMEOUT_US);
+                    if (outputIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                        MediaFormat outputFormat = decoder.getOutputFormat();
+                        adapter = new PcmFormatAdapter(
+                            outputFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE),
+                            outputFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT),
+                            plan.sampleRate, plan.channelCount);
+                    } else if (outputIndex >= 0) {
+                        if (adapter == null) {
+                            adapter = new PcmFormatAdapter(
+                                session.getAudioFormat().getInteger(MediaFormat.KEY_SAMPLE_RATE),
+                                session.getAudioFormat().getInteger(MediaFormat.KEY_CHANNEL_COUNT),
+                                plan.sampleRate, plan.channelCount);
+                        }
+
+                        int produced = 0;
+                        if (info.size > 0) {
+                            ByteBuffer outputBuffer = decoder.getOutputBuffer(outputIndex);
+                            outputBuffer.position(info.offset);
+                            outputBuffer.limit(info.offset + info.size);
+                            ShortBuffer pcm = outputBuffer.order(ByteOrder.nativeOrder()).asShortBuffer();
+                            int samples = pcm.remaining();
+                            if (decoded.length < samples) {
+                                decoded = new short[samples];
+                            }
+                            pcm.get(decoded, 0, samples);
+                            produced = adapter.process(decoded, samples / adapter.getInputChannelCount());
+
+                            if (throttle.shouldReport(info.presentationTimeUs, session.getDurationUs())
+                                    && progressCallback != null) {
+                                progressCallback.onProgress(info.presentationTimeUs, session.getDurationUs());
+                            }
+                        }
+                        decoder.releaseOutputBuffer(outputIndex, false);
+
+                        boolean endOfStream = (info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+                        for (int pass = 0; pass < 2; pass++) {
+                            if (produced > 0) {
+                                int count = produced * plan.channelCount;
+                                // 대기 PCM 버퍼 압축/확장 후 추가
+                                if (pendingStart > 0) {
+                                    System.arraycopy(pending, pendingStart, pending, 0, pendingEnd - pendingStart);
+                                    pendingEnd -= pendingStart;
+                                    pendingStart = 0;
+                                }
+                                if (pending.length < pendingEnd + count) {
+                                    short[] grown = new short[Math.max(pending.length * 2, pendingEnd + count)];
+                                    System.arraycopy(pending, 0, grown, 0, pendingEnd);
+                                    pending = grown;
+                                }
+                                System.arraycopy(adapter.getOutput(), 0, pending, pendingEnd, count);
+                                pendingEnd += count;
+                            }
+                            produced = endOfStream && pass == 0 ? adapter.flush() : 0;
+                        }
+
+                        if (endOfStream) {
+                            decoderDone = true;
+                        }
+                    }
+                }
+
+                // 3. 대기 PCM → 인코더
+                if (!encoderInputDone && (pendingEnd > pendingStart || decoderDone)) {
+                    int inputIndex = encoder.dequeueInputBuffer(decoderDone ? CODEC_TIMEOUT_US : 0);
+                    if (inputIndex >= 0) {
+                        ByteBuffer inputBuffer = encoder.getInputBuffer(inputIndex);
+                        inputBuffer.clear();
+                        long ptsUs = framesFed * 1_000_000L / plan.sampleRate;
+
+                        int capacityFrames = inputBuffer.remaining() / (2 * plan.channelCount);
+                        int frames = Math.min(capacityFrames, (pendingEnd - pendingStart) / plan.channelCount);
+                        if (frames > 0) {
+                            inputBuffer.order(ByteOrder.nativeOrder()).asShortBuffer()
+                                .put(pending, pendingStart, frames * plan.channelCount);
+                            pendingStart += frames * plan.channelCount;
+                            framesFed += frames;
+                            encoder.queueInputBuffer(inputIndex, 0, frames * plan.channelCount * 2, ptsUs, 0);
+                        } else {
+                            encoder.queueInputBuffer(inputIndex, 0, 0, ptsUs, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            encoderInputDone = true;
+                        }
+                    }
+                }
+
+                // 4. 인코더 출력 → muxer
+                int encodedIndex = encoder.dequeueOutputBuffer(info, encoderInputDone ? CODEC_TIMEOUT_US : 0);
+                if (encodedIndex >= 0) {
+                    boolean endOfStream = (info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+                    if ((info.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) == 0 && info.size > 0) {
+                        ByteBuffer encodedBuffer = encoder.getOutputBuffer(encodedIndex);
+                        info.presentationTimeUs = basePtsUs + Math.round(encodedFrames * frameDurationUs);
+                        info.flags = MediaCodec.BUFFER_FLAG_KEY_FRAME;
+                        muxer.writeSampleData(trackIndex, encodedBuffer, info);
+                        encodedFrames++;
+                    }
+                    encoder.releaseOutputBuffer(encodedIndex, false);
+                    if (endOfStream) {
+                        break;
+                    }
+                }
+            }
+
+            return Math.round(encodedFrames * frameDurationUs);
+
+        } catch (IOException | IllegalStateException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                "입력 재인코딩 실패: " + session.getMime(), e);
+
+        } finally {
+            releaseCodec(decoder);
+            releaseCodec(encoder);
+            session.rewind();
+        }
+    }
+
+    private static void releaseCodec(MediaCodec codec) {
+        if (codec == null) {
+            return;
+        }
+        try {
+            codec.stop();
+        } catch (Exception e) {
+            LoggerManager.logger("⚠️ 코덱 stop 실패: " + e.getMessage());
+        }
+        codec.release();
+    }
+
+    private static int getMaxInputSize(MediaFormat format) {
+        return format.containsKey(MediaFormat.KEY_MAX_INPUT_SIZE)
+            ? format.getInteger(MediaFormat.KEY_MAX_INPUT_SIZE) : 64 * 1024;
+    }
+}
@@ -0,0 +1,867 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+import android.os.Handler;
+import android.os.HandlerThread;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오디오 트랜스코더 (디코딩 → PCM → AAC 인코딩 → M4A, 또는 디코딩 → PCM → PcmSink)
+ * 목표 비트레이트/샘플레이트가 원본과 다를 때만 사용하고, 같으면 호출자가 stream copy 유지
+ * PCM 출력(WAV 등 무손실)은 인코더 없이 변환된 PCM을 sink로 바로 전달
+ *
+ * 구조:
+ * - 디코더/인코더 모두 비동기 콜백 모드, 콜백은 전용 HandlerThread 하나에서 순서대로 실행 (잠금 불필요)
+ * - 추출기 샘플은 디코더 입력 버퍼에 바로 읽어 넣고, 디코더 출력은 PcmFormatAdapter → PCM FIFO → 인코더 입력
+ * - PCM FIFO와 변환용 배열은 작업 내내 재사용, FIFO가 차면 디코더 출력 반환을 미뤄 메모리 사용량 제한
+ */
+public class AudioTranscoder {
+
+    private static final String MIME_AAC = MediaFormat.MIMETYPE_AUDIO_AAC;
+    private static final int MAX_OUTPUT_CHANNELS = 2;
+    private static final int MAX_AAC_SAMPLE_RATE = 48_000;
+    private static final int DEFAULT_BITRATE_PER_CHANNEL = 64_000;
+    private static final int[] AAC_SAMPLE_RATES = {
+        8_000, 11_025, 12_000, 16_000, 22_050, 24_000, 32_000, 44_100, 48_000
+    };
+    // Opus 인코더 입력으로 허용되는 샘플레이트
+    private static final int[] OPUS_SAMPLE_RATES = {8_000, 12_000, 16_000, 24_000, 48_000};
+    // 목표 비트레이트가 원본보다 이 비율 이상 낮을 때만 재인코딩 (VBR 추정 오차 흡수)
+    private static final double BITRATE_TOLERANCE = 0.9;
+    // 원본 비트레이트 추정에 사용할 샘플 수
+    private static final int BITRATE_PROBE_SAMPLES = 256;
+    private static final long WAIT_POLL_MS = 100;
+
+    /**
+     * Opus 인코딩 프리셋 (목표 비트레이트가 없을 때의 기본값)
+     */
+    public enum OpusPreset {
+        // 강의/회의 녹음: 모노, 24kbps
+        SPEECH(1, 24_000),
+        // 음악: 스테레오, 96kbps
+        MUSIC(2, 96_000);
+
+        private final int maxChannels;
+        private final int bitrate;
+
+        OpusPreset(int maxChannels, int bitrate) {
+            this.maxChannels = maxChannels;
+            this.bitrate = bitrate;
+        }
+
+        public int getMaxChannels() { return maxChannels; }
+        public int getBitrate() { return bitrate; }
+    }
+
+    /**
+     * 변환 목표 (0이면 원본 값 유지)
+     */
+    public static class Target {
+        public final int bitrate;
+        public final int sampleRate;
+        // Opus 출력일 때만 사용
+        public final OpusPreset opusPreset;
+        // 출력 채널 구성 (SOURCE면 스테레오 이하 유지, 멀티채널은 스테레오 다운믹스)
+        public final ChannelMix channelMix;
+        // 라우드니스 평준화 목표 (LUFS, 0이면 평준화하지 않음)
+        public final double loudnessTargetLufs;
+        // 1차 측정으로 정한 PCM gain (dB, 인코딩 시 PcmFormatAdapter에서 적용)
+        public final double gainDb;
+
+        /**
+         * 나머지 항목(Opus 프리셋, 채널 구성, 라우드니스 평준화)은 with… 메서드로 지정
+         * @param bitrate 목표 비트레이트 (bps, 0이면 원본 유지)
+         * @param sampleRate 목표 샘플레이트 (Hz, 0이면 원본 유지)
+         */
+        public Target(int bitrate, int sampleRate) {
+            this(bitrate, sampleRate, OpusPreset.MUSIC, ChannelMix.SOURCE, 0, 0);
+        }
+
+        private Target(int bitrate, int sampleRate, OpusPreset opusPreset, ChannelMix channelMix,
+                       double loudnessTargetLufs, double gainDb) {
+            this.bitrate = Math.max(0, bitrate);
+            this.sampleRate = Math.max(0, sampleRate);
+            this.opusPreset = opusPreset != null ? opusPreset : OpusPreset.MUSIC;
+            this.channelMix = channelMix != null ? channelMix : ChannelMix.SOURCE;
+            this.loudnessTargetLufs = loudnessTargetLufs;
+            this.gainDb = gainDb;
+        }
+
+        /**
+         * @param opusPreset Opus 출력 시 프리셋 (bitrate가 0이면 프리셋 비트레이트 사용)
+         */
+        public Target withOpusPreset(OpusPreset opusPreset) {
+            return new Target(bitrate, sampleRate, opusPreset, channelMix, loudnessTargetLufs, gainDb);
+        }
+
+        /**
+         * @param channelMix 출력 채널 구성 (원본과 다르면 재인코딩)
+         */
+        public Target withChannelMix(ChannelMix channelMix) {
+            return new Target(bitrate, sampleRate, opusPreset, channelMix, loudnessTargetLufs, gainDb);
+        }
+
+        /**
+         * @param loudnessTargetLufs 라우드니스 평준화 목표 (LUFS, 음수 - 평준화하면 항상 재인코딩, 0이면 평준화하지 않음)
+         * @throws IllegalArgumentException 0보다 크거나 유한하지 않은 목표
+         */
+        public Target withLoudnessTarget(double loudnessTargetLufs) {
+            if (Double.isNaN(loudnessTargetLufs) || Double.isInfinite(loudnessTargetLufs) || loudnessTargetLufs > 0) {
+                throw new IllegalArgumentException("잘못된 라우드니스 목표: " + loudnessTargetLufs + " LUFS");
+            }
+            return new Target(bitrate, sampleRate, opusPreset, channelMix, loudnessTargetLufs, gainDb);
+        }
+
+        public boolean keepsSource() {
+            return bitrate == 0 && sampleRate == 0 && channelMix == ChannelMix.SOURCE && !normalizesLoudness();
+        }
+
+        public boolean normalizesLoudness() {
+            return loudnessTargetLufs < 0;
+        }
+
+        /**
+         * 1차 측정 결과 gain을 실은 복사본 (2차 인코딩용)
+         */
+        public Target withGain(double gainDb) {
+            return new Target(bitrate, sampleRate, opusPreset, channelMix, loudnessTargetLufs, gainDb);
+        }
+
+        /**
+         * gain 없는 복사본 (1차 측정용)
+         */
+        Target withoutGain() {
+            return gainDb == 0 ? this : withGain(0);
+        }
+
+        /**
+         * 이 목표의 채널 구성/gain을 적용하는 PCM 변환기
+         */
+        PcmFormatAdapter createAdapter(int inputRate, int inputChannels, int outputRate, int outputChannels) {
+            PcmFormatAdapter adapter = new PcmFormatAdapter(inputRate, inputChannels, outputRate, outputChannels,
+                                                            channelMix);
+            if (gainDb != 0) {
+                adapter.setGain((float) Math.pow(10.0, gainDb / 20.0));
+            }
+            return adapter;
+        }
+
+        @Override
+        public String toString() {
+            return (bitrate > 0 ? (bitrate / 1000) + "kbps" : "원본 비트레이트") + ", "
+                + (sampleRate > 0 ? sampleRate + "Hz" : "원본 샘플레이트")
+                + (channelMix != ChannelMix.SOURCE ? ", " + channelMix.getDisplayName() : "")
+                + (normalizesLoudness() ? String.format(", %.0f LUFS", loudnessTargetLufs)
+                    + (gainDb != 0 ? String.format(" (%+.1fdB)", gainDb) : "") : "");
+        }
+    }
+
+    /**
+     * 재인코딩 필요 여부 판단
+     * @param extractor 오디오 트랙이 선택된 extractor (비트레이트 추정 후 처음 위치로 되돌림)
+     * @param sourceFormat 오디오 트랙 포맷
+     * @param target 변환 목표
+     * @return 재인코딩이 필요한 이유, stream copy로 충분하면 null
+     */
+    public static String findTranscodeReason(MediaExtractor extractor, MediaFormat sourceFormat, Target target) {
+        if (target == null || target.keepsSource()) {
+            return null;
+        }
+
+        if (target.normalizesLoudness()) {
+            return "라우드니스 평준화 " + String.format("%.0f LUFS", target.loudnessTargetLufs);
+        }
+
+        int sourceRate = sourceFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        if (target.sampleRate > 0 && target.sampleRate != sourceRate) {
+            return "샘플레이트 " + sourceRate + "Hz → " + target.sampleRate + "Hz";
+        }
+
+        int sourceChannels = sourceFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        if (target.channelMix != ChannelMix.SOURCE && target.channelMix.changes(sourceChannels)) {
+            return "채널 " + sourceChannels + "ch → " + target.channelMix.getDisplayName();
+        }
+
+        if (target.bitrate > 0) {
+            long sourceBitrate = sourceFormat.containsKey(MediaFormat.KEY_BIT_RATE)
+                ? sourceFormat.getInteger(MediaFormat.KEY_BIT_RATE)
+                : estimateBitrate(extractor);
+            if (sourceBitrate <= 0) {
+                return "원본 비트레이트 알 수 없음 → " + (target.bitrate / 1000) + "kbps";
+            }
+            if (target.bitrate < sourceBitrate * BITRATE_TOLERANCE) {
+                return "비트레이트 " + (sourceBitrate / 1000) + "kbps → " + (target.bitrate / 1000) + "kbps";
+            }
+            // 원본보다 높은 비트레이트로 재인코딩해도 음질은 좋아지지 않으므로 원본 유지
+        }
+        return null;
+    }
+
+    /**
+     * 앞부분 샘플 크기로 원본 비트레이트 추정 (데이터 복사 없이 getSampleSize만 사용)
+     * @return bps, 추정 불가 시 0
+     */
+    private static long estimateBitrate(MediaExtractor extractor) {
+        long totalBytes = 0;
+        long firstUs = -1;
+        long lastUs = -1;
+        int count = 0;
+
+        try {
+            while (count < BITRATE_PROBE_SAMPLES) {
+                long sampleTime = extractor.getSampleTime();
+                long sampleSize = extractor.getSampleSize();
+                if (sampleTime < 0 || sampleSize < 0) {
+                    break;
+                }
+                if (firstUs < 0) {
+                    firstUs = sampleTime;
+                }
+                lastUs = sampleTime;
+                totalBytes += sampleSize;
+                count++;
+                if (!extractor.advance()) {
+                    break;
+                }
+            }
+        } finally {
+            extractor.seekTo(0, MediaExtractor.SEEK_TO_CLOSEST_SYNC);
+        }
+
+        if (count < 2 || lastUs <= firstUs) {
+            return 0;
+        }
+        // 마지막 샘플 길이를 평균 샘플 길이로 보정
+        long spanUs = (lastUs - firstUs) * count / (count - 1);
+        return totalBytes * 8 * 1_000_000L / spanUs;
+    }
+
+    /**
+     * 디코더 출력 버퍼 중 아직 PCM FIFO에 넣지 못한 것
+     */
+    private static final class PendingOutput {
+        int index;
+        int offset;
+        int size;
+        int flags;
+    }
+
+    private final Target target;
+
+    // 콜백 스레드 전용 상태
+    private MediaExtractor extractor;
+    private MediaCodec decoder;
+    private MediaCodec encoder;
+    private MediaMuxer muxer;
+    private int muxerTrackIndex = -1;
+    private PcmSink pcmSink;
+    private SampleSink encodedSink;
+    private final SampleInfo sinkInfo = new SampleInfo();
+    private PcmFormatAdapter adapter;
+    private int decoderInputRate;
+    private PcmRingBuffer fifo;
+    private int outputRate;
+    private int outputChannels;
+    private short[] decodedScratch = new short[0];
+    private short[] encodeScratch = new short[0];
+    private final ArrayDeque<Integer> freeEncoderInputs = new ArrayDeque<>();
+    private final ArrayDeque<PendingOutput> pendingOutputs = new ArrayDeque<>();
+    private final ArrayDeque<PendingOutput> pendingPool = new ArrayDeque<>();
+    private boolean extractorDone = false;
+    private boolean decoderDone = false;
+    private boolean encoderInputDone = false;
+    private long encodedFrames = 0;
+    private long totalDurationUs;
+    private MediaProcessingEngine.ProgressCallback progressCallback;
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile Exception failure;
+
+    public AudioTranscoder(Target target) {
+        this.target = target;
+    }
+
+    /**
+     * 트랜스코딩 실행 (호출 스레드는 완료될 때까지 대기)
+     * @param extractor 오디오 트랙이 선택되고 처음 위치에 있는 extractor (호출자가 소유)
+     * @param sourceFormat 오디오 트랙 포맷
+     * @param outputPath M4A 출력 경로
+     * @param progressCallback 진행률 콜백 (콜백 스레드에서 호출)
+     */
+    public void transcode(MediaExtractor extractor, MediaFormat sourceFormat, String outputPath,
+                          MediaProcessingEngine.ProgressCallback progressCallback)
+            throws AudioTrimException, InterruptedException {
+        transcode(extractor, sourceFormat, createAacFormat(target, sourceFormat), outputPath,
+                  MediaMuxer.OutputFormat.MUXER_OUTPUT_MPEG_4, progressCallback);
+    }
+
+    /**
+     * 인코더 설정과 MediaMuxer 컨테이너를 지정해 트랜스코딩 (Opus → OGG 등)
+     * @param encoderFormat 인코더 설정 (MIME, 샘플레이트, 채널 수 필수)
+     * @param muxerFormat MediaMuxer.OutputFormat 값
+     */
+    public void transcode(MediaExtractor extractor, MediaFormat sourceFormat, MediaFormat encoderFormat,
+                          String outputPath, int muxerFormat,
+                          MediaProcessingEngine.ProgressCallback progressCallback)
+            throws AudioTrimException, InterruptedException {
+        try {
+            muxer = new MediaMuxer(outputPath, muxerFormat);
+        } catch (IOException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_MUXER_FAILED, "출력 파일 생성 실패", e);
+        }
+        runEncoder(extractor, sourceFormat, encoderFormat, progressCallback);
+    }
+
+    /**
+     * 임의 인코더로 트랜스코딩 (MediaMuxer가 지원하지 않는 컨테이너용, 호출 스레드는 완료될 때까지 대기)
+     * @param extractor 오디오 트랙이 선택되고 처음 위치에 있는 extractor (호출자가 소유)
+     * @param sourceFormat 오디오 트랙 포맷
+     * @param encoderFormat 인코더 설정 (MIME, 샘플레이트, 채널 수 필수)
+     * @param sink 인코더 출력 (codec config 버퍼는 전달하지 않음, 닫는 것은 호출자 책임)
+     * @param progressCallback 진행률 콜백 (콜백 스레드에서 호출)
+     */
+    public void encodeTo(MediaExtractor extractor, MediaFormat sourceFormat, MediaFormat encoderFormat,
+                         SampleSink sink, MediaProcessingEngine.ProgressCallback progressCallback)
+            throws AudioTrimException, InterruptedException {
+        this.encodedSink = sink;
+        runEncoder(extractor, sourceFormat, encoderFormat, progressCallback);
+    }
+
+    /**
+     * 디코더 → 변환기 → FIFO → 인코더 실행 (출력은 muxer 또는 encodedSink)
+     */
+    private void runEncoder(MediaExtractor extractor, MediaFormat sourceFormat, MediaFormat encoderFormat,
+                            MediaProcessingEngine.ProgressCallback progressCallback)
+            throws AudioTrimException, InterruptedException {
+        this.extractor = extractor;
+        this.progressCallback = progressCallback;
+        this.totalDurationUs = sourceFormat.containsKey(MediaFormat.KEY_DURATION)
+            ? sourceFormat.getLong(MediaFormat.KEY_DURATION) : 0;
+
+        int sourceRate = sourceFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        int sourceChannels = sourceFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        String encoderMime = encoderFormat.getString(MediaFormat.KEY_MIME);
+        outputRate = encoderFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        outputChannels = encoderFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+
+        adapter = target.createAdapter(sourceRate, sourceChannels, outputRate, outputChannels);
+        decoderInputRate = sourceRate;
+        fifo = new PcmRingBuffer(outputChannels, outputRate / 4, outputRate * 2);
+
+        LoggerManager.logger("🎚️ 트랜스코딩 시작: " + sourceFormat.getString(MediaFormat.KEY_MIME) + " "
+            + sourceRate + "Hz/" + sourceChannels + "ch → " + encoderMime + " " + outputRate + "Hz/"
+            + outputChannels + "ch" + (encoderFormat.containsKey(MediaFormat.KEY_BIT_RATE)
+                ? " " + (encoderFormat.getInteger(MediaFormat.KEY_BIT_RATE) / 1000) + "kbps" : ""));
+        long startedAt = System.currentTimeMillis();
+
+        HandlerThread callbackThread = new HandlerThread("AudioTranscoder");
+        callbackThread.start();
+        Handler handler = new Handler(callbackThread.getLooper());
+
+        try {
+            encoder = MediaCodec.createEncoderByType(encoderMime);
+            encoder.setCallback(new EncoderCallback(), handler);
+            encoder.configure(encoderFormat, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+
+            decoder = MediaCodec.createDecoderByType(sourceFormat.getString(MediaFormat.KEY_MIME));
+            decoder.setCallback(new DecoderCallback(), handler);
+            decoder.configure(sourceFormat, null, null, 0);
+
+            encoder.start();
+            decoder.start();
+
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            finished.countDown();
+        }
+
+        awaitCompletion(handler, callbackThread);
+
+        LoggerManager.logger("✅ 트랜스코딩 완료: " + encodedFrames + " frames, "
+            + (System.currentTimeMillis() - startedAt) + "ms");
+    }
+
+    /**
+     * 인코더/sink에 전달한 PCM 프레임 수 (완료 후 호출)
+     */
+    public long getProcessedFrames() {
+        return encodedFrames;
+    }
+
+    /**
+     * PCM 출력 실행 (AAC 인코딩 없이 디코딩 → 포맷 변환 → sink, 호출 스레드는 완료될 때까지 대기)
+     * 목표 비트레이트는 무시되고, 출력 포맷은 sink에 맞춰 호출자가 지정
+     * @param extractor 오디오 트랙이 선택되고 처음 위치에 있는 extractor (호출자가 소유)
+     * @param sourceFormat 오디오 트랙 포맷
+     * @param sink PCM 출력 (콜백 스레드에서 호출, 닫는 것은 호출자 책임)
+     * @param sinkRate sink 샘플레이트
+     * @param sinkChannels sink 채널 수
+     * @param progressCallback 진행률 콜백 (콜백 스레드에서 호출)
+     */
+    public void decodeTo(MediaExtractor extractor, MediaFormat sourceFormat, PcmSink sink, int sinkRate,
+                         int sinkChannels, MediaProcessingEngine.ProgressCallback progressCallback)
+            throws AudioTrimException, InterruptedException {
+        this.extractor = extractor;
+        this.progressCallback = progressCallback;
+        this.totalDurationUs = sourceFormat.containsKey(MediaFormat.KEY_DURATION)
+            ? sourceFormat.getLong(MediaFormat.KEY_DURATION) : 0;
+        this.pcmSink = sink;
+
+        int sourceRate = sourceFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        int sourceChannels = sourceFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        outputRate = sinkRate;
+        outputChannels = sinkChannels;
+        adapter = target.createAdapter(sourceRate, sourceChannels, outputRate, outputChannels);
+        decoderInputRate = sourceRate;
+
+        LoggerManager.logger("🎚️ PCM 디코딩 시작: " + sourceFormat.getString(MediaFormat.KEY_MIME) + " "
+            + sourceRate + "Hz/" + sourceChannels + "ch → PCM " + outputRate + "Hz/" + outputChannels + "ch");
+        long startedAt = System.currentTimeMillis();
+
+        HandlerThread callbackThread = new HandlerThread("AudioTranscoder");
+        callbackThread.start();
+        Handler handler = new Handler(callbackThread.getLooper());
+
+        try {
+            decoder = MediaCodec.createDecoderByType(sourceFormat.getString(MediaFormat.KEY_MIME));
+            decoder.setCallback(new DecoderCallback(), handler);
+            decoder.configure(sourceFormat, null, null, 0);
+            decoder.start();
+
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            finished.countDown();
+        }
+
+        awaitCompletion(handler, callbackThread);
+
+        LoggerManager.logger("✅ PCM 디코딩 완료: " + encodedFrames + " frames, "
+            + (System.currentTimeMillis() - startedAt) + "ms");
+    }
+
+    /**
+     * 완료/실패/취소까지 대기한 뒤 콜백 스레드에서 자원 정리
+     */
+    private void awaitCompletion(Handler handler, HandlerThread callbackThread)
+            throws AudioTrimException, InterruptedException {
+        boolean interrupted = false;
+        try {
+            while (!finished.await(WAIT_POLL_MS, TimeUnit.MILLISECONDS)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+
+        // 코덱/muxer 정리는 콜백 스레드에서 (진행 중인 콜백과 겹치지 않도록)
+        CountDownLatch released = new CountDownLatch(1);
+        boolean success = !interrupted && failure == null;
+        handler.post(() -> {
+            releaseAll(success);
+            released.countDown();
+        });
+        released.await();
+        callbackThread.quitSafely();
+
+        if (interrupted) {
+            throw new InterruptedException("트랜스코딩 취소");
+        }
+        if (failure != null) {
+            if (failure instanceof AudioTrimException) {
+                throw (AudioTrimException) failure;
+            }
+            throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                "트랜스코딩 실패: " + failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * 목표에 맞는 AAC-LC 인코더 설정
+     */
+    static MediaFormat createAacFormat(Target target, MediaFormat sourceFormat) {
+        int rate = resolveOutputRate(target, sourceFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE));
+        int channels = resolveOutputChannels(target, sourceFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT));
+        MediaFormat format = MediaFormat.createAudioFormat(MIME_AAC, rate, channels);
+        format.setInteger(MediaFormat.KEY_AAC_PROFILE, MediaCodecInfo.CodecProfileLevel.AACObjectLC);
+        format.setInteger(MediaFormat.KEY_BIT_RATE, resolveBitrate(target, channels));
+        return format;
+    }
+
+    /**
+     * 목표 프리셋에 맞는 Opus 인코더 설정 (목표 비트레이트가 있으면 우선)
+     */
+    static MediaFormat createOpusFormat(Target target, MediaFormat sourceFormat) {
+        int requestedRate = target.sampleRate > 0
+            ? target.sampleRate : sourceFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        int channels = Math.min(target.opusPreset.getMaxChannels(),
+                                resolveOutputChannels(target, sourceFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT)));
+        int bitrate = target.bitrate > 0 ? target.bitrate : target.opusPreset.getBitrate();
+        MediaFormat format = MediaFormat.createAudioFormat(MediaFormat.MIMETYPE_AUDIO_OPUS,
+                                                           resolveOpusSampleRate(requestedRate), channels);
+        format.setInteger(MediaFormat.KEY_BIT_RATE, bitrate);
+        return format;
+    }
+
+    /**
+     * Opus 입력 샘플레이트 (요청 값 이상인 가장 낮은 허용 값, 최대 48kHz)
+     */
+    static int resolveOpusSampleRate(int requested) {
+        for (int rate : OPUS_SAMPLE_RATES) {
+            if (rate >= requested) {
+                return rate;
+            }
+        }
+        return OPUS_SAMPLE_RATES[OPUS_SAMPLE_RATES.length - 1];
+    }
+
+    /**
+     * 출력 샘플레이트 (목표가 없으면 원본, AAC 표준 값으로 맞춤)
+     */
+    static int resolveOutputRate(Target target, int sourceRate) {
+        return resolveSampleRate(target.sampleRate > 0 ? target.sampleRate : sourceRate);
+    }
+
+    /**
+     * 출력 채널 수 (목표 채널 구성 기준, 스테레오 초과는 다운믹스)
+     */
+    static int resolveOutputChannels(Target target, int sourceChannels) {
+        return Math.min(MAX_OUTPUT_CHANNELS, target.channelMix.resolveChannels(sourceChannels));
+    }
+
+    /**
+     * 출력 비트레이트 (목표가 없으면 채널당 64kbps)
+     */
+    static int resolveBitrate(Target target, int outputChannels) {
+        return target.bitrate > 0 ? target.bitrate : DEFAULT_BITRATE_PER_CHANNEL * outputChannels;
+    }
+
+    /**
+     * AAC 인코더가 지원하는 샘플레이트로 맞춤 (가장 가까운 표준 값)
+     */
+    private static int resolveSampleRate(int requested) {
+        int best = AAC_SAMPLE_RATES[0];
+        for (int rate : AAC_SAMPLE_RATES) {
+            if (Math.abs(rate - requested) < Math.abs(best - requested)) {
+                best = rate;
+            }
+        }
+        return Math.min(best, MAX_AAC_SAMPLE_RATE);
+    }
+
+    // ===== 콜백 스레드 =====
+
+    private final class DecoderCallback extends MediaCodec.Callback {
+        @Override
+        public void onInputBufferAvailable(MediaCodec codec, int index) {
+            if (isFinished() || extractorDone) {
+                return;
+            }
+            try {
+                ByteBuffer buffer = codec.getInputBuffer(index);
+                int size = extractor.readSampleData(buffer, 0);
+                if (size < 0) {
+                    codec.queueInputBuffer(index, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                    extractorDone = true;
+                    return;
+                }
+                long sampleTime = extractor.getSampleTime();
+                codec.queueInputBuffer(index, 0, size, sampleTime, 0);
+                extractor.advance();
+
+                if (progressCallback != null && totalDurationUs > 0) {
+                    progressCallback.onProgress(sampleTime, totalDurationUs);
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onOutputBufferAvailable(MediaCodec codec, int index, MediaCodec.BufferInfo info) {
+            if (isFinished()) {
+                return;
+            }
+            PendingOutput pending = pendingPool.isEmpty() ? new PendingOutput() : pendingPool.poll();
+            pending.index = index;
+            pending.offset = info.offset;
+            pending.size = info.size;
+            pending.flags = info.flags;
+            pendingOutputs.add(pending);
+            pump();
+        }
+
+        @Override
+        public void onError(MediaCodec codec, MediaCodec.CodecException e) {
+            fail(e);
+        }
+
+        @Override
+        public void onOutputFormatChanged(MediaCodec codec, MediaFormat format) {
+            // HE-AAC(SBR) 등 실제 출력 포맷이 컨테이너 정보와 다를 수 있으므로 변환기 재생성
+            int rate = format.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+            int channels = format.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+            if (adapter.getInputChannelCount() != channels || decoderInputRate != rate) {
+                LoggerManager.logger("ℹ️ 디코더 출력 포맷: " + rate + "Hz/" + channels + "ch");
+                adapter = target.createAdapter(rate, channels, outputRate, outputChannels);
+            }
+            decoderInputRate = rate;
+        }
+    }
+
+    private final class EncoderCallback extends MediaCodec.Callback {
+        @Override
+        public void onInputBufferAvailable(MediaCodec codec, int index) {
+            if (isFinished()) {
+                return;
+            }
+            freeEncoderInputs.add(index);
+            pump();
+        }
+
+        @Override
+        public void onOutputBufferAvailable(MediaCodec codec, int index, MediaCodec.BufferInfo info) {
+            if (isFinished()) {
+                return;
+            }
+            try {
+                boolean config = (info.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) != 0;
+                if (!config && info.size > 0 && encodedSink != null) {
+                    ByteBuffer buffer = codec.getOutputBuffer(index);
+                    sinkInfo.set(info.offset, info.size, info.presentationTimeUs, info.flags);
+                    encodedSink.writeSample(buffer, sinkInfo);
+                } else if (!config && info.size > 0) {
+                    if (muxerTrackIndex < 0) {
+                        throw new IllegalStateException("인코더 출력 포맷 없이 데이터 수신");
+                    }
+                    ByteBuffer buffer = codec.getOutputBuffer(index);
+                    buffer.position(info.offset);
+                    buffer.limit(info.offset + info.size);
+                    muxer.writeSampleData(muxerTrackIndex, buffer, info);
+                }
+                codec.releaseOutputBuffer(index, false);
+
+                if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                    finished.countDown();
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onError(MediaCodec codec, MediaCodec.CodecException e) {
+            fail(e);
+        }
+
+        @Override
+        public void onOutputFormatChanged(MediaCodec codec, MediaFormat format) {
+            if (muxer == null) {
+                return;
+            }
+            try {
+                muxerTrackIndex = muxer.addTrack(format);
+                muxer.start();
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * 디코더 출력 → FIFO → 인코더 입력으로 가능한 만큼 전달
+     */
+    private void pump() {
+        try {
+            drainDecoderOutputs();
+            feedEncoder();
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private void drainDecoderOutputs() {
+        if (pcmSink != null) {
+            drainDecoderOutputsToSink();
+            return;
+        }
+        while (!pendingOutputs.isEmpty()) {
+            PendingOutput pending = pendingOutputs.peek();
+            int inputChannels = adapter.getInputChannelCount();
+            int inputFrames = pending.size / (2 * inputChannels);
+
+            // FIFO 여유가 없으면 디코더 버퍼를 붙잡아 두어 디코딩 속도를 인코딩 속도에 맞춤
+            int estimate = (int) ((long) inputFrames * outputRate / decoderInputRate) + 2;
+            if (!fifo.isEmpty() && fifo.getFrameCount() + estimate > fifo.getMaxCapacityFrames()) {
+                return;
+            }
+            pendingOutputs.poll();
+
+            if (inputFrames > 0) {
+                int samples = inputFrames * inputChannels;
+                if (decodedScratch.length < samples) {
+                    decodedScratch = new short[samples];
+                }
+                ByteBuffer buffer = decoder.getOutputBuffer(pending.index);
+                buffer.position(pending.offset);
+                buffer.limit(pending.offset + pending.size);
+                ShortBuffer shorts = buffer.order(ByteOrder.nativeOrder()).asShortBuffer();
+                shorts.get(decodedScratch, 0, samples);
+
+                int produced = adapter.process(decodedScratch, inputFrames);
+                fifo.append(adapter.getOutput(), 0, produced);
+            }
+            decoder.releaseOutputBuffer(pending.index, false);
+
+            if ((pending.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                int produced = adapter.flush();
+                fifo.append(adapter.getOutput(), 0, produced);
+                decoderDone = true;
+            }
+            pendingPool.add(pending);
+        }
+    }
+
+    /**
+     * PCM 출력 모드: 디코더 출력을 변환해 sink에 바로 기록 (sink 기록이 곧 흐름 제어)
+     */
+    private void drainDecoderOutputsToSink() {
+        try {
+            while (!pendingOutputs.isEmpty()) {
+                PendingOutput pending = pendingOutputs.poll();
+                int inputChannels = adapter.getInputChannelCount();
+                int inputFrames = pending.size / (2 * inputChannels);
+
+                if (inputFrames > 0) {
+                    int samples = inputFrames * inputChannels;
+                    if (decodedScratch.length < samples) {
+                        decodedScratch = new short[samples];
+                    }
+                    ByteBuffer buffer = decoder.getOutputBuffer(pending.index);
+                    buffer.position(pending.offset);
+                    buffer.limit(pending.offset + pending.size);
+                    buffer.order(ByteOrder.nativeOrder()).asShortBuffer().get(decodedScratch, 0, samples);
+
+                    int produced = adapter.process(decodedScratch, inputFrames);
+                    pcmSink.writePcm(adapter.getOutput(), 0, produced);
+                    encodedFrames += produced;
+                }
+                decoder.releaseOutputBuffer(pending.index, false);
+                pendingPool.add(pending);
+
+                if ((pending.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                    int produced = adapter.flush();
+                    pcmSink.writePcm(adapter.getOutput(), 0, produced);
+                    encodedFrames += produced;
+                    decoderDone = true;
+                    finished.countDown();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            fail(new AudioTrimException(AudioTrimException.ErrorType.INSUFFICIENT_STORAGE,
+                "PCM 기록 실패: " + e.getMessage(), e));
+        }
+    }
+
+    private void feedEncoder() {
+        while (encoder != null && !encoderInputDone && !freeEncoderInputs.isEmpty()) {
+            boolean lastChunk = decoderDone && pendingOutputs.isEmpty();
+            if (fifo.getFrameCount() < AacFrameEncoder.FRAME_SIZE && !lastChunk) {
+                return;
+            }
+
+            int index = freeEncoderInputs.poll();
+            ByteBuffer buffer = encoder.getInputBuffer(index);
+            buffer.clear();
+            long ptsUs = encodedFrames * 1_000_000L / outputRate;
+
+            int frames = Math.min(fifo.getFrameCount(), buffer.remaining() / (2 * outputChannels));
+            if (frames <= 0) {
+                encoder.queueInputBuffer(index, 0, 0, ptsUs, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                encoderInputDone = true;
+                return;
+            }
+
+            int samples = frames * outputChannels;
+            if (encodeScratch.length < samples) {
+                encodeScratch = new short[samples];
+            }
+            fifo.read(fifo.getStartFrame(), encodeScratch, 0, frames);
+            fifo.retain(fifo.getStartFrame() + frames, Long.MAX_VALUE);
+            buffer.order(ByteOrder.nativeOrder()).asShortBuffer().put(encodeScratch, 0, samples);
+
+            encoder.queueInputBuffer(index, 0, samples * 2, ptsUs, 0);
+            encodedFrames += frames;
+
+            // FIFO에 자리가 났으니 붙잡아 둔 디코더 출력 처리
+            drainDecoderOutputs();
+        }
+    }
+
+    private boolean isFinished() {
+        return finished.getCount() == 0;
+    }
+
+    private void fail(Exception e) {
+        if (failure == null) {
+            failure = e;
+        }
+        LoggerManager.logger("❌ 트랜스코딩 오류: " + e.getMessage());
+        finished.countDown();
+    }
+
+    private void releaseAll(boolean success) {
+        releaseCodec(decoder, "디코더");
+        releaseCodec(encoder, "인코더");
+        decoder = null;
+        encoder = null;
+
+        if (muxer != null) {
+            try {
+                if (muxerTrackIndex >= 0) {
+                    muxer.stop();
+                }
+            } catch (RuntimeException e) {
+                if (success && failure == null) {
+                    failure = new AudioTrimException(AudioTrimException.ErrorType.MEDIA_MUXER_FAILED,
+                        "출력 파일 마무리 실패", e);
+                }
+            }
+            try {
+                muxer.release();
+            } catch (RuntimeException e) {
+                LoggerManager.logger("⚠️ MediaMuxer 정리 실패: " + e.getMessage());
+            }
+            muxer = null;
+        }
+    }
+
+    private static void releaseCodec(MediaCodec codec, String name) {
+        if (codec == null) {
+            return;
+        }
+        try {
+            codec.stop();
+        } catch (RuntimeException e) {
+            LoggerManager.logger("⚠️ " + name + " stop 실패: " + e.getMessage());
+        }
+        try {
+            codec.release();
+        } catch (RuntimeException e) {
+            LoggerManager.logger("⚠️ " + name + " 정리 실패: " + e.getMessage());
+        }
+    }
+}
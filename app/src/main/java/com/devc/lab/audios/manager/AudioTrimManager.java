@@ -8,6 +8,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 오디오 자르기 기능을 관리하는 싱글톤 매니저
@@ -23,6 +25,9 @@ public class AudioTrimManager {
     private OnTrimCompletionListener onCompletionListener;
     private OnTrimErrorListener onErrorListener;
     
+    // 이 관리자로 등록한 진행 중 작업 ID (취소용)
+    private final Set<Long> activeJobIds = ConcurrentHashMap.newKeySet();
+    
     // 인터페이스 정의
     public interface OnTrimStartListener {
         void onTrimStart();
@@ -61,12 +66,12 @@ public class AudioTrimManager {
      * @param startTimeMs 시작 시간 (밀리초)
      * @param endTimeMs 끝 시간 (밀리초)
      * @param outputFileName 출력 파일명
+     * @return 작업 ID (MediaJobQueue)
      */
-    public void trimAudio(Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName) {
-        // Phase 3: Native API로 위임
-        NativeAudioTrimManager nativeTrimmer = NativeAudioTrimManager.getInstance();
-        setupNativeTrimmerCallbacks(nativeTrimmer);
-        nativeTrimmer.trimAudio(sourceUri, startTimeMs, endTimeMs, outputFileName);
+    public long trimAudio(Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName) {
+        // Phase 3: Native API로 위임 (작업 큐에 등록, 진행 중인 다른 작업이 있어도 거절하지 않음)
+        return track(MediaJobQueue.getInstance().enqueueTrim(sourceUri, startTimeMs, endTimeMs, outputFileName,
+            NativeAudioTrimManager.TrimMode.STREAM_COPY, createJobListener()));
     }
     
     /**
@@ -76,13 +81,80 @@ public class AudioTrimManager {
      * @param endRatio 끝 위치 비율 (0.0 ~ 1.0)
      * @param durationMs 전체 길이 (밀리초)
      * @param outputFileName 출력 파일명
+     * @return 작업 ID (MediaJobQueue)
      */
-    public void trimAudioByRatio(Uri sourceUri, float startRatio, float endRatio, 
+    public long trimAudioByRatio(Uri sourceUri, float startRatio, float endRatio, 
                                   long durationMs, String outputFileName) {
-        // Phase 3: Native API로 위임
-        NativeAudioTrimManager nativeTrimmer = NativeAudioTrimManager.getInstance();
-        setupNativeTrimmerCallbacks(nativeTrimmer);
-        nativeTrimmer.trimAudioByRatio(sourceUri, startRatio, endRatio, durationMs, outputFileName);
+        return trimAudioByRatio(sourceUri, startRatio, endRatio, durationMs, outputFileName,
+                                NativeAudioTrimManager.TrimMode.STREAM_COPY);
+    }
+    
+    /**
+     * 오디오 파일 자르기 (비율 기반, 자르기 방식 지정)
+     * @param trimMode SMART면 경계 프레임만 재인코딩하여 핸들 위치에 샘플 단위로 맞춤
+     * @return 작업 ID (MediaJobQueue)
+     */
+    public long trimAudioByRatio(Uri sourceUri, float startRatio, float endRatio, 
+                                  long durationMs, String outputFileName,
+                                  NativeAudioTrimManager.TrimMode trimMode) {
+        return trimAudioByRatio(sourceUri, startRatio, endRatio, durationMs, outputFileName, trimMode,
+                                NativeAudioTrimManager.FadeOptions.NONE);
+    }
+    
+    /**
+     * 오디오 파일 자르기 (비율 기반, 자르기 방식 + 페이드 인/아웃)
+     * @param fadeOptions 페이드 옵션 (페이드 구간 프레임만 재인코딩하고 나머지는 stream copy)
+     * @return 작업 ID (MediaJobQueue)
+     */
+    public long trimAudioByRatio(Uri sourceUri, float startRatio, float endRatio, 
+                                  long durationMs, String outputFileName,
+                                  NativeAudioTrimManager.TrimMode trimMode,
+                                  NativeAudioTrimManager.FadeOptions fadeOptions) {
+        long startTimeMs = (long) (startRatio * durationMs);
+        long endTimeMs = (long) (endRatio * durationMs);
+        return track(MediaJobQueue.getInstance().enqueueTrim(sourceUri, startTimeMs, endTimeMs, outputFileName,
+                                                             trimMode, fadeOptions, createJobListener()));
+    }
+    
+    /**
+     * 선택 구간 삭제 (비율 기반) - 선택 구간을 제거하고 앞/뒤를 이어 붙임
+     * @param sourceUri 원본 파일 URI
+     * @param startRatio 삭제 시작 위치 비율 (0.0 ~ 1.0)
+     * @param endRatio 삭제 끝 위치 비율 (0.0 ~ 1.0)
+     * @param durationMs 전체 길이 (밀리초)
+     * @param outputFileName 출력 파일명
+     * @return 작업 ID (MediaJobQueue)
+     */
+    public long cutOutAudioByRatio(Uri sourceUri, float startRatio, float endRatio, 
+                                    long durationMs, String outputFileName) {
+        long startTimeMs = (long) (startRatio * durationMs);
+        long endTimeMs = (long) (endRatio * durationMs);
+        return track(MediaJobQueue.getInstance().enqueueCutOut(sourceUri, startTimeMs, endTimeMs,
+                                                               outputFileName, createJobListener()));
+    }
+    
+    /**
+     * 작업 하나 취소
+     * @return 취소 요청이 받아들여졌으면 true
+     */
+    public boolean cancelJob(long jobId) {
+        return MediaJobQueue.getInstance().cancel(jobId);
+    }
+    
+    /**
+     * 이 관리자로 등록한 모든 작업 취소
+     */
+    public void cancelAll() {
+        for (Long jobId : activeJobIds) {
+            MediaJobQueue.getInstance().cancel(jobId);
+        }
+    }
+    
+    /**
+     * 이 관리자로 등록한 작업이 진행/대기 중인지
+     */
+    public boolean hasActiveJobs() {
+        return !activeJobIds.isEmpty();
     }
     
     /**
@@ -210,32 +282,54 @@ public class AudioTrimManager {
         onErrorListener = null;
     }
     
+    private long track(long jobId) {
+        // 완료 콜백이 등록보다 먼저 올 수 있으므로 이미 끝난 작업은 추가하지 않음
+        activeJobIds.add(jobId);
+        if (!MediaJobQueue.getInstance().isActive(jobId)) {
+            activeJobIds.remove(jobId);
+        }
+        return jobId;
+    }
+    
     /**
-     * Phase 3: Native 자르기 관리자에 콜백 설정
+     * 작업별 리스너 생성 (등록 시점의 리스너를 고정 - 다른 호출자가 리스너를 바꿔도 진행 중 작업은 영향 없음)
      */
-    private void setupNativeTrimmerCallbacks(NativeAudioTrimManager nativeTrimmer) {
-        nativeTrimmer.setOnStartListener(() -> {
-            if (onStartListener != null) {
-                onStartListener.onTrimStart();
-            }
-        });
+    private MediaJob.Listener createJobListener() {
+        final OnTrimStartListener startListener = onStartListener;
+        final OnTrimProgressListener progressListener = onProgressListener;
+        final OnTrimCompletionListener completionListener = onCompletionListener;
+        final OnTrimErrorListener errorListener = onErrorListener;
         
-        nativeTrimmer.setOnProgressListener((progress) -> {
-            if (onProgressListener != null) {
-                onProgressListener.onTrimProgress(progress);
+        return new MediaJob.Listener() {
+            @Override
+            public void onJobStart(long jobId) {
+                if (startListener != null) {
+                    startListener.onTrimStart();
+                }
             }
-        });
-        
-        nativeTrimmer.setOnCompletionListener((outputPath) -> {
-            if (onCompletionListener != null) {
-                onCompletionListener.onTrimComplete(outputPath);
+            
+            @Override
+            public void onJobProgress(long jobId, int progress) {
+                if (progressListener != null) {
+                    progressListener.onTrimProgress(progress);
+                }
             }
-        });
-        
-        nativeTrimmer.setOnErrorListener((error) -> {
-            if (onErrorListener != null) {
-                onErrorListener.onTrimError(error);
+            
+            @Override
+            public void onJobComplete(long jobId, String outputPath) {
+                activeJobIds.remove(jobId);
+                if (completionListener != null) {
+                    completionListener.onTrimComplete(outputPath);
+                }
+            }
+            
+            @Override
+            public void onJobError(long jobId, String error) {
+                activeJobIds.remove(jobId);
+                if (errorListener != null) {
+                    errorListener.onTrimError(error);
+                }
             }
-        });
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,329 @@
+package com.devc.lab.audios.manager;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.SystemClock;
+
+import com.devc.lab.audios.model.ConversionSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * 일괄 변환 큐
+ * 여러 파일을 같은 변환 설정으로 MediaJobQueue에 한 번에 등록하고 항목별/전체 진행률과 남은 시간을 집계
+ * 동시 실행 수는 MediaJobQueue가 정함 (stream copy는 I/O 병렬, 재인코딩은 코어/코덱 인스턴스 수만큼)
+ * 모든 메서드와 콜백은 메인 스레드에서 사용
+ */
+public class BatchConversionQueue {
+
+    // 전체 진행률이 이보다 낮으면 남은 시간을 추정하지 않음 (초반 추정치는 편차가 큼)
+    private static final double MIN_ETA_FRACTION = 0.02;
+    private static final long MIN_ETA_ELAPSED_MS = 2000;
+
+    /**
+     * 항목 상태
+     */
+    public enum ItemState {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    /**
+     * 일괄 변환 항목 하나
+     */
+    public static final class Item {
+        private final Uri inputUri;
+        private final String outputFileName;
+        private long jobId = -1;
+        private ItemState state = ItemState.QUEUED;
+        private int progress = 0;
+        private String outputPath;
+        private String error;
+
+        Item(Uri inputUri, String outputFileName) {
+            this.inputUri = inputUri;
+            this.outputFileName = outputFileName;
+        }
+
+        public Uri getInputUri() { return inputUri; }
+        public String getOutputFileName() { return outputFileName; }
+        public long getJobId() { return jobId; }
+        public ItemState getState() { return state; }
+        public int getProgress() { return progress; }
+        public String getOutputPath() { return outputPath; }
+        public String getError() { return error; }
+
+        public boolean isFinished() {
+            return state == ItemState.COMPLETED || state == ItemState.FAILED || state == ItemState.CANCELLED;
+        }
+    }
+
+    /**
+     * 진행 상황 스냅샷 (항목 목록은 메인 스레드에서만 읽을 것)
+     */
+    public static final class Snapshot {
+        public final List<Item> items;
+        public final int totalCount;
+        public final int completedCount;
+        public final int failedCount;
+        public final int cancelledCount;
+        public final int runningCount;
+        // 전체 진행률 (0-100, 끝난 항목은 100으로 계산)
+        public final int progress;
+        // 남은 시간 추정치 (ms, 모르면 -1)
+        public final long remainingMs;
+        public final boolean finished;
+
+        Snapshot(List<Item> items, int completedCount, int failedCount, int cancelledCount, int runningCount,
+                 int progress, long remainingMs, boolean finished) {
+            this.items = items;
+            this.totalCount = items.size();
+            this.completedCount = completedCount;
+            this.failedCount = failedCount;
+            this.cancelledCount = cancelledCount;
+            this.runningCount = runningCount;
+            this.progress = progress;
+            this.remainingMs = remainingMs;
+            this.finished = finished;
+        }
+    }
+
+    /**
+     * 진행 상황 콜백 (메인 스레드, 항목 상태나 진행률이 바뀔 때마다 호출)
+     */
+    public interface Listener {
+        void onBatchUpdate(Snapshot snapshot);
+    }
+
+    /**
+     * 항목별 변환 작업 등록/취소 (기본은 AudioConversionManager + MediaJobQueue)
+     */
+    interface JobSubmitter {
+        /**
+         * @return 작업 ID
+         */
+        long submit(Uri inputUri, ConversionSettings settings, MediaJob.Listener listener);
+
+        void cancel(long jobId);
+    }
+
+    private final JobSubmitter submitter;
+    private final LongSupplier clock;
+    private final List<Item> items = new ArrayList<>();
+    private Listener listener;
+    private long startTimeMs;
+    private boolean cancelRequested = false;
+
+    public BatchConversionQueue(AudioConversionManager conversionManager, Context context) {
+        this(new JobSubmitter() {
+            private final Context appContext = context.getApplicationContext();
+
+            @Override
+            public long submit(Uri inputUri, ConversionSettings settings, MediaJob.Listener listener) {
+                settings.setInputPath(inputUri.toString());
+                return conversionManager.submitConversion(inputUri, settings, appContext, listener);
+            }
+
+            @Override
+            public void cancel(long jobId) {
+                MediaJobQueue.getInstance().cancel(jobId);
+            }
+        }, SystemClock::elapsedRealtime);
+    }
+
+    /**
+     * @param clock 경과 시간 기준 (ms, 단조 증가)
+     */
+    BatchConversionQueue(JobSubmitter submitter, LongSupplier clock) {
+        this.submitter = submitter;
+        this.clock = clock;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 일괄 변환 시작 (진행 중인 일괄 변환이 있으면 무시)
+     * @param inputUris 입력 파일 목록
+     * @param outputFileNames 항목별 출력 파일명 (겹치면 번호를 붙여 구분)
+     * @param settings 모든 항목에 적용할 변환 설정
+     * @return 시작했으면 true
+     */
+    public boolean start(List<Uri> inputUris, List<String> outputFileNames, ConversionSettings settings) {
+        if (isRunning()) {
+            LoggerManager.logger("⚠️ 일괄 변환이 이미 진행 중입니다");
+            return false;
+        }
+        if (inputUris == null || outputFileNames == null || inputUris.size() != outputFileNames.size()
+                || inputUris.isEmpty() || settings == null) {
+            LoggerManager.logger("⚠️ 일괄 변환 입력 오류");
+            return false;
+        }
+
+        items.clear();
+        cancelRequested = false;
+        startTimeMs = clock.getAsLong();
+
+        Set<String> usedNames = new HashSet<>();
+        for (int i = 0; i < inputUris.size(); i++) {
+            items.add(new Item(inputUris.get(i), makeUnique(outputFileNames.get(i), usedNames)));
+        }
+
+        LoggerManager.logger("📦 일괄 변환 시작: " + items.size() + "개 파일, " + settings);
+        for (Item item : items) {
+            ConversionSettings itemSettings = settings.copy();
+            itemSettings.setOutputPath(item.outputFileName);
+            item.jobId = submitter.submit(item.inputUri, itemSettings, createItemListener(item));
+        }
+        dispatchUpdate();
+        return true;
+    }
+
+    /**
+     * 남은 항목 모두 취소 (대기 중인 항목은 실행되지 않음)
+     */
+    public void cancelAll() {
+        if (!isRunning()) {
+            return;
+        }
+        cancelRequested = true;
+        for (Item item : items) {
+            if (!item.isFinished()) {
+                submitter.cancel(item.jobId);
+            }
+        }
+        LoggerManager.logger("🚫 일괄 변환 전체 취소 요청");
+    }
+
+    /**
+     * 끝나지 않은 항목이 있는지
+     */
+    public boolean isRunning() {
+        for (Item item : items) {
+            if (!item.isFinished()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Item> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    private MediaJob.Listener createItemListener(Item item) {
+        return new MediaJob.Listener() {
+            @Override
+            public void onJobStart(long jobId) {
+                item.state = ItemState.RUNNING;
+                dispatchUpdate();
+            }
+
+            @Override
+            public void onJobProgress(long jobId, int progress) {
+                item.progress = Math.max(0, Math.min(100, progress));
+                dispatchUpdate();
+            }
+
+            @Override
+            public void onJobComplete(long jobId, String outputPath) {
+                item.state = ItemState.COMPLETED;
+                item.progress = 100;
+                item.outputPath = outputPath;
+                dispatchUpdate();
+            }
+
+            @Override
+            public void onJobError(long jobId, String error) {
+                item.state = cancelRequested ? ItemState.CANCELLED : ItemState.FAILED;
+                item.error = error;
+                LoggerManager.logger("❌ 일괄 변환 항목 실패: " + item.outputFileName + " - " + error);
+                dispatchUpdate();
+            }
+        };
+    }
+
+    private void dispatchUpdate() {
+        Snapshot snapshot = createSnapshot();
+        if (snapshot.finished) {
+            LoggerManager.logger("📦 일괄 변환 종료: 완료 " + snapshot.completedCount + ", 실패 " + snapshot.failedCount
+                + ", 취소 " + snapshot.cancelledCount + " / " + snapshot.totalCount + " ("
+                + (clock.getAsLong() - startTimeMs) + "ms)");
+        }
+        if (listener != null) {
+            listener.onBatchUpdate(snapshot);
+        }
+    }
+
+    private Snapshot createSnapshot() {
+        int completed = 0;
+        int failed = 0;
+        int cancelled = 0;
+        int running = 0;
+        long progressSum = 0;
+        for (Item item : items) {
+            switch (item.state) {
+                case COMPLETED:
+                    completed++;
+                    break;
+                case FAILED:
+                    failed++;
+                    break;
+                case CANCELLED:
+                    cancelled++;
+                    break;
+                case RUNNING:
+                    running++;
+                    break;
+                default:
+                    break;
+            }
+            progressSum += item.isFinished() ? 100 : item.progress;
+        }
+
+        double fraction = items.isEmpty() ? 0 : progressSum / (100.0 * items.size());
+        boolean finished = completed + failed + cancelled == items.size();
+        long remainingMs = finished ? 0
+            : estimateRemainingMs(clock.getAsLong() - startTimeMs, fraction);
+        return new Snapshot(Collections.unmodifiableList(new ArrayList<>(items)), completed, failed, cancelled,
+                            running, (int) Math.floor(fraction * 100), remainingMs, finished);
+    }
+
+    /**
+     * 지금까지의 처리 속도로 남은 시간 추정 (항목들이 병렬 실행되므로 전체 진행률 기준)
+     * @param fraction 전체 진행률 (0~1)
+     * @return 남은 시간 (ms, 추정하기 이르면 -1)
+     */
+    static long estimateRemainingMs(long elapsedMs, double fraction) {
+        if (fraction < MIN_ETA_FRACTION || elapsedMs < MIN_ETA_ELAPSED_MS) {
+            return -1;
+        }
+        if (fraction >= 1.0) {
+            return 0;
+        }
+        return (long) (elapsedMs * (1.0 - fraction) / fraction);
+    }
+
+    /**
+     * 출력 파일명이 겹치면 확장자 앞에 번호를 붙임 (clip.m4a → clip_2.m4a)
+     */
+    static String makeUnique(String fileName, Set<String> usedNames) {
+        String candidate = fileName;
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        for (int n = 2; !usedNames.add(candidate.toLowerCase()); n++) {
+            candidate = base + "_" + n + extension;
+        }
+        return candidate;
+    }
+}
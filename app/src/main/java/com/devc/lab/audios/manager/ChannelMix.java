@@ -0,0 +1,163 @@
+package com.devc.lab.audios.manager;
+
+/**
+ * 출력 채널 구성 (다운믹스/채널 선택)
+ * 입력 채널 배치는 MediaCodec 디코더 출력의 WAVE 기본 순서 (FL FR FC LFE BL BR SL SR)로 가정
+ * 멀티채널 → 스테레오는 ITU-R BS.775 계수 (센터/서라운드 -3dB, LFE 제외)를 행 합이 1이 되도록 정규화해 클리핑 방지
+ */
+public enum ChannelMix {
+    SOURCE("원본"),        // 스테레오 이하는 유지, 그보다 많으면 스테레오 다운믹스
+    STEREO("스테레오"),
+    MONO("모노"),
+    LEFT("왼쪽 채널"),     // 첫 번째 채널만 모노로
+    RIGHT("오른쪽 채널");  // 두 번째 채널만 모노로
+
+    // 센터/서라운드 채널 계수 (-3dB)
+    private static final float MINUS_3DB = 0.70710678f;
+
+    private final String displayName;
+
+    ChannelMix(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * 출력 채널 수
+     */
+    public int resolveChannels(int sourceChannels) {
+        switch (this) {
+            case STEREO:
+                return 2;
+            case MONO:
+            case LEFT:
+            case RIGHT:
+                return 1;
+            default:
+                return Math.min(2, sourceChannels);
+        }
+    }
+
+    /**
+     * 채널 구성을 바꾸는지 (원본 채널 그대로면 false)
+     */
+    public boolean changes(int sourceChannels) {
+        if (this == LEFT || this == RIGHT) {
+            return sourceChannels > 1;
+        }
+        return resolveChannels(sourceChannels) != sourceChannels;
+    }
+
+    /**
+     * 믹스 행렬 [출력 채널][입력 채널]
+     * @param outputChannels 출력 채널 수 (resolveChannels 결과가 아니어도 됨 - WAV 원본 채널 유지 등)
+     */
+    public float[][] createMatrix(int inputChannels, int outputChannels) {
+        float[][] matrix = new float[outputChannels][inputChannels];
+
+        if (this == LEFT || this == RIGHT) {
+            int selected = this == LEFT ? 0 : Math.min(1, inputChannels - 1);
+            for (int c = 0; c < outputChannels; c++) {
+                matrix[c][selected] = 1f;
+            }
+            return matrix;
+        }
+
+        if (outputChannels >= inputChannels) {
+            // 같거나 업믹스: 부족한 채널은 마지막 입력 채널 복제 (모노 → 스테레오)
+            for (int c = 0; c < outputChannels; c++) {
+                matrix[c][Math.min(c, inputChannels - 1)] = 1f;
+            }
+            return matrix;
+        }
+
+        if (outputChannels <= 2) {
+            float[][] stereo = createStereoDownmix(inputChannels);
+            if (outputChannels == 2) {
+                return stereo;
+            }
+            // 모노: 스테레오 다운믹스의 평균
+            for (int i = 0; i < inputChannels; i++) {
+                matrix[0][i] = (stereo[0][i] + stereo[1][i]) / 2f;
+            }
+            return matrix;
+        }
+
+        // 그 외 다운믹스: 출력 채널 c에 입력 채널 c, c+out, c+2*out ... 평균
+        for (int c = 0; c < outputChannels; c++) {
+            int count = 0;
+            for (int k = c; k < inputChannels; k += outputChannels) {
+                count++;
+            }
+            for (int k = c; k < inputChannels; k += outputChannels) {
+                matrix[c][k] = 1f / count;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * 스테레오 다운믹스 행렬 (입력 채널 수별 WAVE 기본 배치 기준)
+     */
+    private static float[][] createStereoDownmix(int inputChannels) {
+        float[][] matrix = new float[2][inputChannels];
+        if (inputChannels == 1) {
+            matrix[0][0] = 1f;
+            matrix[1][0] = 1f;
+            return matrix;
+        }
+
+        for (int i = 0; i < inputChannels; i++) {
+            float left;
+            float right;
+            switch (roleOf(i, inputChannels)) {
+                case 'L': left = 1f; right = 0f; break;
+                case 'R': left = 0f; right = 1f; break;
+                case 'C': left = MINUS_3DB; right = MINUS_3DB; break;
+                case 'l': left = MINUS_3DB; right = 0f; break;     // 왼쪽 서라운드 (BL/SL)
+                case 'r': left = 0f; right = MINUS_3DB; break;     // 오른쪽 서라운드 (BR/SR)
+                case 'B': left = 0.5f; right = 0.5f; break;        // 후방 센터
+                default: left = 0f; right = 0f; break;             // LFE
+            }
+            matrix[0][i] = left;
+            matrix[1][i] = right;
+        }
+
+        // 행 합이 1이 되도록 정규화 (모든 채널이 최대일 때도 클리핑 없음)
+        for (float[] row : matrix) {
+            float sum = 0f;
+            for (float gain : row) {
+                sum += gain;
+            }
+            if (sum > 0f) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] /= sum;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * 입력 채널 역할 (L/R 전방, C 센터, F LFE, l/r 서라운드, B 후방 센터)
+     */
+    private static char roleOf(int index, int channels) {
+        String layout;
+        switch (channels) {
+            case 2: layout = "LR"; break;
+            case 3: layout = "LRC"; break;
+            case 4: layout = "LRlr"; break;          // 쿼드
+            case 5: layout = "LRClr"; break;
+            case 6: layout = "LRCFlr"; break;        // 5.1
+            case 7: layout = "LRCFBlr"; break;       // 6.1
+            case 8: layout = "LRCFlrlr"; break;      // 7.1
+            default:
+                // 알 수 없는 배치: 짝수 번째는 왼쪽, 홀수 번째는 오른쪽 서라운드로 취급
+                return index == 0 ? 'L' : index == 1 ? 'R' : (index % 2 == 0 ? 'l' : 'r');
+        }
+        return layout.charAt(index);
+    }
+}
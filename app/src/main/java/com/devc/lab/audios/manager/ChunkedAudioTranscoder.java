@@ -0,0 +1,798 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaCodecList;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 구간 분할 병렬 트랜스코더 (긴 입력용)
+ * 입력을 sync 샘플 위치에서 N개 구간으로 나눠 구간마다 별도 디코더/인코더로 동시에 AAC 인코딩한 뒤
+ * 인코딩된 프레임을 순서대로 하나의 muxer에 이어 붙임
+ *
+ * 이음매 처리:
+ * - 출력은 AAC 프레임(1024 샘플) 격자 기준으로 나누고, 구간 i는 격자상 [S_i, S_i+1) 프레임만 기록
+ * - 디코더는 구간 앞 preroll부터 디코딩해 MDCT 겹침을 채우고, 필요한 출력 샘플 범위 밖은 버림
+ * - 인코더는 priming 지연만큼 앞 구간 PCM을 겹쳐 넣고 앞쪽 워밍업 프레임을 버림 (SmartTrimRenderer와 같은 방식)
+ *   → 각 구간 첫 프레임이 격자 위치에 정확히 맞아 이음매에 공백/중복이 없음
+ * - 구간 결과는 메모리 대신 출력 폴더의 임시 파일에 기록 (3시간 입력도 메모리 사용량 일정)
+ *
+ * 체크포인트 (영속화된 작업):
+ * - 구간을 병렬 수보다 잘게(최대 5분) 나눠 순서대로 처리하고, 구간이 끝날 때마다 파일을 sync한 뒤 완료 비트를 저장
+ * - 프로세스가 종료된 뒤 다시 실행하면 같은 구간 수로 경계를 다시 계산하고 완료된 구간 파일은 그대로 사용
+ */
+public class ChunkedAudioTranscoder {
+
+    /**
+     * 이 길이 이상일 때만 분할 (짧은 입력은 코덱 생성/워밍업 비용이 이득보다 큼)
+     */
+    public static final long MIN_PARALLEL_DURATION_US = 10 * 60 * 1_000_000L;
+    private static final long MIN_SEGMENT_US = 3 * 60 * 1_000_000L;
+    private static final int MAX_SEGMENTS = 8;
+    private static final long DECODER_PREROLL_US = 100_000;
+    private static final long CODEC_TIMEOUT_US = 5_000;
+    private static final int FRAME_SIZE = AacFrameEncoder.FRAME_SIZE;
+    private static final int FIFO_FRAMES = FRAME_SIZE * 16;
+    // 구간 트랜스코딩 : 이어 붙이기 진행률 비중
+    private static final int TRANSCODE_PROGRESS_WEIGHT = 95;
+    // 체크포인트 사용 시 구간 최대 길이 (프로세스 종료 시 잃는 작업량 상한 = 이 길이 × 병렬 수)
+    private static final long CHECKPOINT_SEGMENT_US = 5 * 60 * 1_000_000L;
+    // 완료 비트를 long 하나에 저장
+    private static final int MAX_CHECKPOINT_SEGMENTS = 64;
+
+    /**
+     * 구간 단위 체크포인트 저장소 (MediaJob이 MediaJobStore에 기록)
+     */
+    public interface Checkpoint {
+        /**
+         * 이전 실행의 구간 수 (기록이 없으면 0)
+         */
+        int getSegmentCount();
+
+        /**
+         * 이전 실행에서 완료한 구간 비트 (구간 i = 1L << i)
+         */
+        long getCompletedSegments();
+
+        /**
+         * @param checkpointUs 처음부터 끊김 없이 완료된 구간의 끝 presentation time
+         */
+        void saveCheckpoint(int segmentCount, long completedSegments, long checkpointUs);
+    }
+
+    /**
+     * 구간 하나의 인코딩 결과 (임시 파일 + 프레임 크기 목록)
+     * 임시 파일은 프레임마다 [크기(int) + AAC 프레임] 순서로 기록 (재개 시 크기 목록 복원용)
+     */
+    private static final class SegmentResult {
+        final File file;
+        int[] sizes = new int[1024];
+        int count = 0;
+        int maxSize = 0;
+        MediaFormat outputFormat;
+
+        SegmentResult(File file) {
+            this.file = file;
+        }
+
+        void add(int size) {
+            if (count == sizes.length) {
+                sizes = Arrays.copyOf(sizes, sizes.length * 2);
+            }
+            sizes[count++] = size;
+            maxSize = Math.max(maxSize, size);
+        }
+
+        /**
+         * 이전 실행에서 완료한 임시 파일에서 크기 목록 복원
+         * @return 파일이 온전하고 프레임 수가 expectedCount와 같으면 true
+         */
+        boolean load(int expectedCount) {
+            count = 0;
+            maxSize = 0;
+            if (!file.isFile()) {
+                return false;
+            }
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(file), 256 * 1024))) {
+                long remaining = file.length();
+                while (remaining > 0) {
+                    int size = in.readInt();
+                    if (size <= 0 || size > remaining - 4) {
+                        return false;
+                    }
+                    long toSkip = size;
+                    while (toSkip > 0) {
+                        long skipped = in.skip(toSkip);
+                        if (skipped <= 0) {
+                            return false;
+                        }
+                        toSkip -= skipped;
+                    }
+                    add(size);
+                    remaining -= 4 + size;
+                }
+            } catch (IOException e) {
+                LoggerManager.logger("⚠️ 완료 구간 파일 읽기 실패: " + file.getName() + " - " + e.getMessage());
+                return false;
+            }
+            return count == expectedCount;
+        }
+    }
+
+    private final AudioTranscoder.Target target;
+
+    public ChunkedAudioTranscoder(AudioTranscoder.Target target) {
+        this.target = target;
+    }
+
+    /**
+     * 분할 개수 결정 (CPU 코어 수, 코덱 최대 동시 인스턴스 수, 최소 구간 길이로 제한)
+     * @return 구간 수 (1이면 분할하지 않음)
+     */
+    public static int planSegmentCount(MediaFormat sourceFormat, long durationUs, AudioTranscoder.Target target) {
+        if (durationUs < MIN_PARALLEL_DURATION_US) {
+            return 1;
+        }
+
+        // 일괄 변환으로 함께 실행 중인 코덱 작업과 코어/코덱 인스턴스를 나눠 씀
+        int codecJobs = Math.max(1, MediaJobQueue.getInstance().getRunningCodecJobCount());
+        int count = (int) Math.min(MAX_SEGMENTS, durationUs / MIN_SEGMENT_US);
+        count = Math.min(count, Runtime.getRuntime().availableProcessors() / codecJobs);
+        if (count <= 1) {
+            return 1;
+        }
+
+        MediaFormat encoderFormat = AudioTranscoder.createAacFormat(target, sourceFormat);
+        int decoders = getMaxSupportedInstances(sourceFormat, false);
+        int encoders = getMaxSupportedInstances(encoderFormat, true);
+        count = Math.min(count, Math.min(decoders, encoders) / codecJobs);
+
+        LoggerManager.logger("⚡ 분할 트랜스코딩 계획: " + count + "개 구간 (디코더 최대 " + decoders
+            + ", 인코더 최대 " + encoders + ", 코어 " + Runtime.getRuntime().availableProcessors() + ")");
+        return Math.max(1, count);
+    }
+
+    /**
+     * 포맷을 처리할 코덱의 최대 동시 인스턴스 수 (알 수 없으면 1)
+     */
+    static int getMaxSupportedInstances(MediaFormat format, boolean encoder) {
+        try {
+            MediaCodecList codecList = new MediaCodecList(MediaCodecList.REGULAR_CODECS);
+            String name = encoder ? codecList.findEncoderForFormat(format) : codecList.findDecoderForFormat(format);
+            if (name == null) {
+                return 1;
+            }
+            String mime = format.getString(MediaFormat.KEY_MIME);
+            for (MediaCodecInfo info : codecList.getCodecInfos()) {
+                if (info.getName().equals(name)) {
+                    return Math.max(1, info.getCapabilitiesForType(mime).getMaxSupportedInstances());
+                }
+            }
+        } catch (RuntimeException e) {
+            LoggerManager.logger("⚠️ 코덱 인스턴스 수 조회 실패: " + e.getMessage());
+        }
+        return 1;
+    }
+
+    /**
+     * 분할 트랜스코딩 실행 (호출 스레드는 완료될 때까지 대기)
+     * @param source 미디어 소스 (구간마다 별도 extractor 생성)
+     * @param trackIndex 오디오 트랙 인덱스
+     * @param sourceFormat 오디오 트랙 포맷 (KEY_DURATION 필요)
+     * @param outputPath M4A 출력 경로
+     * @param parallelism 동시 인코딩 구간 수 (planSegmentCount 결과)
+     * @param progressCallback 진행률 콜백 (여러 스레드에서 호출될 수 있음)
+     * @param checkpoint 구간 체크포인트 (null이면 병렬 수만큼만 나누고 재개하지 않음)
+     */
+    public void transcode(MediaSourceHandle source, int trackIndex, MediaFormat sourceFormat, String outputPath,
+                          int parallelism, MediaProcessingEngine.ProgressCallback progressCallback,
+                          Checkpoint checkpoint)
+            throws AudioTrimException, InterruptedException {
+        final long durationUs = sourceFormat.getLong(MediaFormat.KEY_DURATION);
+        final MediaFormat encoderFormat = AudioTranscoder.createAacFormat(target, sourceFormat);
+        final int outputRate = encoderFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        final int outputChannels = encoderFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        final int codecDelay = SmartTrimRenderer.getCodecDelay(outputRate, outputChannels,
+            encoderFormat.getInteger(MediaFormat.KEY_BIT_RATE));
+
+        long totalSamples = Math.round(durationUs * (double) outputRate / 1_000_000d);
+        long totalFrames = (totalSamples + FRAME_SIZE - 1) / FRAME_SIZE;
+
+        // 체크포인트가 있으면 잘게 나누고, 이전 실행 기록이 있으면 같은 구간 수로 같은 경계를 다시 계산
+        final int segmentCount;
+        if (checkpoint != null && checkpoint.getSegmentCount() > 0) {
+            segmentCount = checkpoint.getSegmentCount();
+        } else if (checkpoint != null) {
+            segmentCount = (int) Math.min(MAX_CHECKPOINT_SEGMENTS,
+                Math.max(parallelism, (durationUs + CHECKPOINT_SEGMENT_US - 1) / CHECKPOINT_SEGMENT_US));
+        } else {
+            segmentCount = parallelism;
+        }
+        long[] boundaries = planBoundaries(source, trackIndex, durationUs, totalFrames, outputRate, segmentCount);
+        int segments = boundaries.length - 1;
+
+        List<SegmentResult> results = new ArrayList<>();
+        for (int i = 0; i < segments; i++) {
+            results.add(new SegmentResult(new File(outputPath + ".part" + i)));
+        }
+
+        // 이전 실행에서 완료한 구간 복원 (파일이 온전하지 않으면 다시 인코딩)
+        final long[] completed = {0};
+        AtomicLongArray segmentProgress = new AtomicLongArray(segments);
+        if (checkpoint != null && checkpoint.getSegmentCount() == segmentCount) {
+            long saved = checkpoint.getCompletedSegments();
+            for (int i = 0; i < segments; i++) {
+                if ((saved & (1L << i)) != 0 && results.get(i).load((int) (boundaries[i + 1] - boundaries[i]))) {
+                    completed[0] |= 1L << i;
+                    segmentProgress.set(i, toUs((boundaries[i + 1] - boundaries[i]) * FRAME_SIZE, outputRate));
+                }
+            }
+            LoggerManager.logger("♻️ 체크포인트에서 재개: " + Long.bitCount(completed[0]) + "/" + segments
+                + "개 구간 완료, " + contiguousEndUs(completed[0], boundaries, outputRate) / 1000 + "ms까지 기록됨");
+        }
+
+        int pending = segments - Long.bitCount(completed[0]);
+        LoggerManager.logger("⚡ 분할 트랜스코딩 시작: " + segments + "개 구간 (남은 " + pending + ", 동시 " + parallelism
+            + "), " + totalFrames + " AAC 프레임, 코덱 지연 " + codecDelay + " samples");
+        long startedAt = System.currentTimeMillis();
+
+        if (checkpoint != null) {
+            checkpoint.saveCheckpoint(segmentCount, completed[0], contiguousEndUs(completed[0], boundaries, outputRate));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, pending)));
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < segments; i++) {
+                if ((completed[0] & (1L << i)) != 0) {
+                    continue;
+                }
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    transcodeSegment(source, trackIndex, sourceFormat, encoderFormat, codecDelay,
+                        boundaries[index], boundaries[index + 1], totalSamples, results.get(index),
+                        processedUs -> {
+                            segmentProgress.set(index, processedUs);
+                            if (progressCallback != null) {
+                                progressCallback.onProgress(sum(segmentProgress) * TRANSCODE_PROGRESS_WEIGHT / 100,
+                                                            durationUs);
+                            }
+                        });
+                    if (checkpoint != null) {
+                        synchronized (completed) {
+                            completed[0] |= 1L << index;
+                            checkpoint.saveCheckpoint(segmentCount, completed[0],
+                                contiguousEndUs(completed[0], boundaries, outputRate));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            LoggerManager.logger("⚡ 구간 인코딩 완료: " + (System.currentTimeMillis() - startedAt) + "ms - 이어 붙이기 시작");
+            stitch(results, createFallbackFormat(outputRate, outputChannels), outputPath, outputRate, durationUs,
+                   progressCallback);
+            LoggerManager.logger("✅ 분할 트랜스코딩 완료: " + (System.currentTimeMillis() - startedAt) + "ms");
+
+        } catch (InterruptedException e) {
+            cancelAll(futures);
+            throw e;
+
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof AudioTrimException) {
+                throw (AudioTrimException) cause;
+            }
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                "구간 트랜스코딩 실패: " + (cause != null ? cause.getMessage() : e.getMessage()), cause);
+
+        } finally {
+            executor.shutdownNow();
+            for (SegmentResult result : results) {
+                if (result.file.exists() && !result.file.delete()) {
+                    LoggerManager.logger("⚠️ 임시 구간 파일 삭제 실패: " + result.file.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * 구간 경계 (출력 AAC 프레임 격자 인덱스, 길이 segmentCount + 1)
+     * 이상적인 균등 분할 위치 직전의 sync 샘플에서 나눔
+     */
+    private static long[] planBoundaries(MediaSourceHandle source, int trackIndex, long durationUs, long totalFrames,
+                                         int outputRate, int segmentCount) throws AudioTrimException {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+
+        MediaExtractor extractor = null;
+        try {
+            extractor = source.createExtractor();
+            extractor.selectTrack(trackIndex);
+            for (int i = 1; i < segmentCount; i++) {
+                extractor.seekTo(durationUs * i / segmentCount, MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+                long syncUs = extractor.getSampleTime();
+                long frame = Math.round(syncUs * (double) outputRate / 1_000_000d / FRAME_SIZE);
+                if (syncUs > 0 && frame > boundaries.get(boundaries.size() - 1) && frame < totalFrames) {
+                    boundaries.add(frame);
+                }
+            }
+        } catch (IOException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_EXTRACTOR_FAILED,
+                "구간 분할 실패", e);
+        } finally {
+            if (extractor != null) {
+                extractor.release();
+            }
+        }
+
+        boundaries.add(totalFrames);
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    private interface SegmentProgress {
+        void onProgress(long processedUs);
+    }
+
+    /**
+     * 구간 하나 트랜스코딩 (동기 코덱 루프, 구간 전용 스레드에서 실행)
+     * 출력 프레임 [startFrame, endFrame)을 만들기 위해 필요한 출력 샘플 범위만 디코딩/리샘플링하여 인코더에 공급
+     */
+    private void transcodeSegment(MediaSourceHandle source, int trackIndex, MediaFormat sourceFormat,
+                                  MediaFormat encoderFormat, int codecDelay, long startFrame, long endFrame,
+                                  long totalSamples, SegmentResult result, SegmentProgress progress)
+            throws IOException, InterruptedException {
+        final int outputRate = encoderFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        final int outputChannels = encoderFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        final int dropCount = (codecDelay + FRAME_SIZE - 1) / FRAME_SIZE + 1;
+        final int keepCount = (int) (endFrame - startFrame);
+
+        // 인코더 입력 k번째 샘플 = 격자 기준 (anchor + k - dropCount*F + delay) 위치의 출력 샘플
+        final long anchor = startFrame * FRAME_SIZE;
+        final long needStart = anchor + codecDelay - (long) dropCount * FRAME_SIZE;
+        final long needEnd = anchor + (long) (keepCount + 1) * FRAME_SIZE;
+        final long feedUntilUs = toUs(needEnd, outputRate) + DECODER_PREROLL_US;
+        final long segmentUs = toUs((long) keepCount * FRAME_SIZE, outputRate);
+
+        MediaExtractor extractor = source.createExtractor();
+        MediaCodec decoder = null;
+        MediaCodec encoder = null;
+        FileOutputStream fileOut = null;
+        DataOutputStream out = null;
+
+        try {
+            extractor.selectTrack(trackIndex);
+            extractor.seekTo(Math.max(0, toUs(needStart, outputRate) - DECODER_PREROLL_US),
+                             MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+
+            decoder = MediaCodec.createDecoderByType(sourceFormat.getString(MediaFormat.KEY_MIME));
+            decoder.configure(sourceFormat, null, null, 0);
+            decoder.start();
+
+            encoder = MediaCodec.createEncoderByType(MediaFormat.MIMETYPE_AUDIO_AAC);
+            encoder.configure(encoderFormat, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+            encoder.start();
+
+            fileOut = new FileOutputStream(result.file);
+            out = new DataOutputStream(new BufferedOutputStream(fileOut, 256 * 1024));
+
+            // 절대 위치 = 격자 기준 출력 샘플 인덱스 (범위 밖 샘플은 버리고, 빈 곳은 무음)
+            PcmRingBuffer fifo = new PcmRingBuffer(outputChannels, FIFO_FRAMES, FIFO_FRAMES * 4);
+            fifo.reset(needStart);
+
+            PcmFormatAdapter adapter = target.createAdapter(
+                sourceFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE),
+                sourceFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT), outputRate, outputChannels);
+            int decoderRate = sourceFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+            long adapterOrigin = Long.MIN_VALUE;    // 변환기 첫 출력 샘플의 격자 위치
+            long adapterProduced = 0;
+
+            MediaCodec.BufferInfo decoderInfo = new MediaCodec.BufferInfo();
+            MediaCodec.BufferInfo encoderInfo = new MediaCodec.BufferInfo();
+            int heldDecoderOutput = -1;
+            boolean extractorDone = false;
+            boolean decoderDone = false;
+            boolean encoderInputDone = false;
+            boolean encoderDone = false;
+            long encoderFedFrames = 0;
+            int encodedCount = 0;
+            short[] decoded = new short[0];
+            short[] silence = new short[FRAME_SIZE * outputChannels];
+            short[] chunk = new short[0];
+            byte[] frameBytes = new byte[0];
+
+            while (!encoderDone) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                // 1. 디코더 입력
+                if (!extractorDone) {
+                    int inputIndex = decoder.dequeueInputBuffer(0);
+                    if (inputIndex >= 0) {
+                        ByteBuffer inputBuffer = decoder.getInputBuffer(inputIndex);
+                        long sampleTime = extractor.getSampleTime();
+                        int size = sampleTime < 0 || sampleTime > feedUntilUs
+                            ? -1 : extractor.readSampleData(inputBuffer, 0);
+                        if (size < 0) {
+                            decoder.queueInputBuffer(inputIndex, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            extractorDone = true;
+                        } else {
+                            decoder.queueInputBuffer(inputIndex, 0, size, sampleTime, 0);
+                            extractor.advance();
+                            progress.onProgress(Math.min(segmentUs,
+                                Math.max(0, sampleTime - toUs(needStart, outputRate))));
+                        }
+                    }
+                }
+
+                // 2. 디코더 출력 → FIFO (FIFO에 자리가 없으면 버퍼를 붙잡아 둠)
+                if (!decoderDone) {
+                    if (heldDecoderOutput < 0) {
+                        heldDecoderOutput = decoder.dequeueOutputBuffer(decoderInfo, 0);
+                        if (heldDecoderOutput == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                            MediaFormat format = decoder.getOutputFormat();
+                            decoderRate = format.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                            adapter = target.createAdapter(decoderRate,
+                                format.getInteger(MediaFormat.KEY_CHANNEL_COUNT), outputRate, outputChannels);
+                        }
+                    }
+                    if (heldDecoderOutput >= 0) {
+                        int inputChannels = adapter.getInputChannelCount();
+                        int frames = decoderInfo.size / (2 * inputChannels);
+                        int estimate = (int) ((long) frames * outputRate / decoderRate) + 2;
+                        if (fifo.getFrameCount() + estimate <= fifo.getMaxCapacityFrames()) {
+                            if (frames > 0) {
+                                if (adapterOrigin == Long.MIN_VALUE) {
+                                    adapterOrigin = Math.round(decoderInfo.presentationTimeUs
+                                        * (double) outputRate / 1_000_000d);
+                                }
+                                if (decoded.length < frames * inputChannels) {
+                                    decoded = new short[frames * inputChannels];
+                                }
+                                ByteBuffer buffer = decoder.getOutputBuffer(heldDecoderOutput);
+                                buffer.position(decoderInfo.offset);
+                                buffer.limit(decoderInfo.offset + decoderInfo.size);
+                                ShortBuffer shorts = buffer.order(ByteOrder.nativeOrder()).asShortBuffer();
+                                shorts.get(decoded, 0, frames * inputChannels);
+
+                                int produced = adapter.process(decoded, frames);
+                                appendRange(fifo, adapter.getOutput(), adapterOrigin + adapterProduced,
+                                            produced, needEnd, totalSamples, silence);
+                                adapterProduced += produced;
+                            }
+                            boolean eos = (decoderInfo.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+                            decoder.releaseOutputBuffer(heldDecoderOutput, false);
+                            heldDecoderOutput = -1;
+
+                            if (eos) {
+                                if (adapterOrigin != Long.MIN_VALUE) {
+                                    int produced = adapter.flush();
+                                    appendRange(fifo, adapter.getOutput(), adapterOrigin + adapterProduced,
+                                                produced, needEnd, totalSamples, silence);
+                                }
+                                decoderDone = true;
+                            }
+                        }
+                    } else {
+                        heldDecoderOutput = -1;
+                    }
+                }
+
+                // 디코딩이 끝났는데 필요한 범위가 남으면 무음으로 채움 (입력 끝)
+                if (decoderDone && fifo.getEndFrame() < needEnd) {
+                    padSilence(fifo, needEnd, silence);
+                }
+
+                // 3. FIFO → 인코더 입력
+                if (!encoderInputDone) {
+                    boolean complete = fifo.getEndFrame() >= needEnd;
+                    if (fifo.getFrameCount() >= FRAME_SIZE || complete) {
+                        int inputIndex = encoder.dequeueInputBuffer(0);
+                        if (inputIndex >= 0) {
+                            ByteBuffer inputBuffer = encoder.getInputBuffer(inputIndex);
+                            inputBuffer.clear();
+                            long ptsUs = toUs(encoderFedFrames, outputRate);
+                            int frames = Math.min(fifo.getFrameCount(),
+                                                  inputBuffer.remaining() / (2 * outputChannels));
+                            if (frames <= 0 && complete) {
+                                encoder.queueInputBuffer(inputIndex, 0, 0, ptsUs,
+                                                         MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                                encoderInputDone = true;
+                            } else {
+                                int samples = frames * outputChannels;
+                                if (chunk.length < samples) {
+                                    chunk = new short[samples];
+                                }
+                                fifo.read(fifo.getStartFrame(), chunk, 0, frames);
+                                fifo.retain(fifo.getStartFrame() + frames, Long.MAX_VALUE);
+                                inputBuffer.order(ByteOrder.nativeOrder()).asShortBuffer().put(chunk, 0, samples);
+                                encoder.queueInputBuffer(inputIndex, 0, samples * 2, ptsUs, 0);
+                                encoderFedFrames += frames;
+                            }
+                        }
+                    }
+                }
+
+                // 4. 인코더 출력 → 임시 파일 (워밍업 프레임은 버리고 keepCount개만 기록)
+                int outputIndex = encoder.dequeueOutputBuffer(encoderInfo, CODEC_TIMEOUT_US);
+                if (outputIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    result.outputFormat = encoder.getOutputFormat();
+                } else if (outputIndex >= 0) {
+                    boolean config = (encoderInfo.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) != 0;
+                    if (!config && encoderInfo.size > 0) {
+                        if (encodedCount >= dropCount && result.count < keepCount) {
+                            if (frameBytes.length < encoderInfo.size) {
+                                frameBytes = new byte[encoderInfo.size];
+                            }
+                            ByteBuffer buffer = encoder.getOutputBuffer(outputIndex);
+                            buffer.position(encoderInfo.offset);
+                            buffer.get(frameBytes, 0, encoderInfo.size);
+                            out.writeInt(encoderInfo.size);
+                            out.write(frameBytes, 0, encoderInfo.size);
+                            result.add(encoderInfo.size);
+                        }
+                        encodedCount++;
+                    }
+                    encoder.releaseOutputBuffer(outputIndex, false);
+                    encoderDone = (encoderInfo.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+                }
+            }
+
+            if (result.count < keepCount) {
+                throw new IOException("구간 인코더 출력 프레임 부족: " + result.count + " < " + keepCount);
+            }
+
+            // 완료 기록 전에 디스크에 반영 (체크포인트가 가리키는 구간 파일은 항상 온전해야 함)
+            out.flush();
+            fileOut.getFD().sync();
+
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    LoggerManager.logger("⚠️ 구간 파일 닫기 실패: " + e.getMessage());
+                }
+            }
+            releaseCodec(decoder);
+            releaseCodec(encoder);
+            extractor.release();
+        }
+    }
+
+    /**
+     * 격자 위치 position부터 frames개 샘플을 FIFO 끝에 이어 붙임
+     * FIFO 끝 이전 샘플은 버리고, 사이가 비면 무음으로 채우며, needEnd 이후와 입력 길이 밖은 무시
+     */
+    private static void appendRange(PcmRingBuffer fifo, short[] samples, long position, int frames,
+                                    long needEnd, long totalSamples, short[] silence) {
+        long end = Math.min(position + frames, needEnd);
+        if (end <= fifo.getEndFrame()) {
+            return;
+        }
+        if (position > fifo.getEndFrame()) {
+            padSilence(fifo, Math.min(position, needEnd), silence);
+        }
+
+        // 입력 길이 이후(인코더 패딩 영역)는 무음으로 유지
+        long validEnd = Math.min(end, Math.max(fifo.getEndFrame(), totalSamples));
+        int skip = (int) (fifo.getEndFrame() - position);
+        int count = (int) (validEnd - fifo.getEndFrame());
+        if (count > 0) {
+            fifo.append(samples, skip, count);
+        }
+        if (fifo.getEndFrame() < end) {
+            padSilence(fifo, end, silence);
+        }
+    }
+
+    private static void padSilence(PcmRingBuffer fifo, long untilFrame, short[] silence) {
+        int frameCapacity = silence.length / fifo.getChannelCount();
+        while (fifo.getEndFrame() < untilFrame) {
+            int count = (int) Math.min(frameCapacity, untilFrame - fifo.getEndFrame());
+            if (fifo.append(silence, 0, count) <= 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 구간 결과를 순서대로 하나의 M4A로 기록 (프레임 시간은 전체 격자 인덱스 기준으로 다시 부여)
+     * @param fallbackFormat 모든 구간이 이전 실행에서 완료되어 인코더 출력 포맷이 없을 때 쓸 포맷
+     */
+    private static void stitch(List<SegmentResult> results, MediaFormat fallbackFormat, String outputPath,
+                               int outputRate, long durationUs,
+                               MediaProcessingEngine.ProgressCallback progressCallback)
+            throws AudioTrimException, InterruptedException {
+        MediaFormat format = null;
+        for (SegmentResult result : results) {
+            if (result.outputFormat != null) {
+                format = result.outputFormat;
+                break;
+            }
+        }
+        if (format == null) {
+            format = fallbackFormat;
+        }
+        for (SegmentResult result : results) {
+            // 이전 실행에서 완료한 구간은 같은 인코더 설정으로 만든 것이므로 비교 대상에서 제외
+            if (result.outputFormat != null && !sameCodecConfig(format, result.outputFormat)) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.TRACK_FORMAT_INCOMPATIBLE,
+                    "구간별 AAC 설정이 달라 이어 붙일 수 없습니다");
+            }
+        }
+
+        int maxSize = 0;
+        long totalFrames = 0;
+        for (SegmentResult result : results) {
+            maxSize = Math.max(maxSize, result.maxSize);
+            totalFrames += result.count;
+        }
+
+        MediaMuxer muxer = null;
+        ByteBuffer buffer = DirectBufferPool.acquire(maxSize);
+        byte[] bytes = new byte[maxSize];
+        MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+        boolean started = false;
+
+        try {
+            muxer = new MediaMuxer(outputPath, MediaMuxer.OutputFormat.MUXER_OUTPUT_MPEG_4);
+            int track = muxer.addTrack(format);
+            muxer.start();
+            started = true;
+
+            long frameIndex = 0;
+            for (SegmentResult result : results) {
+                try (DataInputStream in = new DataInputStream(
+                        new BufferedInputStream(new FileInputStream(result.file), 256 * 1024))) {
+                    for (int i = 0; i < result.count; i++) {
+                        int size = in.readInt();
+                        if (size != result.sizes[i]) {
+                            throw new IOException("구간 파일 손상: " + result.file.getName());
+                        }
+                        in.readFully(bytes, 0, size);
+                        buffer.clear();
+                        buffer.put(bytes, 0, size);
+                        buffer.flip();
+
+                        long ptsUs = toUs(frameIndex * FRAME_SIZE, outputRate);
+                        info.set(0, size, ptsUs, MediaCodec.BUFFER_FLAG_KEY_FRAME);
+                        muxer.writeSampleData(track, buffer, info);
+                        frameIndex++;
+
+                        if ((frameIndex & 0x3FF) == 0) {
+                            if (Thread.interrupted()) {
+                                throw new InterruptedException();
+                            }
+                            if (progressCallback != null) {
+                                long stitchedUs = durationUs * frameIndex / totalFrames;
+                                progressCallback.onProgress(
+                                    (durationUs * TRANSCODE_PROGRESS_WEIGHT + stitchedUs
+                                        * (100 - TRANSCODE_PROGRESS_WEIGHT)) / 100, durationUs);
+                            }
+                        }
+                    }
+                }
+            }
+
+            muxer.stop();
+            started = false;
+
+        } catch (IOException | RuntimeException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_MUXER_FAILED,
+                "구간 이어 붙이기 실패", e);
+        } finally {
+            DirectBufferPool.release(buffer);
+            if (muxer != null) {
+                if (started) {
+                    try {
+                        muxer.stop();
+                    } catch (RuntimeException e) {
+                        LoggerManager.logger("⚠️ MediaMuxer stop 실패: " + e.getMessage());
+                    }
+                }
+                muxer.release();
+            }
+        }
+    }
+
+    /**
+     * AAC-LC 인코더 설정으로 만든 출력 포맷 (csd-0 = AudioSpecificConfig 2바이트)
+     */
+    private static MediaFormat createFallbackFormat(int outputRate, int outputChannels) {
+        int config = (AdtsWriter.OBJECT_TYPE_AAC_LC << 11) | (AdtsWriter.findSampleRateIndex(outputRate) << 7)
+            | (outputChannels << 3);
+        MediaFormat format = MediaFormat.createAudioFormat(MediaFormat.MIMETYPE_AUDIO_AAC, outputRate, outputChannels);
+        format.setByteBuffer("csd-0", ByteBuffer.wrap(new byte[] {(byte) (config >> 8), (byte) config}));
+        return format;
+    }
+
+    /**
+     * 처음부터 끊김 없이 완료된 구간의 끝 presentation time
+     */
+    private static long contiguousEndUs(long completed, long[] boundaries, int outputRate) {
+        int segment = 0;
+        while (segment < boundaries.length - 1 && (completed & (1L << segment)) != 0) {
+            segment++;
+        }
+        return toUs(boundaries[segment] * FRAME_SIZE, outputRate);
+    }
+
+    private static boolean sameCodecConfig(MediaFormat a, MediaFormat b) {
+        if (b == null || !a.containsKey("csd-0") || !b.containsKey("csd-0")) {
+            return false;
+        }
+        ByteBuffer left = a.getByteBuffer("csd-0").duplicate();
+        ByteBuffer right = b.getByteBuffer("csd-0").duplicate();
+        left.rewind();
+        right.rewind();
+        return left.equals(right);
+    }
+
+    private static long toUs(long samples, int sampleRate) {
+        return Math.round(samples * 1_000_000d / sampleRate);
+    }
+
+    private static long sum(AtomicLongArray values) {
+        long total = 0;
+        for (int i = 0; i < values.length(); i++) {
+            total += values.get(i);
+        }
+        return total;
+    }
+
+    private static void cancelAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private static void releaseCodec(MediaCodec codec) {
+        if (codec == null) {
+            return;
+        }
+        try {
+            codec.stop();
+        } catch (RuntimeException e) {
+            LoggerManager.logger("⚠️ 코덱 stop 실패: " + e.getMessage());
+        }
+        codec.release();
+    }
+}
@@ -0,0 +1,81 @@
+package com.devc.lab.audios.manager;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 원본 내용 지문 (변환 결과 캐시 키)
+ * 크기 + 앞/가운데/끝 64KB 샘플의 SHA-1 - 수 GB 영상도 192KB만 읽음
+ * 컨테이너 헤더(moov/EBML)와 끝부분을 모두 포함하므로 편집/재인코딩된 파일은 다른 지문이 됨
+ */
+public final class ContentFingerprint {
+
+    // 샘플 크기 (앞/가운데/끝 각각)
+    static final int SAMPLE_BYTES = 64 * 1024;
+
+    /**
+     * 위치 지정 읽기
+     */
+    interface RangeReader {
+        /**
+         * @return 읽은 바이트 수 (끝이면 -1)
+         */
+        int read(long position, byte[] buffer, int offset, int count) throws IOException;
+    }
+
+    private ContentFingerprint() {
+    }
+
+    /**
+     * 미디어 소스 지문 (디스크립터 위치를 옮기지 않음)
+     */
+    public static String of(MediaSourceHandle source) throws IOException {
+        return compute(source.getLength(), source::read);
+    }
+
+    /**
+     * @param length 전체 크기 (샘플 3개 분량 이하이면 전체를 읽음)
+     */
+    static String compute(long length, RangeReader reader) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-1을 사용할 수 없습니다", e);
+        }
+
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            digest.update((byte) (length >>> shift));
+        }
+
+        byte[] buffer = new byte[SAMPLE_BYTES];
+        if (length <= 3L * SAMPLE_BYTES) {
+            digestRange(digest, reader, 0, length, buffer);
+        } else {
+            digestRange(digest, reader, 0, SAMPLE_BYTES, buffer);
+            digestRange(digest, reader, (length - SAMPLE_BYTES) / 2, SAMPLE_BYTES, buffer);
+            digestRange(digest, reader, length - SAMPLE_BYTES, SAMPLE_BYTES, buffer);
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b & 0xff));
+        }
+        return hex.toString();
+    }
+
+    private static void digestRange(MessageDigest digest, RangeReader reader, long position, long count,
+                                    byte[] buffer) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            int read = reader.read(position, buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read <= 0) {
+                throw new IOException("지문 계산 중 입력이 예상보다 짧습니다");
+            }
+            digest.update(buffer, 0, read);
+            position += read;
+            remaining -= read;
+        }
+    }
+}
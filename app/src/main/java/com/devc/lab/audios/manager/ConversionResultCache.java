@@ -0,0 +1,125 @@
+package com.devc.lab.audios.manager;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import java.io.File;
+
+/**
+ * 변환 결과 캐시 (SQLite)
+ * 원본 내용 지문(ContentFingerprint) + 실제 적용되는 변환 설정을 키로 출력 파일 경로를 기록해,
+ * 같은 영상을 같은 설정으로 다시 변환하면 디코딩/remux 없이 기존 출력으로 바로 완료
+ *
+ * 출력 파일이 삭제되거나 크기/수정 시간이 바뀐 기록은 조회 시 버림
+ */
+public class ConversionResultCache extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "conversion_cache.db";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE_RESULTS = "results";
+    private static final String COLUMN_FINGERPRINT = "fingerprint";
+    private static final String COLUMN_SETTINGS = "settings";
+    private static final String COLUMN_OUTPUT_PATH = "output_path";
+    private static final String COLUMN_OUTPUT_SIZE = "output_size";
+    private static final String COLUMN_OUTPUT_MTIME = "output_mtime";
+    private static final String COLUMN_LAST_USED_AT = "last_used_at";
+
+    // 오래 쓰지 않은 기록부터 정리 (출력 파일은 지우지 않음)
+    private static final int MAX_ENTRIES = 200;
+
+    public ConversionResultCache(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_RESULTS + " ("
+            + COLUMN_FINGERPRINT + " TEXT NOT NULL, "
+            + COLUMN_SETTINGS + " TEXT NOT NULL, "
+            + COLUMN_OUTPUT_PATH + " TEXT NOT NULL, "
+            + COLUMN_OUTPUT_SIZE + " INTEGER NOT NULL, "
+            + COLUMN_OUTPUT_MTIME + " INTEGER NOT NULL, "
+            + COLUMN_LAST_USED_AT + " INTEGER NOT NULL, "
+            + "PRIMARY KEY (" + COLUMN_FINGERPRINT + ", " + COLUMN_SETTINGS + "))");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+    }
+
+    /**
+     * 출력에 영향을 주는 설정만 담은 키 (같은 키면 같은 출력)
+     * @param target 변환 목표 (null이면 stream copy)
+     */
+    static String settingsKey(NativeAudioExtractorManager.AudioFormat format, AudioTranscoder.Target target) {
+        if (target == null) {
+            return format.name() + "|copy";
+        }
+        return format.name() + "|" + target.bitrate + "|" + target.sampleRate + "|" + target.opusPreset
+            + "|" + target.channelMix + "|" + target.loudnessTargetLufs;
+    }
+
+    /**
+     * 기록된 출력 경로 (파일이 없거나 기록 후 바뀌었으면 기록을 지우고 null)
+     */
+    public String find(String fingerprint, String settingsKey) {
+        String outputPath;
+        long size;
+        long mtime;
+        try (Cursor cursor = getReadableDatabase().query(TABLE_RESULTS,
+                new String[] {COLUMN_OUTPUT_PATH, COLUMN_OUTPUT_SIZE, COLUMN_OUTPUT_MTIME},
+                COLUMN_FINGERPRINT + " = ? AND " + COLUMN_SETTINGS + " = ?",
+                new String[] {fingerprint, settingsKey}, null, null, null, "1")) {
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+            outputPath = cursor.getString(0);
+            size = cursor.getLong(1);
+            mtime = cursor.getLong(2);
+        }
+
+        File output = new File(outputPath);
+        if (!output.isFile() || output.length() != size || output.lastModified() != mtime) {
+            LoggerManager.logger("🗑️ 변환 캐시 기록 무효 (출력이 없거나 변경됨): " + outputPath);
+            delete(fingerprint, settingsKey);
+            return null;
+        }
+
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_LAST_USED_AT, System.currentTimeMillis());
+        getWritableDatabase().update(TABLE_RESULTS, values,
+            COLUMN_FINGERPRINT + " = ? AND " + COLUMN_SETTINGS + " = ?", new String[] {fingerprint, settingsKey});
+        return outputPath;
+    }
+
+    /**
+     * 변환 결과 기록 (같은 키의 이전 기록은 교체)
+     */
+    public void put(String fingerprint, String settingsKey, String outputPath) {
+        File output = new File(outputPath);
+        if (!output.isFile()) {
+            return;
+        }
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_FINGERPRINT, fingerprint);
+        values.put(COLUMN_SETTINGS, settingsKey);
+        values.put(COLUMN_OUTPUT_PATH, outputPath);
+        values.put(COLUMN_OUTPUT_SIZE, output.length());
+        values.put(COLUMN_OUTPUT_MTIME, output.lastModified());
+        values.put(COLUMN_LAST_USED_AT, System.currentTimeMillis());
+
+        SQLiteDatabase db = getWritableDatabase();
+        db.insertWithOnConflict(TABLE_RESULTS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        db.execSQL("DELETE FROM " + TABLE_RESULTS + " WHERE rowid NOT IN (SELECT rowid FROM " + TABLE_RESULTS
+            + " ORDER BY " + COLUMN_LAST_USED_AT + " DESC LIMIT " + MAX_ENTRIES + ")");
+    }
+
+    public void delete(String fingerprint, String settingsKey) {
+        getWritableDatabase().delete(TABLE_RESULTS,
+            COLUMN_FINGERPRINT + " = ? AND " + COLUMN_SETTINGS + " = ?", new String[] {fingerprint, settingsKey});
+    }
+}
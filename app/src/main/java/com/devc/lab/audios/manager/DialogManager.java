@@ -131,8 +131,7 @@ public class DialogManager {
             
             // 파일 정보 설정
             progressBinding.tvFileName.setText(fileName);
-            String conversionInfo = settings.getFormat().name() + " (" + settings.getBitrate() + " kbps)";
-            progressBinding.tvConversionInfo.setText(conversionInfo);
+            progressBinding.tvConversionInfo.setText(describeSettings(settings));
             
             // 초기 진행 상태 설정
             progressBinding.progressBar.setProgress(0);
@@ -173,6 +172,116 @@ public class DialogManager {
         }
     }
     
+    /**
+     * 일괄 변환 진행 다이얼로그 (전체 진행률, 실행 중인 항목별 진행률, 남은 시간, 전체 취소)
+     * @param onCancelAll 취소 버튼을 누르면 호출 (남은 항목 모두 취소)
+     * @param onBackground 백그라운드 버튼을 누르면 호출 (다이얼로그만 닫고 변환은 계속)
+     */
+    public void showBatchProgressDialog(int itemCount, ConversionSettings settings, Runnable onCancelAll,
+                                        Runnable onBackground) {
+        if (!isContextValid()) {
+            LoggerManager.logger("⚠️ DialogManager - Context가 유효하지 않음. 일괄 변환 다이얼로그 표시 취소");
+            return;
+        }
+        
+        try {
+            dismissProgressDialog();
+            
+            progressBinding = DialogConversionProgressBinding.inflate(LayoutInflater.from(context));
+            progressBinding.tvFileName.setText(itemCount + "개 파일 일괄 변환");
+            progressBinding.tvConversionInfo.setText(describeSettings(settings));
+            progressBinding.progressBar.setProgress(0);
+            progressBinding.tvProgressPercent.setText("0%");
+            progressBinding.tvEstimatedTime.setText("예상 시간: 계산 중...");
+            progressBinding.tvCurrentStep.setText("변환 준비 중...");
+            progressBinding.tvFileSizeInfo.setText("완료 0 / " + itemCount);
+            progressBinding.btnCancelConversion.setText("전체 취소");
+            
+            conversionProgressDialog = new MaterialAlertDialogBuilder(context)
+                    .setView(progressBinding.getRoot())
+                    .setCancelable(false)
+                    .create();
+            
+            // 백그라운드: 다이얼로그만 닫고 변환은 계속
+            progressBinding.btnBackground.setOnClickListener(v -> {
+                if (onBackground != null) {
+                    onBackground.run();
+                }
+                dismissProgressDialog();
+            });
+            
+            progressBinding.btnCancelConversion.setOnClickListener(v -> {
+                if (onCancelAll != null) {
+                    onCancelAll.run();
+                }
+                dismissProgressDialog();
+            });
+            
+            if (isContextValid()) {
+                conversionProgressDialog.show();
+                LoggerManager.logger("⚙️ 일괄 변환 진행 다이얼로그 표시 - " + itemCount + "개 파일");
+            }
+            
+        } catch (Exception e) {
+            LoggerManager.logger("❌ 일괄 변환 다이얼로그 생성 실패: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 일괄 변환 진행 상황 표시 (메인 스레드에서 호출)
+     */
+    public void updateBatchProgress(BatchConversionQueue.Snapshot snapshot) {
+        if (snapshot == null || !isContextValid() || progressBinding == null
+                || conversionProgressDialog == null || !conversionProgressDialog.isShowing()) {
+            return;
+        }
+        
+        try {
+            progressBinding.progressBar.setProgress(snapshot.progress);
+            progressBinding.tvProgressPercent.setText(snapshot.progress + "%");
+            progressBinding.tvEstimatedTime.setText(snapshot.remainingMs >= 0
+                ? "남은 시간: " + AudioPlayerManager.formatTime((int) Math.min(Integer.MAX_VALUE, snapshot.remainingMs))
+                : "예상 시간: 계산 중...");
+            
+            // 실행 중인 항목별 진행률
+            StringBuilder running = new StringBuilder();
+            for (BatchConversionQueue.Item item : snapshot.items) {
+                if (item.getState() == BatchConversionQueue.ItemState.RUNNING) {
+                    if (running.length() > 0) {
+                        running.append('\n');
+                    }
+                    running.append(item.getOutputFileName()).append(" · ").append(item.getProgress()).append('%');
+                }
+            }
+            progressBinding.tvCurrentStep.setText(running.length() > 0 ? running.toString() : "대기 중...");
+            
+            String summary = "완료 " + snapshot.completedCount + " / " + snapshot.totalCount;
+            if (snapshot.failedCount > 0) {
+                summary += " • 실패 " + snapshot.failedCount;
+            }
+            progressBinding.tvFileSizeInfo.setText(summary);
+            
+        } catch (Exception e) {
+            LoggerManager.logger("❌ 일괄 변환 진행률 업데이트 실패: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 변환 설정 요약 (포맷 + 음질)
+     */
+    private String describeSettings(ConversionSettings settings) {
+        return settings.getFormat().name() + " ("
+            + (settings.getFormat() == ConversionSettings.AudioFormat.WAV ? "무손실 PCM"
+                : settings.getFormat() == ConversionSettings.AudioFormat.FLAC ? "무손실 압축"
+                : settings.getFormat() == ConversionSettings.AudioFormat.OPUS && settings.keepsSourceBitrate()
+                    ? (settings.isSpeechOptimized() ? "음성 프리셋" : "음악 프리셋")
+                : settings.keepsSourceBitrate() ? "원본 음질" : settings.getBitrate() + " kbps")
+            + (settings.getChannelMode() != ConversionSettings.ChannelMode.SOURCE
+                ? ", " + ChannelMix.valueOf(settings.getChannelMode().name()).getDisplayName() : "")
+            + (settings.isNormalizeLoudness()
+                ? String.format(", 음량 평준화 %.0f LUFS", LoudnessNormalizer.DEFAULT_TARGET_LUFS) : "") + ")";
+    }
+    
     public void updateConversionProgress(int progress) {
         // 메인 스레드에서 안전하게 UI 업데이트 실행
         if (mainHandler != null) {
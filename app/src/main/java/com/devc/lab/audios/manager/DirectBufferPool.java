@@ -0,0 +1,71 @@
+package com.devc.lab.audios.manager;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * 샘플 복사용 direct ByteBuffer 풀
+ * 작업마다 수백 KB 버퍼를 새로 할당하지 않도록 반환된 버퍼를 재사용
+ */
+public final class DirectBufferPool {
+
+    private static final int MAX_POOLED_BUFFERS = 4;
+    private static final int MIN_CAPACITY = 16 * 1024;
+
+    private static final ArrayDeque<ByteBuffer> pool = new ArrayDeque<>();
+
+    private DirectBufferPool() {
+    }
+
+    /**
+     * 최소 용량 이상의 버퍼 획득 (clear 상태)
+     * @param minCapacity 필요한 최소 용량 (bytes)
+     */
+    public static ByteBuffer acquire(int minCapacity) {
+        synchronized (pool) {
+            Iterator<ByteBuffer> iterator = pool.iterator();
+            while (iterator.hasNext()) {
+                ByteBuffer buffer = iterator.next();
+                if (buffer.capacity() >= minCapacity) {
+                    iterator.remove();
+                    buffer.clear();
+                    return buffer;
+                }
+            }
+        }
+        return ByteBuffer.allocateDirect(roundUpCapacity(minCapacity));
+    }
+
+    /**
+     * 버퍼 반환 (풀이 가득 차면 가장 작은 버퍼를 버림)
+     */
+    public static void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        synchronized (pool) {
+            if (pool.size() >= MAX_POOLED_BUFFERS) {
+                ByteBuffer smallest = null;
+                for (ByteBuffer pooled : pool) {
+                    if (smallest == null || pooled.capacity() < smallest.capacity()) {
+                        smallest = pooled;
+                    }
+                }
+                if (smallest == null || smallest.capacity() >= buffer.capacity()) {
+                    return;
+                }
+                pool.remove(smallest);
+            }
+            pool.addLast(buffer);
+        }
+    }
+
+    private static int roundUpCapacity(int minCapacity) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < minCapacity && capacity > 0) {
+            capacity <<= 1;
+        }
+        return capacity > 0 ? capacity : minCapacity;
+    }
+}
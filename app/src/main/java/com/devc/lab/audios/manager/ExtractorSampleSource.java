@@ -0,0 +1,37 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaExtractor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * MediaExtractor 기반 SampleSource (트랙 선택은 호출자가 담당)
+ */
+public class ExtractorSampleSource implements SampleSource {
+
+    private final MediaExtractor extractor;
+
+    public ExtractorSampleSource(MediaExtractor extractor) {
+        this.extractor = extractor;
+    }
+
+    @Override
+    public long getSampleTime() {
+        return extractor.getSampleTime();
+    }
+
+    @Override
+    public int getSampleFlags() {
+        return extractor.getSampleFlags();
+    }
+
+    @Override
+    public int readSampleData(ByteBuffer buffer, int offset) {
+        return extractor.readSampleData(buffer, offset);
+    }
+
+    @Override
+    public boolean advance() {
+        return extractor.advance();
+    }
+}
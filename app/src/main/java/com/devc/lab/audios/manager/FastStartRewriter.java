@@ -0,0 +1,289 @@
+package com.devc.lab.audios.manager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MP4 fast-start 재배치 (moov를 mdat 앞으로)
+ * MediaMuxer는 moov를 파일 끝에 쓰므로, 공유/content:// 재생 시 끝까지 seek한 뒤에야 재생을 시작할 수 있음
+ * moov를 첫 mdat 바로 앞으로 옮기고 그만큼 밀린 stco/co64 청크 오프셋을 보정해 새 파일로 쓴 뒤 원본과 교체
+ *
+ * mdat 등 나머지 박스는 FileChannel.transferTo로 복사 (moov만 메모리에 올림)
+ * 이미 fast-start이거나 MP4가 아니거나 32bit 오프셋(stco)이 넘치는 경우는 원본을 그대로 둠
+ */
+public final class FastStartRewriter {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int LARGE_HEADER_SIZE = 16;
+    // moov 안에서 stco/co64까지 내려가는 컨테이너 박스
+    private static final String[] CONTAINER_TYPES = {"moov", "trak", "mdia", "minf", "stbl"};
+    // moov는 메모리에서 보정하므로 비정상적으로 큰 경우는 건너뜀
+    private static final long MAX_MOOV_SIZE = 64L * 1024 * 1024;
+
+    private static volatile boolean enabled = true;
+
+    /**
+     * 최상위 박스 위치
+     */
+    static final class Box {
+        final String type;
+        final long offset;
+        final long size;
+
+        Box(String type, long offset, long size) {
+            this.type = type;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        long end() {
+            return offset + size;
+        }
+    }
+
+    private FastStartRewriter() {
+    }
+
+    /**
+     * M4A 출력 마지막 단계로 fast-start 적용 여부 (기본 켜짐)
+     */
+    public static void setEnabled(boolean enabled) {
+        FastStartRewriter.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 출력 마무리 단계: 켜져 있으면 moov를 앞으로 옮김
+     * 최적화 단계이므로 실패해도 예외 없이 원본 유지 (교체는 임시 파일 rename)
+     */
+    public static void optimize(String path) {
+        if (!enabled || path == null) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            if (rewrite(new File(path))) {
+                LoggerManager.logger("⚡ fast-start 적용 (moov 앞으로, "
+                    + (System.currentTimeMillis() - startedAt) + "ms): " + path);
+            }
+        } catch (IOException | RuntimeException e) {
+            LoggerManager.logger("⚠️ fast-start 재배치 실패 - 원본 유지: " + e.getMessage());
+        }
+    }
+
+    /**
+     * moov를 첫 mdat 앞으로 옮긴 파일로 교체
+     * @return 재배치했으면 true, 이미 fast-start이거나 대상이 아니면 false (파일 변경 없음)
+     */
+    public static boolean rewrite(File file) throws IOException {
+        File temp = new File(file.getPath() + ".faststart");
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            FileChannel in = input.getChannel();
+            long fileSize = in.size();
+
+            List<Box> boxes = readTopLevelBoxes(in, fileSize);
+            if (boxes == null || boxes.isEmpty() || !"ftyp".equals(boxes.get(0).type)) {
+                return false;
+            }
+            Box moov = null;
+            Box firstMdat = null;
+            for (Box box : boxes) {
+                if ("moov".equals(box.type)) {
+                    if (moov != null) {
+                        return false;
+                    }
+                    moov = box;
+                } else if ("mdat".equals(box.type) && firstMdat == null) {
+                    firstMdat = box;
+                }
+            }
+            if (moov == null || firstMdat == null || moov.offset < firstMdat.offset) {
+                return false;
+            }
+            if (moov.size > MAX_MOOV_SIZE) {
+                LoggerManager.logger("⚠️ moov가 너무 큼 (" + moov.size + " bytes) - fast-start 건너뜀");
+                return false;
+            }
+
+            ByteBuffer moovData = ByteBuffer.allocate((int) moov.size);
+            readFully(in, moovData, moov.offset);
+            moovData.flip();
+            if (!patchChunkOffsets(moovData, 0, moovData.limit(), firstMdat.offset, moov.offset, moov.size)) {
+                LoggerManager.logger("⚠️ 청크 오프셋 보정 불가 (박스 구조 이상 또는 stco 32bit 초과) - fast-start 건너뜀");
+                return false;
+            }
+
+            try (RandomAccessFile output = new RandomAccessFile(temp, "rw")) {
+                FileChannel out = output.getChannel();
+                output.setLength(0);
+                transferFully(in, 0, firstMdat.offset, out);
+                moovData.rewind();
+                while (moovData.hasRemaining()) {
+                    out.write(moovData);
+                }
+                transferFully(in, firstMdat.offset, moov.offset - firstMdat.offset, out);
+                transferFully(in, moov.end(), fileSize - moov.end(), out);
+                if (out.size() != fileSize) {
+                    throw new IOException("재배치 결과 크기 불일치: " + out.size() + " != " + fileSize);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+
+        // 같은 디렉토리 rename이므로 원본은 교체 직전까지 온전함
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("fast-start 파일 교체 실패: " + file.getPath());
+        }
+        return true;
+    }
+
+    /**
+     * 최상위 박스 목록 (박스 구조가 맞지 않으면 null)
+     */
+    static List<Box> readTopLevelBoxes(FileChannel channel, long fileSize) throws IOException {
+        List<Box> boxes = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(LARGE_HEADER_SIZE);
+        long offset = 0;
+        while (offset + HEADER_SIZE <= fileSize) {
+            header.clear();
+            header.limit((int) Math.min(LARGE_HEADER_SIZE, fileSize - offset));
+            readFully(channel, header, offset);
+            header.flip();
+
+            long size = header.getInt(0) & 0xFFFFFFFFL;
+            String type = readType(header, 4);
+            if (size == 1) {
+                if (header.limit() < LARGE_HEADER_SIZE) {
+                    return null;
+                }
+                size = header.getLong(8);
+            } else if (size == 0) {
+                size = fileSize - offset;
+            }
+            if (size < HEADER_SIZE || offset + size > fileSize || type == null) {
+                return null;
+            }
+            boxes.add(new Box(type, offset, size));
+            offset += size;
+        }
+        return offset == fileSize ? boxes : null;
+    }
+
+    /**
+     * moov 내부 stco/co64 오프셋 보정
+     * 원본에서 [insertOffset, moovOffset) 구간의 데이터는 moov 크기만큼 뒤로 밀림 (moov 뒤쪽 데이터는 그대로)
+     * @return 박스 구조가 깨졌거나 stco 항목이 32bit를 넘치면 false (보정 불가)
+     */
+    static boolean patchChunkOffsets(ByteBuffer data, int start, int end, long insertOffset, long moovOffset,
+                                     long moovSize) {
+        int position = start;
+        while (position + HEADER_SIZE <= end) {
+            long size = data.getInt(position) & 0xFFFFFFFFL;
+            String type = readType(data, position + 4);
+            int headerSize = HEADER_SIZE;
+            if (size == 1) {
+                if (position + LARGE_HEADER_SIZE > end) {
+                    return false;
+                }
+                size = data.getLong(position + 8);
+                headerSize = LARGE_HEADER_SIZE;
+            } else if (size == 0) {
+                size = end - position;
+            }
+            if (size < headerSize || position + size > end) {
+                return false;
+            }
+            int boxEnd = (int) (position + size);
+
+            if (isContainer(type)) {
+                if (!patchChunkOffsets(data, position + headerSize, boxEnd, insertOffset, moovOffset, moovSize)) {
+                    return false;
+                }
+            } else if ("stco".equals(type) || "co64".equals(type)) {
+                boolean wide = "co64".equals(type);
+                int entrySize = wide ? 8 : 4;
+                int entry = position + headerSize + 8;     // version/flags + entry_count 다음
+                if (entry > boxEnd) {
+                    return false;
+                }
+                long entries = data.getInt(entry - 4) & 0xFFFFFFFFL;
+                if (entry + entries * entrySize > boxEnd) {
+                    return false;
+                }
+                for (long i = 0; i < entries; i++, entry += entrySize) {
+                    long value = wide ? data.getLong(entry) : data.getInt(entry) & 0xFFFFFFFFL;
+                    if (value >= insertOffset && value < moovOffset) {
+                        value += moovSize;
+                    }
+                    if (wide) {
+                        data.putLong(entry, value);
+                    } else if (value > 0xFFFFFFFFL) {
+                        return false;
+                    } else {
+                        data.putInt(entry, (int) value);
+                    }
+                }
+            }
+            position = boxEnd;
+        }
+        return true;
+    }
+
+    private static boolean isContainer(String type) {
+        for (String container : CONTAINER_TYPES) {
+            if (container.equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 박스 타입 (출력 가능한 ASCII 4글자가 아니면 null)
+     */
+    private static String readType(ByteBuffer buffer, int index) {
+        char[] chars = new char[4];
+        for (int i = 0; i < 4; i++) {
+            int value = buffer.get(index + i) & 0xFF;
+            if (value < 0x20 || value > 0x7E) {
+                return null;
+            }
+            chars[i] = (char) value;
+        }
+        return new String(chars);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("예상보다 짧은 파일");
+            }
+            offset += read;
+        }
+    }
+
+    private static void transferFully(FileChannel in, long position, long count, FileChannel out)
+            throws IOException {
+        long done = 0;
+        while (done < count) {
+            long transferred = in.transferTo(position + done, count - done, out);
+            if (transferred <= 0) {
+                throw new IOException("복사 중단: " + done + "/" + count + " bytes");
+            }
+            done += transferred;
+        }
+    }
+}
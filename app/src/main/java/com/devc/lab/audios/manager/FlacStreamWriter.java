@@ -0,0 +1,322 @@
+package com.devc.lab.audios.manager;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * 스트리밍 .flac 출력 (MediaCodec audio/flac 인코더 출력 프레임 기록)
+ * MediaMuxer가 FLAC 컨테이너를 지원하지 않으므로 네이티브 FLAC 스트림을 직접 구성
+ *
+ * 파일 구조:
+ * - "fLaC" + STREAMINFO + SEEKTABLE(마지막 메타데이터 블록) + 프레임들
+ * - SEEKTABLE은 예상 길이 기준으로 자리를 미리 잡고, 프레임을 기록하면서 일정 간격마다 seek point 수집
+ * - 닫을 때 STREAMINFO(총 샘플 수, 블록 크기)와 SEEKTABLE을 채움 (남은 자리는 placeholder point)
+ * - 인코더의 자체 헤더(codec config 또는 "fLaC"로 시작하는 버퍼)는 버리고 직접 만든 헤더 사용
+ */
+public class FlacStreamWriter implements SampleSink, Closeable {
+
+    // seek point 간격 (flac 명령줄 도구 기본값과 같은 10초)
+    static final int SEEK_POINT_INTERVAL_SECONDS = 10;
+    static final int STREAMINFO_SIZE = 34;
+    static final int SEEK_POINT_SIZE = 18;
+    private static final int MAX_SEEK_POINTS = 8192;
+    private static final long PLACEHOLDER_SAMPLE = 0xFFFFFFFFFFFFFFFFL;
+    private static final int BUFFER_SIZE = 512 * 1024;
+    private static final int BLOCK_TYPE_STREAMINFO = 0;
+    private static final int BLOCK_TYPE_SEEKTABLE = 3;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int sampleRate;
+    private final int channelCount;
+    private final int bitsPerSample;
+    private final int seekPointCapacity;
+    private final long seekInterval;
+    private final long audioOffset;
+
+    // 수집한 seek point (샘플 번호, 첫 프레임 기준 바이트 오프셋, 프레임 샘플 수)
+    private final long[] pointSamples;
+    private final long[] pointOffsets;
+    private final int[] pointFrameSamples;
+    private int pointCount = 0;
+    private long nextPointSample = 0;
+
+    private long framesBytes = 0;
+    private long totalSamples = 0;
+    private int minBlockSize = Integer.MAX_VALUE;
+    private int maxBlockSize = 0;
+    private int fixedBlockSize = 0;
+    private boolean closed = false;
+
+    /**
+     * @param outputFile 출력 파일 (있으면 덮어씀)
+     * @param sampleRate 샘플레이트 (Hz)
+     * @param channelCount 채널 수
+     * @param bitsPerSample 샘플당 비트 수
+     * @param expectedSamples 예상 총 샘플 수 (SEEKTABLE 자리 계산용, 모르면 0)
+     */
+    public FlacStreamWriter(File outputFile, int sampleRate, int channelCount, int bitsPerSample,
+                            long expectedSamples) throws IOException {
+        if (sampleRate <= 0 || channelCount <= 0 || channelCount > 8 || bitsPerSample < 4 || bitsPerSample > 32) {
+            throw new IllegalArgumentException("잘못된 FLAC 포맷: " + sampleRate + "Hz/" + channelCount + "ch/"
+                + bitsPerSample + "bit");
+        }
+        this.sampleRate = sampleRate;
+        this.channelCount = channelCount;
+        this.bitsPerSample = bitsPerSample;
+        this.seekInterval = (long) sampleRate * SEEK_POINT_INTERVAL_SECONDS;
+        this.seekPointCapacity = (int) Math.max(1, Math.min(MAX_SEEK_POINTS,
+            Math.max(0, expectedSamples) / seekInterval + 1));
+        this.audioOffset = 4 + 4 + STREAMINFO_SIZE + 4 + (long) seekPointCapacity * SEEK_POINT_SIZE;
+
+        this.pointSamples = new long[seekPointCapacity];
+        this.pointOffsets = new long[seekPointCapacity];
+        this.pointFrameSamples = new int[seekPointCapacity];
+
+        this.file = new RandomAccessFile(outputFile, "rw");
+        this.channel = file.getChannel();
+        try {
+            channel.truncate(0);
+            writeFully(buildHeader(), 0);
+            channel.position(audioOffset);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    public int getSeekPointCapacity() {
+        return seekPointCapacity;
+    }
+
+    public int getSeekPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * 첫 프레임 헤더의 파일 내 위치 (seek point 오프셋 기준점)
+     */
+    public long getAudioOffset() {
+        return audioOffset;
+    }
+
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    /**
+     * 실제 인코딩된 총 샘플 수 지정 (한 버퍼에 프레임이 여러 개 들어오면 헤더 분석만으로는 알 수 없음)
+     */
+    public void setTotalSamples(long totalSamples) {
+        this.totalSamples = Math.max(this.totalSamples, totalSamples);
+    }
+
+    /**
+     * 인코더 출력 기록 (버퍼는 프레임 경계에서 시작해야 함, 프레임 여러 개 가능)
+     */
+    @Override
+    public void writeSample(ByteBuffer data, SampleInfo info) {
+        try {
+            writeFrames(data, info.offset, info.size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 프레임 기록
+     * @param data 프레임 데이터 (위치는 변경하지 않음)
+     * @param offset 데이터 시작 위치
+     * @param size 바이트 수
+     */
+    public void writeFrames(ByteBuffer data, int offset, int size) throws IOException {
+        if (closed) {
+            throw new IOException("이미 닫힌 FlacStreamWriter");
+        }
+        if (size <= 0 || isStreamMarker(data, offset, size)) {
+            return;
+        }
+
+        FrameHeader header = parseFrameHeader(data, offset, size);
+        long sampleNumber = header.variableBlockSize
+            ? header.number : header.number * (fixedBlockSize > 0 ? fixedBlockSize : header.blockSize);
+        if (!header.variableBlockSize && fixedBlockSize == 0) {
+            fixedBlockSize = header.blockSize;
+        }
+        minBlockSize = Math.min(minBlockSize, header.blockSize);
+        maxBlockSize = Math.max(maxBlockSize, header.blockSize);
+        totalSamples = Math.max(totalSamples, sampleNumber + header.blockSize);
+
+        if (sampleNumber >= nextPointSample && pointCount < seekPointCapacity) {
+            pointSamples[pointCount] = sampleNumber;
+            pointOffsets[pointCount] = framesBytes;
+            pointFrameSamples[pointCount] = header.blockSize;
+            pointCount++;
+            nextPointSample = (sampleNumber / seekInterval + 1) * seekInterval;
+        }
+
+        ByteBuffer source = data.duplicate();
+        source.limit(offset + size);
+        source.position(offset);
+        while (source.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            int count = Math.min(source.remaining(), buffer.remaining());
+            int limit = source.limit();
+            source.limit(source.position() + count);
+            buffer.put(source);
+            source.limit(limit);
+        }
+        framesBytes += size;
+    }
+
+    /**
+     * 남은 프레임을 기록하고 STREAMINFO/SEEKTABLE을 채운 뒤 파일을 닫음
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            flushBuffer();
+            writeFully(buildHeader(), 0);
+        } finally {
+            file.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer data, long position) throws IOException {
+        while (data.hasRemaining()) {
+            position += channel.write(data, position);
+        }
+    }
+
+    /**
+     * "fLaC" + STREAMINFO + SEEKTABLE (현재까지 수집한 값 기준)
+     */
+    private ByteBuffer buildHeader() {
+        ByteBuffer header = ByteBuffer.allocate((int) audioOffset).order(ByteOrder.BIG_ENDIAN);
+        header.put(new byte[] {'f', 'L', 'a', 'C'});
+
+        // STREAMINFO
+        header.putInt((BLOCK_TYPE_STREAMINFO << 24) | STREAMINFO_SIZE);
+        int minBlock = fixedBlockSize > 0 ? fixedBlockSize : (maxBlockSize > 0 ? minBlockSize : 0);
+        int maxBlock = fixedBlockSize > 0 ? fixedBlockSize : maxBlockSize;
+        header.putShort((short) minBlock);
+        header.putShort((short) maxBlock);
+        putInt24(header, 0);    // 최소 프레임 크기 (알 수 없음)
+        putInt24(header, 0);    // 최대 프레임 크기 (알 수 없음)
+        // 샘플레이트(20) | 채널-1(3) | 비트-1(5) | 총 샘플 수(36)
+        long packed = ((long) sampleRate << 44)
+            | ((long) (channelCount - 1) << 41)
+            | ((long) (bitsPerSample - 1) << 36)
+            | (totalSamples & 0xFFFFFFFFFL);
+        header.putLong(packed);
+        header.put(new byte[16]);   // MD5 (계산하지 않음 = 0)
+
+        // SEEKTABLE (마지막 메타데이터 블록)
+        header.putInt(0x80000000 | (BLOCK_TYPE_SEEKTABLE << 24) | (seekPointCapacity * SEEK_POINT_SIZE));
+        for (int i = 0; i < seekPointCapacity; i++) {
+            if (i < pointCount) {
+                header.putLong(pointSamples[i]);
+                header.putLong(pointOffsets[i]);
+                header.putShort((short) pointFrameSamples[i]);
+            } else {
+                header.putLong(PLACEHOLDER_SAMPLE);
+                header.putLong(0);
+                header.putShort((short) 0);
+            }
+        }
+
+        header.flip();
+        return header;
+    }
+
+    private static void putInt24(ByteBuffer buffer, int value) {
+        buffer.put((byte) (value >>> 16));
+        buffer.put((byte) (value >>> 8));
+        buffer.put((byte) value);
+    }
+
+    private static boolean isStreamMarker(ByteBuffer data, int offset, int size) {
+        return size >= 4 && data.get(offset) == 'f' && data.get(offset + 1) == 'L'
+            && data.get(offset + 2) == 'a' && data.get(offset + 3) == 'C';
+    }
+
+    /**
+     * FLAC 프레임 헤더 중 seek table에 필요한 부분
+     */
+    static final class FrameHeader {
+        boolean variableBlockSize;
+        // 고정 블록이면 프레임 번호, 가변 블록이면 첫 샘플 번호
+        long number;
+        int blockSize;
+    }
+
+    /**
+     * 프레임 헤더 분석 (sync code, 블록 방식, 블록 크기, UTF-8 부호화된 프레임/샘플 번호)
+     */
+    static FrameHeader parseFrameHeader(ByteBuffer data, int offset, int size) throws IOException {
+        if (size < 6 || (data.get(offset) & 0xFF) != 0xFF || (data.get(offset + 1) & 0xFE) != 0xF8) {
+            throw new IOException("FLAC 프레임 헤더가 아닙니다");
+        }
+        FrameHeader header = new FrameHeader();
+        header.variableBlockSize = (data.get(offset + 1) & 0x01) != 0;
+        int blockSizeCode = (data.get(offset + 2) & 0xFF) >>> 4;
+
+        // UTF-8 방식 번호 (선행 1 비트 수 = 전체 바이트 수)
+        int position = offset + 4;
+        int first = data.get(position++) & 0xFF;
+        int length = Integer.numberOfLeadingZeros(~first << 24);
+        if (length == 1 || length > 7) {
+            throw new IOException("잘못된 FLAC 프레임 번호");
+        }
+        long number = length == 0 ? first : first & (0x7F >> length);
+        for (int i = 1; i < length; i++) {
+            if (position >= offset + size) {
+                throw new IOException("잘린 FLAC 프레임 헤더");
+            }
+            int next = data.get(position++) & 0xFF;
+            if ((next & 0xC0) != 0x80) {
+                throw new IOException("잘못된 FLAC 프레임 번호");
+            }
+            number = (number << 6) | (next & 0x3F);
+        }
+        header.number = number;
+
+        if (blockSizeCode == 1) {
+            header.blockSize = 192;
+        } else if (blockSizeCode >= 2 && blockSizeCode <= 5) {
+            header.blockSize = 576 << (blockSizeCode - 2);
+        } else if (blockSizeCode == 6) {
+            header.blockSize = (data.get(position) & 0xFF) + 1;
+        } else if (blockSizeCode == 7) {
+            header.blockSize = (((data.get(position) & 0xFF) << 8) | (data.get(position + 1) & 0xFF)) + 1;
+        } else if (blockSizeCode >= 8) {
+            header.blockSize = 256 << (blockSizeCode - 8);
+        } else {
+            throw new IOException("예약된 FLAC 블록 크기 코드");
+        }
+        return header;
+    }
+}
@@ -0,0 +1,296 @@
+package com.devc.lab.audios.manager;
+
+import java.io.IOException;
+
+/**
+ * 스트리밍 라우드니스 측정기 (ITU-R BS.1770-4 / EBU R128)
+ * K-weighting(고역 shelf + 고역 통과 biquad) 후 400ms 블록(75% 겹침)의 평균 제곱을 구하고,
+ * 절대 게이트(-70 LUFS)와 상대 게이트(-10 LU)를 적용해 통합 라우드니스를 계산
+ * True peak는 4배 오버샘플링(PolyphaseResampler)한 샘플의 최대 절댓값
+ *
+ * PcmSink로 AudioTranscoder.decodeTo 출력에 바로 연결해 1차 패스로 사용
+ * 블록 에너지 배열은 길이에 비례해 늘어나며 (2시간 ≈ 72,000 블록), 그 외에는 블록마다 할당하지 않음
+ */
+public class LoudnessMeter implements PcmSink {
+
+    // 블록 400ms, 100ms 간격 (75% 겹침)
+    private static final int SUB_BLOCKS_PER_BLOCK = 4;
+    private static final double ABSOLUTE_GATE_LUFS = -70.0;
+    private static final double RELATIVE_GATE_LU = -10.0;
+    // 4배 오버샘플링이 필요 없는 샘플레이트 (BS.1770-4 Annex 2)
+    private static final int TRUE_PEAK_OVERSAMPLE_MAX_RATE = 96_000;
+    private static final int TRUE_PEAK_OVERSAMPLE = 4;
+
+    /**
+     * 측정 결과
+     */
+    public static final class Result {
+        // 통합 라우드니스 (LUFS, 무음이면 Double.NEGATIVE_INFINITY)
+        public final double integratedLufs;
+        // True peak (dBTP, 무음이면 Double.NEGATIVE_INFINITY)
+        public final double truePeakDb;
+
+        Result(double integratedLufs, double truePeakDb) {
+            this.integratedLufs = integratedLufs;
+            this.truePeakDb = truePeakDb;
+        }
+
+        public boolean isSilent() {
+            return Double.isInfinite(integratedLufs);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f LUFS, %.1f dBTP", integratedLufs, truePeakDb);
+        }
+    }
+
+    private final int sampleRate;
+    private final int channels;
+    private final double[] channelWeights;
+
+    // K-weighting 필터 계수 (stage 1: shelf, stage 2: high-pass)
+    private final double shelfB0, shelfB1, shelfB2, shelfA1, shelfA2;
+    private final double highPassA1, highPassA2;
+    // 채널별 biquad 상태 (Direct Form II transposed)
+    private final double[] shelfZ1, shelfZ2, highPassZ1, highPassZ2;
+
+    // 100ms 단위 누적
+    private final int subBlockFrames;
+    private int subBlockFill = 0;
+    private double subBlockEnergy = 0;
+    private final double[] recentSubBlocks = new double[SUB_BLOCKS_PER_BLOCK];
+    private int subBlockCount = 0;
+
+    // 400ms 블록별 평균 제곱 (채널 가중 합)
+    private double[] blockPowers = new double[1024];
+    private int blockCount = 0;
+
+    // True peak
+    private final PolyphaseResampler oversampler;
+    private float[] floatBlock = new float[0];
+    private float[] oversampled = new float[0];
+    private double peak = 0;
+    private boolean finished = false;
+
+    /**
+     * @param sampleRate 입력 샘플레이트 (Hz)
+     * @param channels interleaved 채널 수 (5/6채널은 WAVE 배치로 보고 서라운드 +1.5dB, LFE 제외)
+     */
+    public LoudnessMeter(int sampleRate, int channels) {
+        if (sampleRate <= 0 || channels <= 0) {
+            throw new IllegalArgumentException("잘못된 PCM 포맷: " + sampleRate + "Hz/" + channels + "ch");
+        }
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.channelWeights = createChannelWeights(channels);
+        this.subBlockFrames = Math.max(1, Math.round(sampleRate / 10f));
+
+        // Stage 1: 머리 음향 효과를 반영한 고역 shelf (+4dB, 약 1.7kHz 이상)
+        double f0 = 1681.974450955533;
+        double gain = 3.999843853973347;
+        double q = 0.7071752369554196;
+        double k = Math.tan(Math.PI * f0 / sampleRate);
+        double vh = Math.pow(10.0, gain / 20.0);
+        double vb = Math.pow(vh, 0.4996667741545416);
+        double a0 = 1.0 + k / q + k * k;
+        shelfB0 = (vh + vb * k / q + k * k) / a0;
+        shelfB1 = 2.0 * (k * k - vh) / a0;
+        shelfB2 = (vh - vb * k / q + k * k) / a0;
+        shelfA1 = 2.0 * (k * k - 1.0) / a0;
+        shelfA2 = (1.0 - k / q + k * k) / a0;
+
+        // Stage 2: RLB 고역 통과 (약 38Hz), 분자는 (1, -2, 1)
+        f0 = 38.13547087602444;
+        q = 0.5003270373238773;
+        k = Math.tan(Math.PI * f0 / sampleRate);
+        a0 = 1.0 + k / q + k * k;
+        highPassA1 = 2.0 * (k * k - 1.0) / a0;
+        highPassA2 = (1.0 - k / q + k * k) / a0;
+
+        shelfZ1 = new double[channels];
+        shelfZ2 = new double[channels];
+        highPassZ1 = new double[channels];
+        highPassZ2 = new double[channels];
+
+        oversampler = sampleRate < TRUE_PEAK_OVERSAMPLE_MAX_RATE
+                && PolyphaseResampler.isSupported(sampleRate, sampleRate * TRUE_PEAK_OVERSAMPLE)
+            ? new PolyphaseResampler(sampleRate, sampleRate * TRUE_PEAK_OVERSAMPLE, channels) : null;
+    }
+
+    @Override
+    public void writePcm(short[] samples, int frameOffset, int frames) throws IOException {
+        process(samples, frameOffset, frames);
+    }
+
+    /**
+     * 16bit interleaved PCM 누적
+     */
+    public void process(short[] samples, int frameOffset, int frames) {
+        int size = frames * channels;
+        if (floatBlock.length < size) {
+            floatBlock = new float[size];
+        }
+        int base = frameOffset * channels;
+        for (int i = 0; i < size; i++) {
+            floatBlock[i] = samples[base + i] / 32768f;
+        }
+        process(floatBlock, 0, frames);
+    }
+
+    /**
+     * float interleaved PCM 누적 (-1.0 ~ 1.0)
+     */
+    public void process(float[] samples, int frameOffset, int frames) {
+        if (finished) {
+            throw new IllegalStateException("getResult 이후에는 누적할 수 없습니다");
+        }
+        int index = frameOffset * channels;
+        for (int f = 0; f < frames; f++) {
+            for (int c = 0; c < channels; c++) {
+                double x = samples[index++];
+
+                double y = shelfB0 * x + shelfZ1[c];
+                shelfZ1[c] = shelfB1 * x - shelfA1 * y + shelfZ2[c];
+                shelfZ2[c] = shelfB2 * x - shelfA2 * y;
+
+                double z = y + highPassZ1[c];
+                highPassZ1[c] = -2.0 * y - highPassA1 * z + highPassZ2[c];
+                highPassZ2[c] = y - highPassA2 * z;
+
+                subBlockEnergy += channelWeights[c] * z * z;
+            }
+
+            if (++subBlockFill == subBlockFrames) {
+                completeSubBlock();
+            }
+        }
+
+        oversamplePeak(samples, frameOffset, frames);
+    }
+
+    /**
+     * 측정 결과 (모든 PCM을 넣은 뒤 호출 - 오버샘플러에 남은 끝부분을 반영하고 측정 종료)
+     */
+    public Result getResult() {
+        if (!finished && oversampler != null) {
+            int maxFrames = oversampler.getMaxOutputFrames(0);
+            if (oversampled.length < maxFrames * channels) {
+                oversampled = new float[maxFrames * channels];
+            }
+            updatePeak(oversampled, 0, oversampler.flush(oversampled, 0) * channels);
+        }
+        finished = true;
+        return new Result(getIntegratedLoudness(), peak > 0 ? 20 * Math.log10(peak) : Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * 게이트 적용 통합 라우드니스 (LUFS)
+     */
+    public double getIntegratedLoudness() {
+        double absoluteThreshold = toPower(ABSOLUTE_GATE_LUFS);
+        double sum = 0;
+        int count = 0;
+        for (int i = 0; i < blockCount; i++) {
+            if (blockPowers[i] > absoluteThreshold) {
+                sum += blockPowers[i];
+                count++;
+            }
+        }
+        if (count == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        double relativeThreshold = toPower(toLoudness(sum / count) + RELATIVE_GATE_LU);
+        double gatedSum = 0;
+        int gatedCount = 0;
+        for (int i = 0; i < blockCount; i++) {
+            if (blockPowers[i] > absoluteThreshold && blockPowers[i] > relativeThreshold) {
+                gatedSum += blockPowers[i];
+                gatedCount++;
+            }
+        }
+        return gatedCount > 0 ? toLoudness(gatedSum / gatedCount) : Double.NEGATIVE_INFINITY;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannelCount() {
+        return channels;
+    }
+
+    private void completeSubBlock() {
+        recentSubBlocks[subBlockCount % SUB_BLOCKS_PER_BLOCK] = subBlockEnergy;
+        subBlockCount++;
+        subBlockEnergy = 0;
+        subBlockFill = 0;
+
+        if (subBlockCount >= SUB_BLOCKS_PER_BLOCK) {
+            double energy = 0;
+            for (double value : recentSubBlocks) {
+                energy += value;
+            }
+            if (blockCount == blockPowers.length) {
+                double[] grown = new double[blockPowers.length * 2];
+                System.arraycopy(blockPowers, 0, grown, 0, blockCount);
+                blockPowers = grown;
+            }
+            blockPowers[blockCount++] = energy / (SUB_BLOCKS_PER_BLOCK * (double) subBlockFrames);
+        }
+    }
+
+    private void oversamplePeak(float[] samples, int frameOffset, int frames) {
+        if (oversampler == null) {
+            updatePeak(samples, frameOffset * channels, frames * channels);
+            return;
+        }
+        int maxFrames = oversampler.getMaxOutputFrames(frames);
+        if (oversampled.length < maxFrames * channels) {
+            oversampled = new float[maxFrames * channels];
+        }
+        int produced = oversampler.process(samples, frameOffset, frames, oversampled, 0);
+        updatePeak(oversampled, 0, produced * channels);
+    }
+
+    private void updatePeak(float[] source, int start, int size) {
+        double max = peak;
+        for (int i = start; i < start + size; i++) {
+            double value = Math.abs(source[i]);
+            if (value > max) {
+                max = value;
+            }
+        }
+        peak = max;
+    }
+
+    /**
+     * BS.1770 채널 가중치 (서라운드 1.41, LFE 0)
+     */
+    private static double[] createChannelWeights(int channels) {
+        double[] weights = new double[channels];
+        for (int c = 0; c < channels; c++) {
+            weights[c] = 1.0;
+        }
+        if (channels == 5) {
+            // FL FR FC BL BR
+            weights[3] = 1.41;
+            weights[4] = 1.41;
+        } else if (channels == 6) {
+            // FL FR FC LFE BL BR
+            weights[3] = 0.0;
+            weights[4] = 1.41;
+            weights[5] = 1.41;
+        }
+        return weights;
+    }
+
+    private static double toLoudness(double power) {
+        return -0.691 + 10.0 * Math.log10(power);
+    }
+
+    private static double toPower(double loudness) {
+        return Math.pow(10.0, (loudness + 0.691) / 10.0);
+    }
+}
@@ -0,0 +1,111 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 2-pass 라우드니스 평준화
+ * 1차: 인코딩할 PCM과 같은 채널 구성으로 디코딩만 해서 LoudnessMeter로 통합 라우드니스/true peak 측정
+ * 2차: 목표 라우드니스까지의 고정 gain을 true peak 상한으로 제한해 Target에 실어 인코딩 (PcmFormatAdapter에서 적용)
+ *
+ * 측정 결과는 원본 식별자(URI + 크기 + 수정 시간) + PCM 구성별로 메모리에 보관하므로,
+ * 같은 파일을 다른 포맷으로 다시 내보내거나 재개할 때는 1차 디코딩을 건너뜀
+ */
+public final class LoudnessNormalizer {
+
+    // 모바일 청취 기준 목표 라우드니스 (측정은 EBU R128 / BS.1770-4)
+    public static final double DEFAULT_TARGET_LUFS = -16.0;
+    // true peak 상한 (손실 코덱 재구성 오버슈트 여유)
+    public static final double TRUE_PEAK_CEILING_DB = -1.0;
+    // 거의 무음인 입력의 잡음을 과도하게 키우지 않도록 최대 증폭 제한
+    public static final double MAX_GAIN_DB = 20.0;
+
+    private static final int MAX_CACHED_RESULTS = 32;
+    private static final Map<String, LoudnessMeter.Result> cache =
+        new LinkedHashMap<String, LoudnessMeter.Result>(MAX_CACHED_RESULTS + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LoudnessMeter.Result> eldest) {
+                return size() > MAX_CACHED_RESULTS;
+            }
+        };
+
+    private LoudnessNormalizer() {
+    }
+
+    /**
+     * 목표 라우드니스까지의 gain (dB)
+     * true peak가 상한을 넘지 않도록 줄이고, 증폭은 MAX_GAIN_DB까지만 (무음이면 0)
+     */
+    public static double computeGainDb(LoudnessMeter.Result measured, double targetLufs) {
+        if (measured == null || measured.isSilent()) {
+            return 0.0;
+        }
+        double gainDb = Math.min(targetLufs - measured.integratedLufs, MAX_GAIN_DB);
+        if (!Double.isInfinite(measured.truePeakDb)) {
+            gainDb = Math.min(gainDb, TRUE_PEAK_CEILING_DB - measured.truePeakDb);
+        }
+        return gainDb;
+    }
+
+    /**
+     * 1차 패스: 라우드니스 측정 (캐시에 있으면 디코딩 없이 반환)
+     * @param source 미디어 소스 (측정용 extractor를 따로 만듦)
+     * @param trackIndex 오디오 트랙 인덱스
+     * @param sourceFormat 오디오 트랙 포맷
+     * @param target 채널 구성 (인코딩과 같은 다운믹스로 측정)
+     * @param outputChannels 인코딩할 채널 수
+     * @param cacheKey 원본 식별자 (null이면 캐시하지 않음)
+     */
+    static LoudnessMeter.Result measure(MediaSourceHandle source, int trackIndex, MediaFormat sourceFormat,
+                                        AudioTranscoder.Target target, int outputChannels, String cacheKey,
+                                        MediaProcessingEngine.ProgressCallback progressCallback)
+            throws AudioTrimException, InterruptedException {
+        int sampleRate = sourceFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        String key = cacheKey != null ? cacheKey + "|" + target.channelMix + "|" + outputChannels : null;
+        if (key != null) {
+            LoudnessMeter.Result cached;
+            synchronized (cache) {
+                cached = cache.get(key);
+            }
+            if (cached != null) {
+                LoggerManager.logger("⚡ 라우드니스 측정 캐시 적중: " + cached);
+                return cached;
+            }
+        }
+
+        MediaExtractor extractor = null;
+        long startedAt = System.currentTimeMillis();
+        try {
+            extractor = source.createExtractor();
+            extractor.selectTrack(trackIndex);
+
+            // 원본 샘플레이트 그대로 측정 (리샘플링은 라우드니스를 바꾸지 않음)
+            LoudnessMeter meter = new LoudnessMeter(sampleRate, outputChannels);
+            new AudioTranscoder(target.withoutGain()).decodeTo(extractor, sourceFormat, meter, sampleRate,
+                                                               outputChannels, progressCallback);
+            LoudnessMeter.Result result = meter.getResult();
+            LoggerManager.logger("📏 라우드니스 측정: " + result + " ("
+                + (System.currentTimeMillis() - startedAt) + "ms)");
+
+            if (key != null) {
+                synchronized (cache) {
+                    cache.put(key, result);
+                }
+            }
+            return result;
+
+        } catch (IOException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.FILE_ACCESS_DENIED,
+                "라우드니스 측정용 입력 열기 실패: " + e.getMessage(), e);
+
+        } finally {
+            if (extractor != null) {
+                extractor.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.devc.lab.audios.manager;
+
+import android.os.Handler;
+
+import java.util.concurrent.Future;
+
+/**
+ * MediaJobQueue에 등록된 작업 하나
+ * 작업마다 고유 ID, 리스너, 취소 수단을 가지며 콜백은 메인 스레드에서 호출됨
+ * MediaJobStore에 기록된 작업은 출력 경로와 구간 체크포인트를 함께 저장 (프로세스 종료 후 재개)
+ */
+public class MediaJob implements ChunkedAudioTranscoder.Checkpoint {
+
+    /**
+     * 작업 종류
+     */
+    public enum Type {
+        TRIM,
+        CUT_OUT,
+        TRIM_REGIONS,
+        EXTRACT,
+        MERGE
+    }
+
+    /**
+     * 작업 상태
+     */
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    /**
+     * 작업별 콜백 (메인 스레드)
+     * 완료/오류/취소 중 하나만 정확히 한 번 호출됨 (취소는 onJobError, getState() == CANCELLED)
+     */
+    public interface Listener {
+        void onJobStart(long jobId);
+
+        void onJobProgress(long jobId, int progress);
+
+        /**
+         * @param outputPath 출력 파일 경로 (다중 구간 작업은 null - 구간별 결과는 구간 리스너로 전달)
+         */
+        void onJobComplete(long jobId, String outputPath);
+
+        void onJobError(long jobId, String error);
+    }
+
+    private final long id;
+    private final Type type;
+    private final boolean streamCopy;
+    private final Listener listener;
+    private final Handler mainHandler;
+
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelRequested = false;
+    private volatile Future<?> future;
+    private Runnable finishHook;
+    private int lastProgress = -1;
+    private volatile String outputPath;
+    // 여러 단계로 나뉜 작업의 현재 단계 진행률 구간 (2-pass 등)
+    private volatile int progressStart = 0;
+    private volatile int progressEnd = 100;
+
+    // 영속화 (MediaJobStore 기록이 있는 작업만, 기록은 작업 스레드가 이미 실행 중일 때 연결될 수 있음)
+    private volatile MediaJobStore store;
+    private volatile long recordId = -1;
+    // 기록 연결 전에 확정된 출력 경로 (연결될 때 함께 기록)
+    private volatile String recordedOutputPath;
+    private volatile int segmentCount = 0;
+    private volatile long completedSegments = 0;
+
+    MediaJob(long id, Type type, boolean streamCopy, Listener listener, Handler mainHandler) {
+        this.id = id;
+        this.type = type;
+        this.streamCopy = streamCopy;
+        this.listener = listener;
+        this.mainHandler = mainHandler;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 코덱 없이 샘플 복사만 하는 작업인지 (I/O 위주 - 병렬 실행 대상)
+     */
+    public boolean isStreamCopy() {
+        return streamCopy;
+    }
+
+    /**
+     * MediaJobStore에 기록된 작업인지 (프로세스가 종료돼도 다음 실행 때 재개)
+     */
+    public boolean isPersistent() {
+        return store != null && recordId >= 0;
+    }
+
+    long getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * 저장된 기록 연결 (이전 실행의 체크포인트가 있으면 함께 복원)
+     * @return 이미 끝난 작업이면 false (기록은 호출한 쪽에서 삭제)
+     */
+    synchronized boolean attachRecord(MediaJobStore store, long recordId, int segmentCount, long completedSegments) {
+        if (isFinished()) {
+            return false;
+        }
+        if (segmentCount > 0) {
+            this.segmentCount = segmentCount;
+            this.completedSegments = completedSegments;
+        }
+        this.store = store;
+        this.recordId = recordId;
+        String pendingOutputPath = recordedOutputPath;
+        if (pendingOutputPath != null) {
+            recordOutputPath(pendingOutputPath);
+        }
+        return true;
+    }
+
+    /**
+     * 실행 중 확정된 출력 경로 기록 (재개할 수 없게 되면 불완전한 파일 정리에 사용)
+     */
+    void recordOutputPath(String outputPath) {
+        recordedOutputPath = outputPath;
+        if (!isPersistent()) {
+            return;
+        }
+        try {
+            store.updateOutputPath(recordId, outputPath);
+        } catch (RuntimeException e) {
+            LoggerManager.logger("⚠️ 작업 #" + id + " 출력 경로 기록 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    @Override
+    public long getCompletedSegments() {
+        return completedSegments;
+    }
+
+    @Override
+    public void saveCheckpoint(int segmentCount, long completedSegments, long checkpointUs) {
+        this.segmentCount = segmentCount;
+        this.completedSegments = completedSegments;
+        if (!isPersistent()) {
+            return;
+        }
+        try {
+            store.updateCheckpoint(recordId, segmentCount, completedSegments, checkpointUs);
+            LoggerManager.logger("💾 작업 #" + id + " 체크포인트: " + Long.bitCount(completedSegments) + "/"
+                + segmentCount + "개 구간, " + checkpointUs / 1000 + "ms");
+        } catch (RuntimeException e) {
+            LoggerManager.logger("⚠️ 작업 #" + id + " 체크포인트 기록 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 완료된 작업의 출력 경로 (완료 전이거나 출력이 하나가 아니면 null)
+     */
+    public String getOutputPath() {
+        return state == State.COMPLETED ? outputPath : null;
+    }
+
+    public boolean isFinished() {
+        State current = state;
+        return current == State.COMPLETED || current == State.FAILED || current == State.CANCELLED;
+    }
+
+    /**
+     * 작업 취소 (대기 중이면 실행되지 않고, 실행 중이면 작업 스레드를 인터럽트)
+     * @return 취소 요청이 받아들여졌으면 true (이미 끝난 작업이면 false)
+     */
+    public boolean cancel() {
+        synchronized (this) {
+            if (isFinished()) {
+                return false;
+            }
+            cancelRequested = true;
+        }
+
+        Future<?> task = future;
+        if (task != null) {
+            task.cancel(true);
+        }
+
+        // 아직 시작하지 않은 작업은 작업 스레드가 보고하지 않으므로 여기서 종료 처리
+        if (state == State.QUEUED) {
+            fail("작업이 취소되었습니다");
+        }
+        LoggerManager.logger("🚫 작업 #" + id + " 취소 요청");
+        return true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void setFinishHook(Runnable finishHook) {
+        this.finishHook = finishHook;
+    }
+
+    /**
+     * 실행 시작 표시 (이미 취소된 작업이면 false)
+     */
+    synchronized boolean markStarted() {
+        if (cancelRequested || isFinished()) {
+            return false;
+        }
+        state = State.RUNNING;
+        if (listener != null) {
+            mainHandler.post(() -> listener.onJobStart(id));
+        }
+        return true;
+    }
+
+    /**
+     * 진행률 보고 (퍼센트가 바뀐 경우에만 전달)
+     */
+    void reportProgress(long processedUs, long totalUs) {
+        if (totalUs > 0) {
+            reportProgress((int) (processedUs * 100 / totalUs));
+        }
+    }
+
+    void reportProgress(int progress) {
+        int clamped = progressStart
+            + Math.max(0, Math.min(100, progress)) * (progressEnd - progressStart) / 100;
+        synchronized (this) {
+            if (clamped == lastProgress || isFinished()) {
+                return;
+            }
+            lastProgress = clamped;
+        }
+        if (listener != null) {
+            mainHandler.post(() -> listener.onJobProgress(id, clamped));
+        }
+    }
+
+    /**
+     * 이후 보고되는 진행률(0~100)을 전체 진행률의 [start, end] 구간으로 변환
+     */
+    void setProgressRange(int start, int end) {
+        progressStart = start;
+        progressEnd = end;
+    }
+
+    void complete(String outputPath) {
+        this.outputPath = outputPath;
+        if (!finish(State.COMPLETED)) {
+            return;
+        }
+        if (listener != null) {
+            mainHandler.post(() -> listener.onJobComplete(id, outputPath));
+        }
+    }
+
+    void fail(String error) {
+        if (!finish(cancelRequested ? State.CANCELLED : State.FAILED)) {
+            return;
+        }
+        if (listener != null) {
+            mainHandler.post(() -> listener.onJobError(id, error));
+        }
+    }
+
+    private boolean finish(State finalState) {
+        synchronized (this) {
+            if (isFinished()) {
+                return false;
+            }
+            state = finalState;
+        }
+        if (finishHook != null) {
+            finishHook.run();
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + type + " (" + state + ")";
+    }
+}
@@ -0,0 +1,479 @@
+package com.devc.lab.audios.manager;
+
+import android.content.Context;
+import android.content.Intent;
+import android.media.MediaFormat;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.ParcelFileDescriptor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 미디어 작업 큐
+ * 자르기/구간 삭제/추출/합치기 요청을 개수 제한 없이 받아 작업마다 ID, 리스너, 취소를 부여
+ * stream copy 작업은 I/O 위주라 제한된 수만큼 병렬 실행하고,
+ * 코덱을 쓰는 작업은 코어 수와 코덱 동시 인스턴스 한도에 맞춘 수만큼 병렬 실행 (일괄 변환)
+ * 실제 처리는 NativeAudioTrimManager / NativeAudioExtractorManager / NativeAudioMergeManager에 위임 (관리자는 사전에 init 필요)
+ * init 이후 URI 기반 추출/변환 작업은 MediaJobStore에 기록되고 MediaJobService로 포그라운드 실행되며,
+ * 프로세스가 종료되면 다음 init 때 다시 등록됨 (긴 재인코딩은 구간 체크포인트부터 재개)
+ */
+public class MediaJobQueue {
+
+    // stream copy 동시 실행 수 (UFS에서 2~3개까지는 I/O가 잘 겹침)
+    private static final int STREAM_COPY_PARALLELISM =
+        Math.max(2, Math.min(3, Runtime.getRuntime().availableProcessors()));
+    // 코덱 작업 동시 실행 상한 (작업마다 디코더/인코더 스레드 2개를 더 쓰므로 코어 절반 이하로)
+    private static final int MAX_CODEC_PARALLELISM = 4;
+
+    private static MediaJobQueue instance;
+
+    private final ExecutorService copyExecutor;
+    private final ExecutorService codecExecutor;
+    // 작업 기록/복원/정리 (DB·URI I/O - 등록과 대기 중인 작업 취소는 주로 메인 스레드에서 일어나므로 메인 스레드를 막지 않음)
+    private final ExecutorService recordExecutor;
+    private final int codecParallelism;
+    private final Handler mainHandler;
+    private final AtomicLong nextJobId = new AtomicLong(1);
+    private final Map<Long, MediaJob> activeJobs = new ConcurrentHashMap<>();
+
+    // 영속화 (init 전에는 작업을 기록하지 않음)
+    private Context appContext;
+    private MediaJobStore store;
+
+    /**
+     * 작업 스레드에서 실행할 본문 (결과/오류는 job으로 보고)
+     */
+    private interface JobBody {
+        void run(MediaJob job);
+    }
+
+    private MediaJobQueue() {
+        copyExecutor = Executors.newFixedThreadPool(STREAM_COPY_PARALLELISM);
+        codecParallelism = computeCodecParallelism();
+        codecExecutor = Executors.newFixedThreadPool(codecParallelism);
+        recordExecutor = Executors.newSingleThreadExecutor();
+        mainHandler = new Handler(Looper.getMainLooper());
+        LoggerManager.logger("MediaJobQueue 초기화 완료 (stream copy 병렬 " + STREAM_COPY_PARALLELISM
+            + ", 코덱 병렬 " + codecParallelism + ")");
+    }
+
+    /**
+     * 코덱 작업 동시 실행 수 (코어 절반, AAC 디코더/인코더 최대 동시 인스턴스 수 중 가장 작은 값)
+     */
+    private static int computeCodecParallelism() {
+        int byCores = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        MediaFormat aacFormat = MediaFormat.createAudioFormat(MediaFormat.MIMETYPE_AUDIO_AAC, 44100, 2);
+        aacFormat.setInteger(MediaFormat.KEY_BIT_RATE, 128000);
+        int decoders = ChunkedAudioTranscoder.getMaxSupportedInstances(aacFormat, false);
+        int encoders = ChunkedAudioTranscoder.getMaxSupportedInstances(aacFormat, true);
+        return Math.max(1, Math.min(MAX_CODEC_PARALLELISM, Math.min(byCores, Math.min(decoders, encoders))));
+    }
+
+    public static synchronized MediaJobQueue getInstance() {
+        if (instance == null) {
+            instance = new MediaJobQueue();
+        }
+        return instance;
+    }
+
+    /**
+     * 작업 영속화 초기화 (Application에서 추출/자르기 관리자 init 이후 한 번 호출)
+     * 이전 실행에서 끝나지 않은 작업은 기록 스레드에서 다시 등록 (DB 읽기와 입력 확인으로 앱 시작을 막지 않음)
+     */
+    public synchronized void init(Context context) {
+        if (store != null) {
+            return;
+        }
+        appContext = context.getApplicationContext();
+        store = new MediaJobStore(appContext);
+        recordExecutor.execute(this::restorePersistedJobs);
+    }
+
+    /**
+     * 자르기 작업 등록
+     * @return 작업 ID
+     */
+    public long enqueueTrim(Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName,
+                            NativeAudioTrimManager.TrimMode trimMode, MediaJob.Listener listener) {
+        return enqueueTrim(sourceUri, startTimeMs, endTimeMs, outputFileName, trimMode,
+                           NativeAudioTrimManager.FadeOptions.NONE, listener);
+    }
+
+    /**
+     * 페이드 인/아웃 자르기 작업 등록 (페이드가 있으면 코덱 작업으로 실행)
+     * @return 작업 ID
+     */
+    public long enqueueTrim(Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName,
+                            NativeAudioTrimManager.TrimMode trimMode,
+                            NativeAudioTrimManager.FadeOptions fadeOptions, MediaJob.Listener listener) {
+        final NativeAudioTrimManager.FadeOptions fade =
+            fadeOptions != null ? fadeOptions : NativeAudioTrimManager.FadeOptions.NONE;
+        boolean streamCopy = trimMode != NativeAudioTrimManager.TrimMode.SMART && !fade.isEnabled();
+        return submit(MediaJob.Type.TRIM, streamCopy, listener, job ->
+            NativeAudioTrimManager.getInstance().runTrimJob(job, sourceUri, startTimeMs, endTimeMs,
+                                                            outputFileName, trimMode, fade));
+    }
+
+    /**
+     * 구간 삭제 작업 등록
+     * @return 작업 ID
+     */
+    public long enqueueCutOut(Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName,
+                              MediaJob.Listener listener) {
+        return submit(MediaJob.Type.CUT_OUT, true, listener, job ->
+            NativeAudioTrimManager.getInstance().runCutOutJob(job, sourceUri, startTimeMs, endTimeMs,
+                                                              outputFileName));
+    }
+
+    /**
+     * 다중 구간 자르기 작업 등록 (구간별 결과는 NativeAudioTrimManager의 구간 리스너로 전달)
+     * @return 작업 ID
+     */
+    public long enqueueRegions(Uri sourceUri, List<NativeAudioTrimManager.TrimRegion> regions,
+                               MediaJob.Listener listener) {
+        final List<NativeAudioTrimManager.TrimRegion> regionList =
+            regions != null ? new ArrayList<>(regions) : null;
+        return submit(MediaJob.Type.TRIM_REGIONS, true, listener, job ->
+            NativeAudioTrimManager.getInstance().runRegionsJob(job, sourceUri, regionList));
+    }
+
+    /**
+     * 합치기 작업 등록 (호환되지 않는 입력은 재인코딩하므로 코덱 작업으로 실행)
+     * @param sourceUris 입력 URI 목록 (목록 순서대로 이어 붙임)
+     * @return 작업 ID
+     */
+    public long enqueueMerge(List<Uri> sourceUris, String outputFileName, MediaJob.Listener listener) {
+        final List<Uri> sources = sourceUris != null ? new ArrayList<>(sourceUris) : null;
+        return submit(MediaJob.Type.MERGE, false, listener, job ->
+            NativeAudioMergeManager.getInstance().runMergeJob(job, sources, outputFileName));
+    }
+
+    /**
+     * URI에서 오디오 추출 작업 등록
+     * @return 작업 ID
+     */
+    public long enqueueExtraction(Uri inputUri, String outputFileName,
+                                  NativeAudioExtractorManager.AudioFormat format, MediaJob.Listener listener) {
+        return enqueueExtraction(inputUri, outputFileName, format, null, listener);
+    }
+
+    /**
+     * URI에서 오디오 추출/변환 작업 등록 (목표가 원본과 다르면 재인코딩)
+     * @param target 변환 목표 (null이면 stream copy)
+     * @return 작업 ID
+     */
+    public long enqueueExtraction(Uri inputUri, String outputFileName, NativeAudioExtractorManager.AudioFormat format,
+                                  AudioTranscoder.Target target, MediaJob.Listener listener) {
+        MediaJob job = createJob(MediaJob.Type.EXTRACT, isStreamCopy(format, target), listener);
+        persist(job, inputUri, outputFileName, format, target);
+        return execute(job, j ->
+            NativeAudioExtractorManager.getInstance().runExtractionJob(j, inputUri, outputFileName, format, target));
+    }
+
+    /**
+     * URI의 모든 오디오 트랙 추출 작업 등록 (stream copy, 트랙별 파일)
+     * @return 작업 ID
+     */
+    public long enqueueAllTracksExtraction(Uri inputUri, String outputFileName,
+                                           NativeAudioExtractorManager.AudioFormat format, MediaJob.Listener listener) {
+        return submit(MediaJob.Type.EXTRACT, true, listener, job ->
+            NativeAudioExtractorManager.getInstance().runAllTracksExtractionJob(job, inputUri, outputFileName, format));
+    }
+
+    /**
+     * 파일 경로에서 오디오 추출 작업 등록
+     * @return 작업 ID
+     */
+    public long enqueueExtraction(String inputPath, String outputPath,
+                                  NativeAudioExtractorManager.AudioFormat format, MediaJob.Listener listener) {
+        return enqueueExtraction(inputPath, outputPath, format, null, listener);
+    }
+
+    /**
+     * 파일 경로에서 오디오 추출/변환 작업 등록 (목표가 원본과 다르면 재인코딩)
+     * @param target 변환 목표 (null이면 stream copy)
+     * @return 작업 ID
+     */
+    public long enqueueExtraction(String inputPath, String outputPath, NativeAudioExtractorManager.AudioFormat format,
+                                  AudioTranscoder.Target target, MediaJob.Listener listener) {
+        return submit(MediaJob.Type.EXTRACT, isStreamCopy(format, target), listener, job ->
+            NativeAudioExtractorManager.getInstance().runExtractionJob(job, inputPath, outputPath, format, target));
+    }
+
+    /**
+     * 원본 코덱을 담을 수 없는 출력(WAV/FLAC/Opus)이거나 변환 목표가 있으면 디코딩/재인코딩될 수 있으므로 코덱 작업으로 분류
+     */
+    private static boolean isStreamCopy(NativeAudioExtractorManager.AudioFormat format, AudioTranscoder.Target target) {
+        return format.isStreamCopyFormat() && (target == null || target.keepsSource());
+    }
+
+    private long submit(MediaJob.Type type, boolean streamCopy, MediaJob.Listener listener, JobBody body) {
+        return execute(createJob(type, streamCopy, listener), body);
+    }
+
+    private MediaJob createJob(MediaJob.Type type, boolean streamCopy, MediaJob.Listener listener) {
+        MediaJob job = new MediaJob(nextJobId.getAndIncrement(), type, streamCopy, listener, mainHandler);
+        job.setFinishHook(() -> {
+            activeJobs.remove(job.getId());
+            if (job.isPersistent()) {
+                forgetRecord(job.getRecordId());
+                MediaJobService.update(appContext, false);
+            }
+        });
+        return job;
+    }
+
+    private long execute(MediaJob job, JobBody body) {
+        activeJobs.put(job.getId(), job);
+        if (job.isPersistent()) {
+            MediaJobService.update(appContext, true);
+        }
+
+        ExecutorService executor = job.isStreamCopy() ? copyExecutor : codecExecutor;
+        job.setFuture(executor.submit(() -> {
+            if (!job.markStarted()) {
+                return;
+            }
+            LoggerManager.logger("▶️ 작업 시작: " + job);
+            try {
+                body.run(job);
+            } finally {
+                // 본문이 결과를 보고하지 않고 끝난 경우 대비
+                if (!job.isFinished()) {
+                    job.fail("작업이 비정상 종료되었습니다");
+                }
+                LoggerManager.logger("⏹️ 작업 종료: " + job);
+            }
+        }));
+
+        LoggerManager.logger("📥 작업 등록: " + job + " - 대기/실행 중 " + activeJobs.size() + "개");
+        return job.getId();
+    }
+
+    /**
+     * URI 작업 기록 (init 이후에만, 재시작 후에도 읽을 수 있도록 영구 URI 권한 요청)
+     * 기록 스레드에서 실행하고 작업은 기다리지 않고 바로 실행 - 기록이 끝나면 작업에 연결
+     * (그 사이 작업이 끝났으면 기록을 바로 삭제)
+     */
+    private void persist(MediaJob job, Uri inputUri, String outputFileName,
+                         NativeAudioExtractorManager.AudioFormat format, AudioTranscoder.Target target) {
+        if (store == null) {
+            return;
+        }
+        recordExecutor.execute(() -> {
+            if (job.isFinished()) {
+                return;
+            }
+            try {
+                appContext.getContentResolver().takePersistableUriPermission(inputUri,
+                    Intent.FLAG_GRANT_READ_URI_PERMISSION);
+            } catch (SecurityException e) {
+                // 문서 선택기로 고르지 않은 URI는 영구 권한을 받을 수 없음 (재시작 후 접근 가능하면 그대로 재개)
+                LoggerManager.logger("영구 URI 권한 없음: " + inputUri);
+            }
+            try {
+                long recordId = store.insert(inputUri, outputFileName, format, target);
+                if (recordId < 0) {
+                    return;
+                }
+                if (job.attachRecord(store, recordId, 0, 0)) {
+                    MediaJobService.update(appContext, true);
+                } else {
+                    forgetRecord(recordId);
+                }
+            } catch (RuntimeException e) {
+                LoggerManager.logger("⚠️ 작업 기록 실패 (재개 불가): " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 이전 실행에서 끝나지 않은 작업 다시 등록 (기록 스레드에서 실행, 결과를 받을 화면이 없으므로 완료/실패는 알림으로 전달)
+     * 입력을 더 이상 읽을 수 없는 작업은 불완전한 출력과 함께 정리
+     */
+    private void restorePersistedJobs() {
+        List<MediaJobStore.Record> records;
+        try {
+            records = store.loadAll();
+        } catch (RuntimeException e) {
+            LoggerManager.logger("⚠️ 저장된 작업 읽기 실패: " + e.getMessage());
+            return;
+        }
+
+        for (MediaJobStore.Record record : records) {
+            if (!canRead(record.inputUri)) {
+                LoggerManager.logger("⚠️ 저장된 작업 재개 불가 (입력 접근 불가): " + record.inputUri);
+                discardOutput(record);
+                forgetRecord(record.id);
+                continue;
+            }
+
+            RestoredJobListener listener = new RestoredJobListener(record);
+            MediaJob job = createJob(MediaJob.Type.EXTRACT, isStreamCopy(record.format, record.target), listener);
+            listener.job = job;
+            job.attachRecord(store, record.id, record.segmentCount, record.segmentMask);
+            execute(job, j -> NativeAudioExtractorManager.getInstance().runExtractionJob(
+                j, record.inputUri, record.outputFileName, record.format, record.target));
+            LoggerManager.logger("♻️ 저장된 작업 재등록: " + record.outputFileName
+                + (record.segmentCount > 0 ? " (체크포인트 " + record.checkpointUs / 1000 + "ms)" : ""));
+        }
+    }
+
+    /**
+     * 재개된 작업의 결과 알림 (사용자가 취소한 작업은 알리지 않음)
+     */
+    private final class RestoredJobListener implements MediaJob.Listener {
+        private final MediaJobStore.Record record;
+        private MediaJob job;
+
+        RestoredJobListener(MediaJobStore.Record record) {
+            this.record = record;
+        }
+
+        @Override
+        public void onJobStart(long jobId) {
+        }
+
+        @Override
+        public void onJobProgress(long jobId, int progress) {
+        }
+
+        @Override
+        public void onJobComplete(long jobId, String outputPath) {
+            MediaJobService.notifyResult(appContext, record.id, "변환 완료",
+                outputPath != null ? new File(outputPath).getName() : record.outputFileName);
+        }
+
+        @Override
+        public void onJobError(long jobId, String error) {
+            if (job != null && job.getState() == MediaJob.State.CANCELLED) {
+                return;
+            }
+            MediaJobService.notifyResult(appContext, record.id, "변환 실패",
+                record.outputFileName + " - " + error);
+        }
+    }
+
+    private boolean canRead(Uri uri) {
+        try (ParcelFileDescriptor descriptor = appContext.getContentResolver().openFileDescriptor(uri, "r")) {
+            return descriptor != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 재개하지 않을 작업의 불완전한 출력과 구간 임시 파일 삭제
+     */
+    private static void discardOutput(MediaJobStore.Record record) {
+        if (record.outputPath == null) {
+            return;
+        }
+        File output = new File(record.outputPath);
+        if (output.exists() && output.delete()) {
+            LoggerManager.logger("🧹 불완전한 출력 삭제: " + output.getName());
+        }
+        for (int i = 0; ; i++) {
+            File part = new File(record.outputPath + ".part" + i);
+            if (!part.exists()) {
+                break;
+            }
+            part.delete();
+        }
+    }
+
+    /**
+     * 작업 기록 삭제 (같은 입력을 쓰는 기록이 없으면 영구 URI 권한도 반납, 기록 정리 스레드에서 실행)
+     */
+    private void forgetRecord(long recordId) {
+        recordExecutor.execute(() -> {
+            try {
+                Uri inputUri = store.findInputUri(recordId);
+                store.delete(recordId);
+                if (inputUri != null && !store.hasInput(inputUri)) {
+                    appContext.getContentResolver().releasePersistableUriPermission(inputUri,
+                        Intent.FLAG_GRANT_READ_URI_PERMISSION);
+                }
+            } catch (SecurityException e) {
+                // 영구 권한을 받지 않은 URI
+            } catch (RuntimeException e) {
+                LoggerManager.logger("⚠️ 작업 기록 삭제 실패: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 진행 중이거나 대기 중인 작업 조회 (끝난 작업이면 null)
+     */
+    public MediaJob getJob(long jobId) {
+        return activeJobs.get(jobId);
+    }
+
+    public boolean isActive(long jobId) {
+        return activeJobs.containsKey(jobId);
+    }
+
+    /**
+     * 작업 취소
+     * @return 취소 요청이 받아들여졌으면 true
+     */
+    public boolean cancel(long jobId) {
+        MediaJob job = activeJobs.get(jobId);
+        return job != null && job.cancel();
+    }
+
+    /**
+     * 모든 작업 취소
+     */
+    public void cancelAll() {
+        for (MediaJob job : new ArrayList<>(activeJobs.values())) {
+            job.cancel();
+        }
+    }
+
+    public int getActiveJobCount() {
+        return activeJobs.size();
+    }
+
+    /**
+     * 기록된(재개 가능한) 진행/대기 중 작업 수 (MediaJobService 유지 여부)
+     */
+    public int getPersistentJobCount() {
+        int count = 0;
+        for (MediaJob job : activeJobs.values()) {
+            if (job.isPersistent()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 실행 중인 코덱 작업 수 (분할 트랜스코딩이 코덱 인스턴스를 나눠 쓰기 위해 사용)
+     */
+    public int getRunningCodecJobCount() {
+        int count = 0;
+        for (MediaJob job : activeJobs.values()) {
+            if (!job.isStreamCopy() && job.getState() == MediaJob.State.RUNNING) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 코덱 작업 동시 실행 수
+     */
+    public int getCodecParallelism() {
+        return codecParallelism;
+    }
+}
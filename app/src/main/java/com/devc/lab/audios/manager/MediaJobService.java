@@ -0,0 +1,124 @@
+package com.devc.lab.audios.manager;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.os.IBinder;
+
+/**
+ * 미디어 작업 포그라운드 서비스
+ * 영속화된 작업(MediaJobStore)이 있는 동안 프로세스를 포그라운드로 유지해 화면을 벗어나도 긴 변환이 계속되게 함
+ * 그래도 시스템이 프로세스를 종료하면 START_STICKY로 다시 시작되고, Application에서 MediaJobQueue가 작업을 재개
+ * 작업 등록/종료 때마다 MediaJobQueue가 update를 호출하며, 남은 작업이 없으면 스스로 종료
+ */
+public class MediaJobService extends Service {
+
+    private static final String CHANNEL_ID = "media_jobs";
+    private static final int NOTIFICATION_ID = 2001;
+    // 재개된 작업의 결과 알림 (작업 기록 ID별로 하나)
+    private static final String RESULT_CHANNEL_ID = "media_job_results";
+    private static final int RESULT_NOTIFICATION_BASE_ID = 3000;
+
+    /**
+     * 서비스 시작 또는 알림 갱신
+     * @param starting 작업 등록 시 true (포그라운드 서비스로 시작), 종료 시 false (실행 중인 서비스에 갱신만 요청)
+     */
+    static void update(Context context, boolean starting) {
+        Intent intent = new Intent(context, MediaJobService.class);
+        try {
+            if (starting) {
+                context.startForegroundService(intent);
+            } else {
+                context.startService(intent);
+            }
+        } catch (IllegalStateException e) {
+            // 백그라운드에서 시작 제한 (Android 12+) - 작업은 그대로 실행하고 다음 실행 때 체크포인트부터 재개
+            LoggerManager.logger("⚠️ 미디어 작업 서비스 시작 불가: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 작업 결과 알림 (프로세스 재시작 후 재개된 작업은 결과를 받을 화면이 없으므로 알림으로 전달)
+     * @param recordId 작업 기록 ID (같은 작업의 알림은 교체)
+     */
+    static void notifyResult(Context context, long recordId, String title, String text) {
+        NotificationManager manager = context.getSystemService(NotificationManager.class);
+        if (manager == null || !manager.areNotificationsEnabled()) {
+            LoggerManager.logger("⚠️ 알림 꺼짐 - 작업 결과 알림 생략: " + title + " " + text);
+            return;
+        }
+        if (manager.getNotificationChannel(RESULT_CHANNEL_ID) == null) {
+            manager.createNotificationChannel(
+                new NotificationChannel(RESULT_CHANNEL_ID, "변환 결과", NotificationManager.IMPORTANCE_DEFAULT));
+        }
+
+        Notification.Builder builder = new Notification.Builder(context, RESULT_CHANNEL_ID)
+            .setSmallIcon(context.getApplicationInfo().icon)
+            .setContentTitle(title)
+            .setContentText(text)
+            .setAutoCancel(true);
+        PendingIntent launch = createLaunchIntent(context);
+        if (launch != null) {
+            builder.setContentIntent(launch);
+        }
+        manager.notify(RESULT_NOTIFICATION_BASE_ID + (int) recordId, builder.build());
+    }
+
+    /**
+     * 알림을 누르면 앱 실행
+     */
+    private static PendingIntent createLaunchIntent(Context context) {
+        Intent launchIntent = context.getPackageManager().getLaunchIntentForPackage(context.getPackageName());
+        if (launchIntent == null) {
+            return null;
+        }
+        return PendingIntent.getActivity(context, 0, launchIntent,
+            PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT);
+    }
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        int count = MediaJobQueue.getInstance().getPersistentJobCount();
+
+        // startForegroundService 뒤에는 남은 작업이 없어도 반드시 startForeground를 먼저 호출해야 함
+        startForeground(NOTIFICATION_ID, buildNotification(count), ServiceInfo.FOREGROUND_SERVICE_TYPE_DATA_SYNC);
+        if (count == 0) {
+            LoggerManager.logger("미디어 작업 서비스 종료 (남은 작업 없음)");
+            stopForeground(STOP_FOREGROUND_REMOVE);
+            stopSelf();
+            return START_NOT_STICKY;
+        }
+        return START_STICKY;
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return null;
+    }
+
+    private Notification buildNotification(int count) {
+        NotificationManager manager = getSystemService(NotificationManager.class);
+        if (manager.getNotificationChannel(CHANNEL_ID) == null) {
+            manager.createNotificationChannel(
+                new NotificationChannel(CHANNEL_ID, "오디오 변환", NotificationManager.IMPORTANCE_LOW));
+        }
+
+        Notification.Builder builder = new Notification.Builder(this, CHANNEL_ID)
+            .setSmallIcon(getApplicationInfo().icon)
+            .setContentTitle("오디오 변환 중")
+            .setContentText(count > 0 ? count + "개 작업 진행 중" : "작업 정리 중")
+            .setOngoing(true)
+            .setOnlyAlertOnce(true);
+
+        PendingIntent launch = createLaunchIntent(this);
+        if (launch != null) {
+            builder.setContentIntent(launch);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,239 @@
+package com.devc.lab.audios.manager;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.net.Uri;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 작업 큐 영속화 (SQLite)
+ * URI 기반 추출/변환 작업을 등록할 때 기록하고 끝나면 삭제하므로,
+ * 프로세스가 종료되어 남아 있는 기록은 다음 실행 때 다시 등록할 작업
+ * 분할 트랜스코딩은 완료한 구간 비트와 앞에서부터 끊김 없이 기록된 presentation time을 체크포인트로 저장
+ */
+public class MediaJobStore extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "media_jobs.db";
+    private static final int DATABASE_VERSION = 3;
+
+    private static final String TABLE_JOBS = "jobs";
+    private static final String COLUMN_ID = "_id";
+    private static final String COLUMN_INPUT_URI = "input_uri";
+    private static final String COLUMN_OUTPUT_NAME = "output_name";
+    private static final String COLUMN_FORMAT = "format";
+    private static final String COLUMN_BITRATE = "bitrate";              // -1이면 변환 목표 없음 (stream copy)
+    private static final String COLUMN_SAMPLE_RATE = "sample_rate";
+    private static final String COLUMN_OPUS_PRESET = "opus_preset";
+    private static final String COLUMN_CHANNEL_MIX = "channel_mix";      // v2
+    private static final String COLUMN_LOUDNESS_LUFS = "loudness_lufs";  // v3, 0이면 평준화하지 않음
+    private static final String COLUMN_OUTPUT_PATH = "output_path";      // 실행 중 확정된 출력 경로
+    private static final String COLUMN_SEGMENT_COUNT = "segment_count";
+    private static final String COLUMN_SEGMENT_MASK = "segment_mask";
+    private static final String COLUMN_CHECKPOINT_US = "checkpoint_us";
+    private static final String COLUMN_CREATED_AT = "created_at";
+
+    /**
+     * 저장된 작업 하나
+     */
+    public static final class Record {
+        public final long id;
+        public final Uri inputUri;
+        public final String outputFileName;
+        public final NativeAudioExtractorManager.AudioFormat format;
+        public final AudioTranscoder.Target target;
+        public final String outputPath;
+        public final int segmentCount;
+        public final long segmentMask;
+        public final long checkpointUs;
+
+        Record(long id, Uri inputUri, String outputFileName, NativeAudioExtractorManager.AudioFormat format,
+               AudioTranscoder.Target target, String outputPath, int segmentCount, long segmentMask,
+               long checkpointUs) {
+            this.id = id;
+            this.inputUri = inputUri;
+            this.outputFileName = outputFileName;
+            this.format = format;
+            this.target = target;
+            this.outputPath = outputPath;
+            this.segmentCount = segmentCount;
+            this.segmentMask = segmentMask;
+            this.checkpointUs = checkpointUs;
+        }
+    }
+
+    public MediaJobStore(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_JOBS + " ("
+            + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + COLUMN_INPUT_URI + " TEXT NOT NULL, "
+            + COLUMN_OUTPUT_NAME + " TEXT NOT NULL, "
+            + COLUMN_FORMAT + " TEXT NOT NULL, "
+            + COLUMN_BITRATE + " INTEGER NOT NULL, "
+            + COLUMN_SAMPLE_RATE + " INTEGER NOT NULL, "
+            + COLUMN_OPUS_PRESET + " TEXT, "
+            + COLUMN_CHANNEL_MIX + " TEXT, "
+            + COLUMN_LOUDNESS_LUFS + " REAL NOT NULL DEFAULT 0, "
+            + COLUMN_OUTPUT_PATH + " TEXT, "
+            + COLUMN_SEGMENT_COUNT + " INTEGER NOT NULL DEFAULT 0, "
+            + COLUMN_SEGMENT_MASK + " INTEGER NOT NULL DEFAULT 0, "
+            + COLUMN_CHECKPOINT_US + " INTEGER NOT NULL DEFAULT 0, "
+            + COLUMN_CREATED_AT + " INTEGER NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            // 기존 기록은 채널 구성 없음 (원본)
+            db.execSQL("ALTER TABLE " + TABLE_JOBS + " ADD COLUMN " + COLUMN_CHANNEL_MIX + " TEXT");
+        }
+        if (oldVersion < 3) {
+            db.execSQL("ALTER TABLE " + TABLE_JOBS + " ADD COLUMN " + COLUMN_LOUDNESS_LUFS
+                + " REAL NOT NULL DEFAULT 0");
+        }
+    }
+
+    /**
+     * 작업 기록
+     * @param target 변환 목표 (null이면 stream copy)
+     * @return 기록 ID (실패하면 -1)
+     */
+    public long insert(Uri inputUri, String outputFileName, NativeAudioExtractorManager.AudioFormat format,
+                       AudioTranscoder.Target target) {
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_INPUT_URI, inputUri.toString());
+        values.put(COLUMN_OUTPUT_NAME, outputFileName);
+        values.put(COLUMN_FORMAT, format.name());
+        values.put(COLUMN_BITRATE, target != null ? target.bitrate : -1);
+        values.put(COLUMN_SAMPLE_RATE, target != null ? target.sampleRate : 0);
+        values.put(COLUMN_OPUS_PRESET, target != null ? target.opusPreset.name() : null);
+        values.put(COLUMN_CHANNEL_MIX, target != null ? target.channelMix.name() : null);
+        values.put(COLUMN_LOUDNESS_LUFS, target != null ? target.loudnessTargetLufs : 0);
+        values.put(COLUMN_CREATED_AT, System.currentTimeMillis());
+        return getWritableDatabase().insert(TABLE_JOBS, null, values);
+    }
+
+    /**
+     * 실행 중 확정된 출력 경로 기록 (재개할 수 없을 때 불완전한 파일 정리용)
+     */
+    public void updateOutputPath(long id, String outputPath) {
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_OUTPUT_PATH, outputPath);
+        update(id, values);
+    }
+
+    /**
+     * 분할 트랜스코딩 체크포인트 기록
+     * @param segmentMask 완료한 구간 비트 (구간 i = 1L << i)
+     * @param checkpointUs 처음부터 끊김 없이 완료된 구간의 끝 presentation time
+     */
+    public void updateCheckpoint(long id, int segmentCount, long segmentMask, long checkpointUs) {
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_SEGMENT_COUNT, segmentCount);
+        values.put(COLUMN_SEGMENT_MASK, segmentMask);
+        values.put(COLUMN_CHECKPOINT_US, checkpointUs);
+        update(id, values);
+    }
+
+    public void delete(long id) {
+        getWritableDatabase().delete(TABLE_JOBS, COLUMN_ID + " = ?", new String[] {String.valueOf(id)});
+    }
+
+    /**
+     * 기록의 입력 URI (기록이 없으면 null)
+     */
+    public Uri findInputUri(long id) {
+        try (Cursor cursor = getReadableDatabase().query(TABLE_JOBS, new String[] {COLUMN_INPUT_URI},
+                COLUMN_ID + " = ?", new String[] {String.valueOf(id)}, null, null, null, "1")) {
+            return cursor.moveToFirst() ? Uri.parse(cursor.getString(0)) : null;
+        }
+    }
+
+    /**
+     * 같은 입력을 쓰는 다른 작업이 남아 있는지 (URI 권한 해제 판단용)
+     */
+    public boolean hasInput(Uri inputUri) {
+        try (Cursor cursor = getReadableDatabase().query(TABLE_JOBS, new String[] {COLUMN_ID},
+                COLUMN_INPUT_URI + " = ?", new String[] {inputUri.toString()}, null, null, null, "1")) {
+            return cursor.moveToFirst();
+        }
+    }
+
+    /**
+     * 남아 있는 작업 전체 (등록 순서)
+     * 포맷 이름을 알 수 없는 기록(이전 버전)은 삭제
+     */
+    public List<Record> loadAll() {
+        List<Record> records = new ArrayList<>();
+        List<Long> invalid = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(TABLE_JOBS, null, null, null, null, null,
+                COLUMN_ID + " ASC")) {
+            while (cursor.moveToNext()) {
+                long id = cursor.getLong(cursor.getColumnIndexOrThrow(COLUMN_ID));
+                NativeAudioExtractorManager.AudioFormat format;
+                try {
+                    format = NativeAudioExtractorManager.AudioFormat.valueOf(
+                        cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_FORMAT)));
+                } catch (IllegalArgumentException e) {
+                    invalid.add(id);
+                    continue;
+                }
+
+                int bitrate = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_BITRATE));
+                AudioTranscoder.Target target = null;
+                if (bitrate >= 0) {
+                    String preset = cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_OPUS_PRESET));
+                    target = new AudioTranscoder.Target(bitrate,
+                            cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_SAMPLE_RATE)))
+                        .withOpusPreset(AudioTranscoder.OpusPreset.SPEECH.name().equals(preset)
+                            ? AudioTranscoder.OpusPreset.SPEECH : AudioTranscoder.OpusPreset.MUSIC)
+                        .withChannelMix(
+                            parseChannelMix(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_CHANNEL_MIX))));
+                    try {
+                        target = target.withLoudnessTarget(
+                            cursor.getDouble(cursor.getColumnIndexOrThrow(COLUMN_LOUDNESS_LUFS)));
+                    } catch (IllegalArgumentException e) {
+                        invalid.add(id);
+                        continue;
+                    }
+                }
+
+                records.add(new Record(id,
+                    Uri.parse(cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_INPUT_URI))),
+                    cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_OUTPUT_NAME)),
+                    format, target,
+                    cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_OUTPUT_PATH)),
+                    cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_SEGMENT_COUNT)),
+                    cursor.getLong(cursor.getColumnIndexOrThrow(COLUMN_SEGMENT_MASK)),
+                    cursor.getLong(cursor.getColumnIndexOrThrow(COLUMN_CHECKPOINT_US))));
+            }
+        }
+        for (long id : invalid) {
+            delete(id);
+        }
+        return records;
+    }
+
+    private static ChannelMix parseChannelMix(String name) {
+        if (name != null) {
+            for (ChannelMix mix : ChannelMix.values()) {
+                if (mix.name().equals(name)) {
+                    return mix;
+                }
+            }
+        }
+        return ChannelMix.SOURCE;
+    }
+
+    private void update(long id, ContentValues values) {
+        getWritableDatabase().update(TABLE_JOBS, values, COLUMN_ID + " = ?", new String[] {String.valueOf(id)});
+    }
+}
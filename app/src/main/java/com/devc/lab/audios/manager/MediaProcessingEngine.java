@@ -6,6 +6,9 @@ import android.media.MediaMuxer;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * 미디어 처리 엔진
@@ -21,6 +24,34 @@ public class MediaProcessingEngine {
         void onProgress(long processedUs, long totalUs);
     }
     
+    /**
+     * 다중 구간 출력 대상
+     * 구간에 처음 도달할 때 open, 구간이 끝나면 finish가 한 번씩 호출됨
+     */
+    public interface RegionSink {
+        /**
+         * 구간 출력 muxer 준비 (트랙 추가 및 start 완료 상태로 반환)
+         * @param regionIndex 구간 인덱스 (요청 순서)
+         * @return muxer 트랙 인덱스
+         */
+        int open(int regionIndex) throws IOException, AudioTrimException;
+        
+        /**
+         * 구간 muxer에 샘플 기록
+         */
+        void write(int regionIndex, int trackIndex, ByteBuffer buffer, android.media.MediaCodec.BufferInfo info);
+        
+        /**
+         * 구간 종료
+         * @param regionIndex 구간 인덱스
+         * @param success 샘플이 정상 기록되었는지 여부
+         */
+        void finish(int regionIndex, boolean success);
+    }
+    
+    // 활성 구간이 없을 때 이보다 멀리 떨어진 다음 구간은 advance 대신 seek으로 이동
+    private static final long REGION_SEEK_GAP_US = 5_000_000;
+    
     /**
      * MediaExtractor에서 오디오 트랙 인덱스 찾기
      * @param extractor MediaExtractor 인스턴스
@@ -81,91 +112,258 @@ public class MediaProcessingEngine {
         try {
             // 트랙 선택
             extractor.selectTrack(audioTrackIndex);
-            
-            // 시작 위치로 이동
-            extractor.seekTo(startTimeUs, MediaExtractor.SEEK_TO_CLOSEST_SYNC);
-            
-            // 실제 시작 위치 확인
-            long actualStartTime = extractor.getSampleTime();
-            LoggerManager.logger("   → 실제 시작 시간: " + (actualStartTime/1000) + "ms");
-            
-            // 버퍼 할당
-            MediaFormat format = extractor.getTrackFormat(audioTrackIndex);
-            int maxInputSize = getMaxInputSize(format);
-            ByteBuffer buffer = ByteBuffer.allocate(maxInputSize);
-            
-            // 샘플 복사 루프
-            long totalDurationUs = endTimeUs - startTimeUs;
-            long processedUs = 0;
-            int sampleCount = 0;
-            long totalBytes = 0;
-            
+        } catch (Exception e) {
+            LoggerManager.logger("❌ 트랙 선택 실패: " + e.getMessage());
+            return false;
+        }
+        
+        return copyTrimmedSamples(extractor, extractor.getTrackFormat(audioTrackIndex),
+                                  muxer, muxerTrackIndex, startTimeUs, endTimeUs, 0, progressCallback);
+    }
+    
+    /**
+     * 오디오 트랙 자르기 및 복사 (세션 기반)
+     * 세션이 이미 분석한 트랙/포맷을 재사용하므로 extractor를 새로 열지 않음
+     * @param session 미디어 소스 세션 (오디오 트랙 선택 완료 상태)
+     * @param muxer 출력 MediaMuxer
+     * @param muxerTrackIndex Muxer 트랙 인덱스
+     * @param startTimeUs 시작 시간 (마이크로초)
+     * @param endTimeUs 종료 시간 (마이크로초)
+     * @param progressCallback 진행률 콜백
+     * @return 성공 여부
+     */
+    public boolean trimAndCopyAudioTrack(MediaSourceSession session, MediaMuxer muxer,
+                                       int muxerTrackIndex, long startTimeUs, long endTimeUs,
+                                       ProgressCallback progressCallback) {
+        if (session == null || muxer == null) {
+            LoggerManager.logger("❌ trimAndCopyAudioTrack: session 또는 muxer가 null");
+            return false;
+        }
+        
+        LoggerManager.logger("🎵 오디오 트랙 자르기 시작 (세션)");
+        LoggerManager.logger("   → 트랙 인덱스: " + session.getAudioTrackIndex() + " → " + muxerTrackIndex);
+        LoggerManager.logger("   → 시간 범위: " + (startTimeUs/1000) + "ms ~ " + (endTimeUs/1000) + "ms");
+        
+        return copyTrimmedSamples(session.getExtractor(), session.getAudioFormat(),
+                                  muxer, muxerTrackIndex, startTimeUs, endTimeUs, 0, progressCallback);
+    }
+    
+    /**
+     * 구간 샘플을 시간 기준점을 옮겨 복사 (스마트 자르기의 stream copy 구간용)
+     * @param session 미디어 소스 세션
+     * @param muxer 출력 MediaMuxer (start 완료 상태)
+     * @param muxerTrackIndex Muxer 트랙 인덱스
+     * @param startTimeUs 복사 시작 시간 (sync 샘플 경계, 마이크로초)
+     * @param endTimeUs 복사 종료 시간 (미포함, 마이크로초)
+     * @param ptsOffsetUs 출력 타임스탬프에서 뺄 기준 시간
+     * @param progressCallback 진행률 콜백
+     * @return 성공 여부
+     */
+    public boolean copySamplesRebased(MediaSourceSession session, MediaMuxer muxer, int muxerTrackIndex,
+                                      long startTimeUs, long endTimeUs, long ptsOffsetUs,
+                                      ProgressCallback progressCallback) {
+        if (session == null || muxer == null) {
+            LoggerManager.logger("❌ copySamplesRebased: session 또는 muxer가 null");
+            return false;
+        }
+        
+        return copyTrimmedSamples(session.getExtractor(), session.getAudioFormat(),
+                                  muxer, muxerTrackIndex, startTimeUs, endTimeUs, ptsOffsetUs, progressCallback);
+    }
+    
+    /**
+     * 여러 구간을 한 번의 순차 읽기로 분할 (stream copy)
+     * 각 샘플은 한 번만 읽고, 그 시점에 걸친 모든 구간의 muxer로 전달 (구간이 겹쳐도 됨)
+     * 구간 시작은 시작 시간 이하의 가장 가까운 sync 샘플로 맞춤
+     * @param session 미디어 소스 세션
+     * @param startTimesUs 구간 시작 시간 배열 (마이크로초)
+     * @param endTimesUs 구간 종료 시간 배열 (마이크로초)
+     * @param sink 구간별 출력 대상
+     * @param progressCallback 전체 진행률 콜백 (기록된 구간 길이 합 / 전체 구간 길이 합)
+     * @return 모든 구간이 성공했는지 여부
+     */
+    public boolean copyRegions(MediaSourceSession session, long[] startTimesUs, long[] endTimesUs,
+                               RegionSink sink, ProgressCallback progressCallback)
+                               throws AudioTrimException, InterruptedException {
+        int regionCount = startTimesUs.length;
+        MediaExtractor extractor = session.getExtractor();
+        
+        // 실제 시작점(sync 샘플) 기준으로 정렬
+        long[] effectiveStartsUs = new long[regionCount];
+        Integer[] order = new Integer[regionCount];
+        long totalDurationUs = 0;
+        for (int i = 0; i < regionCount; i++) {
+            effectiveStartsUs[i] = session.findSyncSampleAtOrBefore(startTimesUs[i]);
+            order[i] = i;
+            totalDurationUs += endTimesUs[i] - startTimesUs[i];
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(effectiveStartsUs[a], effectiveStartsUs[b]));
+        
+        LoggerManager.logger("🎬 다중 구간 분할 시작: " + regionCount + "개 구간, 총 " + (totalDurationUs / 1000) + "ms");
+        
+        int[] trackIndices = new int[regionCount];
+        long[] writtenUs = new long[regionCount];
+        List<Integer> active = new ArrayList<>();
+        int nextRegion = 0;
+        boolean allSucceeded = true;
+        
+        ByteBuffer buffer = DirectBufferPool.acquire(getMaxInputSize(session.getAudioFormat()));
+        android.media.MediaCodec.BufferInfo bufferInfo = new android.media.MediaCodec.BufferInfo();
+        SampleCopyKernel.ProgressThrottle throttle = new SampleCopyKernel.ProgressThrottle(100, 1);
+        
+        extractor.seekTo(effectiveStartsUs[order[0]], MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+        
+        try {
             while (true) {
-                long sampleTime = extractor.getSampleTime();
-                
-                // 종료 시간 체크
-                if (sampleTime >= endTimeUs) {
-                    LoggerManager.logger("✅ 종료 시간 도달: " + (sampleTime/1000) + "ms");
-                    break;
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("다중 구간 분할 취소");
                 }
                 
-                // 샘플이 더 이상 없는 경우
+                long sampleTime = extractor.getSampleTime();
                 if (sampleTime < 0) {
-                    LoggerManager.logger("⚠️ 더 이상 샘플이 없습니다");
                     break;
                 }
                 
-                // 샘플 읽기
+                // 끝난 구간 종료
+                for (int i = active.size() - 1; i >= 0; i--) {
+                    int region = active.get(i);
+                    if (sampleTime >= endTimesUs[region]) {
+                        active.remove(i);
+                        sink.finish(region, true);
+                    }
+                }
+                
+                // 새로 시작되는 구간 열기
+                while (nextRegion < regionCount && effectiveStartsUs[order[nextRegion]] <= sampleTime) {
+                    int region = order[nextRegion++];
+                    if (sampleTime >= endTimesUs[region]) {
+                        // 시작 sync 샘플을 지나쳐 버린 구간 (빈 구간)
+                        sink.finish(region, false);
+                        allSucceeded = false;
+                        continue;
+                    }
+                    trackIndices[region] = sink.open(region);
+                    active.add(region);
+                }
+                
+                if (active.isEmpty()) {
+                    if (nextRegion >= regionCount) {
+                        break;
+                    }
+                    
+                    // 다음 구간까지 멀면 앞으로 seek (뒤로는 가지 않음)
+                    long nextStartUs = effectiveStartsUs[order[nextRegion]];
+                    if (nextStartUs - sampleTime > REGION_SEEK_GAP_US) {
+                        extractor.seekTo(nextStartUs, MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+                        if (extractor.getSampleTime() > sampleTime) {
+                            continue;
+                        }
+                    }
+                    if (!extractor.advance()) {
+                        break;
+                    }
+                    continue;
+                }
+                
+                // 샘플은 한 번만 읽어 모든 활성 구간에 기록
                 buffer.clear();
                 int sampleSize = extractor.readSampleData(buffer, 0);
-                
                 if (sampleSize < 0) {
-                    LoggerManager.logger("⚠️ 샘플 읽기 완료 (EOF)");
                     break;
                 }
+                bufferInfo.set(0, sampleSize, sampleTime, extractor.getSampleFlags());
                 
-                // 샘플 정보 설정
-                android.media.MediaCodec.BufferInfo bufferInfo = new android.media.MediaCodec.BufferInfo();
-                bufferInfo.offset = 0;
-                bufferInfo.size = sampleSize;
-                bufferInfo.presentationTimeUs = sampleTime;
-                bufferInfo.flags = extractor.getSampleFlags();
-                
-                // Muxer에 샘플 쓰기
-                try {
-                    muxer.writeSampleData(muxerTrackIndex, buffer, bufferInfo);
-                } catch (Exception e) {
-                    LoggerManager.logger("❌ 샘플 쓰기 실패: " + e.getMessage());
-                    return false;
+                for (int region : active) {
+                    buffer.position(0);
+                    buffer.limit(sampleSize);
+                    sink.write(region, trackIndices[region], buffer, bufferInfo);
+                    writtenUs[region] = Math.max(0, sampleTime - startTimesUs[region]);
                 }
                 
-                // 통계 업데이트
-                sampleCount++;
-                totalBytes += sampleSize;
-                processedUs = sampleTime - actualStartTime;
-                
-                // 진행률 콜백
-                if (progressCallback != null && totalDurationUs > 0) {
-                    progressCallback.onProgress(processedUs, totalDurationUs);
+                if (progressCallback != null) {
+                    long processedUs = 0;
+                    for (int i = 0; i < regionCount; i++) {
+                        processedUs += Math.min(writtenUs[i], endTimesUs[i] - startTimesUs[i]);
+                    }
+                    if (throttle.shouldReport(processedUs, totalDurationUs)) {
+                        progressCallback.onProgress(processedUs, totalDurationUs);
+                    }
                 }
                 
-                // 다음 샘플로 이동
                 if (!extractor.advance()) {
-                    LoggerManager.logger("⚠️ 더 이상 샘플이 없습니다 (advance)");
                     break;
                 }
             }
             
-            LoggerManager.logger("✅ 오디오 트랙 자르기 완료");
-            LoggerManager.logger("   → 처리된 샘플: " + sampleCount + "개");
-            LoggerManager.logger("   → 총 데이터: " + totalBytes + " bytes");
-            LoggerManager.logger("   → 처리 시간: " + (processedUs/1000) + "ms");
+            // 소스 끝까지 열려 있던 구간 종료
+            for (int region : active) {
+                sink.finish(region, true);
+            }
+            active.clear();
+            
+            // 소스 범위를 벗어나 한 번도 열리지 않은 구간
+            while (nextRegion < regionCount) {
+                sink.finish(order[nextRegion++], false);
+                allSucceeded = false;
+            }
+            
+            LoggerManager.logger("✅ 다중 구간 분할 완료");
+            return allSucceeded;
+            
+        } catch (IOException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_MUXER_FAILED,
+                "구간 출력 준비 실패", e);
+        } finally {
+            // 예외로 중단된 경우 열린 구간 정리
+            for (int region : active) {
+                sink.finish(region, false);
+            }
+            DirectBufferPool.release(buffer);
+        }
+    }
+    
+    /**
+     * 트랙이 선택된 extractor에서 구간 샘플 복사 (SampleCopyKernel 사용)
+     */
+    private boolean copyTrimmedSamples(MediaExtractor extractor, MediaFormat format,
+                                       MediaMuxer muxer, int muxerTrackIndex,
+                                       long startTimeUs, long endTimeUs, long ptsOffsetUs,
+                                       ProgressCallback progressCallback) {
+        ByteBuffer buffer = null;
+        try {
+            // 시작 위치로 이동
+            extractor.seekTo(startTimeUs, MediaExtractor.SEEK_TO_CLOSEST_SYNC);
+            
+            // 실제 시작 위치 확인
+            long actualStartTime = extractor.getSampleTime();
+            LoggerManager.logger("   → 실제 시작 시간: " + (actualStartTime/1000) + "ms");
+            
+            buffer = DirectBufferPool.acquire(getMaxInputSize(format));
+            
+            SampleCopyKernel.Result result = new SampleCopyKernel()
+                .setEndTimeUs(endTimeUs)
+                .setPtsOffsetUs(ptsOffsetUs)
+                .setProgress(actualStartTime, endTimeUs - startTimeUs, progressCallback)
+                .copy(new ExtractorSampleSource(extractor), new MuxerSampleSink(muxer, muxerTrackIndex), buffer);
+            
+            LoggerManager.logger("✅ 오디오 트랙 자르기 완료" + (result.reachedEndTime ? "" : " (소스 끝 도달)"));
+            LoggerManager.logger("   → 처리된 샘플: " + result.sampleCount + "개");
+            LoggerManager.logger("   → 총 데이터: " + result.totalBytes + " bytes");
+            LoggerManager.logger("   → 처리 시간: " + ((result.lastSampleTimeUs - actualStartTime)/1000) + "ms");
             
             return true;
             
+        } catch (InterruptedException e) {
+            LoggerManager.logger("ℹ️ 오디오 트랙 자르기 인터럽트");
+            Thread.currentThread().interrupt();
+            return false;
+            
         } catch (Exception e) {
             LoggerManager.logger("❌ 오디오 트랙 자르기 실패: " + e.getClass().getSimpleName() + " - " + e.getMessage());
             return false;
+            
+        } finally {
+            DirectBufferPool.release(buffer);
         }
     }
     
@@ -225,6 +423,22 @@ public class MediaProcessingEngine {
         }
     }
     
+    /**
+     * MediaMuxer에 세션의 오디오 트랙 추가 (호환성 검증 포함)
+     * @param muxer MediaMuxer 인스턴스
+     * @param session 미디어 소스 세션
+     * @param outputFormat 출력 포맷
+     * @return 트랙 인덱스, 실패 시 -1
+     */
+    public int addTrackWithCompatibilityCheck(MediaMuxer muxer, MediaSourceSession session,
+                                            NativeAudioTrimManager.AudioFormat outputFormat) {
+        if (session == null) {
+            LoggerManager.logger("❌ addTrackWithCompatibilityCheck: session이 null");
+            return -1;
+        }
+        return addTrackWithCompatibilityCheck(muxer, session.getAudioFormat(), outputFormat);
+    }
+    
     /**
      * 안전한 MediaFormat 생성
      * @param originalFormat 원본 MediaFormat
@@ -0,0 +1,231 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaExtractor;
+import android.media.MediaMetadataRetriever;
+import android.os.ParcelFileDescriptor;
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.system.StructStat;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * 미디어 입력 소스 핸들
+ * ContentResolver.openFileDescriptor로 연 FileDescriptor를 MediaExtractor에 직접 전달하여
+ * 원본 전체를 임시 파일로 복사하는 비용을 제거
+ * seek이 불가능한 provider(파이프 기반 스트림 등)에서만 임시 파일 복사본을 사용
+ */
+public class MediaSourceHandle implements Closeable {
+
+    /**
+     * 소스 유형
+     */
+    public enum SourceType {
+        FILE_DESCRIPTOR,  // openFileDescriptor 기반 (복사 없음)
+        TEMP_FILE,        // 임시 파일 복사본 (폴백)
+        FILE_PATH         // 이미 로컬에 있는 파일 경로
+    }
+
+    private final SourceType type;
+    private final ParcelFileDescriptor parcelFd;
+    private final File file;
+    private final AudioFileManager fileManager;
+    private final long length;
+    private final long lastModifiedMs;
+    private volatile boolean closed = false;
+
+    private MediaSourceHandle(SourceType type, ParcelFileDescriptor parcelFd, File file,
+                              AudioFileManager fileManager, long length, long lastModifiedMs) {
+        this.type = type;
+        this.parcelFd = parcelFd;
+        this.file = file;
+        this.fileManager = fileManager;
+        this.length = length;
+        this.lastModifiedMs = lastModifiedMs;
+    }
+
+    /**
+     * FileDescriptor 기반 핸들 생성
+     * @param parcelFd 열린 ParcelFileDescriptor (핸들이 소유권을 가짐)
+     * @return 핸들, seek 불가능한 디스크립터면 null (호출자가 폴백 처리)
+     */
+    static MediaSourceHandle fromDescriptor(ParcelFileDescriptor parcelFd) {
+        if (parcelFd == null) {
+            return null;
+        }
+
+        StructStat stat = statSeekable(parcelFd.getFileDescriptor());
+        if (stat == null) {
+            closeQuietly(parcelFd);
+            return null;
+        }
+
+        return new MediaSourceHandle(SourceType.FILE_DESCRIPTOR, parcelFd, null, null,
+                                     stat.st_size, stat.st_mtime * 1000L);
+    }
+
+    /**
+     * 임시 파일 복사본 기반 핸들 생성 (close 시 임시 파일 삭제)
+     */
+    static MediaSourceHandle fromTempFile(File tempFile, AudioFileManager fileManager) {
+        // 복사본의 수정 시간은 원본과 무관하므로 캐시 키로 사용할 수 없음 (-1)
+        return new MediaSourceHandle(SourceType.TEMP_FILE, null, tempFile, fileManager, tempFile.length(), -1);
+    }
+
+    /**
+     * 로컬 파일 경로 기반 핸들 생성 (close 시 파일을 건드리지 않음)
+     */
+    public static MediaSourceHandle fromPath(String path) throws IOException {
+        File file = new File(path);
+        if (!file.exists() || !file.canRead()) {
+            throw new IOException("입력 파일을 읽을 수 없습니다: " + path);
+        }
+        return new MediaSourceHandle(SourceType.FILE_PATH, null, file, null, file.length(), file.lastModified());
+    }
+
+    /**
+     * MediaExtractor에 데이터 소스 설정
+     * @param extractor 설정할 MediaExtractor
+     */
+    public void applyTo(MediaExtractor extractor) throws IOException {
+        ensureOpen();
+        if (type == SourceType.FILE_DESCRIPTOR) {
+            extractor.setDataSource(parcelFd.getFileDescriptor(), 0, length);
+        } else {
+            extractor.setDataSource(file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * MediaMetadataRetriever에 데이터 소스 설정
+     * @param retriever 설정할 MediaMetadataRetriever
+     */
+    public void applyTo(MediaMetadataRetriever retriever) throws IOException {
+        ensureOpen();
+        if (type == SourceType.FILE_DESCRIPTOR) {
+            retriever.setDataSource(parcelFd.getFileDescriptor(), 0, length);
+        } else {
+            retriever.setDataSource(file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * 새 MediaExtractor 생성 후 데이터 소스 설정
+     * @return 데이터 소스가 설정된 MediaExtractor
+     */
+    public MediaExtractor createExtractor() throws IOException {
+        MediaExtractor extractor = new MediaExtractor();
+        try {
+            applyTo(extractor);
+            return extractor;
+        } catch (IOException | RuntimeException e) {
+            extractor.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 지정 위치부터 읽기 (디스크립터 위치를 옮기지 않음 - MediaExtractor와 함께 써도 안전)
+     * @return 읽은 바이트 수 (끝이면 -1)
+     */
+    public int read(long position, byte[] buffer, int offset, int count) throws IOException {
+        ensureOpen();
+        if (position >= length) {
+            return -1;
+        }
+        if (type == SourceType.FILE_DESCRIPTOR) {
+            try {
+                return Os.pread(parcelFd.getFileDescriptor(), buffer, offset, count, position);
+            } catch (ErrnoException e) {
+                throw new IOException("소스 읽기 실패: " + e.getMessage(), e);
+            }
+        }
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            input.seek(position);
+            return input.read(buffer, offset, count);
+        }
+    }
+
+    public SourceType getType() {
+        return type;
+    }
+
+    public boolean isDescriptorBacked() {
+        return type == SourceType.FILE_DESCRIPTOR;
+    }
+
+    /**
+     * 소스 크기 (bytes)
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * 소스 수정 시간 (밀리초), 알 수 없으면 -1
+     */
+    public long getLastModifiedMs() {
+        return lastModifiedMs;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (parcelFd != null) {
+            closeQuietly(parcelFd);
+        }
+
+        if (type == SourceType.TEMP_FILE && fileManager != null) {
+            fileManager.cleanupTempFile(file);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MediaSourceHandle{" + type + ", " + length + " bytes}";
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("이미 닫힌 미디어 소스입니다");
+        }
+    }
+
+    /**
+     * 디스크립터가 일반 파일이고 seek 가능한지 확인
+     * @return 파일 상태 정보, seek 불가능하면 null
+     */
+    private static StructStat statSeekable(FileDescriptor fd) {
+        try {
+            StructStat stat = Os.fstat(fd);
+            if (!OsConstants.S_ISREG(stat.st_mode)) {
+                LoggerManager.logger("⚠️ 일반 파일이 아닌 디스크립터 (파이프/소켓) - seek 불가");
+                return null;
+            }
+
+            Os.lseek(fd, 0, OsConstants.SEEK_SET);
+            return stat;
+
+        } catch (ErrnoException e) {
+            LoggerManager.logger("⚠️ 디스크립터 seek 확인 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void closeQuietly(ParcelFileDescriptor parcelFd) {
+        try {
+            parcelFd.close();
+        } catch (IOException e) {
+            LoggerManager.logger("⚠️ ParcelFileDescriptor 정리 실패: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.net.Uri;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 한 번만 열고 재사용하는 미디어 소스 세션
+ * 소스 핸들, MediaExtractor, 오디오 트랙 인덱스, MediaFormat, 길이를 한 번의 분석으로 보관하여
+ * 포맷 결정과 자르기가 같은 extractor를 공유하도록 함
+ * sync 샘플 위치는 필요할 때 한 번만 스캔하여 캐시
+ *
+ * MediaExtractor는 스레드 안전하지 않으므로 세션은 한 번에 하나의 작업만 사용해야 함
+ * (MediaSourceSessionCache의 acquire/release로 관리)
+ */
+public class MediaSourceSession implements Closeable {
+
+    /**
+     * 세션 캐시 키 (URI + 크기 + 수정 시간)
+     */
+    static final class Key {
+        final String uri;
+        final long size;
+        final long lastModifiedMs;
+
+        Key(String uri, long size, long lastModifiedMs) {
+            this.uri = uri;
+            this.size = size;
+            this.lastModifiedMs = lastModifiedMs;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return size == other.size && lastModifiedMs == other.lastModifiedMs && uri.equals(other.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = uri.hashCode();
+            result = 31 * result + (int) (size ^ (size >>> 32));
+            result = 31 * result + (int) (lastModifiedMs ^ (lastModifiedMs >>> 32));
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return uri + " (" + size + " bytes, mtime " + lastModifiedMs + ")";
+        }
+    }
+
+    private final Key key;
+    private final MediaSourceHandle source;
+    private final MediaExtractor extractor;
+    private final int audioTrackIndex;
+    private final MediaFormat audioFormat;
+    private final String mime;
+    private final long durationUs;
+
+    // sync 샘플 시간 테이블 (지연 생성)
+    private long[] syncSampleTimesUs;
+    private int syncSampleCount;
+
+    private MediaSourceSession(Key key, MediaSourceHandle source, MediaExtractor extractor,
+                               int audioTrackIndex, MediaFormat audioFormat) {
+        this.key = key;
+        this.source = source;
+        this.extractor = extractor;
+        this.audioTrackIndex = audioTrackIndex;
+        this.audioFormat = audioFormat;
+        this.mime = audioFormat.getString(MediaFormat.KEY_MIME);
+        this.durationUs = audioFormat.containsKey(MediaFormat.KEY_DURATION)
+            ? audioFormat.getLong(MediaFormat.KEY_DURATION) : -1;
+    }
+
+    /**
+     * 소스 핸들로 세션 열기 (오디오 트랙 분석 1회)
+     * @param uri 원본 URI (캐시 키용, null 가능)
+     * @param source 열린 소스 핸들 (세션이 소유권을 가짐)
+     * @param engine 트랙 탐색에 사용할 처리 엔진
+     * @return 열린 세션
+     */
+    static MediaSourceSession open(Uri uri, MediaSourceHandle source, MediaProcessingEngine engine)
+            throws AudioTrimException {
+        MediaExtractor extractor = null;
+        try {
+            extractor = source.createExtractor();
+
+            int trackIndex = engine.findAudioTrack(extractor);
+            if (trackIndex < 0) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.AUDIO_TRACK_NOT_FOUND);
+            }
+
+            extractor.selectTrack(trackIndex);
+            MediaFormat format = extractor.getTrackFormat(trackIndex);
+
+            MediaSourceSession session = new MediaSourceSession(
+                createKey(uri, source), source, extractor, trackIndex, format);
+
+            LoggerManager.logger("🗂️ 미디어 세션 열기: " + session);
+            return session;
+
+        } catch (IOException e) {
+            releaseQuietly(extractor);
+            source.close();
+            throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_EXTRACTOR_FAILED,
+                "미디어 세션 열기 실패", e);
+        } catch (AudioTrimException | RuntimeException e) {
+            releaseQuietly(extractor);
+            source.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 캐시 키 생성 (수정 시간을 알 수 없는 소스는 캐시 불가 → null)
+     */
+    static Key createKey(Uri uri, MediaSourceHandle source) {
+        if (uri == null || source.getLastModifiedMs() < 0) {
+            return null;
+        }
+        return new Key(uri.toString(), source.getLength(), source.getLastModifiedMs());
+    }
+
+    /**
+     * 세션을 처음 상태로 되돌림 (다음 작업 재사용 전 호출)
+     */
+    void rewind() {
+        extractor.seekTo(0, MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+    }
+
+    /**
+     * 오디오 트랙이 선택된 extractor 반환
+     * 호출자는 extractor를 release하면 안 됨 (세션이 소유)
+     */
+    public MediaExtractor getExtractor() {
+        return extractor;
+    }
+
+    public int getAudioTrackIndex() {
+        return audioTrackIndex;
+    }
+
+    public MediaFormat getAudioFormat() {
+        return audioFormat;
+    }
+
+    public String getMime() {
+        return mime;
+    }
+
+    /**
+     * 오디오 트랙 길이 (마이크로초), 알 수 없으면 -1
+     */
+    public long getDurationUs() {
+        return durationUs;
+    }
+
+    public MediaSourceHandle getSource() {
+        return source;
+    }
+
+    Key getKey() {
+        return key;
+    }
+
+    /**
+     * sync 샘플 시간 테이블 반환 (최초 호출 시 샘플 메타데이터만 한 번 스캔)
+     * 샘플 데이터는 읽지 않으므로 MP4 계열에서는 sample table 조회 수준의 비용
+     * @return 오름차순 sync 샘플 시간 배열 (복사본)
+     */
+    public synchronized long[] getSyncSampleTimesUs() {
+        ensureSyncTable();
+        return Arrays.copyOf(syncSampleTimesUs, syncSampleCount);
+    }
+
+    /**
+     * 지정 시간 이하의 가장 가까운 sync 샘플 시간
+     * @param timeUs 기준 시간 (마이크로초)
+     * @return sync 샘플 시간, 없으면 첫 sync 샘플 시간
+     */
+    public synchronized long findSyncSampleAtOrBefore(long timeUs) {
+        ensureSyncTable();
+        if (syncSampleCount == 0) {
+            return 0;
+        }
+
+        int index = Arrays.binarySearch(syncSampleTimesUs, 0, syncSampleCount, timeUs);
+        if (index >= 0) {
+            return syncSampleTimesUs[index];
+        }
+
+        int insertion = -index - 1;
+        return syncSampleTimesUs[Math.max(0, insertion - 1)];
+    }
+
+    /**
+     * 지정 시간 이상의 가장 가까운 sync 샘플 시간
+     * @param timeUs 기준 시간 (마이크로초)
+     * @return sync 샘플 시간, 없으면 -1 (기준 시간 이후 sync 샘플 없음)
+     */
+    public synchronized long findSyncSampleAtOrAfter(long timeUs) {
+        ensureSyncTable();
+        int index = Arrays.binarySearch(syncSampleTimesUs, 0, syncSampleCount, timeUs);
+        if (index >= 0) {
+            return syncSampleTimesUs[index];
+        }
+
+        int insertion = -index - 1;
+        return insertion < syncSampleCount ? syncSampleTimesUs[insertion] : -1;
+    }
+
+    private void ensureSyncTable() {
+        if (syncSampleTimesUs != null) {
+            return;
+        }
+
+        long[] times = new long[1024];
+        int count = 0;
+
+        extractor.seekTo(0, MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+        while (true) {
+            long sampleTime = extractor.getSampleTime();
+            if (sampleTime < 0) {
+                break;
+            }
+
+            if ((extractor.getSampleFlags() & MediaExtractor.SAMPLE_FLAG_SYNC) != 0) {
+                if (count == times.length) {
+                    times = Arrays.copyOf(times, count * 2);
+                }
+                times[count++] = sampleTime;
+            }
+
+            if (!extractor.advance()) {
+                break;
+            }
+        }
+
+        syncSampleTimesUs = times;
+        syncSampleCount = count;
+        rewind();
+
+        LoggerManager.logger("🗂️ sync 샘플 테이블 생성: " + count + "개");
+    }
+
+    @Override
+    public void close() {
+        releaseQuietly(extractor);
+        source.close();
+    }
+
+    @Override
+    public String toString() {
+        return "MediaSourceSession{track=" + audioTrackIndex + ", mime=" + mime
+            + ", durationUs=" + durationUs + ", " + source + "}";
+    }
+
+    private static void releaseQuietly(MediaExtractor extractor) {
+        if (extractor == null) {
+            return;
+        }
+        try {
+            extractor.release();
+        } catch (Exception e) {
+            LoggerManager.logger("⚠️ MediaExtractor 정리 실패: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.devc.lab.audios.manager;
+
+import android.net.Uri;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MediaSourceSession LRU 캐시
+ * URI + 크기 + 수정 시간으로 키를 만들어, 같은 파일을 다시 자를 때 분석 없이 바로 시작
+ * 사용 중인 세션은 캐시에서 빠져 있다가 release 시 다시 들어감 (동시 사용 방지)
+ */
+public class MediaSourceSessionCache {
+
+    private static final int DEFAULT_MAX_SESSIONS = 3;
+
+    private final AudioFileManager fileManager;
+    private final MediaProcessingEngine engine;
+    private final int maxSessions;
+    private final LinkedHashMap<MediaSourceSession.Key, MediaSourceSession> idleSessions;
+
+    public MediaSourceSessionCache(AudioFileManager fileManager, MediaProcessingEngine engine) {
+        this(fileManager, engine, DEFAULT_MAX_SESSIONS);
+    }
+
+    public MediaSourceSessionCache(AudioFileManager fileManager, MediaProcessingEngine engine, int maxSessions) {
+        this.fileManager = fileManager;
+        this.engine = engine;
+        this.maxSessions = maxSessions;
+        this.idleSessions = new LinkedHashMap<>(maxSessions + 1, 0.75f, true);
+    }
+
+    /**
+     * 세션 획득 (캐시 적중 시 재사용, 아니면 새로 열기)
+     * @param uri 원본 URI
+     * @return 사용 가능한 세션 (사용 후 반드시 release 호출)
+     */
+    public MediaSourceSession acquire(Uri uri) throws AudioTrimException {
+        MediaSourceHandle source = fileManager.openMediaSource(uri);
+        if (source == null) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.FILE_ACCESS_DENIED,
+                "입력 소스 열기 실패");
+        }
+
+        MediaSourceSession.Key key = MediaSourceSession.createKey(uri, source);
+        if (key != null) {
+            MediaSourceSession cached;
+            synchronized (this) {
+                cached = idleSessions.remove(key);
+            }
+
+            if (cached != null) {
+                // 키 확인용으로 연 디스크립터는 불필요
+                source.close();
+                cached.rewind();
+                LoggerManager.logger("⚡ 미디어 세션 캐시 적중: " + key);
+                return cached;
+            }
+        }
+
+        return MediaSourceSession.open(uri, source, engine);
+    }
+
+    /**
+     * 세션 반환 (캐시 가능하면 보관, 아니면 닫기)
+     * @param session 반환할 세션
+     */
+    public void release(MediaSourceSession session) {
+        if (session == null) {
+            return;
+        }
+
+        MediaSourceSession.Key key = session.getKey();
+        if (key == null) {
+            session.close();
+            return;
+        }
+
+        MediaSourceSession replaced;
+        synchronized (this) {
+            replaced = idleSessions.put(key, session);
+            evictOverflowLocked();
+        }
+
+        if (replaced != null && replaced != session) {
+            replaced.close();
+        }
+    }
+
+    /**
+     * 세션을 캐시에 넣지 않고 폐기 (오류로 상태를 신뢰할 수 없을 때)
+     */
+    public void discard(MediaSourceSession session) {
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    /**
+     * 보관 중인 모든 세션 닫기
+     */
+    public synchronized void clear() {
+        for (MediaSourceSession session : idleSessions.values()) {
+            session.close();
+        }
+        idleSessions.clear();
+    }
+
+    private void evictOverflowLocked() {
+        Iterator<Map.Entry<MediaSourceSession.Key, MediaSourceSession>> iterator =
+            idleSessions.entrySet().iterator();
+        while (idleSessions.size() > maxSessions && iterator.hasNext()) {
+            MediaSourceSession eldest = iterator.next().getValue();
+            iterator.remove();
+            eldest.close();
+            LoggerManager.logger("🗑️ 미디어 세션 캐시 제거 (LRU)");
+        }
+    }
+}
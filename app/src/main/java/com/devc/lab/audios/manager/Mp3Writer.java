@@ -0,0 +1,299 @@
+package com.devc.lab.audios.manager;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 스트리밍 MP3 출력 (MPEG Audio Layer III 프레임 그대로 기록, 재인코딩 없음)
+ *
+ * 파일 구조:
+ * - 첫 프레임과 같은 포맷의 무음 프레임 하나를 Xing/Info 태그 자리로 확보
+ * - 이후 추출한 프레임을 순서대로 기록
+ * - 닫을 때 프레임 수, 바이트 수, 100칸 TOC를 채운 태그를 맨 앞에 기록 (VBR이면 "Xing", CBR이면 "Info")
+ * - TOC용 프레임 위치는 고정 개수 배열에 간격을 늘려가며 보관 (길이와 무관하게 메모리 일정)
+ */
+public class Mp3Writer implements SampleSink, Closeable {
+
+    static final int TOC_SIZE = 100;
+    // Xing 플래그: 프레임 수 | 바이트 수 | TOC
+    static final int XING_FLAGS = 0x1 | 0x2 | 0x4;
+    private static final int CHECKPOINT_CAPACITY = 4096;
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    // [MPEG1, MPEG2/2.5] Layer III 비트레이트 (kbps)
+    private static final int[][] BITRATES = {
+        {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},
+        {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}
+    };
+    // [MPEG1, MPEG2, MPEG2.5] 샘플레이트
+    private static final int[][] SAMPLE_RATES = {
+        {44_100, 48_000, 32_000},
+        {22_050, 24_000, 16_000},
+        {11_025, 12_000, 8_000}
+    };
+
+    /**
+     * MP3 프레임 헤더 (Layer III만)
+     */
+    static final class FrameHeader {
+        int versionBits;        // 3 = MPEG1, 2 = MPEG2, 0 = MPEG2.5
+        int bitrateIndex;
+        int sampleRateIndex;
+        int channelMode;        // 3 = 모노
+        int raw;
+
+        boolean isMpeg1() {
+            return versionBits == 3;
+        }
+
+        int getSampleRate() {
+            int row = versionBits == 3 ? 0 : versionBits == 2 ? 1 : 2;
+            return SAMPLE_RATES[row][sampleRateIndex];
+        }
+
+        int getBitrate(int index) {
+            return BITRATES[isMpeg1() ? 0 : 1][index] * 1000;
+        }
+
+        /**
+         * 비트레이트 인덱스 기준 프레임 크기 (패딩 없음)
+         */
+        int getFrameSize(int index) {
+            return (isMpeg1() ? 144 : 72) * getBitrate(index) / getSampleRate();
+        }
+
+        /**
+         * side info 크기 (Xing 태그는 side info 바로 뒤에 위치)
+         */
+        int getSideInfoSize() {
+            if (isMpeg1()) {
+                return channelMode == 3 ? 17 : 32;
+            }
+            return channelMode == 3 ? 9 : 17;
+        }
+    }
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    private FrameHeader firstHeader;
+    private int tagFrameSize = 0;
+    private boolean variableBitrate = false;
+    private long frameCount = 0;
+    private long audioBytes = 0;
+
+    // stride 프레임마다 하나씩 기록한 프레임 시작 위치 (태그 프레임 끝 기준)
+    private final long[] checkpoints = new long[CHECKPOINT_CAPACITY];
+    private int checkpointCount = 0;
+    private int stride = 1;
+    private boolean closed = false;
+
+    public Mp3Writer(File outputFile) throws IOException {
+        this.file = new RandomAccessFile(outputFile, "rw");
+        this.channel = file.getChannel();
+        try {
+            channel.truncate(0);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public boolean isVariableBitrate() {
+        return variableBitrate;
+    }
+
+    /**
+     * Xing/Info 태그 프레임 크기 (첫 프레임 기록 전에는 0)
+     */
+    public int getTagFrameSize() {
+        return tagFrameSize;
+    }
+
+    @Override
+    public void writeSample(ByteBuffer data, SampleInfo info) {
+        try {
+            writeFrame(data, info.offset, info.size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * MP3 프레임 하나 기록 (헤더 포함, data 위치는 변경하지 않음)
+     */
+    public void writeFrame(ByteBuffer data, int offset, int size) throws IOException {
+        if (closed) {
+            throw new IOException("이미 닫힌 Mp3Writer");
+        }
+        if (size <= 0) {
+            return;
+        }
+        FrameHeader header = parseFrameHeader(data, offset, size);
+        if (firstHeader == null) {
+            startStream(header);
+        } else if (header.bitrateIndex != firstHeader.bitrateIndex) {
+            variableBitrate = true;
+        }
+
+        recordCheckpoint();
+
+        ByteBuffer source = data.duplicate();
+        source.limit(offset + size);
+        source.position(offset);
+        if (buffer.remaining() < size) {
+            flushBuffer();
+        }
+        if (buffer.remaining() < size) {
+            writeFully(source);
+        } else {
+            buffer.put(source);
+        }
+        frameCount++;
+        audioBytes += size;
+    }
+
+    /**
+     * 남은 프레임을 기록하고 Xing/Info 태그를 맨 앞에 채운 뒤 파일을 닫음
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBuffer();
+            if (firstHeader != null) {
+                ByteBuffer tag = ByteBuffer.wrap(buildTagFrame());
+                long position = 0;
+                while (tag.hasRemaining()) {
+                    position += channel.write(tag, position);
+                }
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * 첫 프레임 포맷으로 태그 프레임 크기를 정하고 그 자리를 비워 둠
+     */
+    private void startStream(FrameHeader header) throws IOException {
+        firstHeader = header;
+        int required = 4 + header.getSideInfoSize() + 4 + 4 + 4 + 4 + TOC_SIZE;
+        for (int index = 1; index < 15; index++) {
+            if (header.getFrameSize(index) >= required) {
+                tagFrameSize = header.getFrameSize(index);
+                break;
+            }
+        }
+        if (tagFrameSize == 0) {
+            throw new IOException("Xing 태그를 담을 프레임 크기를 찾지 못했습니다");
+        }
+        buffer.put(new byte[tagFrameSize]);
+    }
+
+    private void recordCheckpoint() {
+        if (frameCount % stride != 0) {
+            return;
+        }
+        if (checkpointCount == CHECKPOINT_CAPACITY) {
+            // 가득 차면 하나 걸러 남기고 간격을 두 배로
+            for (int i = 0; i < CHECKPOINT_CAPACITY / 2; i++) {
+                checkpoints[i] = checkpoints[i * 2];
+            }
+            checkpointCount = CHECKPOINT_CAPACITY / 2;
+            stride *= 2;
+            if (frameCount % stride != 0) {
+                return;
+            }
+        }
+        checkpoints[checkpointCount++] = audioBytes;
+    }
+
+    /**
+     * 무음 Layer III 프레임 + Xing/Info 태그
+     */
+    byte[] buildTagFrame() {
+        byte[] frame = new byte[tagFrameSize];
+        ByteBuffer tag = ByteBuffer.wrap(frame);
+
+        // 첫 프레임 헤더에서 비트레이트만 바꾸고 CRC 없음/패딩 없음으로 설정
+        int bitrateIndex = 1;
+        while (firstHeader.getFrameSize(bitrateIndex) != tagFrameSize) {
+            bitrateIndex++;
+        }
+        int raw = firstHeader.raw;
+        raw |= 0x00010000;                          // protection_absent
+        raw = (raw & ~0x0000F000) | (bitrateIndex << 12);
+        raw &= ~0x00000200;                         // padding 없음
+        tag.putInt(raw);
+        tag.position(4 + firstHeader.getSideInfoSize());
+
+        long totalBytes = tagFrameSize + audioBytes;
+        tag.put(variableBitrate ? new byte[] {'X', 'i', 'n', 'g'} : new byte[] {'I', 'n', 'f', 'o'});
+        tag.putInt(XING_FLAGS);
+        tag.putInt((int) frameCount);
+        tag.putInt((int) Math.min(0xFFFFFFFFL, totalBytes));
+        for (int i = 0; i < TOC_SIZE; i++) {
+            long frameIndex = frameCount * i / TOC_SIZE;
+            long position = tagFrameSize + checkpoints[(int) Math.min(checkpointCount - 1, frameIndex / stride)];
+            tag.put((byte) Math.min(255, position * 256 / totalBytes));
+        }
+        return frame;
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    /**
+     * Layer III 프레임 헤더 분석
+     */
+    static FrameHeader parseFrameHeader(ByteBuffer data, int offset, int size) throws IOException {
+        if (size < 4) {
+            throw new IOException("MP3 프레임이 너무 짧습니다");
+        }
+        int raw = ((data.get(offset) & 0xFF) << 24) | ((data.get(offset + 1) & 0xFF) << 16)
+            | ((data.get(offset + 2) & 0xFF) << 8) | (data.get(offset + 3) & 0xFF);
+        if ((raw & 0xFFE00000) != 0xFFE00000) {
+            throw new IOException("MP3 프레임 sync가 없습니다");
+        }
+
+        FrameHeader header = new FrameHeader();
+        header.raw = raw;
+        header.versionBits = (raw >>> 19) & 0x3;
+        int layerBits = (raw >>> 17) & 0x3;
+        header.bitrateIndex = (raw >>> 12) & 0xF;
+        header.sampleRateIndex = (raw >>> 10) & 0x3;
+        header.channelMode = (raw >>> 6) & 0x3;
+
+        if (header.versionBits == 1 || layerBits != 1) {
+            throw new IOException("MPEG Audio Layer III 프레임이 아닙니다");
+        }
+        if (header.bitrateIndex == 0 || header.bitrateIndex == 15 || header.sampleRateIndex == 3) {
+            throw new IOException("지원하지 않는 MP3 프레임 (free format 또는 예약 값)");
+        }
+        return header;
+    }
+}
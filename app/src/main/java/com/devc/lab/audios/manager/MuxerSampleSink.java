@@ -0,0 +1,27 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaCodec;
+import android.media.MediaMuxer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * MediaMuxer 트랙 기반 SampleSink (BufferInfo 한 개를 재사용)
+ */
+public class MuxerSampleSink implements SampleSink {
+
+    private final MediaMuxer muxer;
+    private final int trackIndex;
+    private final MediaCodec.BufferInfo bufferInfo = new MediaCodec.BufferInfo();
+
+    public MuxerSampleSink(MediaMuxer muxer, int trackIndex) {
+        this.muxer = muxer;
+        this.trackIndex = trackIndex;
+    }
+
+    @Override
+    public void writeSample(ByteBuffer buffer, SampleInfo info) {
+        bufferInfo.set(info.offset, info.size, info.presentationTimeUs, info.flags);
+        muxer.writeSampleData(trackIndex, buffer, bufferInfo);
+    }
+}
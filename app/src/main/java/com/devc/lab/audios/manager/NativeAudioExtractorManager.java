@@ -7,15 +7,21 @@ import android.media.MediaMuxer;
 import android.net.Uri;
 import android.os.Handler;
 import android.os.Looper;
+import android.system.ErrnoException;
+import android.system.Os;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.ByteBuffer;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Android Native API 기반 오디오 추출 관리자
@@ -25,7 +31,14 @@ import java.util.concurrent.Future;
 public class NativeAudioExtractorManager {
     
     private static NativeAudioExtractorManager instance;
+    // FLAC 압축 레벨 (0~8, flac 도구 기본값 5)
+    private static final int FLAC_COMPRESSION_LEVEL = 5;
+    // 라우드니스 평준화 1차(측정) 패스가 차지하는 진행률 (%)
+    private static final int LOUDNESS_PASS_PROGRESS = 30;
     private Context context;
+    private AudioFileManager fileManager;
+    // 같은 원본 + 같은 설정의 이전 출력 재사용
+    private ConversionResultCache resultCache;
     
     // 콜백 인터페이스들
     private OnStartListener onStartListener;
@@ -33,15 +46,46 @@ public class NativeAudioExtractorManager {
     private OnCompletionListener onCompletionListener;
     private OnErrorListener onErrorListener;
     
-    // 스레드 관리
-    private ExecutorService executorService;
+    // 스레드 관리 (작업 실행은 MediaJobQueue가 담당)
     private Handler mainHandler;
-    private Future<?> currentTask;
-    private volatile boolean isExtracting = false;
     
-    // 진행률 추적
-    private long totalDurationUs = 0;
-    private long processedDurationUs = 0;
+    // 기존 API(싱글톤 리스너)로 등록한 작업 ID
+    private final Set<Long> legacyJobIds = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * 기존 API 호출을 싱글톤 리스너로 전달하는 작업 리스너
+     */
+    private final MediaJob.Listener legacyJobListener = new MediaJob.Listener() {
+        @Override
+        public void onJobStart(long jobId) {
+            if (onStartListener != null) {
+                onStartListener.onExtractionStart();
+            }
+        }
+        
+        @Override
+        public void onJobProgress(long jobId, int progress) {
+            if (onProgressListener != null) {
+                onProgressListener.onExtractionProgress(progress);
+            }
+        }
+        
+        @Override
+        public void onJobComplete(long jobId, String outputPath) {
+            legacyJobIds.remove(jobId);
+            if (onCompletionListener != null) {
+                onCompletionListener.onExtractionComplete(outputPath);
+            }
+        }
+        
+        @Override
+        public void onJobError(long jobId, String error) {
+            legacyJobIds.remove(jobId);
+            if (onErrorListener != null) {
+                onErrorListener.onExtractionError(error);
+            }
+        }
+    };
     
     // 콜백 인터페이스 정의
     public interface OnStartListener {
@@ -65,7 +109,14 @@ public class NativeAudioExtractorManager {
      */
     public enum AudioFormat {
         M4A("audio/mp4", ".m4a", MediaMuxer.OutputFormat.MUXER_OUTPUT_MPEG_4),
-        WEBM("audio/webm", ".webm", MediaMuxer.OutputFormat.MUXER_OUTPUT_WEBM);
+        WEBM("audio/webm", ".webm", MediaMuxer.OutputFormat.MUXER_OUTPUT_WEBM),
+        // Opus in Ogg (원본이 Opus가 아니면 재인코딩)
+        OPUS("audio/ogg", ".opus", MediaMuxer.OutputFormat.MUXER_OUTPUT_OGG),
+        // 자체 writer로 기록하는 포맷 (MediaMuxer 미사용)
+        AAC("audio/aac", ".aac", -1),       // ADTS, AAC 원본이면 재인코딩 없음
+        MP3("audio/mpeg", ".mp3", -1),      // MP3 원본 프레임 그대로 (인코더 없음)
+        WAV("audio/wav", ".wav", -1),       // 무손실, 항상 디코딩
+        FLAC("audio/flac", ".flac", -1);    // 무손실, 항상 디코딩
         
         private final String mimeType;
         private final String extension;
@@ -80,10 +131,12 @@ public class NativeAudioExtractorManager {
         public String getMimeType() { return mimeType; }
         public String getExtension() { return extension; }
         public int getMuxerFormat() { return muxerFormat; }
+        public boolean requiresDecoding() { return this == WAV || this == FLAC; }
+        // 원본 코덱을 그대로 담는 컨테이너 (목표가 원본과 같으면 stream copy)
+        public boolean isStreamCopyFormat() { return this != WAV && this != FLAC && this != OPUS; }
     }
     
     private NativeAudioExtractorManager() {
-        executorService = Executors.newSingleThreadExecutor();
         mainHandler = new Handler(Looper.getMainLooper());
     }
     
@@ -96,6 +149,12 @@ public class NativeAudioExtractorManager {
     
     public void init(Context context) {
         this.context = context.getApplicationContext();
+        this.fileManager = new AudioFileManager(this.context);
+        
+        // init은 변환마다 호출되므로 결과 캐시(DB 연결)는 최초 1회만 생성
+        if (resultCache == null) {
+            resultCache = new ConversionResultCache(this.context);
+        }
         LoggerManager.logger("NativeAudioExtractorManager 초기화 완료");
     }
     
@@ -115,17 +174,29 @@ public class NativeAudioExtractorManager {
             return;
         }
         
-        if (isExtracting) {
-            notifyError("다른 추출 작업이 진행 중입니다.");
+        legacyJobIds.add(MediaJobQueue.getInstance().enqueueExtraction(
+            inputPath, outputPath, format, legacyJobListener));
+    }
+    
+    /**
+     * 파일 경로 기반 추출 작업 실행 (MediaJobQueue 작업 스레드에서 호출, 결과는 job으로 보고)
+     */
+    void runExtractionJob(MediaJob job, String inputPath, String outputPath, AudioFormat format,
+                          AudioTranscoder.Target target) {
+        MediaSourceHandle source;
+        try {
+            source = MediaSourceHandle.fromPath(inputPath);
+        } catch (IOException e) {
+            LoggerManager.logger("오디오 추출 실패: " + e.getMessage());
+            job.fail("오디오 추출 실패: " + e.getMessage());
             return;
         }
         
-        // ExecutorService 상태 확인 및 재생성
-        ensureExecutorServiceAvailable();
-        
-        currentTask = executorService.submit(() -> {
-            performExtraction(inputPath, outputPath, format);
-        });
+        try {
+            performCachedExtraction(source, Uri.fromFile(new File(inputPath)), outputPath, format, target, job);
+        } finally {
+            source.close();
+        }
     }
     
     /**
@@ -137,77 +208,604 @@ public class NativeAudioExtractorManager {
             return;
         }
         
-        if (isExtracting) {
-            notifyError("다른 추출 작업이 진행 중입니다.");
-            return;
+        legacyJobIds.add(MediaJobQueue.getInstance().enqueueExtraction(
+            inputUri, outputFileName, format, legacyJobListener));
+    }
+    
+    /**
+     * URI 기반 추출 작업 실행 (MediaJobQueue 작업 스레드에서 호출, 결과는 job으로 보고)
+     */
+    void runExtractionJob(MediaJob job, Uri inputUri, String outputFileName, AudioFormat format,
+                          AudioTranscoder.Target target) {
+        MediaSourceHandle source = null;
+        try {
+            // URI를 미디어 소스로 열기 (FileDescriptor 직접 사용, seek 불가 시 임시 파일 폴백)
+            source = fileManager.openMediaSource(inputUri);
+            if (source == null) {
+                job.fail("입력 URI를 열 수 없습니다.");
+                return;
+            }
+            
+            // 출력 파일 경로 생성
+            File outputDir = getConvertedDir();
+            
+            // 파일명 확장자 처리 (기존 확장자 교체)
+            String fileName = outputFileName;
+            // 기존 확장자 제거
+            int lastDotIndex = fileName.lastIndexOf('.');
+            if (lastDotIndex > 0) {
+                fileName = fileName.substring(0, lastDotIndex);
+                LoggerManager.logger("기존 확장자 제거: " + outputFileName + " → " + fileName);
+            }
+            // 새로운 포맷 확장자 추가
+            fileName += format.getExtension();
+            LoggerManager.logger("최종 파일명: " + fileName);
+            
+            File outputFile = new File(outputDir, fileName);
+            String outputPath = outputFile.getAbsolutePath();
+            job.recordOutputPath(outputPath);
+            
+            // 실제 추출 수행
+            performCachedExtraction(source, inputUri, outputPath, format, target, job);
+            
+        } catch (Exception e) {
+            LoggerManager.logger("URI 추출 실패: " + e.getMessage());
+            job.fail("URI 추출 실패: " + e.getMessage());
+        } finally {
+            if (source != null) {
+                source.close();
+            }
         }
+    }
+    
+    /**
+     * 디코딩한 PCM을 WAV로 기록 (원본 채널 유지, 목표 샘플레이트가 있으면 변환)
+     * 실패/취소 시 불완전한 파일은 삭제
+     */
+    private void exportPcm(MediaExtractor extractor, MediaFormat audioFormat, String outputPath,
+                           AudioTranscoder.Target target, MediaJob job)
+            throws IOException, AudioTrimException, InterruptedException {
+        int sampleRate = target != null && target.sampleRate > 0
+            ? target.sampleRate : audioFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        AudioTranscoder.Target decodeTarget = target != null ? target : new AudioTranscoder.Target(0, 0);
+        // WAV는 채널 구성을 지정하지 않으면 원본 채널 그대로 (멀티채널 포함)
+        int sourceChannels = audioFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        int channelCount = decodeTarget.channelMix == ChannelMix.SOURCE
+            ? sourceChannels : decodeTarget.channelMix.resolveChannels(sourceChannels);
         
-        // ExecutorService 상태 확인 및 재생성
-        ensureExecutorServiceAvailable();
+        File outputFile = new File(outputPath);
+        boolean completed = false;
+        try (WavWriter writer = new WavWriter(outputFile, sampleRate, channelCount)) {
+            new AudioTranscoder(decodeTarget).decodeTo(extractor, audioFormat, writer, sampleRate, channelCount,
+                                                       job::reportProgress);
+            completed = true;
+        } finally {
+            if (!completed && outputFile.exists() && !outputFile.delete()) {
+                LoggerManager.logger("⚠️ 불완전한 WAV 파일 삭제 실패: " + outputPath);
+            }
+        }
+    }
+    
+    /**
+     * MP3 프레임을 그대로 .mp3로 기록 (끝에서 Xing/Info 태그와 TOC 작성)
+     * 실패/취소 시 불완전한 파일은 삭제
+     */
+    private void exportMp3(MediaExtractor extractor, MediaFormat audioFormat, String outputPath,
+                           long totalDurationUs, MediaJob job) throws IOException, InterruptedException {
+        File outputFile = new File(outputPath);
+        boolean completed = false;
+        ByteBuffer buffer = DirectBufferPool.acquire(getMaxInputSize(audioFormat));
+        try (Mp3Writer writer = new Mp3Writer(outputFile)) {
+            SampleCopyKernel.Result result = new SampleCopyKernel()
+                .setProgress(0, totalDurationUs, job::reportProgress)
+                .copy(new ExtractorSampleSource(extractor), writer, buffer);
+            LoggerManager.logger("MP3 프레임 " + result.sampleCount + "개 기록 ("
+                + (writer.isVariableBitrate() ? "VBR, Xing" : "CBR, Info") + " 태그)");
+            completed = true;
+        } finally {
+            DirectBufferPool.release(buffer);
+            if (!completed && outputFile.exists() && !outputFile.delete()) {
+                LoggerManager.logger("⚠️ 불완전한 MP3 파일 삭제 실패: " + outputPath);
+            }
+        }
+    }
+    
+    /**
+     * 실패/취소로 남은 불완전한 출력 삭제 (muxer가 쓰던 파일도 삭제 후 정리됨)
+     */
+    private static void deleteIncompleteOutput(String outputPath) {
+        File outputFile = new File(outputPath);
+        if (outputFile.exists() && !outputFile.delete()) {
+            LoggerManager.logger("⚠️ 불완전한 출력 파일 삭제 실패: " + outputPath);
+        }
+    }
+    
+    /**
+     * 확장자 교체 (확장자가 없으면 덧붙임)
+     */
+    private static String replaceExtension(String path, String extension) {
+        int slash = path.lastIndexOf(File.separatorChar);
+        int dot = path.lastIndexOf('.');
+        return (dot > slash ? path.substring(0, dot) : path) + extension;
+    }
+    
+    /**
+     * ADTS(.aac) 기록
+     * AAC 원본이고 목표가 원본과 같으면 추출 샘플에 csd-0 기반 헤더만 붙여 복사 (재인코딩/muxer 없음),
+     * 아니면 AAC-LC로 인코딩해 같은 writer로 기록. 실패/취소 시 불완전한 파일은 삭제
+     */
+    private void exportAdts(MediaExtractor extractor, MediaFormat audioFormat, String outputPath,
+                            AudioTranscoder.Target target, long totalDurationUs, MediaJob job)
+            throws IOException, AudioTrimException, InterruptedException {
+        boolean aacSource = MediaFormat.MIMETYPE_AUDIO_AAC.equals(audioFormat.getString(MediaFormat.KEY_MIME))
+            && audioFormat.containsKey("csd-0");
+        String transcodeReason = !aacSource ? "AAC 원본 아님"
+            : target != null ? AudioTranscoder.findTranscodeReason(extractor, audioFormat, target) : null;
         
-        currentTask = executorService.submit(() -> {
-            try {
-                // URI를 임시 파일로 복사
-                File tempInputFile = createTempFileFromUri(inputUri);
-                if (tempInputFile == null) {
-                    notifyError("URI를 임시 파일로 복사할 수 없습니다.");
-                    return;
+        File outputFile = new File(outputPath);
+        boolean completed = false;
+        try {
+            if (transcodeReason == null) {
+                try (AdtsWriter writer = new AdtsWriter(outputFile, audioFormat.getByteBuffer("csd-0"))) {
+                    ByteBuffer buffer = DirectBufferPool.acquire(getMaxInputSize(audioFormat));
+                    try {
+                        SampleCopyKernel.Result result = new SampleCopyKernel()
+                            .setProgress(0, totalDurationUs, job::reportProgress)
+                            .copy(new ExtractorSampleSource(extractor), writer, buffer);
+                        LoggerManager.logger("ADTS 프레임 " + result.sampleCount + "개 기록 (재인코딩 없음)");
+                    } finally {
+                        DirectBufferPool.release(buffer);
+                    }
                 }
-                
-                // 출력 파일 경로 생성
-                File outputDir = new File(context.getExternalFilesDir(null), "Audios/Converted");
-                if (!outputDir.exists()) {
-                    outputDir.mkdirs();
+            } else {
+                LoggerManager.logger("🎚️ AAC 인코딩 필요: " + transcodeReason);
+                AudioTranscoder.Target aacTarget = target != null ? target : new AudioTranscoder.Target(0, 0);
+                MediaFormat encoderFormat = AudioTranscoder.createAacFormat(aacTarget, audioFormat);
+                try (AdtsWriter writer = new AdtsWriter(outputFile, AdtsWriter.OBJECT_TYPE_AAC_LC,
+                        encoderFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE),
+                        encoderFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT))) {
+                    new AudioTranscoder(aacTarget).encodeTo(extractor, audioFormat, encoderFormat, writer,
+                                                            job::reportProgress);
                 }
-                
-                // 파일명 확장자 처리 (기존 확장자 교체)
-                String fileName = outputFileName;
-                // 기존 확장자 제거
-                int lastDotIndex = fileName.lastIndexOf('.');
-                if (lastDotIndex > 0) {
-                    fileName = fileName.substring(0, lastDotIndex);
-                    LoggerManager.logger("기존 확장자 제거: " + outputFileName + " → " + fileName);
+            }
+            completed = true;
+        } catch (IllegalArgumentException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                "ADTS로 내보낼 수 없는 AAC 구성: " + e.getMessage(), e);
+        } finally {
+            if (!completed && outputFile.exists() && !outputFile.delete()) {
+                LoggerManager.logger("⚠️ 불완전한 AAC 파일 삭제 실패: " + outputPath);
+            }
+        }
+    }
+    
+    /**
+     * Opus 출력에 재인코딩이 필요한지 (원본이 Opus가 아니거나 목표가 원본과 다름)
+     */
+    private static boolean needsOpusEncode(MediaFormat audioFormat, AudioTranscoder.Target target) {
+        String mime = audioFormat.getString(MediaFormat.KEY_MIME);
+        return !MediaFormat.MIMETYPE_AUDIO_OPUS.equals(mime) || (target != null && !target.keepsSource());
+    }
+    
+    /**
+     * audio/flac 인코더 출력을 .flac 스트림으로 기록 (STREAMINFO/SEEKTABLE은 끝에서 채움)
+     * 실패/취소 시 불완전한 파일은 삭제
+     */
+    private void exportFlac(MediaExtractor extractor, MediaFormat audioFormat, String outputPath,
+                            AudioTranscoder.Target target, MediaJob job)
+            throws IOException, AudioTrimException, InterruptedException {
+        int sampleRate = target != null && target.sampleRate > 0
+            ? target.sampleRate : audioFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        AudioTranscoder.Target decodeTarget = target != null ? target : new AudioTranscoder.Target(0, 0);
+        // 플랫폼 FLAC 인코더는 스테레오까지만 지원 (멀티채널은 스테레오 다운믹스)
+        int channelCount = Math.min(2,
+            decodeTarget.channelMix.resolveChannels(audioFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT)));
+        long durationUs = audioFormat.containsKey(MediaFormat.KEY_DURATION)
+            ? audioFormat.getLong(MediaFormat.KEY_DURATION) : 0;
+        
+        MediaFormat encoderFormat = MediaFormat.createAudioFormat(MediaFormat.MIMETYPE_AUDIO_FLAC,
+                                                                  sampleRate, channelCount);
+        encoderFormat.setInteger(MediaFormat.KEY_FLAC_COMPRESSION_LEVEL, FLAC_COMPRESSION_LEVEL);
+        
+        File outputFile = new File(outputPath);
+        boolean completed = false;
+        try (FlacStreamWriter writer = new FlacStreamWriter(outputFile, sampleRate, channelCount,
+                WavWriter.BITS_PER_SAMPLE, durationUs * sampleRate / 1_000_000L)) {
+            AudioTranscoder transcoder = new AudioTranscoder(decodeTarget);
+            transcoder.encodeTo(extractor, audioFormat, encoderFormat, writer, job::reportProgress);
+            writer.setTotalSamples(transcoder.getProcessedFrames());
+            LoggerManager.logger("FLAC seek point " + writer.getSeekPointCount() + "/"
+                + writer.getSeekPointCapacity() + "개 기록");
+            completed = true;
+        } finally {
+            if (!completed && outputFile.exists() && !outputFile.delete()) {
+                LoggerManager.logger("⚠️ 불완전한 FLAC 파일 삭제 실패: " + outputPath);
+            }
+        }
+    }
+    
+    /**
+     * URI에서 모든 오디오 트랙 추출 (다국어 영상, 한 번의 읽기로 트랙별 파일 생성)
+     * 파일명은 outputFileName에 트랙 언어(KEY_LANGUAGE)를 붙여 생성
+     */
+    public void extractAllAudioTracksFromVideoUri(Uri inputUri, String outputFileName, AudioFormat format) {
+        if (inputUri == null || context == null) {
+            notifyError("입력 URI 또는 Context가 null입니다.");
+            return;
+        }
+        
+        legacyJobIds.add(MediaJobQueue.getInstance().enqueueAllTracksExtraction(
+            inputUri, outputFileName, format, legacyJobListener));
+    }
+    
+    /**
+     * URI 기반 전체 트랙 추출 작업 실행 (MediaJobQueue 작업 스레드에서 호출, 결과는 job으로 보고)
+     * 완료 경로는 첫 번째 오디오 트랙 파일 (나머지 트랙은 같은 폴더에 같은 이름 + 언어)
+     */
+    void runAllTracksExtractionJob(MediaJob job, Uri inputUri, String outputFileName, AudioFormat format) {
+        MediaSourceHandle source = null;
+        try {
+            source = fileManager.openMediaSource(inputUri);
+            if (source == null) {
+                job.fail("입력 URI를 열 수 없습니다.");
+                return;
+            }
+            
+            String baseName = outputFileName;
+            int lastDotIndex = baseName.lastIndexOf('.');
+            if (lastDotIndex > 0) {
+                baseName = baseName.substring(0, lastDotIndex);
+            }
+            
+            performAllTracksExtraction(source, getConvertedDir(), baseName, format, job);
+            
+        } catch (Exception e) {
+            LoggerManager.logger("전체 트랙 추출 실패: " + e.getMessage());
+            job.fail("전체 트랙 추출 실패: " + e.getMessage());
+        } finally {
+            if (source != null) {
+                source.close();
+            }
+        }
+    }
+    
+    /**
+     * 트랙 하나의 출력 (muxer 또는 자체 writer)
+     */
+    private static final class TrackOutput {
+        final File file;
+        final SampleSink sink;
+        final MediaMuxer muxer;
+        final Closeable writer;
+        
+        TrackOutput(File file, SampleSink sink, MediaMuxer muxer, Closeable writer) {
+            this.file = file;
+            this.sink = sink;
+            this.muxer = muxer;
+            this.writer = writer;
+        }
+        
+        /**
+         * 출력 마무리 (muxer는 stop 시 moov 기록)
+         */
+        void finish() throws IOException {
+            if (muxer != null) {
+                muxer.stop();
+                muxer.release();
+            } else {
+                writer.close();
+            }
+        }
+        
+        /**
+         * 실패/취소 시 정리 후 불완전한 파일 삭제
+         */
+        void abort() {
+            try {
+                if (muxer != null) {
+                    muxer.release();
+                } else {
+                    writer.close();
                 }
-                // 새로운 포맷 확장자 추가
-                fileName += format.getExtension();
-                LoggerManager.logger("최종 파일명: " + fileName);
+            } catch (Exception e) {
+                LoggerManager.logger("트랙 출력 정리 실패: " + e.getMessage());
+            }
+            if (file.exists() && !file.delete()) {
+                LoggerManager.logger("⚠️ 불완전한 파일 삭제 실패: " + file.getName());
+            }
+        }
+    }
+    
+    /**
+     * 모든 오디오 트랙을 한 번에 stream copy
+     * extractor 하나에 모든 오디오 트랙을 선택하고, 교차 배치된 샘플을 트랙 인덱스로 각 출력에 분배
+     * (재인코딩이 필요한 WAV/FLAC 출력이나 원본 코덱을 담을 수 없는 조합은 지원하지 않음)
+     */
+    private void performAllTracksExtraction(MediaSourceHandle source, File outputDir, String baseName,
+                                            AudioFormat format, MediaJob job) {
+        MediaExtractor extractor = null;
+        List<TrackOutput> outputs = new ArrayList<>();
+        boolean completed = false;
+        
+        try {
+            if (format.requiresDecoding()) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                    "전체 트랙 추출은 재인코딩 없는 포맷만 지원합니다: " + format);
+            }
+            
+            extractor = source.createExtractor();
+            List<Integer> audioTracks = findAudioTracks(extractor);
+            if (audioTracks.isEmpty()) {
+                throw new IllegalStateException("오디오 트랙을 찾을 수 없습니다.");
+            }
+            
+            SampleSink[] sinks = new SampleSink[extractor.getTrackCount()];
+            Set<String> usedNames = new HashSet<>();
+            long totalDurationUs = 0;
+            int maxInputSize = 0;
+            
+            for (int i = 0; i < audioTracks.size(); i++) {
+                int trackIndex = audioTracks.get(i);
+                MediaFormat trackFormat = extractor.getTrackFormat(trackIndex);
+                String mime = trackFormat.getString(MediaFormat.KEY_MIME);
                 
-                File outputFile = new File(outputDir, fileName);
-                String outputPath = outputFile.getAbsolutePath();
+                // MP3 원본은 MP4 대신 .mp3로 (단일 트랙 추출과 동일)
+                AudioFormat trackOutputFormat = format == AudioFormat.M4A
+                    && MediaFormat.MIMETYPE_AUDIO_MPEG.equals(mime) ? AudioFormat.MP3 : format;
+                String name = buildTrackFileName(baseName, trackFormat, i, usedNames);
+                File file = new File(outputDir, name + trackOutputFormat.getExtension());
                 
-                // 실제 추출 수행
-                performExtraction(tempInputFile.getAbsolutePath(), outputPath, format);
+                TrackOutput output = openTrackOutput(file, trackOutputFormat, trackFormat);
+                outputs.add(output);
+                sinks[trackIndex] = output.sink;
+                extractor.selectTrack(trackIndex);
                 
-                // 임시 파일 정리
-                if (tempInputFile.exists()) {
-                    tempInputFile.delete();
-                    LoggerManager.logger("임시 입력 파일 삭제: " + tempInputFile.getName());
+                if (trackFormat.containsKey(MediaFormat.KEY_DURATION)) {
+                    totalDurationUs = Math.max(totalDurationUs, trackFormat.getLong(MediaFormat.KEY_DURATION));
+                }
+                maxInputSize = Math.max(maxInputSize, getMaxInputSize(trackFormat));
+                LoggerManager.logger("🌐 트랙 " + trackIndex + " (" + mime + ") → " + file.getName());
+            }
+            
+            TrackRoutingSink router = new TrackRoutingSink(extractor, sinks);
+            ByteBuffer buffer = DirectBufferPool.acquire(maxInputSize);
+            try {
+                SampleCopyKernel.Result result = new SampleCopyKernel()
+                    .setProgress(0, totalDurationUs, job::reportProgress)
+                    .copy(new ExtractorSampleSource(extractor), router, buffer);
+                LoggerManager.logger("전체 트랙 샘플 " + result.sampleCount + "개 분배 완료 ("
+                    + audioTracks.size() + "개 트랙, 한 번 읽기)");
+            } finally {
+                DirectBufferPool.release(buffer);
+            }
+            
+            for (TrackOutput output : outputs) {
+                output.finish();
+                if (format == AudioFormat.M4A) {
+                    FastStartRewriter.optimize(output.file.getAbsolutePath());
                 }
+                LoggerManager.logger("✅ 트랙 파일 생성: " + output.file.getAbsolutePath());
+            }
+            completed = true;
+            job.reportProgress(100);
+            job.complete(outputs.get(0).file.getAbsolutePath());
+            
+        } catch (InterruptedException e) {
+            LoggerManager.logger("전체 트랙 추출 취소");
+            Thread.currentThread().interrupt();
+            job.fail("오디오 추출이 취소되었습니다");
+            
+        } catch (AudioTrimException e) {
+            LoggerManager.logger("전체 트랙 추출 실패: " + e.getFullErrorInfo());
+            job.fail(e.getUserMessage());
+            
+        } catch (Exception e) {
+            LoggerManager.logger("전체 트랙 추출 실패: " + e.getMessage());
+            job.fail("전체 트랙 추출 실패: " + e.getMessage());
+            
+        } finally {
+            if (!completed) {
+                for (TrackOutput output : outputs) {
+                    output.abort();
+                }
+            }
+            if (extractor != null) {
+                extractor.release();
+            }
+        }
+    }
+    
+    /**
+     * 출력 포맷과 원본 코덱에 맞는 트랙 출력 생성 (원본 코덱 그대로 담을 수 있어야 함)
+     */
+    private TrackOutput openTrackOutput(File file, AudioFormat format, MediaFormat trackFormat)
+            throws IOException, AudioTrimException {
+        String mime = trackFormat.getString(MediaFormat.KEY_MIME);
+        if (format == AudioFormat.MP3) {
+            if (!MediaFormat.MIMETYPE_AUDIO_MPEG.equals(mime)) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                    "MP3가 아닌 트랙은 MP3로 복사할 수 없습니다: " + mime);
+            }
+            Mp3Writer writer = new Mp3Writer(file);
+            return new TrackOutput(file, writer, null, writer);
+        }
+        if (format == AudioFormat.AAC) {
+            if (!MediaFormat.MIMETYPE_AUDIO_AAC.equals(mime) || !trackFormat.containsKey("csd-0")) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                    "AAC가 아닌 트랙은 ADTS로 복사할 수 없습니다: " + mime);
+            }
+            try {
+                AdtsWriter writer = new AdtsWriter(file, trackFormat.getByteBuffer("csd-0"));
+                return new TrackOutput(file, writer, null, writer);
+            } catch (IllegalArgumentException e) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                    "ADTS로 내보낼 수 없는 AAC 구성: " + e.getMessage(), e);
+            }
+        }
+        if (format == AudioFormat.OPUS && !MediaFormat.MIMETYPE_AUDIO_OPUS.equals(mime)) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                "Opus가 아닌 트랙은 OGG로 복사할 수 없습니다: " + mime);
+        }
+        
+        MediaMuxer muxer = new MediaMuxer(file.getAbsolutePath(), format.getMuxerFormat());
+        try {
+            int muxerTrackIndex = muxer.addTrack(trackFormat);
+            muxer.start();
+            return new TrackOutput(file, new MuxerSampleSink(muxer, muxerTrackIndex), muxer, null);
+        } catch (RuntimeException e) {
+            muxer.release();
+            throw new AudioTrimException(AudioTrimException.ErrorType.TRACK_FORMAT_INCOMPATIBLE,
+                "트랙을 " + format + "에 담을 수 없습니다: " + mime, e);
+        }
+    }
+    
+    /**
+     * 트랙 파일명 (기본 이름 + 언어, 언어가 없거나 겹치면 트랙 번호 사용)
+     */
+    private static String buildTrackFileName(String baseName, MediaFormat trackFormat, int ordinal,
+                                             Set<String> usedNames) {
+        String language = trackFormat.containsKey(MediaFormat.KEY_LANGUAGE)
+            ? trackFormat.getString(MediaFormat.KEY_LANGUAGE) : null;
+        if (language != null) {
+            language = language.replaceAll("[^A-Za-z0-9-]", "");
+        }
+        
+        String name;
+        if (language == null || language.isEmpty() || "und".equalsIgnoreCase(language)) {
+            name = baseName + "_track" + (ordinal + 1);
+        } else {
+            name = baseName + "_" + language;
+            if (usedNames.contains(name)) {
+                name += "_" + (ordinal + 1);
+            }
+        }
+        usedNames.add(name);
+        return name;
+    }
+    
+    /**
+     * 변환 결과 저장 폴더 (없으면 생성)
+     */
+    private File getConvertedDir() {
+        File outputDir = new File(context.getExternalFilesDir(null), "Audios/Converted");
+        if (!outputDir.exists()) {
+            outputDir.mkdirs();
+        }
+        return outputDir;
+    }
+    
+    /**
+     * 변환 결과 캐시를 거쳐 추출 수행
+     * 같은 내용 + 같은 설정의 이전 출력이 Audios/Converted에 남아 있으면 하드 링크(불가하면 복사)로 바로 완료하고,
+     * 새로 변환해 완료되면 결과를 기록
+     */
+    private void performCachedExtraction(MediaSourceHandle source, Uri sourceUri, String outputPath,
+                                         AudioFormat format, AudioTranscoder.Target target, MediaJob job) {
+        String fingerprint = null;
+        String settingsKey = ConversionResultCache.settingsKey(format, target);
+        if (resultCache != null) {
+            try {
+                long startedAt = System.currentTimeMillis();
+                fingerprint = ContentFingerprint.of(source);
+                LoggerManager.logger("🔑 원본 지문 " + fingerprint + " ("
+                    + (System.currentTimeMillis() - startedAt) + "ms)");
                 
-            } catch (Exception e) {
-                LoggerManager.logger("URI 추출 실패: " + e.getMessage());
-                notifyError("URI 추출 실패: " + e.getMessage());
+                String cachedPath = resultCache.find(fingerprint, settingsKey);
+                String reusedPath = cachedPath != null ? reuseCachedOutput(cachedPath, outputPath) : null;
+                if (reusedPath != null) {
+                    LoggerManager.logger("⚡ 변환 캐시 적중: " + cachedPath + " → " + reusedPath);
+                    job.recordOutputPath(reusedPath);
+                    job.reportProgress(100);
+                    job.complete(reusedPath);
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                // 캐시는 최적화일 뿐이므로 실패해도 그대로 변환
+                LoggerManager.logger("⚠️ 변환 캐시 조회 실패: " + e.getMessage());
+            }
+        }
+        
+        // 캐시 재사용으로 하드 링크된 파일에 덮어쓰면 다른 출력까지 바뀌므로 링크만 끊고 새로 기록
+        unlinkIfShared(outputPath);
+        if (format == AudioFormat.M4A) {
+            unlinkIfShared(replaceExtension(outputPath, AudioFormat.MP3.getExtension()));
+        }
+        performExtraction(source, sourceUri, outputPath, format, target, job);
+        
+        String completedPath = job.getOutputPath();
+        if (fingerprint != null && completedPath != null) {
+            try {
+                resultCache.put(fingerprint, settingsKey, completedPath);
+            } catch (RuntimeException e) {
+                LoggerManager.logger("⚠️ 변환 캐시 기록 실패: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 캐시된 출력을 요청한 경로로 제공 (확장자는 캐시된 출력 기준 - MP3 원본 보존 등)
+     * @return 제공한 경로, 링크/복사에 실패하면 null (새로 변환)
+     */
+    private String reuseCachedOutput(String cachedPath, String outputPath) {
+        File cached = new File(cachedPath);
+        String cachedName = cached.getName();
+        int dot = cachedName.lastIndexOf('.');
+        File target = new File(dot > 0 ? replaceExtension(outputPath, cachedName.substring(dot)) : outputPath);
+        if (target.getAbsolutePath().equals(cached.getAbsolutePath())) {
+            return cachedPath;
+        }
+        
+        if (target.exists() && !target.delete()) {
+            LoggerManager.logger("⚠️ 기존 출력 파일을 교체할 수 없음: " + target.getAbsolutePath());
+            return null;
+        }
+        
+        try {
+            Os.link(cached.getAbsolutePath(), target.getAbsolutePath());
+            return target.getAbsolutePath();
+        } catch (ErrnoException e) {
+            LoggerManager.logger("하드 링크 불가 (" + e.getMessage() + ") → 복사");
+        }
+        
+        try (FileChannel in = new FileInputStream(cached).getChannel();
+             FileChannel out = new FileOutputStream(target).getChannel()) {
+            long size = in.size();
+            long copied = 0;
+            while (copied < size) {
+                copied += in.transferTo(copied, size - copied, out);
+            }
+            return target.getAbsolutePath();
+        } catch (IOException e) {
+            LoggerManager.logger("⚠️ 캐시된 출력 복사 실패: " + e.getMessage());
+            deleteIncompleteOutput(target.getAbsolutePath());
+            return null;
+        }
+    }
+    
+    /**
+     * 다른 경로와 하드 링크로 공유 중인 파일이면 이 경로만 제거
+     */
+    private static void unlinkIfShared(String path) {
+        try {
+            if (Os.stat(path).st_nlink > 1) {
+                Os.remove(path);
+                LoggerManager.logger("🔗 공유된 출력 링크 해제: " + path);
             }
-        });
+        } catch (ErrnoException e) {
+            // 파일이 없으면 할 일 없음
+        }
     }
     
     /**
      * 실제 오디오 추출 수행
+     * @param target 변환 목표 (원본과 다를 때만 재인코딩, null이면 항상 stream copy)
      */
-    private void performExtraction(String inputPath, String outputPath, AudioFormat format) {
+    private void performExtraction(MediaSourceHandle source, Uri sourceUri, String outputPath, AudioFormat format,
+                                   AudioTranscoder.Target target, MediaJob job) {
         MediaExtractor extractor = null;
         MediaMuxer muxer = null;
         
         try {
-            isExtracting = true;
-            notifyStart();
-            
-            // 입력 파일 검증
-            File inputFile = new File(inputPath);
-            if (!inputFile.exists() || !inputFile.canRead()) {
-                throw new IOException("입력 파일을 읽을 수 없습니다: " + inputPath);
-            }
-            
             // 출력 디렉토리 확인
             File outputFile = new File(outputPath);
             File outputDir = outputFile.getParentFile();
@@ -219,8 +817,7 @@ public class NativeAudioExtractorManager {
             }
             
             // MediaExtractor 설정
-            extractor = new MediaExtractor();
-            extractor.setDataSource(inputPath);
+            extractor = source.createExtractor();
             
             // 오디오 트랙 찾기
             int audioTrackIndex = findAudioTrack(extractor);
@@ -233,33 +830,151 @@ public class NativeAudioExtractorManager {
             MediaFormat audioFormat = extractor.getTrackFormat(audioTrackIndex);
             
             // 총 기간 계산 (진행률용)
-            totalDurationUs = audioFormat.getLong(MediaFormat.KEY_DURATION);
-            processedDurationUs = 0;
+            long totalDurationUs = audioFormat.getLong(MediaFormat.KEY_DURATION);
             
             LoggerManager.logger("오디오 트랙 정보: " + audioFormat.toString());
             LoggerManager.logger("총 기간: " + totalDurationUs + " μs");
             
+            // MP3 원본은 MP4로 억지로 담지 않고 .mp3로 그대로 기록
+            String sourceMime = audioFormat.getString(MediaFormat.KEY_MIME);
+            if (format == AudioFormat.M4A && MediaFormat.MIMETYPE_AUDIO_MPEG.equals(sourceMime)
+                    && (target == null || target.keepsSource())) {
+                String mp3Path = replaceExtension(outputPath, AudioFormat.MP3.getExtension());
+                LoggerManager.logger("MP3 원본 → M4A 대신 MP3로 저장: " + mp3Path);
+                outputPath = mp3Path;
+                format = AudioFormat.MP3;
+                job.recordOutputPath(outputPath);
+            }
+            
+            // 라우드니스 평준화: 1차로 측정해 gain을 정하고 아래 인코딩 경로에서 적용 (2-pass)
+            if (target != null && target.normalizesLoudness()) {
+                if (format == AudioFormat.MP3 || format == AudioFormat.WEBM) {
+                    LoggerManager.logger("⚠️ " + format.name() + "는 재인코딩 없이 복사하므로 라우드니스 평준화를 건너뜀");
+                } else {
+                    target = measureLoudness(source, sourceUri, audioTrackIndex, audioFormat, format, target, job);
+                }
+            }
+            
+            if (format == AudioFormat.MP3) {
+                if (!MediaFormat.MIMETYPE_AUDIO_MPEG.equals(sourceMime)) {
+                    throw new AudioTrimException(AudioTrimException.ErrorType.UNSUPPORTED_FORMAT,
+                        "MP3 인코더가 없어 MP3 원본만 MP3로 저장할 수 있습니다 (원본: " + sourceMime + ")");
+                }
+                exportMp3(extractor, audioFormat, outputPath, totalDurationUs, job);
+                job.reportProgress(100);
+                
+                LoggerManager.logger("MP3 내보내기 완료: " + outputPath);
+                job.complete(outputPath);
+                return;
+            }
+            
+            // ADTS(.aac)는 muxer 없이 프레임마다 헤더만 붙여 기록
+            if (format == AudioFormat.AAC) {
+                exportAdts(extractor, audioFormat, outputPath, target, totalDurationUs, job);
+                job.reportProgress(100);
+                
+                LoggerManager.logger("AAC(ADTS) 내보내기 완료: " + outputPath);
+                job.complete(outputPath);
+                return;
+            }
+            
+            // WAV는 디코딩한 PCM을 그대로, FLAC은 플랫폼 FLAC 인코더로 기록
+            if (format.requiresDecoding()) {
+                if (format == AudioFormat.FLAC) {
+                    exportFlac(extractor, audioFormat, outputPath, target, job);
+                } else {
+                    exportPcm(extractor, audioFormat, outputPath, target, job);
+                }
+                job.reportProgress(100);
+                
+                LoggerManager.logger(format.name() + " 변환 완료: " + outputPath);
+                job.complete(outputPath);
+                return;
+            }
+            
+            // Opus는 원본이 Opus이고 목표가 원본 유지일 때만 stream copy
+            if (format == AudioFormat.OPUS && needsOpusEncode(audioFormat, target)) {
+                AudioTranscoder.Target opusTarget = target != null ? target : new AudioTranscoder.Target(0, 0);
+                LoggerManager.logger("🎚️ Opus 인코딩: " + opusTarget.opusPreset + " (" + opusTarget + ")");
+                new AudioTranscoder(opusTarget).transcode(extractor, audioFormat,
+                    AudioTranscoder.createOpusFormat(opusTarget, audioFormat), outputPath,
+                    format.getMuxerFormat(), job::reportProgress);
+                job.reportProgress(100);
+                
+                LoggerManager.logger("Opus 변환 완료: " + outputPath);
+                job.complete(outputPath);
+                return;
+            }
+            
+            // 목표 품질이 원본과 다르면 재인코딩 (M4A 출력만 지원)
+            String transcodeReason = format == AudioFormat.M4A
+                ? AudioTranscoder.findTranscodeReason(extractor, audioFormat, target) : null;
+            if (transcodeReason != null) {
+                LoggerManager.logger("🎚️ 재인코딩 필요: " + transcodeReason + " (" + target + ")");
+                // 긴 입력은 구간으로 나눠 여러 코덱 인스턴스로 병렬 인코딩
+                // 기록된 작업은 병렬이 어려워도 구간으로 나눠 프로세스 종료 후 완료 구간부터 재개
+                int parallelism = ChunkedAudioTranscoder.planSegmentCount(audioFormat, totalDurationUs, target);
+                if (parallelism > 1 || (job.isPersistent()
+                        && totalDurationUs >= ChunkedAudioTranscoder.MIN_PARALLEL_DURATION_US)) {
+                    new ChunkedAudioTranscoder(target).transcode(source, audioTrackIndex, audioFormat, outputPath,
+                        parallelism, job::reportProgress, job.isPersistent() ? job : null);
+                } else {
+                    new AudioTranscoder(target).transcode(extractor, audioFormat, outputPath, job::reportProgress);
+                }
+                FastStartRewriter.optimize(outputPath);
+                job.reportProgress(100);
+                
+                LoggerManager.logger("오디오 변환 완료: " + outputPath);
+                job.complete(outputPath);
+                return;
+            }
+            
             // MediaMuxer 설정
             muxer = new MediaMuxer(outputPath, format.getMuxerFormat());
             int muxerTrackIndex = muxer.addTrack(audioFormat);
             muxer.start();
             
             // 오디오 데이터 복사
-            copyAudioTrack(extractor, muxer, muxerTrackIndex);
+            copyAudioTrack(extractor, audioFormat, muxer, muxerTrackIndex, totalDurationUs, job);
+            
+            // muxer를 닫아야 moov가 기록되므로 완료 보고 전에 정리
+            muxer.stop();
+            muxer.release();
+            muxer = null;
+            
+            if (format == AudioFormat.M4A) {
+                FastStartRewriter.optimize(outputPath);
+            }
             
             LoggerManager.logger("오디오 추출 완료: " + outputPath);
-            notifyCompletion(outputPath);
+            job.complete(outputPath);
+            
+        } catch (InterruptedException e) {
+            LoggerManager.logger("오디오 추출 취소: " + outputPath);
+            Thread.currentThread().interrupt();
+            deleteIncompleteOutput(outputPath);
+            job.fail("오디오 추출이 취소되었습니다");
+            
+        } catch (AudioTrimException e) {
+            LoggerManager.logger("오디오 변환 실패: " + e.getFullErrorInfo());
+            deleteIncompleteOutput(outputPath);
+            job.fail(e.getUserMessage());
             
         } catch (Exception e) {
             LoggerManager.logger("오디오 추출 실패: " + e.getMessage());
             e.printStackTrace();
-            notifyError("오디오 추출 실패: " + e.getMessage());
+            deleteIncompleteOutput(outputPath);
+            job.fail("오디오 추출 실패: " + e.getMessage());
             
         } finally {
             // 리소스 정리
             if (muxer != null) {
                 try {
                     muxer.stop();
+                } catch (Exception e) {
+                    LoggerManager.logger("MediaMuxer stop 실패: " + e.getMessage());
+                }
+                try {
                     muxer.release();
                 } catch (Exception e) {
                     LoggerManager.logger("MediaMuxer 정리 실패: " + e.getMessage());
@@ -273,11 +988,44 @@ public class NativeAudioExtractorManager {
                     LoggerManager.logger("MediaExtractor 정리 실패: " + e.getMessage());
                 }
             }
-            
-            isExtracting = false;
         }
     }
     
+    /**
+     * 라우드니스 평준화 1차 패스 (측정 후 gain을 실은 Target 반환)
+     * 측정은 출력 포맷과 같은 채널 구성으로 하고, 진행률은 앞 30%를 사용
+     */
+    private AudioTranscoder.Target measureLoudness(MediaSourceHandle source, Uri sourceUri, int trackIndex,
+                                                   MediaFormat audioFormat, AudioFormat format,
+                                                   AudioTranscoder.Target target, MediaJob job)
+            throws AudioTrimException, InterruptedException {
+        int sourceChannels = audioFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        int outputChannels;
+        if (format == AudioFormat.WAV) {
+            outputChannels = target.channelMix == ChannelMix.SOURCE
+                ? sourceChannels : target.channelMix.resolveChannels(sourceChannels);
+        } else if (format == AudioFormat.FLAC) {
+            outputChannels = Math.min(2, target.channelMix.resolveChannels(sourceChannels));
+        } else if (format == AudioFormat.OPUS) {
+            outputChannels = AudioTranscoder.createOpusFormat(target, audioFormat)
+                .getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        } else {
+            outputChannels = AudioTranscoder.resolveOutputChannels(target, sourceChannels);
+        }
+        
+        MediaSourceSession.Key key = MediaSourceSession.createKey(sourceUri, source);
+        job.setProgressRange(0, LOUDNESS_PASS_PROGRESS);
+        LoudnessMeter.Result measured = LoudnessNormalizer.measure(source, trackIndex, audioFormat, target,
+            outputChannels, key != null ? key.toString() : null, job::reportProgress);
+        job.setProgressRange(LOUDNESS_PASS_PROGRESS, 100);
+        job.reportProgress(0);
+        
+        double gainDb = LoudnessNormalizer.computeGainDb(measured, target.loudnessTargetLufs);
+        LoggerManager.logger("🔊 라우드니스 평준화: " + measured + " → gain " + String.format("%+.1fdB", gainDb)
+            + " (목표 " + target.loudnessTargetLufs + " LUFS)");
+        return target.withGain(gainDb);
+    }
+    
     /**
      * 오디오 트랙 인덱스 찾기
      */
@@ -300,106 +1048,49 @@ public class NativeAudioExtractorManager {
     }
     
     /**
-     * 오디오 트랙 데이터 복사
+     * 모든 오디오 트랙 인덱스 (트랙 순서대로)
      */
-    private void copyAudioTrack(MediaExtractor extractor, MediaMuxer muxer, int muxerTrackIndex) throws IOException {
-        ByteBuffer buffer = ByteBuffer.allocate(256 * 1024); // 256KB 버퍼
-        android.media.MediaCodec.BufferInfo bufferInfo = new android.media.MediaCodec.BufferInfo();
-        
-        int sampleCount = 0;
-        long lastProgressTime = 0;
-        
-        while (true) {
-            int sampleSize = extractor.readSampleData(buffer, 0);
-            if (sampleSize < 0) {
-                // 더 이상 읽을 데이터 없음
-                break;
-            }
-            
-            // 샘플 정보 가져오기
-            bufferInfo.presentationTimeUs = extractor.getSampleTime();
-            bufferInfo.flags = extractor.getSampleFlags();
-            bufferInfo.size = sampleSize;
-            bufferInfo.offset = 0;
-            
-            // MediaMuxer에 샘플 쓰기
-            muxer.writeSampleData(muxerTrackIndex, buffer, bufferInfo);
-            
-            // 진행률 업데이트 (100ms마다)
-            processedDurationUs = bufferInfo.presentationTimeUs;
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - lastProgressTime > 100) {
-                updateProgress();
-                lastProgressTime = currentTime;
+    private List<Integer> findAudioTracks(MediaExtractor extractor) {
+        List<Integer> tracks = new ArrayList<>();
+        for (int i = 0; i < extractor.getTrackCount(); i++) {
+            String mime = extractor.getTrackFormat(i).getString(MediaFormat.KEY_MIME);
+            if (mime != null && mime.startsWith("audio/")) {
+                tracks.add(i);
             }
-            
-            sampleCount++;
-            extractor.advance();
         }
-        
-        LoggerManager.logger("처리된 샘플 수: " + sampleCount);
-        
-        // 최종 진행률 100%
-        notifyProgress(100);
+        LoggerManager.logger("오디오 트랙 " + tracks.size() + "개 발견: " + tracks);
+        return tracks;
     }
     
     /**
-     * 진행률 계산 및 콜백
+     * 오디오 트랙 데이터 복사 (SampleCopyKernel 사용)
      */
-    private void updateProgress() {
-        if (totalDurationUs > 0) {
-            int progress = (int) ((processedDurationUs * 100) / totalDurationUs);
-            progress = Math.min(Math.max(progress, 0), 100);
-            notifyProgress(progress);
+    private void copyAudioTrack(MediaExtractor extractor, MediaFormat audioFormat, MediaMuxer muxer,
+                                int muxerTrackIndex, long totalDurationUs, MediaJob job)
+                                throws InterruptedException {
+        ByteBuffer buffer = DirectBufferPool.acquire(getMaxInputSize(audioFormat));
+        try {
+            SampleCopyKernel.Result result = new SampleCopyKernel()
+                .setProgress(0, totalDurationUs, job::reportProgress)
+                .copy(new ExtractorSampleSource(extractor), new MuxerSampleSink(muxer, muxerTrackIndex), buffer);
+            
+            LoggerManager.logger("처리된 샘플 수: " + result.sampleCount);
+        } finally {
+            DirectBufferPool.release(buffer);
         }
+        
+        // 최종 진행률 100%
+        job.reportProgress(100);
     }
     
     /**
-     * URI에서 임시 파일 생성
+     * 샘플 버퍼 크기 (KEY_MAX_INPUT_SIZE, 없으면 256KB)
      */
-    private File createTempFileFromUri(Uri uri) {
-        try {
-            // 임시 디렉토리
-            File tempDir = new File(context.getCacheDir(), "temp_audio_extractor");
-            if (!tempDir.exists()) {
-                tempDir.mkdirs();
-            }
-            
-            // 임시 파일
-            File tempFile = new File(tempDir, "temp_extract_" + System.currentTimeMillis() + ".tmp");
-            
-            // URI에서 파일로 복사
-            try (InputStream inputStream = context.getContentResolver().openInputStream(uri);
-                 FileOutputStream outputStream = new FileOutputStream(tempFile)) {
-                
-                if (inputStream == null) {
-                    LoggerManager.logger("URI에서 InputStream을 열 수 없음");
-                    return null;
-                }
-                
-                byte[] buffer = new byte[8 * 1024];
-                int bytesRead;
-                
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-                
-                outputStream.flush();
-                LoggerManager.logger("임시 파일 생성 완료: " + tempFile.getAbsolutePath());
-                return tempFile;
-                
-            } catch (IOException e) {
-                LoggerManager.logger("임시 파일 생성 실패: " + e.getMessage());
-                if (tempFile.exists()) {
-                    tempFile.delete();
-                }
-                return null;
-            }
-            
-        } catch (Exception e) {
-            LoggerManager.logger("임시 파일 생성 중 오류: " + e.getMessage());
-            return null;
+    private int getMaxInputSize(MediaFormat format) {
+        if (format.containsKey(MediaFormat.KEY_MAX_INPUT_SIZE)) {
+            return format.getInteger(MediaFormat.KEY_MAX_INPUT_SIZE);
         }
+        return 256 * 1024;
     }
     
     /**
@@ -407,10 +1098,12 @@ public class NativeAudioExtractorManager {
      */
     public void cancelExtraction() {
         try {
-            if (currentTask != null && !currentTask.isDone()) {
-                currentTask.cancel(true);
-                LoggerManager.logger("오디오 추출 취소 요청됨");
+            for (Long jobId : legacyJobIds) {
+                if (MediaJobQueue.getInstance().cancel(jobId)) {
+                    LoggerManager.logger("오디오 추출 취소 요청됨: #" + jobId);
+                }
             }
+            legacyJobIds.clear();
         } catch (Exception e) {
             LoggerManager.logger("추출 취소 실패: " + e.getMessage());
         }
@@ -420,30 +1113,14 @@ public class NativeAudioExtractorManager {
      * 현재 추출 중인지 확인
      */
     public boolean isExtracting() {
-        return isExtracting;
+        MediaJobQueue queue = MediaJobQueue.getInstance();
+        legacyJobIds.removeIf(jobId -> !queue.isActive(jobId));
+        return !legacyJobIds.isEmpty();
     }
     
     /**
      * 콜백 알림 메서드들
      */
-    private void notifyStart() {
-        if (onStartListener != null) {
-            mainHandler.post(() -> onStartListener.onExtractionStart());
-        }
-    }
-    
-    private void notifyProgress(int progress) {
-        if (onProgressListener != null) {
-            mainHandler.post(() -> onProgressListener.onExtractionProgress(progress));
-        }
-    }
-    
-    private void notifyCompletion(String outputPath) {
-        if (onCompletionListener != null) {
-            mainHandler.post(() -> onCompletionListener.onExtractionComplete(outputPath));
-        }
-    }
-    
     private void notifyError(String error) {
         if (onErrorListener != null) {
             mainHandler.post(() -> onErrorListener.onExtractionError(error));
@@ -479,21 +1156,6 @@ public class NativeAudioExtractorManager {
         onErrorListener = null;
     }
     
-    /**
-     * ExecutorService 상태 확인 및 재생성
-     * ThreadPoolExecutor가 종료된 경우 새로운 ExecutorService를 생성합니다.
-     */
-    private synchronized void ensureExecutorServiceAvailable() {
-        if (executorService == null || executorService.isShutdown() || executorService.isTerminated()) {
-            String previousState = executorService == null ? "null" : 
-                                 executorService.isShutdown() ? "shutdown" : "terminated";
-            LoggerManager.logger("ExecutorService 재생성 - 이전 상태: " + previousState);
-            
-            executorService = Executors.newSingleThreadExecutor();
-            LoggerManager.logger("새로운 ExecutorService 생성 완료");
-        }
-    }
-    
     /**
      * 리소스 정리
      */
@@ -502,11 +1164,6 @@ public class NativeAudioExtractorManager {
             // 진행 중인 작업 취소
             cancelExtraction();
             
-            // ExecutorService 종료
-            if (executorService != null && !executorService.isShutdown()) {
-                executorService.shutdown();
-            }
-            
             // 임시 파일 정리
             File tempDir = new File(context.getCacheDir(), "temp_audio_extractor");
             if (tempDir.exists()) {
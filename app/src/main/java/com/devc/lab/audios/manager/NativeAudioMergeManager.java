@@ -0,0 +1,119 @@
+package com.devc.lab.audios.manager;
+
+import android.content.Context;
+import android.net.Uri;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Android Native API 기반 오디오 합치기 관리자
+ * 여러 오디오 파일을 하나의 M4A로 이어 붙임 (호환되는 입력은 재인코딩 없이 stream copy)
+ * 작업 실행/취소는 MediaJobQueue가 담당하며 작업마다 별도 리스너로 결과를 전달
+ */
+public class NativeAudioMergeManager {
+
+    private static NativeAudioMergeManager instance;
+    private Context context;
+
+    private AudioFileManager fileManager;
+    private final MediaProcessingEngine processingEngine;
+    private final AudioMergeEngine mergeEngine;
+
+    private NativeAudioMergeManager() {
+        processingEngine = new MediaProcessingEngine();
+        mergeEngine = new AudioMergeEngine();
+    }
+
+    public static synchronized NativeAudioMergeManager getInstance() {
+        if (instance == null) {
+            instance = new NativeAudioMergeManager();
+        }
+        return instance;
+    }
+
+    public void init(Context context) {
+        this.context = context.getApplicationContext();
+        this.fileManager = new AudioFileManager(this.context);
+        LoggerManager.logger("NativeAudioMergeManager 초기화 완료");
+    }
+
+    /**
+     * 오디오 파일들을 목록 순서대로 이어 붙이는 작업 등록
+     * @param sourceUris 입력 파일 URI 목록 (2개 이상, 목록 순서대로 이어 붙임 - 순서는 호출하는 쪽에서 결정)
+     * @param outputFileName 출력 파일명 (확장자 제외)
+     * @param listener 작업 콜백 (메인 스레드)
+     * @return 작업 ID (취소는 MediaJobQueue.cancel)
+     */
+    public long mergeAudio(List<Uri> sourceUris, String outputFileName, MediaJob.Listener listener) {
+        LoggerManager.logger("🔗 오디오 합치기 등록: " + (sourceUris != null ? sourceUris.size() : 0)
+            + "개 파일 → " + outputFileName);
+        return MediaJobQueue.getInstance().enqueueMerge(sourceUris, outputFileName, listener);
+    }
+
+    /**
+     * 합치기 작업 실행 (MediaJobQueue 작업 스레드에서 호출, 결과는 job으로 보고)
+     * 실패하거나 취소되면 만들다 만 출력 파일을 삭제
+     */
+    void runMergeJob(MediaJob job, List<Uri> sources, String outputFileName) {
+        List<MediaSourceSession> sessions = new ArrayList<>();
+        String outputPath = null;
+        try {
+            if (fileManager == null) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.UNKNOWN_ERROR,
+                    "합치기 관리자가 초기화되지 않았습니다");
+            }
+            if (sources == null || sources.size() < 2) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.INVALID_INPUT_URI,
+                    "합칠 파일을 2개 이상 선택해주세요");
+            }
+
+            for (Uri uri : sources) {
+                MediaSourceHandle source = fileManager.openMediaSource(uri);
+                if (source == null) {
+                    throw new AudioTrimException(AudioTrimException.ErrorType.FILE_ACCESS_DENIED,
+                        "입력 소스 열기 실패: " + uri);
+                }
+                sessions.add(MediaSourceSession.open(uri, source, processingEngine));
+            }
+
+            outputPath = fileManager.createOutputPath(outputFileName, NativeAudioTrimManager.AudioFormat.M4A);
+            if (outputPath == null) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.OUTPUT_PATH_INVALID);
+            }
+
+            mergeEngine.merge(sessions, outputPath, job::reportProgress);
+            FastStartRewriter.optimize(outputPath);
+
+            if (fileManager.getFileSize(outputPath) <= 0) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.FILE_NOT_FOUND,
+                    "출력 파일이 생성되지 않았습니다");
+            }
+
+            job.complete(outputPath);
+
+        } catch (AudioTrimException e) {
+            LoggerManager.logger("❌ 합치기 실패: " + e.getFullErrorInfo());
+            job.fail(e.getUserMessage());
+
+        } catch (InterruptedException e) {
+            LoggerManager.logger("ℹ️ 합치기 작업 인터럽트");
+            Thread.currentThread().interrupt();
+            job.fail("합치기 작업이 취소되었습니다");
+
+        } catch (Exception e) {
+            LoggerManager.logger("❌ 예상치 못한 오류: " + e.getMessage());
+            job.fail(AudioTrimException.fromException(e).getUserMessage());
+
+        } finally {
+            for (MediaSourceSession session : sessions) {
+                session.close();
+            }
+            if (job.getState() != MediaJob.State.COMPLETED && outputPath != null
+                    && new File(outputPath).delete()) {
+                LoggerManager.logger("🗑️ 실패한 합치기 출력 삭제: " + outputPath);
+            }
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.devc.lab.audios.manager;
 
 import android.content.Context;
+import android.media.MediaCodec;
 import android.media.MediaExtractor;
-import android.media.MediaFormat;
 import android.media.MediaMuxer;
 import android.net.Uri;
 import android.os.Handler;
@@ -10,9 +10,12 @@ import android.os.Looper;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Android Native API 기반 오디오 자르기 관리자 (리팩토링된 버전)
@@ -33,22 +36,58 @@ public class NativeAudioTrimManager {
     // 분리된 컴포넌트들
     private AudioFileManager fileManager;
     private MediaProcessingEngine processingEngine;
+    private MediaSourceSessionCache sessionCache;
+    private SmartTrimRenderer smartTrimRenderer;
     
     // 콜백 인터페이스들 (기존 API 유지)
     private OnTrimStartListener onStartListener;
     private OnTrimProgressListener onProgressListener;
     private OnTrimCompletionListener onCompletionListener;
     private OnTrimErrorListener onErrorListener;
+    private OnRegionCompleteListener onRegionCompleteListener;
+    private OnRegionsCompleteListener onRegionsCompleteListener;
     
-    // 스레드 관리
-    private ExecutorService executorService;
+    // 스레드 관리 (작업 실행은 MediaJobQueue가 담당)
     private Handler mainHandler;
-    private Future<?> currentTask;
-    private volatile boolean isTrimming = false;
     
-    // 진행률 추적
-    private long totalDurationUs = 0;
-    private long processedDurationUs = 0;
+    // 기존 API(싱글톤 리스너)로 등록한 작업 ID
+    private final Set<Long> legacyJobIds = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * 기존 API 호출을 싱글톤 리스너로 전달하는 작업 리스너
+     */
+    private final MediaJob.Listener legacyJobListener = new MediaJob.Listener() {
+        @Override
+        public void onJobStart(long jobId) {
+            if (onStartListener != null) {
+                onStartListener.onTrimStart();
+            }
+        }
+        
+        @Override
+        public void onJobProgress(long jobId, int progress) {
+            if (onProgressListener != null) {
+                onProgressListener.onTrimProgress(progress);
+            }
+        }
+        
+        @Override
+        public void onJobComplete(long jobId, String outputPath) {
+            legacyJobIds.remove(jobId);
+            // 다중 구간 작업은 구간 리스너로만 결과 전달
+            if (outputPath != null && onCompletionListener != null) {
+                onCompletionListener.onTrimComplete(outputPath);
+            }
+        }
+        
+        @Override
+        public void onJobError(long jobId, String error) {
+            legacyJobIds.remove(jobId);
+            if (onErrorListener != null) {
+                onErrorListener.onTrimError(error);
+            }
+        }
+    };
     
     // 콜백 인터페이스 정의 (기존 API 유지)
     public interface OnTrimStartListener {
@@ -67,6 +106,59 @@ public class NativeAudioTrimManager {
         void onTrimError(String error);
     }
     
+    /**
+     * 다중 구간 자르기에서 구간 하나가 완료될 때
+     */
+    public interface OnRegionCompleteListener {
+        void onRegionComplete(int regionIndex, String outputPath);
+    }
+    
+    /**
+     * 다중 구간 자르기 전체 완료 (성공한 구간의 출력 경로, 요청 순서)
+     */
+    public interface OnRegionsCompleteListener {
+        void onRegionsComplete(List<String> outputPaths);
+    }
+    
+    /**
+     * 다중 구간 자르기의 구간 정의
+     */
+    public static class TrimRegion {
+        public final long startTimeUs;
+        public final long endTimeUs;
+        public final String outputFileName;
+        
+        public TrimRegion(long startTimeUs, long endTimeUs, String outputFileName) {
+            this.startTimeUs = startTimeUs;
+            this.endTimeUs = endTimeUs;
+            this.outputFileName = outputFileName;
+        }
+    }
+    
+    /**
+     * 자르기 페이드 옵션 (페이드 구간 프레임만 재인코딩, 나머지는 stream copy)
+     */
+    public static class FadeOptions {
+        public static final FadeOptions NONE = new FadeOptions(0, 0);
+        
+        public final long fadeInMs;
+        public final long fadeOutMs;
+        
+        public FadeOptions(long fadeInMs, long fadeOutMs) {
+            this.fadeInMs = Math.max(0, fadeInMs);
+            this.fadeOutMs = Math.max(0, fadeOutMs);
+        }
+        
+        public boolean isEnabled() {
+            return fadeInMs > 0 || fadeOutMs > 0;
+        }
+        
+        @Override
+        public String toString() {
+            return "in " + fadeInMs + "ms / out " + fadeOutMs + "ms";
+        }
+    }
+    
     /**
      * 지원되는 오디오 출력 포맷 (기존 API 유지)
      */
@@ -89,11 +181,18 @@ public class NativeAudioTrimManager {
         public int getMuxerFormat() { return muxerFormat; }
     }
     
+    /**
+     * 자르기 방식
+     */
+    public enum TrimMode {
+        STREAM_COPY,  // sync 샘플 단위 복사 (가장 빠름, 경계가 최대 1 프레임 어긋남)
+        SMART         // 경계 프레임만 재인코딩하여 샘플 단위로 자름 (AAC 외 포맷은 STREAM_COPY로 폴백)
+    }
+    
     /**
      * 자르기 작업 상태 추적
      */
     private static class TrimState {
-        File tempInputFile;
         String outputPath;
         AudioFormat format;
         long startTimeUs;
@@ -114,9 +213,9 @@ public class NativeAudioTrimManager {
      * 서비스 초기화 (의존성 주입 가능하도록 분리)
      */
     private void initializeServices() {
-        executorService = Executors.newSingleThreadExecutor();
         mainHandler = new Handler(Looper.getMainLooper());
         processingEngine = new MediaProcessingEngine();
+        smartTrimRenderer = new SmartTrimRenderer(processingEngine);
     }
     
     public static synchronized NativeAudioTrimManager getInstance() {
@@ -129,6 +228,11 @@ public class NativeAudioTrimManager {
     public void init(Context context) {
         this.context = context.getApplicationContext();
         this.fileManager = new AudioFileManager(this.context);
+        
+        // init은 여러 번 호출될 수 있으므로 세션 캐시는 최초 1회만 생성 (캐시 유지)
+        if (sessionCache == null) {
+            sessionCache = new MediaSourceSessionCache(fileManager, processingEngine);
+        }
         LoggerManager.logger("NativeAudioTrimManager 초기화 완료 (리팩토링된 버전)");
     }
     
@@ -151,6 +255,14 @@ public class NativeAudioTrimManager {
         this.onErrorListener = listener;
     }
     
+    public void setOnRegionCompleteListener(OnRegionCompleteListener listener) {
+        this.onRegionCompleteListener = listener;
+    }
+    
+    public void setOnRegionsCompleteListener(OnRegionsCompleteListener listener) {
+        this.onRegionsCompleteListener = listener;
+    }
+    
     /**
      * 오디오 파일 자르기 (기존 API 유지)
      * @param sourceUri 원본 파일 URI
@@ -159,69 +271,353 @@ public class NativeAudioTrimManager {
      * @param outputFileName 출력 파일명
      */
     public void trimAudio(Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName) {
+        trimAudio(sourceUri, startTimeMs, endTimeMs, outputFileName, TrimMode.STREAM_COPY);
+    }
+    
+    /**
+     * 오디오 파일 자르기 (자르기 방식 지정)
+     * @param sourceUri 원본 파일 URI
+     * @param startTimeMs 시작 시간 (밀리초)
+     * @param endTimeMs 끝 시간 (밀리초)
+     * @param outputFileName 출력 파일명
+     * @param trimMode 자르기 방식
+     */
+    public void trimAudio(Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName,
+                          TrimMode trimMode) {
+        trimAudio(sourceUri, startTimeMs, endTimeMs, outputFileName, trimMode, FadeOptions.NONE);
+    }
+    
+    /**
+     * 오디오 파일 자르기 (자르기 방식 + 페이드 인/아웃)
+     * @param fadeOptions 페이드 옵션 (AAC 소스만 적용, 다른 포맷은 페이드 없이 stream copy)
+     */
+    public void trimAudio(Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName,
+                          TrimMode trimMode, FadeOptions fadeOptions) {
         LoggerManager.logger("==================== 🎵 AUDIO TRIM START ====================");
         LoggerManager.logger("📋 입력 파라미터:");
         LoggerManager.logger("   → 원본 URI: " + (sourceUri != null ? sourceUri.toString() : "NULL"));
         LoggerManager.logger("   → 시간 범위: " + startTimeMs + "ms ~ " + endTimeMs + "ms");
         LoggerManager.logger("   → 출력 파일명: " + (outputFileName != null ? outputFileName : "NULL"));
         LoggerManager.logger("   → 자르기 길이: " + (endTimeMs - startTimeMs) + "ms");
+        LoggerManager.logger("   → 자르기 방식: " + trimMode);
+        LoggerManager.logger("   → 페이드: " + fadeOptions);
         
+        legacyJobIds.add(MediaJobQueue.getInstance().enqueueTrim(
+            sourceUri, startTimeMs, endTimeMs, outputFileName, trimMode, fadeOptions, legacyJobListener));
+    }
+    
+    /**
+     * 자르기 작업 실행 (MediaJobQueue 작업 스레드에서 호출, 결과는 job으로 보고)
+     */
+    void runTrimJob(MediaJob job, Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName,
+                    TrimMode trimMode, FadeOptions fadeOptions) {
+        runSessionJob(job, sourceUri, "자르기",
+            () -> validateTrimParameters(sourceUri, startTimeMs, endTimeMs, outputFileName),
+            (session, optimalFormat) ->
+                performTrimming(session, startTimeMs * 1000, endTimeMs * 1000,
+                                outputFileName, optimalFormat, trimMode, fadeOptions, job));
+    }
+    
+    /**
+     * 오디오 파일 자르기 (비율 기반) (기존 API 유지)
+     */
+    public void trimAudioByRatio(Uri sourceUri, float startRatio, float endRatio, 
+                               long durationMs, String outputFileName) {
+        trimAudioByRatio(sourceUri, startRatio, endRatio, durationMs, outputFileName, TrimMode.STREAM_COPY);
+    }
+    
+    /**
+     * 오디오 파일 자르기 (비율 기반, 자르기 방식 지정)
+     */
+    public void trimAudioByRatio(Uri sourceUri, float startRatio, float endRatio, 
+                               long durationMs, String outputFileName, TrimMode trimMode) {
+        long startTimeMs = (long) (startRatio * durationMs);
+        long endTimeMs = (long) (endRatio * durationMs);
+        
+        trimAudio(sourceUri, startTimeMs, endTimeMs, outputFileName, trimMode);
+    }
+    
+    /**
+     * 구간 삭제 (역 자르기)
+     * [startTimeMs, endTimeMs] 구간을 제거하고 앞/뒤 부분을 stream copy로 한 파일에 이어 붙임
+     * 디코딩/인코딩 없이 뒤쪽 부분의 타임스탬프만 당겨서 연속되도록 함
+     * 앞부분은 startTimeMs 이전 샘플을 모두 남기고, 뒷부분은 endTimeMs 이상인 첫 sync 샘플부터 이어 붙임
+     * (sync 샘플 간격이 넓은 트랙은 endTimeMs 뒤의 소리가 다음 sync 샘플까지 함께 삭제될 수 있음)
+     * @param sourceUri 원본 파일 URI
+     * @param startTimeMs 삭제 시작 (밀리초)
+     * @param endTimeMs 삭제 끝 (밀리초)
+     * @param outputFileName 출력 파일명
+     */
+    public void cutOutAudio(Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName) {
+        LoggerManager.logger("==================== ✂️ AUDIO CUT-OUT START ====================");
+        LoggerManager.logger("   → 원본 URI: " + (sourceUri != null ? sourceUri.toString() : "NULL"));
+        LoggerManager.logger("   → 삭제 구간: " + startTimeMs + "ms ~ " + endTimeMs + "ms");
+        
+        legacyJobIds.add(MediaJobQueue.getInstance().enqueueCutOut(
+            sourceUri, startTimeMs, endTimeMs, outputFileName, legacyJobListener));
+    }
+    
+    /**
+     * 구간 삭제 작업 실행 (MediaJobQueue 작업 스레드에서 호출)
+     */
+    void runCutOutJob(MediaJob job, Uri sourceUri, long startTimeMs, long endTimeMs, String outputFileName) {
+        runSessionJob(job, sourceUri, "구간 삭제",
+            () -> validateTrimParameters(sourceUri, startTimeMs, endTimeMs, outputFileName),
+            (session, optimalFormat) ->
+                performCutOut(session, startTimeMs * 1000, endTimeMs * 1000, outputFileName, optimalFormat, job));
+    }
+    
+    /**
+     * 구간 삭제 (비율 기반)
+     */
+    public void cutOutAudioByRatio(Uri sourceUri, float startRatio, float endRatio,
+                                   long durationMs, String outputFileName) {
+        long startTimeMs = (long) (startRatio * durationMs);
+        long endTimeMs = (long) (endRatio * durationMs);
+        
+        cutOutAudio(sourceUri, startTimeMs, endTimeMs, outputFileName);
+    }
+    
+    /**
+     * 한 소스에서 여러 구간을 한 번의 순차 읽기로 내보내기 (stream copy)
+     * 구간마다 별도 MediaMuxer로 출력하며, 진행률은 전체 구간 기준 하나로 통합
+     * 구간 완료마다 OnRegionCompleteListener, 전체 완료 시 OnRegionsCompleteListener 호출
+     * @param sourceUri 원본 파일 URI
+     * @param regions 내보낼 구간 목록 (겹쳐도 됨)
+     */
+    public void trimAudioRegions(Uri sourceUri, List<TrimRegion> regions) {
+        LoggerManager.logger("==================== 🎵 MULTI-REGION TRIM START ====================");
+        LoggerManager.logger("   → 원본 URI: " + (sourceUri != null ? sourceUri.toString() : "NULL"));
+        LoggerManager.logger("   → 구간 수: " + (regions != null ? regions.size() : 0));
+        
+        legacyJobIds.add(MediaJobQueue.getInstance().enqueueRegions(sourceUri, regions, legacyJobListener));
+    }
+    
+    /**
+     * 다중 구간 자르기 작업 실행 (MediaJobQueue 작업 스레드에서 호출)
+     */
+    void runRegionsJob(MediaJob job, Uri sourceUri, List<TrimRegion> regions) {
+        runSessionJob(job, sourceUri, "다중 구간 자르기",
+            () -> {
+                if (regions == null || regions.isEmpty()) {
+                    throw new AudioTrimException(AudioTrimException.ErrorType.INVALID_TIME_RANGE,
+                        "구간 목록이 비어있습니다");
+                }
+                for (TrimRegion region : regions) {
+                    validateTrimParameters(sourceUri, region.startTimeUs / 1000, region.endTimeUs / 1000,
+                                           region.outputFileName);
+                }
+            },
+            (session, optimalFormat) -> performRegionTrimming(session, regions, optimalFormat, job));
+    }
+    
+    /**
+     * 작업 파라미터 검증
+     */
+    private interface ParameterCheck {
+        void check() throws AudioTrimException;
+    }
+    
+    /**
+     * 세션 기반 작업
+     */
+    private interface SessionTask {
+        void run(MediaSourceSession session, AudioFormat optimalFormat)
+            throws AudioTrimException, InterruptedException;
+    }
+    
+    /**
+     * 파라미터를 검증하고 소스 세션을 획득해 출력 포맷을 정한 뒤 작업 실행 (공통 오류 처리/세션 반환)
+     * 여러 작업이 동시에 실행될 수 있으며, 같은 소스라도 작업마다 별도 세션을 사용
+     * @param job 결과를 보고할 작업
+     * @param sourceUri 원본 URI
+     * @param taskName 로그/오류 메시지용 작업 이름
+     * @param parameterCheck 파라미터 검증
+     * @param task 실행할 작업
+     */
+    private void runSessionJob(MediaJob job, Uri sourceUri, String taskName,
+                               ParameterCheck parameterCheck, SessionTask task) {
+        MediaSourceSession session = null;
+        boolean reusable = false;
         try {
-            // 파라미터 검증
-            validateTrimParameters(sourceUri, startTimeMs, endTimeMs, outputFileName);
+            parameterCheck.check();
             
-            // 중복 실행 방지
-            if (isTrimming) {
-                throw new AudioTrimException(AudioTrimException.ErrorType.PROCESSING_INTERRUPTED,
-                    "다른 자르기 작업이 진행 중입니다");
-            }
+            // 소스 세션 획득 (한 번 열어 포맷 결정과 작업에 공유, 캐시 적중 시 즉시 시작)
+            session = sessionCache.acquire(sourceUri);
             
-            LoggerManager.logger("✅ 파라미터 검증 통과 - 자르기 작업 시작");
+            // 최적 포맷 결정
+            AudioFormat optimalFormat = determineOptimalOutputFormat(session);
+            LoggerManager.logger("🎯 선택된 출력 포맷: " + optimalFormat.name());
             
-            // ExecutorService 상태 확인
-            ensureExecutorServiceReady();
-            
-            currentTask = executorService.submit(() -> {
-                try {
-                    // 최적 포맷 결정
-                    AudioFormat optimalFormat = determineOptimalOutputFormat(sourceUri);
-                    LoggerManager.logger("🎯 선택된 출력 포맷: " + optimalFormat.name());
-                    
-                    // 자르기 수행
-                    performTrimming(sourceUri, startTimeMs * 1000, endTimeMs * 1000, 
-                                  outputFileName, optimalFormat);
-                    
-                } catch (AudioTrimException e) {
-                    LoggerManager.logger("❌ 자르기 실패: " + e.getFullErrorInfo());
-                    notifyError(e.getUserMessage());
-                    
-                } catch (InterruptedException e) {
-                    LoggerManager.logger("ℹ️ 자르기 작업 인터럽트");
-                    Thread.currentThread().interrupt();
-                    notifyError("자르기 작업이 취소되었습니다");
-                    
-                } catch (Exception e) {
-                    LoggerManager.logger("❌ 예상치 못한 오류: " + e.getMessage());
-                    AudioTrimException trimException = AudioTrimException.fromException(e);
-                    notifyError(trimException.getUserMessage());
-                }
-            });
+            task.run(session, optimalFormat);
+            reusable = true;
             
         } catch (AudioTrimException e) {
-            LoggerManager.logger("❌ 파라미터 검증 실패: " + e.getFullErrorInfo());
-            notifyError(e.getUserMessage());
+            LoggerManager.logger("❌ " + taskName + " 실패: " + e.getFullErrorInfo());
+            job.fail(e.getUserMessage());
+            
+        } catch (InterruptedException e) {
+            LoggerManager.logger("ℹ️ " + taskName + " 작업 인터럽트");
+            Thread.currentThread().interrupt();
+            job.fail(taskName + " 작업이 취소되었습니다");
+            
+        } catch (Exception e) {
+            LoggerManager.logger("❌ 예상치 못한 오류: " + e.getMessage());
+            AudioTrimException trimException = AudioTrimException.fromException(e);
+            job.fail(trimException.getUserMessage());
+            
+        } finally {
+            // 정상 완료된 세션만 캐시에 반환 (오류 시 extractor 상태를 신뢰할 수 없음)
+            if (reusable) {
+                sessionCache.release(session);
+            } else {
+                sessionCache.discard(session);
+            }
         }
     }
     
     /**
-     * 오디오 파일 자르기 (비율 기반) (기존 API 유지)
+     * 다중 구간 자르기 수행
      */
-    public void trimAudioByRatio(Uri sourceUri, float startRatio, float endRatio, 
-                               long durationMs, String outputFileName) {
-        long startTimeMs = (long) (startRatio * durationMs);
-        long endTimeMs = (long) (endRatio * durationMs);
+    private void performRegionTrimming(MediaSourceSession session, List<TrimRegion> regions, AudioFormat format,
+                                       MediaJob job) throws AudioTrimException, InterruptedException {
+        int regionCount = regions.size();
+        long[] startTimesUs = new long[regionCount];
+        long[] endTimesUs = new long[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            startTimesUs[i] = regions.get(i).startTimeUs;
+            endTimesUs[i] = regions.get(i).endTimeUs;
+        }
+        
+        RegionMuxerSink sink = new RegionMuxerSink(session, regions, format);
+        try {
+            boolean allSucceeded = processingEngine.copyRegions(session, startTimesUs, endTimesUs,
+                                                                sink, job::reportProgress);
+            List<String> completed = sink.completedPaths();
+            if (completed.isEmpty()) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_MUXER_FAILED,
+                    "모든 구간 자르기 실패 (" + regionCount + "개)");
+            }
+            if (!allSucceeded) {
+                LoggerManager.logger("⚠️ 일부 구간 실패 - 성공 " + completed.size() + "/" + regionCount);
+            }
+            
+            notifyRegionsCompletion(completed);
+            job.complete(null);
+            
+        } finally {
+            sink.releaseAll();
+        }
+    }
+    
+    /**
+     * 구간마다 MediaMuxer를 열고 닫는 출력 대상
+     */
+    private class RegionMuxerSink implements MediaProcessingEngine.RegionSink {
+        private final MediaSourceSession session;
+        private final List<TrimRegion> regions;
+        private final AudioFormat format;
+        private final MediaMuxer[] muxers;
+        private final String[] completedPaths;
+        // 검증까지 마친 구간
+        private final boolean[] succeeded;
+        
+        RegionMuxerSink(MediaSourceSession session, List<TrimRegion> regions, AudioFormat format) {
+            this.session = session;
+            this.regions = regions;
+            this.format = format;
+            this.muxers = new MediaMuxer[regions.size()];
+            this.completedPaths = new String[regions.size()];
+            this.succeeded = new boolean[regions.size()];
+        }
+        
+        @Override
+        public int open(int regionIndex) throws IOException, AudioTrimException {
+            String outputPath = fileManager.createOutputPath(regions.get(regionIndex).outputFileName, format);
+            if (outputPath == null) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.OUTPUT_PATH_INVALID,
+                    "출력 경로 생성 실패: " + regions.get(regionIndex).outputFileName);
+            }
+            
+            completedPaths[regionIndex] = outputPath;
+            MediaMuxer muxer = new MediaMuxer(outputPath, format.getMuxerFormat());
+            muxers[regionIndex] = muxer;
+            
+            int trackIndex = processingEngine.addTrackWithCompatibilityCheck(muxer, session, format);
+            if (trackIndex < 0) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.TRACK_FORMAT_INCOMPATIBLE,
+                    "트랙 추가 실패");
+            }
+            muxer.start();
+            
+            LoggerManager.logger("📂 구간 " + regionIndex + " 출력 시작: " + outputPath);
+            return trackIndex;
+        }
+        
+        @Override
+        public void write(int regionIndex, int trackIndex, ByteBuffer buffer, MediaCodec.BufferInfo info) {
+            muxers[regionIndex].writeSampleData(trackIndex, buffer, info);
+        }
+        
+        @Override
+        public void finish(int regionIndex, boolean success) {
+            MediaMuxer muxer = muxers[regionIndex];
+            muxers[regionIndex] = null;
+            cleanupResources(muxer);
+            
+            String outputPath = completedPaths[regionIndex];
+            if (success && outputPath != null) {
+                if (format == AudioFormat.M4A) {
+                    FastStartRewriter.optimize(outputPath);
+                }
+                try {
+                    validateOutputFile(outputPath);
+                    succeeded[regionIndex] = true;
+                    LoggerManager.logger("✅ 구간 " + regionIndex + " 완료: " + outputPath);
+                    notifyRegionCompletion(regionIndex, outputPath);
+                    return;
+                } catch (AudioTrimException e) {
+                    LoggerManager.logger("❌ 구간 " + regionIndex + " 검증 실패: " + e.getMessage());
+                }
+            }
+            
+            deleteIncompleteOutput(regionIndex);
+            notifyError("구간 " + (regionIndex + 1) + " 자르기에 실패했습니다");
+        }
+        
+        /**
+         * 완료되지 않은 구간의 출력 파일 삭제 (만들다 만 파일이 출력 폴더에 남지 않도록)
+         */
+        private void deleteIncompleteOutput(int regionIndex) {
+            String outputPath = completedPaths[regionIndex];
+            completedPaths[regionIndex] = null;
+            if (outputPath != null && new File(outputPath).delete()) {
+                LoggerManager.logger("🗑️ 실패한 구간 " + regionIndex + " 출력 삭제: " + outputPath);
+            }
+        }
+        
+        List<String> completedPaths() {
+            List<String> paths = new ArrayList<>();
+            for (String path : completedPaths) {
+                if (path != null) {
+                    paths.add(path);
+                }
+            }
+            return Collections.unmodifiableList(paths);
+        }
         
-        trimAudio(sourceUri, startTimeMs, endTimeMs, outputFileName);
+        /**
+         * 아직 열려 있는 구간(취소/오류로 끝나지 않은 구간)을 닫고 완료되지 않은 출력은 삭제
+         */
+        void releaseAll() {
+            for (int i = 0; i < muxers.length; i++) {
+                cleanupResources(muxers[i]);
+                muxers[i] = null;
+                if (!succeeded[i]) {
+                    deleteIncompleteOutput(i);
+                }
+            }
+        }
     }
     
     /**
@@ -251,61 +647,29 @@ public class NativeAudioTrimManager {
     }
     
     /**
-     * 최적 출력 포맷 결정
+     * 최적 출력 포맷 결정 (세션이 이미 분석한 포맷 사용 - 추가 복사/extractor 없음)
      */
-    private AudioFormat determineOptimalOutputFormat(Uri sourceUri) throws AudioTrimException {
+    private AudioFormat determineOptimalOutputFormat(MediaSourceSession session) {
         LoggerManager.logger("🔍 입력 포맷 분석 시작");
         
-        File tempFile = null;
-        MediaExtractor analyzer = null;
+        String inputMime = session.getMime();
         
-        try {
-            // 임시 파일 생성
-            tempFile = fileManager.createTempFileFromUri(sourceUri);
-            if (tempFile == null) {
-                LoggerManager.logger("⚠️ 임시 파일 생성 실패 - 기본 M4A 포맷 사용");
-                return AudioFormat.M4A;
-            }
-            
-            // MediaExtractor로 포맷 분석
-            analyzer = new MediaExtractor();
-            analyzer.setDataSource(tempFile.getAbsolutePath());
-            
-            int audioTrackIndex = processingEngine.findAudioTrack(analyzer);
-            if (audioTrackIndex < 0) {
-                throw new AudioTrimException(AudioTrimException.ErrorType.AUDIO_TRACK_NOT_FOUND);
-            }
-            
-            MediaFormat audioFormat = analyzer.getTrackFormat(audioTrackIndex);
-            String inputMime = audioFormat.getString(MediaFormat.KEY_MIME);
-            
-            // 입력 포맷에 따른 최적 출력 포맷 선택
-            AudioFormat selectedFormat = selectOptimalFormat(inputMime);
-            
-            LoggerManager.logger("✅ 포맷 분석 완료");
-            LoggerManager.logger("   → 입력 MIME: " + inputMime);
-            LoggerManager.logger("   → 선택된 포맷: " + selectedFormat.name());
-            LoggerManager.logger("   → 선택 이유: " + getFormatSelectionReason(inputMime, selectedFormat));
-            
-            return selectedFormat;
-            
-        } catch (IOException e) {
-            throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_EXTRACTOR_FAILED, 
-                "포맷 분석 실패", e);
-        } finally {
-            // 리소스 정리
-            if (analyzer != null) {
-                try {
-                    analyzer.release();
-                } catch (Exception e) {
-                    LoggerManager.logger("⚠️ MediaExtractor 정리 실패: " + e.getMessage());
-                }
-            }
-            
-            if (tempFile != null) {
-                fileManager.cleanupTempFile(tempFile);
-            }
-        }
+        // 입력 포맷에 따른 최적 출력 포맷 선택
+        AudioFormat selectedFormat = selectOptimalFormat(session);
+        
+        LoggerManager.logger("✅ 포맷 분석 완료");
+        LoggerManager.logger("   → 입력 MIME: " + inputMime);
+        LoggerManager.logger("   → 선택된 포맷: " + selectedFormat.name());
+        LoggerManager.logger("   → 선택 이유: " + getFormatSelectionReason(inputMime, selectedFormat));
+        
+        return selectedFormat;
+    }
+    
+    /**
+     * 세션의 오디오 트랙 MIME 타입에 따른 최적 포맷 선택
+     */
+    private AudioFormat selectOptimalFormat(MediaSourceSession session) {
+        return selectOptimalFormat(session != null ? session.getMime() : null);
     }
     
     /**
@@ -353,52 +717,43 @@ public class NativeAudioTrimManager {
     }
     
     /**
-     * 실제 자르기 수행 (리팩토링된 버전)
+     * 실제 자르기 수행 (세션 기반)
      */
-    private void performTrimming(Uri sourceUri, long startTimeUs, long endTimeUs, 
-                               String outputFileName, AudioFormat format) 
-                               throws AudioTrimException, InterruptedException {
+    private void performTrimming(MediaSourceSession session, long startTimeUs, long endTimeUs, 
+                               String outputFileName, AudioFormat format, TrimMode trimMode,
+                               FadeOptions fadeOptions, MediaJob job) throws AudioTrimException, InterruptedException {
         
         LoggerManager.logger("🔧 === 자르기 수행 시작 ===");
         
         TrimState state = new TrimState(format, startTimeUs, endTimeUs);
-        MediaExtractor extractor = null;
         MediaMuxer muxer = null;
         
         try {
-            isTrimming = true;
-            notifyStart();
-            
-            // STEP 1: 임시 입력 파일 생성
-            state.tempInputFile = fileManager.createTempFileFromUri(sourceUri);
-            if (state.tempInputFile == null) {
-                throw new AudioTrimException(AudioTrimException.ErrorType.FILE_ACCESS_DENIED,
-                    "임시 입력 파일 생성 실패");
-            }
-            
-            // STEP 2: 출력 경로 생성
+            // STEP 1: 출력 경로 생성
             state.outputPath = fileManager.createOutputPath(outputFileName, format);
             if (state.outputPath == null) {
                 throw new AudioTrimException(AudioTrimException.ErrorType.OUTPUT_PATH_INVALID,
                     "출력 경로 생성 실패");
             }
             
-            // STEP 3: MediaExtractor 설정
-            extractor = new MediaExtractor();
-            extractor.setDataSource(state.tempInputFile.getAbsolutePath());
-            
-            int audioTrackIndex = processingEngine.findAudioTrack(extractor);
-            if (audioTrackIndex < 0) {
-                throw new AudioTrimException(AudioTrimException.ErrorType.AUDIO_TRACK_NOT_FOUND);
+            // STEP 2: 스마트 자르기/페이드면 경계·페이드 프레임을 먼저 재인코딩 (원본과 호환되지 않으면 null → stream copy)
+            boolean fade = fadeOptions != null && fadeOptions.isEnabled();
+            SmartTrimRenderer.Plan smartPlan = null;
+            if ((trimMode == TrimMode.SMART || fade) && format == AudioFormat.M4A) {
+                smartPlan = fade
+                    ? smartTrimRenderer.prepare(session, startTimeUs, endTimeUs,
+                                                fadeOptions.fadeInMs * 1000, fadeOptions.fadeOutMs * 1000)
+                    : smartTrimRenderer.prepare(session, startTimeUs, endTimeUs);
+            }
+            if (fade && smartPlan == null) {
+                LoggerManager.logger("⚠️ 페이드를 적용할 수 없는 소스 - 페이드 없이 stream copy: " + session.getMime());
             }
             
-            MediaFormat audioFormat = extractor.getTrackFormat(audioTrackIndex);
-            
-            // STEP 4: MediaMuxer 설정
+            // STEP 3: MediaMuxer 설정 (세션의 오디오 포맷 사용)
             muxer = new MediaMuxer(state.outputPath, format.getMuxerFormat());
             
             int muxerTrackIndex = processingEngine.addTrackWithCompatibilityCheck(
-                muxer, audioFormat, format);
+                muxer, session, format);
             
             if (muxerTrackIndex < 0) {
                 throw new AudioTrimException(AudioTrimException.ErrorType.TRACK_FORMAT_INCOMPATIBLE,
@@ -407,33 +762,155 @@ public class NativeAudioTrimManager {
             
             muxer.start();
             
-            // STEP 5: 자르기 및 복사 수행
-            boolean success = processingEngine.trimAndCopyAudioTrack(
-                extractor, muxer, audioTrackIndex, muxerTrackIndex,
-                startTimeUs, endTimeUs, this::updateTrimProgress);
+            // STEP 4: 자르기 및 복사 수행
+            boolean success;
+            if (smartPlan != null) {
+                success = smartTrimRenderer.write(smartPlan, session, muxer, muxerTrackIndex,
+                                                  job::reportProgress);
+            } else {
+                success = processingEngine.trimAndCopyAudioTrack(
+                    session, muxer, muxerTrackIndex,
+                    startTimeUs, endTimeUs, job::reportProgress);
+            }
             
             if (!success) {
                 throw new AudioTrimException(AudioTrimException.ErrorType.PROCESSING_INTERRUPTED,
                     "오디오 복사 실패");
             }
             
+            // muxer를 닫아야 moov가 기록되므로 검증 전에 정리
+            cleanupResources(muxer);
+            muxer = null;
+            
             LoggerManager.logger("🎉 자르기 프로세스 성공적으로 완료!");
             LoggerManager.logger("   → 최종 출력 파일: " + state.outputPath);
             
+            if (format == AudioFormat.M4A) {
+                FastStartRewriter.optimize(state.outputPath);
+            }
+            
             // 최종 파일 검증
             validateOutputFile(state.outputPath);
             
-            notifyCompletion(state.outputPath);
+            job.complete(state.outputPath);
             
         } catch (IOException e) {
             throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_MUXER_FAILED,
                 "미디어 처리 실패", e);
             
         } finally {
-            isTrimming = false;
+            // 리소스 정리 (extractor는 세션 소유이므로 muxer만 정리)
+            cleanupResources(muxer);
+        }
+    }
+    
+    /**
+     * 구간 삭제 수행 (앞부분 복사 → 뒷부분을 삭제 길이만큼 당겨 복사)
+     */
+    private void performCutOut(MediaSourceSession session, long cutStartUs, long cutEndUs,
+                               String outputFileName, AudioFormat format, MediaJob job)
+                               throws AudioTrimException, InterruptedException {
+        
+        // 앞부분: cutStart 이전 샘플 전부 (경계 = cutStart 이상인 첫 샘플 시간)
+        long headEndUs = findFirstSampleAtOrAfter(session, cutStartUs);
+        // 뒷부분: cutEnd 이상인 첫 sync 샘플부터 (stream copy는 sync 샘플에서만 시작 가능)
+        long tailStartUs = session.findSyncSampleAtOrAfter(cutEndUs);
+        
+        boolean hasHead = headEndUs > 0;
+        boolean hasTail = tailStartUs >= 0;
+        if (!hasHead && !hasTail) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.INVALID_TIME_RANGE,
+                "전체 구간을 삭제할 수 없습니다");
+        }
+        
+        long removedUs = hasTail ? tailStartUs - headEndUs : 0;
+        long sourceEndUs = session.getDurationUs() > 0 ? session.getDurationUs() + 1 : Long.MAX_VALUE;
+        long totalUs = session.getDurationUs() > 0 ? session.getDurationUs() - removedUs : 0;
+        
+        LoggerManager.logger("✂️ 구간 삭제: 앞 0~" + (headEndUs / 1000) + "ms, 뒤 "
+            + (hasTail ? (tailStartUs / 1000) + "ms~" : "없음") + " (제거 " + (removedUs / 1000) + "ms)");
+        
+        String outputPath = null;
+        MediaMuxer muxer = null;
+        
+        try {
+            outputPath = fileManager.createOutputPath(outputFileName, format);
+            if (outputPath == null) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.OUTPUT_PATH_INVALID,
+                    "출력 경로 생성 실패");
+            }
+            
+            muxer = new MediaMuxer(outputPath, format.getMuxerFormat());
+            int muxerTrackIndex = processingEngine.addTrackWithCompatibilityCheck(muxer, session, format);
+            if (muxerTrackIndex < 0) {
+                throw new AudioTrimException(AudioTrimException.ErrorType.TRACK_FORMAT_INCOMPATIBLE,
+                    "트랙 추가 실패");
+            }
+            muxer.start();
+            
+            if (hasHead) {
+                boolean copied = processingEngine.copySamplesRebased(session, muxer, muxerTrackIndex,
+                    0, headEndUs, 0, (processedUs, partUs) -> job.reportProgress(processedUs, totalUs));
+                if (!copied) {
+                    throw new AudioTrimException(AudioTrimException.ErrorType.PROCESSING_INTERRUPTED,
+                        "앞부분 복사 실패");
+                }
+            }
+            
+            if (hasTail) {
+                // 뒷부분 첫 샘플이 앞부분 마지막 샘플 바로 다음 시간에 오도록 당김
+                boolean copied = processingEngine.copySamplesRebased(session, muxer, muxerTrackIndex,
+                    tailStartUs, sourceEndUs, removedUs,
+                    (processedUs, partUs) -> job.reportProgress(headEndUs + processedUs, totalUs));
+                if (!copied) {
+                    throw new AudioTrimException(AudioTrimException.ErrorType.PROCESSING_INTERRUPTED,
+                        "뒷부분 복사 실패");
+                }
+            }
+            
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("구간 삭제 취소");
+            }
+            
+            cleanupResources(muxer);
+            muxer = null;
+            
+            if (format == AudioFormat.M4A) {
+                FastStartRewriter.optimize(outputPath);
+            }
+            validateOutputFile(outputPath);
+            LoggerManager.logger("🎉 구간 삭제 완료: " + outputPath);
+            job.complete(outputPath);
             
-            // 리소스 정리 (try-with-resources 스타일)
-            cleanupResources(extractor, muxer, state.tempInputFile);
+        } catch (IOException e) {
+            throw new AudioTrimException(AudioTrimException.ErrorType.MEDIA_MUXER_FAILED,
+                "미디어 처리 실패", e);
+            
+        } finally {
+            cleanupResources(muxer);
+        }
+    }
+    
+    /**
+     * timeUs 이상인 첫 샘플 시간 (sync 여부 무관), 없으면 소스 끝 다음 시간
+     */
+    private long findFirstSampleAtOrAfter(MediaSourceSession session, long timeUs) {
+        MediaExtractor extractor = session.getExtractor();
+        extractor.seekTo(timeUs, MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+        
+        long lastSampleTime = -1;
+        while (true) {
+            long sampleTime = extractor.getSampleTime();
+            if (sampleTime < 0) {
+                return lastSampleTime < 0 ? timeUs : lastSampleTime + 1;
+            }
+            if (sampleTime >= timeUs) {
+                return sampleTime;
+            }
+            lastSampleTime = sampleTime;
+            if (!extractor.advance()) {
+                return lastSampleTime + 1;
+            }
         }
     }
     
@@ -460,15 +937,7 @@ public class NativeAudioTrimManager {
     /**
      * 리소스 정리 (개선된 버전)
      */
-    private void cleanupResources(MediaExtractor extractor, MediaMuxer muxer, File tempFile) {
-        if (extractor != null) {
-            try {
-                extractor.release();
-            } catch (Exception e) {
-                LoggerManager.logger("⚠️ MediaExtractor 정리 실패: " + e.getMessage());
-            }
-        }
-        
+    private void cleanupResources(MediaMuxer muxer) {
         if (muxer != null) {
             try {
                 muxer.stop();
@@ -482,57 +951,20 @@ public class NativeAudioTrimManager {
                 LoggerManager.logger("⚠️ MediaMuxer 정리 실패: " + e.getMessage());
             }
         }
-        
-        if (tempFile != null) {
-            fileManager.cleanupTempFile(tempFile);
-        }
-    }
-    
-    /**
-     * ExecutorService 상태 확인 및 재생성
-     */
-    private synchronized void ensureExecutorServiceReady() {
-        if (executorService == null || executorService.isShutdown() || executorService.isTerminated()) {
-            String previousState = executorService == null ? "null" : 
-                                 executorService.isShutdown() ? "shutdown" : "terminated";
-            LoggerManager.logger("🔄 ExecutorService 재생성 - 이전 상태: " + previousState);
-            executorService = Executors.newSingleThreadExecutor();
-            LoggerManager.logger("✅ 새로운 ExecutorService 생성 완료");
-        }
-    }
-    
-    /**
-     * 진행률 업데이트
-     */
-    private void updateTrimProgress(long processedUs, long totalUs) {
-        if (totalUs > 0) {
-            int progress = (int) ((processedUs * 100) / totalUs);
-            progress = Math.max(0, Math.min(100, progress)); // 0-100 범위로 제한
-            
-            // UI 스레드에서 콜백 실행
-            final int finalProgress = progress;
-            mainHandler.post(() -> notifyProgress(finalProgress));
-        }
     }
     
     /**
      * 콜백 알림 메서드들 (기존 API 유지)
      */
-    private void notifyStart() {
-        if (onStartListener != null) {
-            mainHandler.post(() -> onStartListener.onTrimStart());
+    private void notifyRegionCompletion(int regionIndex, String outputPath) {
+        if (onRegionCompleteListener != null) {
+            mainHandler.post(() -> onRegionCompleteListener.onRegionComplete(regionIndex, outputPath));
         }
     }
     
-    private void notifyProgress(int progress) {
-        if (onProgressListener != null) {
-            onProgressListener.onTrimProgress(progress);
-        }
-    }
-    
-    private void notifyCompletion(String outputPath) {
-        if (onCompletionListener != null) {
-            mainHandler.post(() -> onCompletionListener.onTrimComplete(outputPath));
+    private void notifyRegionsCompletion(List<String> outputPaths) {
+        if (onRegionsCompleteListener != null) {
+            mainHandler.post(() -> onRegionsCompleteListener.onRegionsComplete(outputPaths));
         }
     }
     
@@ -546,10 +978,12 @@ public class NativeAudioTrimManager {
      * 현재 작업 취소 (기존 API 유지)
      */
     public void cancelCurrentTask() {
-        if (currentTask != null && !currentTask.isDone()) {
-            LoggerManager.logger("🚫 현재 자르기 작업 취소 요청");
-            currentTask.cancel(true);
+        for (Long jobId : legacyJobIds) {
+            if (MediaJobQueue.getInstance().cancel(jobId)) {
+                LoggerManager.logger("🚫 자르기 작업 #" + jobId + " 취소 요청");
+            }
         }
+        legacyJobIds.clear();
     }
     
     /**
@@ -576,7 +1010,9 @@ public class NativeAudioTrimManager {
     }
     
     public boolean isTrimming() {
-        return isTrimming;
+        MediaJobQueue queue = MediaJobQueue.getInstance();
+        legacyJobIds.removeIf(jobId -> !queue.isActive(jobId));
+        return !legacyJobIds.isEmpty();
     }
     
     public void cleanup() {
@@ -591,10 +1027,8 @@ public class NativeAudioTrimManager {
         
         cancelCurrentTask();
         
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
+        if (sessionCache != null) {
+            sessionCache.clear();
         }
-        
-        isTrimming = false;
     }
 }
\ No newline at end of file
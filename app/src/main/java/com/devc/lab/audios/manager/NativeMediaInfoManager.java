@@ -1,6 +1,8 @@
 package com.devc.lab.audios.manager;
 
 import android.content.Context;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
 import android.media.MediaMetadataRetriever;
 import android.net.Uri;
 
@@ -224,6 +226,38 @@ public class NativeMediaInfoManager {
         }
     }
     
+    /**
+     * 첫 오디오 트랙의 채널 수 (MediaMetadataRetriever는 채널 수를 주지 않으므로 MediaExtractor로 조회)
+     * 컨테이너 헤더만 읽으므로 빠르지만 I/O가 있으니 메인 스레드에서는 호출하지 말 것
+     * @param uri 미디어 파일 URI
+     * @return 채널 수, 오디오 트랙이 없거나 실패 시 0
+     */
+    public int getAudioChannelCount(Uri uri) {
+        if (uri == null || context == null) {
+            return 0;
+        }
+        
+        MediaExtractor extractor = new MediaExtractor();
+        try {
+            extractor.setDataSource(context, uri, null);
+            for (int i = 0; i < extractor.getTrackCount(); i++) {
+                MediaFormat format = extractor.getTrackFormat(i);
+                String mime = format.getString(MediaFormat.KEY_MIME);
+                if (mime != null && mime.startsWith("audio/") && format.containsKey(MediaFormat.KEY_CHANNEL_COUNT)) {
+                    return format.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                }
+            }
+            return 0;
+            
+        } catch (Exception e) {
+            LoggerManager.logger("오디오 채널 수 조회 실패: " + e.getMessage());
+            return 0;
+            
+        } finally {
+            extractor.release();
+        }
+    }
+    
     /**
      * 비동기로 미디어 정보 추출 (파일 경로)
      * @param filePath 미디어 파일 경로
@@ -0,0 +1,244 @@
+package com.devc.lab.audios.manager;
+
+/**
+ * PCM 포맷 변환기 (채널 수 + 샘플레이트)
+ * 16bit interleaved PCM을 청크 단위로 받아 목표 채널/샘플레이트로 변환
+ * 채널 변환은 ChannelMix 행렬 (5.1 → 스테레오 다운믹스, 채널 선택 등), 라우드니스 평준화 gain도 같은 단계에서 적용
+ * 샘플레이트 변환은 PolyphaseResampler(windowed-sinc)로, 지원하지 않는 비율만 청크 경계를 넘어 상태를 유지하는 선형 보간
+ */
+public class PcmFormatAdapter {
+
+    private final int inputRate;
+    private final int inputChannels;
+    private final int outputRate;
+    private final int outputChannels;
+    private final double step;
+    // [출력 채널][입력 채널] (채널 수가 같으면 null - 그대로 복사)
+    private final float[][] mixMatrix;
+    // 표준 샘플레이트 사이 변환 (null이면 선형 보간)
+    private final PolyphaseResampler resampler;
+    // 선형 gain (1이면 적용하지 않음, 16bit 범위를 넘으면 clamp)
+    private float gain = 1f;
+
+    // 채널 변환된 직전 청크의 마지막 프레임 (보간용)
+    private final float[] carry;
+    private boolean hasCarry = false;
+    // 다음 출력 프레임의 입력 스트림상 위치 (carry 프레임 = 0 기준)
+    private double nextPosition = 0;
+
+    private float[] mapped = new float[0];
+    private float[] resampled = new float[0];
+    private short[] output = new short[0];
+
+    public PcmFormatAdapter(int inputRate, int inputChannels, int outputRate, int outputChannels) {
+        this(inputRate, inputChannels, outputRate, outputChannels, ChannelMix.SOURCE);
+    }
+
+    /**
+     * @param channelMix 채널 구성 (출력 채널 수는 호출자가 channelMix.resolveChannels로 정함)
+     */
+    public PcmFormatAdapter(int inputRate, int inputChannels, int outputRate, int outputChannels,
+                            ChannelMix channelMix) {
+        this.inputRate = inputRate;
+        this.inputChannels = inputChannels;
+        this.outputRate = outputRate;
+        this.outputChannels = outputChannels;
+        this.step = (double) inputRate / outputRate;
+        this.carry = new float[outputChannels];
+        boolean selectsChannel = (channelMix == ChannelMix.LEFT || channelMix == ChannelMix.RIGHT)
+            && inputChannels > 1;
+        this.mixMatrix = inputChannels == outputChannels && !selectsChannel
+            ? null : channelMix.createMatrix(inputChannels, outputChannels);
+        this.resampler = inputRate != outputRate && PolyphaseResampler.isSupported(inputRate, outputRate)
+            ? new PolyphaseResampler(inputRate, outputRate, outputChannels) : null;
+    }
+
+    /**
+     * 선형 gain 설정 (첫 process 호출 전에)
+     */
+    public void setGain(float gain) {
+        this.gain = gain;
+    }
+
+    public float getGain() {
+        return gain;
+    }
+
+    /**
+     * 변환이 필요 없는 경우인지 여부
+     */
+    public boolean isPassthrough() {
+        return inputRate == outputRate && mixMatrix == null && gain == 1f;
+    }
+
+    /**
+     * 입력 청크 변환
+     * @param input interleaved 16bit PCM
+     * @param frames 입력 프레임 수 (채널 묶음 단위)
+     * @return 출력 프레임 수 (결과는 getOutput()의 앞부분)
+     */
+    public int process(short[] input, int frames) {
+        if (isPassthrough()) {
+            ensureOutput(frames);
+            System.arraycopy(input, 0, output, 0, frames * inputChannels);
+            return frames;
+        }
+
+        mapChannels(input, frames);
+
+        if (inputRate == outputRate) {
+            ensureOutput(frames);
+            for (int i = 0; i < frames * outputChannels; i++) {
+                output[i] = clamp(mapped[i]);
+            }
+            return frames;
+        }
+
+        if (resampler != null) {
+            ensureResampled(resampler.getMaxOutputFrames(frames));
+            return toOutput(resampler.process(mapped, 0, frames, resampled, 0));
+        }
+        return resample(frames, false);
+    }
+
+    /**
+     * 스트림 끝 처리 (보간 대기 중인 마지막 프레임 출력)
+     * @return 출력 프레임 수
+     */
+    public int flush() {
+        if (isPassthrough() || inputRate == outputRate) {
+            return 0;
+        }
+        if (resampler != null) {
+            ensureResampled(resampler.getMaxOutputFrames(0));
+            return toOutput(resampler.flush(resampled, 0));
+        }
+        if (!hasCarry) {
+            return 0;
+        }
+        return resample(0, true);
+    }
+
+    /**
+     * 마지막 process/flush 결과 버퍼 (다음 호출 시 덮어씀)
+     */
+    public short[] getOutput() {
+        return output;
+    }
+
+    public int getInputChannelCount() {
+        return inputChannels;
+    }
+
+    public int getOutputChannels() {
+        return outputChannels;
+    }
+
+    public int getOutputRate() {
+        return outputRate;
+    }
+
+    private void mapChannels(short[] input, int frames) {
+        int size = frames * outputChannels;
+        if (mapped.length < size) {
+            mapped = new float[size];
+        }
+
+        if (mixMatrix == null) {
+            for (int i = 0; i < size; i++) {
+                mapped[i] = input[i] * gain;
+            }
+            return;
+        }
+
+        for (int f = 0; f < frames; f++) {
+            int in = f * inputChannels;
+            int out = f * outputChannels;
+            for (int c = 0; c < outputChannels; c++) {
+                float[] gains = mixMatrix[c];
+                float sum = 0;
+                for (int k = 0; k < inputChannels; k++) {
+                    sum += gains[k] * input[in + k];
+                }
+                mapped[out + c] = sum * gain;
+            }
+        }
+    }
+
+    /**
+     * 선형 보간 리샘플링 (PolyphaseResampler가 지원하지 않는 비율)
+     * 보간 위치 p는 carry 프레임(직전 청크 마지막)을 0, 이번 청크 첫 프레임을 1로 하는 좌표
+     */
+    private int resample(int frames, boolean flushing) {
+        int base = hasCarry ? 1 : 0;
+        int available = base + frames;           // carry 포함 사용 가능한 프레임 수
+        int lastIndex = available - 1;
+
+        int estimate = (int) Math.ceil((available + 1) / step) + 1;
+        ensureOutput(estimate);
+
+        int produced = 0;
+        while (true) {
+            int index = (int) Math.floor(nextPosition);
+            if (index > lastIndex || (!flushing && index + 1 > lastIndex)) {
+                break;
+            }
+            double frac = nextPosition - index;
+            int out = produced * outputChannels;
+            for (int c = 0; c < outputChannels; c++) {
+                float a = frameSample(index, c, base);
+                float b = index + 1 <= lastIndex ? frameSample(index + 1, c, base) : a;
+                output[out + c] = clamp((float) (a + (b - a) * frac));
+            }
+            produced++;
+            nextPosition += step;
+        }
+
+        if (frames > 0) {
+            System.arraycopy(mapped, (frames - 1) * outputChannels, carry, 0, outputChannels);
+            // 좌표 이동: 새 carry 프레임이 0
+            nextPosition -= lastIndex;
+            hasCarry = true;
+        }
+        if (flushing) {
+            hasCarry = false;
+            nextPosition = 0;
+        }
+        return produced;
+    }
+
+    private int toOutput(int frames) {
+        ensureOutput(frames);
+        for (int i = 0; i < frames * outputChannels; i++) {
+            output[i] = clamp(resampled[i]);
+        }
+        return frames;
+    }
+
+    private void ensureResampled(int frames) {
+        int size = frames * outputChannels;
+        if (resampled.length < size) {
+            resampled = new float[size];
+        }
+    }
+
+    private float frameSample(int index, int channel, int base) {
+        if (index < base) {
+            return carry[channel];
+        }
+        return mapped[(index - base) * outputChannels + channel];
+    }
+
+    private void ensureOutput(int frames) {
+        int size = frames * outputChannels;
+        if (output.length < size) {
+            output = new short[size];
+        }
+    }
+
+    private static short clamp(float value) {
+        if (value > Short.MAX_VALUE) return Short.MAX_VALUE;
+        if (value < Short.MIN_VALUE) return Short.MIN_VALUE;
+        return (short) Math.round(value);
+    }
+}
@@ -0,0 +1,219 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.List;
+
+/**
+ * 구간 PCM 디코더
+ * 압축 오디오의 짧은 구간만 MediaCodec으로 디코딩하여 16bit interleaved PCM으로 반환
+ * 스마트 자르기 경계 프레임, 코덱 지연 측정 등 전체 트랜스코딩이 필요 없는 작업에 사용
+ */
+public class PcmRangeDecoder {
+
+    // MDCT overlap 워밍업을 위해 요청 구간 앞에서 미리 디코딩할 길이
+    private static final long PREROLL_US = 100_000;
+    private static final long CODEC_TIMEOUT_US = 10_000;
+
+    /**
+     * 디코딩된 PCM 블록
+     * samples[0]이 startUs 시점의 첫 샘플 (interleaved)
+     */
+    public static class PcmBlock {
+        public final short[] samples;
+        public final int frameCount;
+        public final int channelCount;
+        public final int sampleRate;
+        public final long startUs;
+
+        PcmBlock(short[] samples, int frameCount, int channelCount, int sampleRate, long startUs) {
+            this.samples = samples;
+            this.frameCount = frameCount;
+            this.channelCount = channelCount;
+            this.sampleRate = sampleRate;
+            this.startUs = startUs;
+        }
+
+        /**
+         * 시간(마이크로초)을 블록 내 프레임 인덱스로 변환
+         */
+        public int frameIndexOf(long timeUs) {
+            return (int) Math.round((timeUs - startUs) * (double) sampleRate / 1_000_000d);
+        }
+    }
+
+    /**
+     * 디코더 입력 공급자
+     */
+    private interface InputFeeder {
+        /**
+         * @param buffer 디코더 입력 버퍼
+         * @param ptsHolder [0]에 샘플 시간 기록
+         * @return 기록한 바이트 수, 입력 끝이면 -1
+         */
+        int fill(ByteBuffer buffer, long[] ptsHolder);
+    }
+
+    private final MediaFormat inputFormat;
+
+    /**
+     * @param inputFormat 디코딩할 압축 포맷 (extractor 트랙 포맷 또는 인코더 출력 포맷)
+     */
+    public PcmRangeDecoder(MediaFormat inputFormat) {
+        this.inputFormat = inputFormat;
+    }
+
+    /**
+     * extractor의 선택된 트랙에서 [fromUs, toUs) 구간 디코딩
+     * @param extractor 오디오 트랙이 선택된 extractor (위치가 변경됨)
+     * @param fromUs 구간 시작 (마이크로초)
+     * @param toUs 구간 끝 (마이크로초)
+     * @return 구간 PCM 블록
+     */
+    public PcmBlock decode(MediaExtractor extractor, long fromUs, long toUs) throws IOException {
+        extractor.seekTo(Math.max(0, fromUs - PREROLL_US), MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+
+        // 디코더 출력 지연을 흡수하도록 구간 끝 이후 샘플을 조금 더 공급
+        final long feedUntilUs = toUs + PREROLL_US;
+        return run(fromUs, toUs, (buffer, ptsHolder) -> {
+            long sampleTime = extractor.getSampleTime();
+            if (sampleTime < 0 || sampleTime > feedUntilUs) {
+                return -1;
+            }
+            int size = extractor.readSampleData(buffer, 0);
+            ptsHolder[0] = sampleTime;
+            extractor.advance();
+            return size;
+        });
+    }
+
+    /**
+     * 메모리상의 압축 프레임 목록 디코딩 (프레임 시간은 frameDurationUs 간격으로 0부터 부여)
+     * @param frames 압축 프레임 목록
+     * @param frameDurationUs 프레임당 길이 (마이크로초)
+     * @return 전체 PCM 블록 (startUs = 0)
+     */
+    public PcmBlock decodeFrames(List<AacFrameEncoder.EncodedFrame> frames, double frameDurationUs)
+            throws IOException {
+        final int[] next = {0};
+        long endUs = (long) Math.ceil(frames.size() * frameDurationUs);
+        return run(0, endUs, (buffer, ptsHolder) -> {
+            if (next[0] >= frames.size()) {
+                return -1;
+            }
+            AacFrameEncoder.EncodedFrame frame = frames.get(next[0]);
+            buffer.put(frame.data);
+            ptsHolder[0] = Math.round(next[0] * frameDurationUs);
+            next[0]++;
+            return frame.data.length;
+        });
+    }
+
+    private PcmBlock run(long fromUs, long toUs, InputFeeder feeder) throws IOException {
+        String mime = inputFormat.getString(MediaFormat.KEY_MIME);
+        MediaCodec decoder = MediaCodec.createDecoderByType(mime);
+
+        int sampleRate = inputFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        int channelCount = inputFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        short[] samples = null;
+        int maxWrittenFrame = 0;
+
+        try {
+            decoder.configure(inputFormat, null, null, 0);
+            decoder.start();
+
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            long[] ptsHolder = new long[1];
+            boolean inputDone = false;
+
+            while (true) {
+                if (!inputDone) {
+                    int inputIndex = decoder.dequeueInputBuffer(CODEC_TIMEOUT_US);
+                    if (inputIndex >= 0) {
+                        ByteBuffer inputBuffer = decoder.getInputBuffer(inputIndex);
+                        inputBuffer.clear();
+                        int size = feeder.fill(inputBuffer, ptsHolder);
+                        if (size < 0) {
+                            decoder.queueInputBuffer(inputIndex, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            inputDone = true;
+                        } else {
+                            decoder.queueInputBuffer(inputIndex, 0, size, ptsHolder[0], 0);
+                        }
+                    }
+                }
+
+                int outputIndex = decoder.dequeueOutputBuffer(info, CODEC_TIMEOUT_US);
+                if (outputIndex == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    MediaFormat outputFormat = decoder.getOutputFormat();
+                    sampleRate = outputFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                    channelCount = outputFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                    continue;
+                }
+                if (outputIndex < 0) {
+                    continue;
+                }
+
+                if (samples == null) {
+                    int frames = (int) Math.ceil((toUs - fromUs) * (double) sampleRate / 1_000_000d);
+                    samples = new short[Math.max(1, frames) * channelCount];
+                }
+
+                if (info.size > 0) {
+                    ByteBuffer outputBuffer = decoder.getOutputBuffer(outputIndex);
+                    outputBuffer.position(info.offset);
+                    outputBuffer.limit(info.offset + info.size);
+                    maxWrittenFrame = Math.max(maxWrittenFrame, placeSamples(
+                        outputBuffer.order(ByteOrder.nativeOrder()).asShortBuffer(),
+                        info.presentationTimeUs, fromUs, sampleRate, channelCount, samples));
+                }
+
+                decoder.releaseOutputBuffer(outputIndex, false);
+
+                if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                    break;
+                }
+            }
+        } finally {
+            try {
+                decoder.stop();
+            } catch (Exception e) {
+                LoggerManager.logger("⚠️ 디코더 stop 실패: " + e.getMessage());
+            }
+            decoder.release();
+        }
+
+        if (samples == null) {
+            samples = new short[0];
+        }
+        int totalFrames = samples.length / Math.max(1, channelCount);
+        return new PcmBlock(samples, Math.min(totalFrames, maxWrittenFrame), channelCount, sampleRate, fromUs);
+    }
+
+    /**
+     * 출력 버퍼를 시간 위치에 맞춰 블록에 복사 (구간 밖 샘플은 버림)
+     * @return 기록된 마지막 프레임 다음 인덱스
+     */
+    private static int placeSamples(ShortBuffer pcm, long ptsUs, long fromUs, int sampleRate,
+                                    int channelCount, short[] samples) {
+        int bufferFrames = pcm.remaining() / channelCount;
+        int targetFrame = (int) Math.round((ptsUs - fromUs) * (double) sampleRate / 1_000_000d);
+        int totalFrames = samples.length / channelCount;
+
+        int skip = Math.max(0, -targetFrame);
+        int first = Math.max(0, targetFrame);
+        int count = Math.min(bufferFrames - skip, totalFrames - first);
+        if (count <= 0) {
+            return 0;
+        }
+
+        pcm.position(pcm.position() + skip * channelCount);
+        pcm.get(samples, first * channelCount, count * channelCount);
+        return first + count;
+    }
+}
@@ -0,0 +1,183 @@
+package com.devc.lab.audios.manager;
+
+/**
+ * 연속된 PCM 구간을 담는 링 버퍼
+ * 절대 프레임 위치 [startFrame, endFrame)의 interleaved 16bit PCM을 보관하며,
+ * 앞/뒤로 붙이거나 잘라낼 때 데이터를 이동하지 않고 시작 위치만 옮김 (배열은 재사용)
+ */
+public class PcmRingBuffer {
+
+    private final int channelCount;
+    private final int maxCapacityFrames;
+
+    private short[] data;
+    private int capacityFrames;
+    // 링 내부에서 startFrame이 위치한 프레임 인덱스
+    private int head = 0;
+    private int frameCount = 0;
+    private long startFrame = 0;
+
+    /**
+     * @param channelCount 채널 수
+     * @param initialCapacityFrames 초기 용량 (프레임)
+     * @param maxCapacityFrames 최대 용량 (프레임), 넘치면 붙이는 반대쪽을 버림
+     */
+    public PcmRingBuffer(int channelCount, int initialCapacityFrames, int maxCapacityFrames) {
+        this.channelCount = channelCount;
+        this.maxCapacityFrames = Math.max(1, maxCapacityFrames);
+        this.capacityFrames = Math.max(1, Math.min(initialCapacityFrames, this.maxCapacityFrames));
+        this.data = new short[capacityFrames * channelCount];
+    }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    public long getStartFrame() {
+        return startFrame;
+    }
+
+    public long getEndFrame() {
+        return startFrame + frameCount;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getMaxCapacityFrames() {
+        return maxCapacityFrames;
+    }
+
+    public boolean isEmpty() {
+        return frameCount == 0;
+    }
+
+    public boolean isFull() {
+        return frameCount >= maxCapacityFrames;
+    }
+
+    /**
+     * 비우고 시작 위치 재설정
+     */
+    public void reset(long newStartFrame) {
+        head = 0;
+        frameCount = 0;
+        startFrame = newStartFrame;
+    }
+
+    /**
+     * [fromFrame, toFrame)과 겹치는 부분만 남김 (겹치지 않으면 fromFrame 위치로 비움)
+     */
+    public void retain(long fromFrame, long toFrame) {
+        long keepStart = Math.max(fromFrame, startFrame);
+        long keepEnd = Math.min(toFrame, getEndFrame());
+        if (keepEnd <= keepStart) {
+            reset(fromFrame);
+            return;
+        }
+
+        int dropHead = (int) (keepStart - startFrame);
+        head = (head + dropHead) % capacityFrames;
+        startFrame = keepStart;
+        frameCount = (int) (keepEnd - keepStart);
+    }
+
+    /**
+     * 끝(endFrame)에 이어 붙이기
+     * @return 붙인 프레임 수 (최대 용량을 넘으면 남은 용량만큼)
+     */
+    public int append(short[] src, int srcFrameOffset, int frames) {
+        frames = Math.min(frames, maxCapacityFrames - frameCount);
+        if (frames <= 0) {
+            return 0;
+        }
+        ensureCapacity(frameCount + frames);
+
+        int position = (head + frameCount) % capacityFrames;
+        copyIn(src, srcFrameOffset, position, frames);
+        frameCount += frames;
+        return frames;
+    }
+
+    /**
+     * 앞(startFrame 이전)에 붙이기 - src의 마지막 프레임이 startFrame - 1이 됨
+     * 최대 용량을 넘으면 뒤쪽 프레임을 버려 자리를 만듦
+     * @return 붙인 프레임 수
+     */
+    public int prepend(short[] src, int srcFrameOffset, int frames) {
+        if (frames <= 0) {
+            return 0;
+        }
+        if (frames > maxCapacityFrames) {
+            // 새 데이터의 앞부분만 유지 (재생은 앞에서부터)
+            reset(startFrame - frames);
+            return append(src, srcFrameOffset, maxCapacityFrames);
+        }
+
+        if (frameCount + frames > maxCapacityFrames) {
+            frameCount = maxCapacityFrames - frames;
+        }
+        ensureCapacity(frameCount + frames);
+
+        head = (head - frames + capacityFrames) % capacityFrames;
+        copyIn(src, srcFrameOffset, head, frames);
+        startFrame -= frames;
+        frameCount += frames;
+        return frames;
+    }
+
+    /**
+     * fromFrame부터 연속으로 읽기
+     * @return 읽은 프레임 수 (fromFrame이 범위 밖이면 0)
+     */
+    public int read(long fromFrame, short[] dst, int dstFrameOffset, int frames) {
+        if (fromFrame < startFrame || fromFrame >= getEndFrame()) {
+            return 0;
+        }
+        frames = (int) Math.min(frames, getEndFrame() - fromFrame);
+
+        int position = (int) ((head + (fromFrame - startFrame)) % capacityFrames);
+        int first = Math.min(frames, capacityFrames - position);
+        System.arraycopy(data, position * channelCount, dst, dstFrameOffset * channelCount, first * channelCount);
+        if (first < frames) {
+            System.arraycopy(data, 0, dst, (dstFrameOffset + first) * channelCount,
+                             (frames - first) * channelCount);
+        }
+        return frames;
+    }
+
+    private void copyIn(short[] src, int srcFrameOffset, int position, int frames) {
+        int first = Math.min(frames, capacityFrames - position);
+        System.arraycopy(src, srcFrameOffset * channelCount, data, position * channelCount, first * channelCount);
+        if (first < frames) {
+            System.arraycopy(src, (srcFrameOffset + first) * channelCount, data, 0,
+                             (frames - first) * channelCount);
+        }
+    }
+
+    /**
+     * 용량 확보 (필요할 때만 2배씩 늘리며 내용을 0부터 정렬)
+     */
+    private void ensureCapacity(int requiredFrames) {
+        if (requiredFrames <= capacityFrames) {
+            return;
+        }
+
+        int newCapacity = capacityFrames;
+        while (newCapacity < requiredFrames) {
+            newCapacity = Math.min(maxCapacityFrames, newCapacity * 2);
+        }
+
+        short[] grown = new short[newCapacity * channelCount];
+        int first = Math.min(frameCount, capacityFrames - head);
+        System.arraycopy(data, head * channelCount, grown, 0, first * channelCount);
+        if (first < frameCount) {
+            System.arraycopy(data, 0, grown, first * channelCount, (frameCount - first) * channelCount);
+        }
+
+        data = grown;
+        capacityFrames = newCapacity;
+        head = 0;
+    }
+}
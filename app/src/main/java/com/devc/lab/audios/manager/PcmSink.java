@@ -0,0 +1,17 @@
+package com.devc.lab.audios.manager;
+
+import java.io.IOException;
+
+/**
+ * PCM 출력 (디코딩/포맷 변환된 16bit interleaved PCM을 받는 쪽)
+ */
+public interface PcmSink {
+
+    /**
+     * PCM 기록 (samples는 호출자가 재사용하므로 보관하면 안 됨)
+     * @param samples interleaved 16bit PCM
+     * @param frameOffset 시작 프레임 (채널 묶음 단위)
+     * @param frames 프레임 수
+     */
+    void writePcm(short[] samples, int frameOffset, int frames) throws IOException;
+}
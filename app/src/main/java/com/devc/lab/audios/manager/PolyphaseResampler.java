@@ -0,0 +1,263 @@
+package com.devc.lab.audios.manager;
+
+import java.util.Arrays;
+
+/**
+ * 스트리밍 polyphase 리샘플러 (Kaiser 창 windowed-sinc)
+ * 입력/출력 샘플레이트를 기약 분수 L/M으로 두고 L개 위상의 필터 계수를 미리 계산해,
+ * 출력 샘플마다 해당 위상의 탭만 곱해 더함 (업샘플 후 다운샘플을 실제로 하지 않음)
+ * 48k↔44.1k(147/160), 음성용 16k/22.05k 다운샘플 등 표준 샘플레이트 사이 변환용
+ *
+ * - interleaved float 블록 단위 처리, 블록 경계를 넘어 필터 이력을 유지 (출력은 입력과 같은 시간축, 지연 없음)
+ * - 이력 버퍼는 더 큰 블록이 들어올 때만 늘어나며, 정상 상태에서는 블록마다 할당하지 않음
+ * - 다운샘플 시 차단 주파수를 출력 Nyquist 아래로 낮춰 aliasing 제거
+ */
+public class PolyphaseResampler {
+
+    // 차단 주파수 기준 한쪽 영점 교차 수 (탭 수 = 2 * ZERO_CROSSINGS / cutoff)
+    private static final int ZERO_CROSSINGS = 16;
+    // Nyquist 대비 통과 대역 끝 (나머지는 전이 대역)
+    private static final double PASSBAND = 0.91;
+    // Kaiser 창 beta (약 -90dB 저지 대역)
+    private static final double KAISER_BETA = 8.6;
+    // 위상 수 상한 (이보다 큰 L은 계수 표가 너무 커서 지원하지 않음)
+    static final int MAX_PHASES = 1024;
+
+    private final int inputRate;
+    private final int outputRate;
+    private final int channels;
+    private final int upFactor;      // L
+    private final int downFactor;    // M
+    private final int taps;          // 위상당 탭 수 (짝수)
+    private final float[] coefficients;   // [phase * taps + k]
+
+    // 입력 이력 (interleaved) - 앞쪽 taps/2 - 1 프레임은 시작 시 0으로 채운 왼쪽 여유분
+    private float[] history;
+    private int historyFrames;
+    // 다음 출력 샘플의 첫 탭 위치(이력 프레임)와 위상
+    private int start;
+    private int phase;
+    private long inputFrameCount;
+    private long outputFrameCount;
+    private boolean flushed;
+
+    /**
+     * @param inputRate 입력 샘플레이트 (Hz)
+     * @param outputRate 출력 샘플레이트 (Hz)
+     * @param channels interleaved 채널 수
+     * @throws IllegalArgumentException 지원하지 않는 비율 (isSupported로 먼저 확인)
+     */
+    public PolyphaseResampler(int inputRate, int outputRate, int channels) {
+        if (!isSupported(inputRate, outputRate) || channels <= 0) {
+            throw new IllegalArgumentException("지원하지 않는 리샘플링: " + inputRate + "Hz → " + outputRate
+                + "Hz, " + channels + "ch");
+        }
+        int divisor = gcd(inputRate, outputRate);
+        this.inputRate = inputRate;
+        this.outputRate = outputRate;
+        this.channels = channels;
+        this.upFactor = outputRate / divisor;
+        this.downFactor = inputRate / divisor;
+
+        double cutoff = Math.min(1.0, (double) outputRate / inputRate) * PASSBAND;
+        this.taps = 2 * (int) Math.ceil(ZERO_CROSSINGS / cutoff);
+        this.coefficients = createCoefficients(upFactor, taps, cutoff);
+
+        this.history = new float[(taps + 1024) * channels];
+        reset();
+    }
+
+    /**
+     * 두 샘플레이트 사이 변환을 지원하는지 (위상 수 L이 MAX_PHASES 이하)
+     */
+    public static boolean isSupported(int inputRate, int outputRate) {
+        if (inputRate <= 0 || outputRate <= 0) {
+            return false;
+        }
+        return outputRate / gcd(inputRate, outputRate) <= MAX_PHASES;
+    }
+
+    /**
+     * 입력 블록 처리
+     * @param input interleaved 입력 (inputOffset 프레임부터 frames 프레임)
+     * @param output interleaved 출력 (outputOffset 프레임부터 기록, getMaxOutputFrames(frames) 이상 여유 필요)
+     * @return 출력 프레임 수
+     */
+    public int process(float[] input, int inputOffset, int frames, float[] output, int outputOffset) {
+        if (flushed) {
+            throw new IllegalStateException("flush 이후에는 reset이 필요합니다");
+        }
+        append(input, inputOffset, frames);
+        inputFrameCount += frames;
+        return drain(output, outputOffset, historyFrames);
+    }
+
+    /**
+     * 스트림 끝 처리 - 오른쪽 탭을 0으로 채워 남은 출력 샘플 생성
+     * 입력 전체 길이 N에 대해 총 출력은 ceil(N * L / M) 프레임
+     * @return 출력 프레임 수
+     */
+    public int flush(float[] output, int outputOffset) {
+        if (flushed) {
+            return 0;
+        }
+        flushed = true;
+        int padFrames = taps / 2;
+        ensureCapacity(historyFrames + padFrames);
+        Arrays.fill(history, historyFrames * channels, (historyFrames + padFrames) * channels, 0f);
+        historyFrames += padFrames;
+        return drain(output, outputOffset, historyFrames);
+    }
+
+    /**
+     * 처음 상태로 (계수 표는 유지)
+     */
+    public void reset() {
+        historyFrames = taps / 2 - 1;
+        Arrays.fill(history, 0, historyFrames * channels, 0f);
+        start = 0;
+        phase = 0;
+        inputFrameCount = 0;
+        outputFrameCount = 0;
+        flushed = false;
+    }
+
+    /**
+     * frames 프레임 입력(또는 flush)에 대해 한 번에 나올 수 있는 최대 출력 프레임 수
+     */
+    public int getMaxOutputFrames(int frames) {
+        return (int) (((long) frames + taps) * upFactor / downFactor) + 2;
+    }
+
+    public int getInputRate() {
+        return inputRate;
+    }
+
+    public int getOutputRate() {
+        return outputRate;
+    }
+
+    public int getChannelCount() {
+        return channels;
+    }
+
+    /**
+     * 위상당 탭 수 (출력 샘플/채널당 곱셈 수)
+     */
+    public int getTapCount() {
+        return taps;
+    }
+
+    /**
+     * 이력에서 만들 수 있는 출력 샘플을 모두 생성하고 쓴 입력 프레임을 버림
+     */
+    private int drain(float[] output, int outputOffset, int availableFrames) {
+        int produced = 0;
+        int out = outputOffset * channels;
+        // 출력 n의 입력상 위치 n*M/L이 입력 길이보다 작은 동안만 (flush의 0 패딩 구간 제외)
+        long inputLimit = inputFrameCount * upFactor;
+
+        while (start + taps <= availableFrames && outputFrameCount * downFactor < inputLimit) {
+            int coefficientBase = phase * taps;
+            int frameBase = start * channels;
+            for (int c = 0; c < channels; c++) {
+                float sum = 0f;
+                int index = frameBase + c;
+                for (int k = 0; k < taps; k++) {
+                    sum += coefficients[coefficientBase + k] * history[index];
+                    index += channels;
+                }
+                output[out++] = sum;
+            }
+            produced++;
+            outputFrameCount++;
+
+            phase += downFactor;
+            start += phase / upFactor;
+            phase %= upFactor;
+        }
+
+        // 다음 출력에 필요 없는 앞부분 제거 (탭 수가 M/L보다 커서 start는 이력 끝을 넘지 않음)
+        if (start > 0) {
+            System.arraycopy(history, start * channels, history, 0, (historyFrames - start) * channels);
+            historyFrames -= start;
+            start = 0;
+        }
+        return produced;
+    }
+
+    private void append(float[] input, int inputOffset, int frames) {
+        ensureCapacity(historyFrames + frames);
+        System.arraycopy(input, inputOffset * channels, history, historyFrames * channels, frames * channels);
+        historyFrames += frames;
+    }
+
+    private void ensureCapacity(int frames) {
+        if (history.length < frames * channels) {
+            float[] grown = new float[Math.max(frames, history.length / channels * 2) * channels];
+            System.arraycopy(history, 0, grown, 0, historyFrames * channels);
+            history = grown;
+        }
+    }
+
+    /**
+     * 위상별 계수 표 생성
+     * 위상 p, 탭 k의 계수는 입력 위치 차 d = p/L + taps/2 - 1 - k에서의 windowed-sinc 값
+     * 위상마다 합이 1이 되도록 정규화 (DC 이득 1, 위상 간 리플 제거)
+     */
+    static float[] createCoefficients(int phases, int taps, double cutoff) {
+        float[] table = new float[phases * taps];
+        double halfWidth = taps / 2.0;
+        double windowNorm = besselI0(KAISER_BETA);
+        double[] row = new double[taps];
+        for (int p = 0; p < phases; p++) {
+            double sum = 0;
+            for (int k = 0; k < taps; k++) {
+                double d = (double) p / phases + halfWidth - 1 - k;
+                double ratio = d / halfWidth;
+                double window = Math.abs(ratio) >= 1 ? 0
+                    : besselI0(KAISER_BETA * Math.sqrt(1 - ratio * ratio)) / windowNorm;
+                row[k] = cutoff * sinc(cutoff * d) * window;
+                sum += row[k];
+            }
+            for (int k = 0; k < taps; k++) {
+                table[p * taps + k] = (float) (row[k] / sum);
+            }
+        }
+        return table;
+    }
+
+    private static double sinc(double x) {
+        if (x == 0) {
+            return 1.0;
+        }
+        double px = Math.PI * x;
+        return Math.sin(px) / px;
+    }
+
+    /**
+     * 0차 수정 베셀 함수 (Kaiser 창용 급수 전개)
+     */
+    private static double besselI0(double x) {
+        double sum = 1.0;
+        double term = 1.0;
+        double half = x / 2;
+        for (int k = 1; k < 64; k++) {
+            term *= (half / k) * (half / k);
+            sum += term;
+            if (term < sum * 1e-12) {
+                break;
+            }
+        }
+        return sum;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,167 @@
+package com.devc.lab.audios.manager;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 압축 샘플 복사 커널 (자르기/추출 공용)
+ * 샘플마다 객체를 만들지 않고(SampleInfo 재사용, 버퍼는 호출자가 풀에서 제공),
+ * 진행률은 시간 간격과 퍼센트 변화량으로 제한하여 메인 스레드 post와 로그 비용을 없앰
+ * Android 클래스에 의존하지 않으므로 JVM 테스트에서 그대로 측정 가능
+ */
+public final class SampleCopyKernel {
+
+    private static final long DEFAULT_PROGRESS_INTERVAL_MS = 100;
+    private static final int DEFAULT_PROGRESS_PERCENT_STEP = 1;
+
+    /**
+     * 복사 결과
+     */
+    public static final class Result {
+        public int sampleCount;
+        public long totalBytes;
+        public long firstSampleTimeUs = -1;
+        public long lastSampleTimeUs = -1;
+        // endTimeUs에 도달해 멈췄으면 true, 소스 끝이면 false
+        public boolean reachedEndTime;
+    }
+
+    /**
+     * 진행률 콜백 제한기
+     * 마지막 보고 후 최소 간격이 지났고 퍼센트가 최소 단위 이상 변했을 때만 보고
+     */
+    public static final class ProgressThrottle {
+        private final long minIntervalNs;
+        private final int minPercentStep;
+        private long lastReportNs;
+        private int lastPercent = -1;
+
+        public ProgressThrottle(long minIntervalMs, int minPercentStep) {
+            this.minIntervalNs = minIntervalMs * 1_000_000L;
+            this.minPercentStep = minPercentStep;
+        }
+
+        /**
+         * 이번 진행률을 보고해야 하는지 여부
+         */
+        public boolean shouldReport(long processedUs, long totalUs) {
+            if (totalUs <= 0) {
+                return false;
+            }
+            int percent = (int) Math.max(0, Math.min(100, processedUs * 100 / totalUs));
+            if (lastPercent >= 0 && percent - lastPercent < minPercentStep) {
+                return false;
+            }
+            long now = System.nanoTime();
+            if (lastPercent >= 0 && now - lastReportNs < minIntervalNs && percent < 100) {
+                return false;
+            }
+            lastPercent = percent;
+            lastReportNs = now;
+            return true;
+        }
+    }
+
+    private long endTimeUs = Long.MAX_VALUE;
+    private long ptsOffsetUs = 0;
+    private long progressStartUs = 0;
+    private long progressTotalUs = 0;
+    private MediaProcessingEngine.ProgressCallback progressCallback;
+    private long progressIntervalMs = DEFAULT_PROGRESS_INTERVAL_MS;
+    private int progressPercentStep = DEFAULT_PROGRESS_PERCENT_STEP;
+
+    /**
+     * 이 시간 이상인 샘플에서 복사 중단 (미지정 시 소스 끝까지)
+     */
+    public SampleCopyKernel setEndTimeUs(long endTimeUs) {
+        this.endTimeUs = endTimeUs;
+        return this;
+    }
+
+    /**
+     * 출력 타임스탬프에서 뺄 기준 시간
+     */
+    public SampleCopyKernel setPtsOffsetUs(long ptsOffsetUs) {
+        this.ptsOffsetUs = ptsOffsetUs;
+        return this;
+    }
+
+    /**
+     * 진행률 콜백 설정
+     * @param startUs 진행률 0%에 해당하는 샘플 시간
+     * @param totalUs 전체 길이 (마이크로초)
+     */
+    public SampleCopyKernel setProgress(long startUs, long totalUs, MediaProcessingEngine.ProgressCallback callback) {
+        this.progressStartUs = startUs;
+        this.progressTotalUs = totalUs;
+        this.progressCallback = callback;
+        return this;
+    }
+
+    /**
+     * 진행률 제한 조건 변경 (기본 100ms, 1%)
+     */
+    public SampleCopyKernel setProgressThrottle(long minIntervalMs, int minPercentStep) {
+        this.progressIntervalMs = minIntervalMs;
+        this.progressPercentStep = minPercentStep;
+        return this;
+    }
+
+    /**
+     * 현재 위치부터 샘플 복사
+     * @param source 입력 (복사 시작 위치로 이동된 상태)
+     * @param sink 출력
+     * @param buffer 샘플 하나를 담을 수 있는 버퍼 (DirectBufferPool 권장)
+     * @return 복사 결과
+     * @throws InterruptedException 작업 스레드가 인터럽트된 경우
+     */
+    public Result copy(SampleSource source, SampleSink sink, ByteBuffer buffer) throws InterruptedException {
+        Result result = new Result();
+        SampleInfo info = new SampleInfo();
+        ProgressThrottle throttle = progressCallback != null
+            ? new ProgressThrottle(progressIntervalMs, progressPercentStep) : null;
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException("샘플 복사 취소");
+            }
+
+            long sampleTime = source.getSampleTime();
+            if (sampleTime < 0) {
+                break;
+            }
+            if (sampleTime >= endTimeUs) {
+                result.reachedEndTime = true;
+                break;
+            }
+
+            buffer.clear();
+            int sampleSize = source.readSampleData(buffer, 0);
+            if (sampleSize < 0) {
+                break;
+            }
+
+            buffer.limit(sampleSize);
+            info.set(0, sampleSize, sampleTime - ptsOffsetUs, source.getSampleFlags());
+            sink.writeSample(buffer, info);
+
+            if (result.firstSampleTimeUs < 0) {
+                result.firstSampleTimeUs = sampleTime;
+            }
+            result.lastSampleTimeUs = sampleTime;
+            result.sampleCount++;
+            result.totalBytes += sampleSize;
+
+            if (throttle != null) {
+                long processedUs = sampleTime - progressStartUs;
+                if (throttle.shouldReport(processedUs, progressTotalUs)) {
+                    progressCallback.onProgress(processedUs, progressTotalUs);
+                }
+            }
+
+            if (!source.advance()) {
+                break;
+            }
+        }
+
+        return result;
+    }
+}
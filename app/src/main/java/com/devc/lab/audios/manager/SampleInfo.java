@@ -0,0 +1,19 @@
+package com.devc.lab.audios.manager;
+
+/**
+ * 압축 샘플 메타데이터 (MediaCodec.BufferInfo와 같은 구성)
+ * 복사 루프에서 한 인스턴스를 재사용하도록 가변 필드로 구성
+ */
+public final class SampleInfo {
+    public int offset;
+    public int size;
+    public long presentationTimeUs;
+    public int flags;
+
+    public void set(int offset, int size, long presentationTimeUs, int flags) {
+        this.offset = offset;
+        this.size = size;
+        this.presentationTimeUs = presentationTimeUs;
+        this.flags = flags;
+    }
+}
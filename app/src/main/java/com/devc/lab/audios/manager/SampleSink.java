@@ -0,0 +1,14 @@
+package com.devc.lab.audios.manager;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 압축 샘플 출력
+ */
+public interface SampleSink {
+
+    /**
+     * 샘플 기록 (info는 호출자가 재사용하므로 보관하면 안 됨)
+     */
+    void writeSample(ByteBuffer buffer, SampleInfo info);
+}
@@ -0,0 +1,31 @@
+package com.devc.lab.audios.manager;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 압축 샘플 입력 (MediaExtractor의 읽기 메서드와 같은 의미)
+ */
+public interface SampleSource {
+
+    /**
+     * 현재 샘플 시간 (마이크로초), 더 이상 샘플이 없으면 -1
+     */
+    long getSampleTime();
+
+    /**
+     * 현재 샘플 플래그
+     */
+    int getSampleFlags();
+
+    /**
+     * 현재 샘플을 buffer의 offset 위치에 읽기
+     * @return 읽은 바이트 수, 더 이상 샘플이 없으면 -1
+     */
+    int readSampleData(ByteBuffer buffer, int offset);
+
+    /**
+     * 다음 샘플로 이동
+     * @return 다음 샘플이 있으면 true
+     */
+    boolean advance();
+}
@@ -0,0 +1,461 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스마트 자르기 렌더러 (AAC)
+ * 자르기 경계가 걸친 프레임만 디코딩 → 재인코딩하고, 그 사이 구간은 stream copy로 그대로 복사하여
+ * sync 샘플 단위로 잘리던 시작/끝을 샘플 단위로 맞춤
+ *
+ * 경계 처리:
+ * - 시작: 첫 copy 프레임 앞에 재인코딩 프레임을 붙이고 시작점 이전 입력은 무음 처리
+ *   (컨테이너에 edit list가 없으므로 1~2 프레임 길이의 무음 리드인이 생기지만 시작점 이전 소리는 포함되지 않음)
+ * - 끝: 끝점이 걸친 프레임부터 재인코딩하고 끝점 이후 입력은 무음 처리
+ * - 인코더 priming/지연은 기기 코덱으로 한 번 측정하여 캐시, 앞쪽 워밍업 프레임은 버림
+ * - 재인코딩 프레임의 csd-0가 원본과 다르면 한 트랙에 섞을 수 없으므로 prepare가 null을 반환 (stream copy로 폴백)
+ *
+ * 페이드:
+ * - 페이드 인/아웃 구간이 걸친 프레임까지 재인코딩 범위를 넓히고, 재인코딩 전 PCM에 선형 게인 램프를 적용
+ * - 페이드 구간 밖은 그대로 stream copy하므로 처리 시간은 페이드 길이에만 비례
+ */
+public class SmartTrimRenderer {
+
+    private static final int FRAME_SIZE = AacFrameEncoder.FRAME_SIZE;
+
+    // 측정 실패 시 사용할 코덱 지연 (FDK AAC-LC 인코더 + 디코더 기준)
+    private static final int DEFAULT_CODEC_DELAY = 2048;
+    private static final int MAX_CODEC_DELAY = FRAME_SIZE * 4;
+    private static final int DEFAULT_BITRATE_PER_CHANNEL = 64_000;
+
+    // 샘플레이트/채널별 측정된 코덱 지연 캐시
+    private static final Map<String, Integer> codecDelayCache = new ConcurrentHashMap<>();
+
+    private final MediaProcessingEngine processingEngine;
+
+    /**
+     * 스마트 자르기 계획 (재인코딩된 경계 프레임 + copy 구간)
+     */
+    public static class Plan {
+        final long originUs;
+        final double frameDurationUs;
+        final List<AacFrameEncoder.EncodedFrame> headFrames;
+        final long copyStartUs;
+        final long copyEndUs;
+        final List<AacFrameEncoder.EncodedFrame> tailFrames;
+        final long tailStartUs;
+        final long fadeInUs;
+        final long fadeOutUs;
+
+        Plan(long originUs, double frameDurationUs, List<AacFrameEncoder.EncodedFrame> headFrames,
+             long copyStartUs, long copyEndUs, List<AacFrameEncoder.EncodedFrame> tailFrames, long tailStartUs,
+             long fadeInUs, long fadeOutUs) {
+            this.originUs = originUs;
+            this.frameDurationUs = frameDurationUs;
+            this.headFrames = headFrames;
+            this.copyStartUs = copyStartUs;
+            this.copyEndUs = copyEndUs;
+            this.tailFrames = tailFrames;
+            this.tailStartUs = tailStartUs;
+            this.fadeInUs = fadeInUs;
+            this.fadeOutUs = fadeOutUs;
+        }
+
+        /**
+         * 재인코딩된 프레임 수
+         */
+        public int getReencodedFrameCount() {
+            return headFrames.size() + tailFrames.size();
+        }
+
+        @Override
+        public String toString() {
+            return "Plan{head=" + headFrames.size() + " frames, copy=" + (copyStartUs / 1000) + "ms~"
+                + (copyEndUs / 1000) + "ms, tail=" + tailFrames.size() + " frames"
+                + (fadeInUs > 0 || fadeOutUs > 0
+                   ? ", fade=" + (fadeInUs / 1000) + "ms/" + (fadeOutUs / 1000) + "ms" : "") + "}";
+        }
+    }
+
+    public SmartTrimRenderer(MediaProcessingEngine processingEngine) {
+        this.processingEngine = processingEngine;
+    }
+
+    /**
+     * 스마트 자르기 지원 여부 (AAC 소스만 지원)
+     */
+    public static boolean isSupported(MediaSourceSession session) {
+        return session != null && MediaFormat.MIMETYPE_AUDIO_AAC.equals(session.getMime());
+    }
+
+    /**
+     * 경계 프레임 재인코딩 준비 (muxer 트랙 추가 전에 호출)
+     * @param session 미디어 소스 세션
+     * @param startTimeUs 자르기 시작 (마이크로초)
+     * @param endTimeUs 자르기 끝 (마이크로초)
+     * @return 계획, 스마트 자르기를 적용할 수 없으면 null (stream copy로 폴백)
+     */
+    public Plan prepare(MediaSourceSession session, long startTimeUs, long endTimeUs) {
+        return prepare(session, startTimeUs, endTimeUs, 0, 0);
+    }
+
+    /**
+     * 경계 프레임 + 페이드 구간 재인코딩 준비 (muxer 트랙 추가 전에 호출)
+     * @param fadeInUs 시작점부터 적용할 페이드 인 길이 (0이면 없음)
+     * @param fadeOutUs 끝점까지 적용할 페이드 아웃 길이 (0이면 없음)
+     * @return 계획, 적용할 수 없으면 null (stream copy로 폴백)
+     */
+    public Plan prepare(MediaSourceSession session, long startTimeUs, long endTimeUs,
+                        long fadeInUs, long fadeOutUs) {
+        if (!isSupported(session)) {
+            LoggerManager.logger("ℹ️ 스마트 자르기 미지원 포맷 - stream copy 사용: " + session.getMime());
+            return null;
+        }
+
+        MediaFormat sourceFormat = session.getAudioFormat();
+        int sampleRate = sourceFormat.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+        int channelCount = sourceFormat.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+        double frameDurationUs = FRAME_SIZE * 1_000_000d / sampleRate;
+        long toleranceUs = Math.max(1, 500_000L / sampleRate);
+
+        if (session.getDurationUs() > 0) {
+            endTimeUs = Math.min(endTimeUs, session.getDurationUs());
+        }
+        fadeInUs = Math.max(0, Math.min(fadeInUs, endTimeUs - startTimeUs));
+        fadeOutUs = Math.max(0, Math.min(fadeOutUs, endTimeUs - startTimeUs));
+        final GainRamp ramp = new GainRamp(startTimeUs, endTimeUs, fadeInUs, fadeOutUs);
+
+        try {
+            // 경계 프레임 위치 (AAC는 모든 프레임이 sync 샘플), 페이드 구간은 재인코딩 범위에 포함
+            long headSeamUs = findFrameAtOrAfter(session, startTimeUs + fadeInUs, toleranceUs);
+            long tailSeamUs = session.findSyncSampleAtOrBefore(endTimeUs - fadeOutUs + toleranceUs);
+            boolean needHead = headSeamUs - startTimeUs > toleranceUs || fadeInUs > 0;
+            boolean needTail = fadeOutUs > 0 || endTimeUs - tailSeamUs > toleranceUs
+                && !(session.getDurationUs() > 0 && endTimeUs >= session.getDurationUs() - toleranceUs);
+            if (!needTail) {
+                tailSeamUs = endTimeUs;
+            }
+
+            // 구간이 너무 짧으면 copy 구간 없이 전체 재인코딩
+            if (tailSeamUs - headSeamUs < 2 * frameDurationUs) {
+                needHead = true;
+                needTail = false;
+                tailSeamUs = headSeamUs;
+            }
+
+            int bitrate = sourceFormat.containsKey(MediaFormat.KEY_BIT_RATE)
+                ? sourceFormat.getInteger(MediaFormat.KEY_BIT_RATE)
+                : DEFAULT_BITRATE_PER_CHANNEL * channelCount;
+            AacFrameEncoder encoder = new AacFrameEncoder(sampleRate, channelCount, bitrate);
+            int codecDelay = getCodecDelay(sampleRate, channelCount, bitrate);
+
+            List<AacFrameEncoder.EncodedFrame> headFrames = Collections.emptyList();
+            long originUs = headSeamUs;
+
+            if (needHead) {
+                // 시작점 이전 첫 프레임은 무음이 되도록 +1 프레임
+                int headCount = (int) Math.ceil((headSeamUs - startTimeUs) / frameDurationUs) + 1;
+                if (tailSeamUs == headSeamUs && endTimeUs > headSeamUs) {
+                    headCount += (int) Math.ceil((endTimeUs - headSeamUs) / frameDurationUs);
+                }
+                originUs = headSeamUs - Math.round(headCount * frameDurationUs);
+                headFrames = encodeSegment(session, encoder, originUs, headCount, ramp, codecDelay);
+                if (headFrames == null) {
+                    return null;
+                }
+            }
+
+            List<AacFrameEncoder.EncodedFrame> tailFrames = Collections.emptyList();
+            if (needTail) {
+                int tailCount = (int) Math.ceil((endTimeUs - tailSeamUs) / frameDurationUs);
+                tailFrames = encodeSegment(session, encoder, tailSeamUs, tailCount, ramp, codecDelay);
+                if (tailFrames == null) {
+                    return null;
+                }
+            }
+
+            if (!headFrames.isEmpty() || !tailFrames.isEmpty()) {
+                if (!isCodecConfigCompatible(sourceFormat, encoder.getOutputFormat())) {
+                    LoggerManager.logger("⚠️ 재인코딩 csd-0가 원본과 다름 - stream copy로 폴백");
+                    return null;
+                }
+            }
+
+            Plan plan = new Plan(originUs, frameDurationUs, headFrames,
+                                 headSeamUs, tailSeamUs, tailFrames, tailSeamUs, fadeInUs, fadeOutUs);
+            LoggerManager.logger("✂️ 스마트 자르기 계획: " + plan + ", 코덱 지연 " + codecDelay + " samples");
+            return plan;
+
+        } catch (IOException | RuntimeException e) {
+            LoggerManager.logger("⚠️ 경계 프레임 재인코딩 실패 - stream copy로 폴백: " + e.getMessage());
+            return null;
+        } finally {
+            session.rewind();
+        }
+    }
+
+    /**
+     * 계획에 따라 muxer에 기록 (재인코딩 시작 프레임 → copy 구간 → 재인코딩 끝 프레임)
+     * @param plan prepare 결과
+     * @param session 미디어 소스 세션
+     * @param muxer 원본 포맷으로 트랙이 추가되고 start된 muxer
+     * @param muxerTrackIndex Muxer 트랙 인덱스
+     * @param progressCallback 진행률 콜백
+     * @return 성공 여부
+     */
+    public boolean write(Plan plan, MediaSourceSession session, MediaMuxer muxer, int muxerTrackIndex,
+                         MediaProcessingEngine.ProgressCallback progressCallback) {
+        MediaCodec.BufferInfo bufferInfo = new MediaCodec.BufferInfo();
+
+        try {
+            writeFrames(plan.headFrames, 0, plan.frameDurationUs, muxer, muxerTrackIndex, bufferInfo);
+
+            if (plan.copyEndUs > plan.copyStartUs) {
+                boolean copied = processingEngine.copySamplesRebased(session, muxer, muxerTrackIndex,
+                    plan.copyStartUs, plan.copyEndUs, plan.originUs, progressCallback);
+                if (!copied) {
+                    return false;
+                }
+            }
+
+            writeFrames(plan.tailFrames, plan.tailStartUs - plan.originUs, plan.frameDurationUs,
+                        muxer, muxerTrackIndex, bufferInfo);
+
+            LoggerManager.logger("✅ 스마트 자르기 기록 완료 (재인코딩 " + plan.getReencodedFrameCount() + " 프레임)");
+            return true;
+
+        } catch (Exception e) {
+            LoggerManager.logger("❌ 스마트 자르기 기록 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeFrames(List<AacFrameEncoder.EncodedFrame> frames, long baseUs, double frameDurationUs,
+                             MediaMuxer muxer, int muxerTrackIndex, MediaCodec.BufferInfo bufferInfo) {
+        for (int i = 0; i < frames.size(); i++) {
+            byte[] data = frames.get(i).data;
+            bufferInfo.set(0, data.length, baseUs + Math.round(i * frameDurationUs),
+                           MediaCodec.BUFFER_FLAG_KEY_FRAME);
+            muxer.writeSampleData(muxerTrackIndex, ByteBuffer.wrap(data), bufferInfo);
+        }
+    }
+
+    /**
+     * anchorUs부터 keepCount 프레임을 재인코딩
+     * 인코더 priming과 워밍업을 위해 앞쪽에 여분 프레임을 인코딩한 뒤 버림
+     * @param ramp 구간 밖 무음 처리 및 페이드 게인
+     * @return 재인코딩된 프레임 (keepCount개), 실패 시 null
+     */
+    private List<AacFrameEncoder.EncodedFrame> encodeSegment(MediaSourceSession session, AacFrameEncoder encoder,
+                                                             long anchorUs, int keepCount, GainRamp ramp,
+                                                             int codecDelay) throws IOException {
+        int sampleRate = encoder.getSampleRate();
+        int channelCount = encoder.getChannelCount();
+        int dropCount = (codecDelay + FRAME_SIZE - 1) / FRAME_SIZE + 1;
+
+        // 입력 k번째 샘플 = anchor 기준 (k - dropCount*F + delay) 위치의 원본 샘플
+        int inputOffset = codecDelay - dropCount * FRAME_SIZE;
+        int inputFrames = (dropCount + keepCount + 1) * FRAME_SIZE - codecDelay;
+
+        long inputStartUs = anchorUs + inputOffset * 1_000_000L / sampleRate;
+        long inputEndUs = inputStartUs + (long) inputFrames * 1_000_000L / sampleRate;
+        long decodeStartUs = Math.max(0, Math.max(inputStartUs, ramp.startUs));
+        long decodeEndUs = Math.min(inputEndUs, ramp.endUs);
+
+        short[] input = new short[inputFrames * channelCount];
+
+        if (decodeEndUs > decodeStartUs) {
+            PcmRangeDecoder.PcmBlock pcm = new PcmRangeDecoder(session.getAudioFormat())
+                .decode(session.getExtractor(), decodeStartUs, decodeEndUs);
+
+            if (pcm.sampleRate != sampleRate || pcm.channelCount != channelCount) {
+                // HE-AAC(SBR) 등 디코더 출력이 원본 포맷과 다른 경우
+                LoggerManager.logger("⚠️ 디코더 출력 포맷 불일치 (" + pcm.sampleRate + "Hz/"
+                    + pcm.channelCount + "ch) - 스마트 자르기 불가");
+                return null;
+            }
+
+            int anchorIndex = pcm.frameIndexOf(anchorUs);
+            for (int k = 0; k < inputFrames; k++) {
+                int sourceIndex = anchorIndex + inputOffset + k;
+                if (sourceIndex < 0 || sourceIndex >= pcm.frameCount) {
+                    continue;
+                }
+                System.arraycopy(pcm.samples, sourceIndex * channelCount, input, k * channelCount, channelCount);
+            }
+
+            if (ramp.hasFade()) {
+                ramp.apply(input, channelCount, inputStartUs, sampleRate, inputFrames);
+            }
+        }
+
+        List<AacFrameEncoder.EncodedFrame> encoded = encoder.encode(input, 0, inputFrames);
+        if (encoded.size() < dropCount + keepCount) {
+            LoggerManager.logger("⚠️ 인코더 출력 프레임 부족: " + encoded.size() + " < " + (dropCount + keepCount));
+            return null;
+        }
+        return encoded.subList(dropCount, dropCount + keepCount);
+    }
+
+    /**
+     * 자르기 구간 기준 선형 페이드 게인 (구간 시작에서 0 → 1, 구간 끝에서 1 → 0)
+     */
+    private static final class GainRamp {
+        final long startUs;
+        final long endUs;
+        final long fadeInUs;
+        final long fadeOutUs;
+
+        GainRamp(long startUs, long endUs, long fadeInUs, long fadeOutUs) {
+            this.startUs = startUs;
+            this.endUs = endUs;
+            this.fadeInUs = fadeInUs;
+            this.fadeOutUs = fadeOutUs;
+        }
+
+        boolean hasFade() {
+            return fadeInUs > 0 || fadeOutUs > 0;
+        }
+
+        /**
+         * pcm의 각 프레임에 게인 적용 (첫 프레임 시간 = firstFrameUs)
+         */
+        void apply(short[] pcm, int channelCount, long firstFrameUs, int sampleRate, int frames) {
+            long fadeInEndUs = startUs + fadeInUs;
+            long fadeOutStartUs = endUs - fadeOutUs;
+
+            for (int i = 0; i < frames; i++) {
+                long timeUs = firstFrameUs + (long) i * 1_000_000L / sampleRate;
+                if (timeUs >= fadeInEndUs && timeUs <= fadeOutStartUs) {
+                    continue;
+                }
+
+                double gain = 1.0;
+                if (fadeInUs > 0 && timeUs < fadeInEndUs) {
+                    gain *= Math.max(0, (double) (timeUs - startUs) / fadeInUs);
+                }
+                if (fadeOutUs > 0 && timeUs > fadeOutStartUs) {
+                    gain *= Math.max(0, (double) (endUs - timeUs) / fadeOutUs);
+                }
+
+                int base = i * channelCount;
+                for (int ch = 0; ch < channelCount; ch++) {
+                    pcm[base + ch] = (short) Math.round(pcm[base + ch] * Math.min(1.0, gain));
+                }
+            }
+        }
+    }
+
+    /**
+     * timeUs 이상인 첫 프레임 시간 (timeUs와 허용 오차 이내로 일치하면 그 프레임)
+     */
+    private static long findFrameAtOrAfter(MediaSourceSession session, long timeUs, long toleranceUs) {
+        long candidate = session.findSyncSampleAtOrBefore(timeUs + toleranceUs);
+        if (candidate >= timeUs - toleranceUs) {
+            return candidate;
+        }
+
+        MediaExtractor extractor = session.getExtractor();
+        extractor.seekTo(candidate, MediaExtractor.SEEK_TO_PREVIOUS_SYNC);
+        while (extractor.getSampleTime() >= 0 && extractor.getSampleTime() < timeUs - toleranceUs) {
+            if (!extractor.advance()) {
+                break;
+            }
+        }
+        long next = extractor.getSampleTime();
+        return next >= 0 ? next : timeUs;
+    }
+
+    /**
+     * 재인코딩 프레임과 원본 프레임을 한 트랙에 섞을 수 있는지 확인 (AudioSpecificConfig 비교)
+     */
+    private static boolean isCodecConfigCompatible(MediaFormat sourceFormat, MediaFormat encodedFormat) {
+        if (encodedFormat == null || !sourceFormat.containsKey("csd-0") || !encodedFormat.containsKey("csd-0")) {
+            return false;
+        }
+        ByteBuffer source = sourceFormat.getByteBuffer("csd-0").duplicate();
+        ByteBuffer encoded = encodedFormat.getByteBuffer("csd-0").duplicate();
+        source.rewind();
+        encoded.rewind();
+        return source.equals(encoded);
+    }
+
+    /**
+     * 인코더 → 디코더 왕복 지연 (샘플 수)
+     * 기기마다 AAC 인코더 구현이 다르므로 짧은 톤 버스트를 왕복시켜 한 번 측정하고 캐시
+     */
+    static int getCodecDelay(int sampleRate, int channelCount, int bitrate) {
+        String key = sampleRate + "/" + channelCount;
+        Integer cached = codecDelayCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int delay = measureCodecDelay(sampleRate, channelCount, bitrate);
+        codecDelayCache.put(key, delay);
+        return delay;
+    }
+
+    private static int measureCodecDelay(int sampleRate, int channelCount, int bitrate) {
+        final int totalFrames = FRAME_SIZE * 16;
+        final int burstCenter = FRAME_SIZE * 8;
+        final int burstLength = 256;
+
+        // Hann 창을 씌운 1kHz 톤 버스트 (에너지 중심 = burstCenter)
+        short[] pcm = new short[totalFrames * channelCount];
+        for (int i = 0; i < burstLength; i++) {
+            double window = 0.5 - 0.5 * Math.cos(2 * Math.PI * i / (burstLength - 1));
+            double tone = Math.sin(2 * Math.PI * 1000 * (i - burstLength / 2.0) / sampleRate);
+            short value = (short) (window * tone * 16000);
+            int frame = burstCenter - burstLength / 2 + i;
+            for (int ch = 0; ch < channelCount; ch++) {
+                pcm[frame * channelCount + ch] = value;
+            }
+        }
+
+        try {
+            AacFrameEncoder encoder = new AacFrameEncoder(sampleRate, channelCount, bitrate);
+            List<AacFrameEncoder.EncodedFrame> frames = encoder.encode(pcm, 0, totalFrames);
+            if (encoder.getOutputFormat() == null || frames.isEmpty()) {
+                return DEFAULT_CODEC_DELAY;
+            }
+
+            PcmRangeDecoder.PcmBlock decoded = new PcmRangeDecoder(encoder.getOutputFormat())
+                .decodeFrames(frames, encoder.getFrameDurationUs());
+
+            double energy = 0;
+            double weighted = 0;
+            for (int i = 0; i < decoded.frameCount; i++) {
+                double sample = decoded.samples[i * decoded.channelCount];
+                energy += sample * sample;
+                weighted += i * sample * sample;
+            }
+            if (energy <= 0) {
+                return DEFAULT_CODEC_DELAY;
+            }
+
+            int delay = (int) Math.round(weighted / energy) - burstCenter;
+            if (delay < 0 || delay > MAX_CODEC_DELAY) {
+                LoggerManager.logger("⚠️ 코덱 지연 측정값 비정상 (" + delay + ") - 기본값 사용");
+                return DEFAULT_CODEC_DELAY;
+            }
+
+            LoggerManager.logger("📏 AAC 코덱 지연 측정: " + delay + " samples (" + sampleRate + "Hz, "
+                + channelCount + "ch)");
+            return delay;
+
+        } catch (IOException | RuntimeException e) {
+            LoggerManager.logger("⚠️ 코덱 지연 측정 실패 - 기본값 사용: " + e.getMessage());
+            return DEFAULT_CODEC_DELAY;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.devc.lab.audios.manager;
+
+import android.media.MediaExtractor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 트랙 분배 SampleSink
+ * 여러 트랙이 선택된 extractor에서 읽은 샘플을 getSampleTrackIndex() 기준으로 트랙별 출력에 전달
+ * (SampleCopyKernel은 advance 전에 writeSample을 호출하므로 현재 트랙 인덱스가 곧 샘플의 트랙)
+ */
+public class TrackRoutingSink implements SampleSink {
+
+    private final MediaExtractor extractor;
+    private final SampleSink[] sinks;
+    private final long[] sampleCounts;
+
+    /**
+     * @param sinks 트랙 인덱스별 출력 (길이 = 트랙 수, 선택하지 않은 트랙은 null)
+     */
+    public TrackRoutingSink(MediaExtractor extractor, SampleSink[] sinks) {
+        this.extractor = extractor;
+        this.sinks = sinks;
+        this.sampleCounts = new long[sinks.length];
+    }
+
+    @Override
+    public void writeSample(ByteBuffer buffer, SampleInfo info) {
+        int trackIndex = extractor.getSampleTrackIndex();
+        if (trackIndex < 0 || trackIndex >= sinks.length || sinks[trackIndex] == null) {
+            return;
+        }
+        sinks[trackIndex].writeSample(buffer, info);
+        sampleCounts[trackIndex]++;
+    }
+
+    /**
+     * 트랙별 기록한 샘플 수
+     */
+    public long getSampleCount(int trackIndex) {
+        return sampleCounts[trackIndex];
+    }
+}
@@ -0,0 +1,439 @@
+package com.devc.lab.audios.manager;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.AudioFormat;
+import android.media.AudioTrack;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 자르기 구간 미리듣기 플레이어
+ * 파일을 내보내지 않고 선택 구간만 MediaCodec으로 디코딩해 PcmRingBuffer에 보관하고 AudioTrack으로 재생
+ * 핸들을 움직이면 바뀐 부분만 추가로 디코딩 (남은 부분은 버퍼에서 재사용)
+ * 모든 디코딩/재생은 작업 스레드 하나에서 순서대로 처리 (extractor/버퍼 동시 접근 없음)
+ */
+public class TrimPreviewPlayer {
+
+    // 선택 변경 시 미리 디코딩해 둘 구간 시작부 길이 (재생 버튼 → 첫 소리 지연 최소화)
+    private static final long WARM_UP_US = 500_000;
+    // 재생 중 한 번에 디코딩할 길이
+    private static final long DECODE_CHUNK_US = 1_000_000;
+    // 버퍼에 보관할 최대 길이 (넘는 부분은 재생 시 바로 디코딩하고 보관하지 않음)
+    private static final long MAX_CACHE_US = 60_000_000;
+    // AudioTrack에 한 번에 쓰는 프레임 수 (정지 요청 반응 단위)
+    private static final int WRITE_FRAMES = 1024;
+    private static final int MAX_OUTPUT_CHANNELS = 2;
+
+    private final Context context;
+    private final AudioFileManager fileManager;
+    private final MediaProcessingEngine processingEngine;
+    private final ExecutorService worker;
+    private final Handler mainHandler;
+
+    private OnPreviewStateChangeListener onStateChangeListener;
+    private OnPreviewErrorListener onErrorListener;
+
+    // 작업 스레드 전용 상태
+    private MediaSourceSession session;
+    private PcmRangeDecoder decoder;
+    private PcmRingBuffer cache;
+    private PcmFormatAdapter channelAdapter;
+    private int sampleRate;
+    private int channelCount;
+    private AudioTrack audioTrack;
+    private short[] writeBuffer;
+
+    private volatile long selectionStartUs = 0;
+    private volatile long selectionEndUs = 0;
+    private volatile boolean playing = false;
+    private volatile boolean stopRequested = false;
+
+    public interface OnPreviewStateChangeListener {
+        void onPreviewStateChanged(boolean playing);
+    }
+
+    public interface OnPreviewErrorListener {
+        void onPreviewError(String error);
+    }
+
+    public TrimPreviewPlayer(Context context) {
+        this.context = context.getApplicationContext();
+        this.fileManager = new AudioFileManager(this.context);
+        this.processingEngine = new MediaProcessingEngine();
+        this.worker = Executors.newSingleThreadExecutor();
+        this.mainHandler = new Handler(Looper.getMainLooper());
+    }
+
+    public void setOnPreviewStateChangeListener(OnPreviewStateChangeListener listener) {
+        this.onStateChangeListener = listener;
+    }
+
+    public void setOnPreviewErrorListener(OnPreviewErrorListener listener) {
+        this.onErrorListener = listener;
+    }
+
+    /**
+     * 미리듣기 소스 설정 (세션을 열고 이전 버퍼를 버림)
+     */
+    public void setSource(Uri sourceUri) {
+        stop();
+        selectionStartUs = 0;
+        selectionEndUs = 0;
+        worker.execute(() -> {
+            closeSession();
+            try {
+                MediaSourceHandle source = fileManager.openMediaSource(sourceUri);
+                if (source == null) {
+                    throw new AudioTrimException(AudioTrimException.ErrorType.FILE_ACCESS_DENIED,
+                        "미리듣기 소스 열기 실패");
+                }
+                session = MediaSourceSession.open(sourceUri, source, processingEngine);
+                decoder = new PcmRangeDecoder(session.getAudioFormat());
+                LoggerManager.logger("🎧 미리듣기 소스 준비: " + session);
+            } catch (AudioTrimException e) {
+                LoggerManager.logger("❌ 미리듣기 소스 준비 실패: " + e.getFullErrorInfo());
+                notifyError(e.getUserMessage());
+            }
+        });
+    }
+
+    /**
+     * 선택 구간 변경 - 재생 중이면 정지하고, 바뀐 부분만 디코딩해 버퍼 갱신
+     */
+    public void setSelection(long startUs, long endUs) {
+        if (startUs == selectionStartUs && endUs == selectionEndUs) {
+            return;
+        }
+        selectionStartUs = startUs;
+        selectionEndUs = endUs;
+        stop();
+
+        // 연속으로 들어온 변경은 실행 시점의 최신 선택 구간 기준으로 한 번만 반영됨
+        worker.execute(() -> {
+            try {
+                syncCacheToSelection();
+            } catch (IOException | RuntimeException e) {
+                LoggerManager.logger("⚠️ 미리듣기 버퍼 갱신 실패: " + e.getMessage());
+                resetCache();
+            }
+        });
+    }
+
+    /**
+     * 선택 구간 재생
+     */
+    public void play() {
+        if (playing) {
+            return;
+        }
+        stopRequested = false;
+        playing = true;
+        notifyStateChanged(true);
+
+        final long requestedAt = SystemClock.elapsedRealtime();
+        worker.execute(() -> {
+            try {
+                playSelection(requestedAt);
+            } catch (IOException | RuntimeException e) {
+                LoggerManager.logger("❌ 미리듣기 실패: " + e.getMessage());
+                resetCache();
+                notifyError("미리듣기 중 오류가 발생했습니다");
+            } finally {
+                playing = false;
+                notifyStateChanged(false);
+            }
+        });
+    }
+
+    /**
+     * 재생 정지 (버퍼는 유지)
+     */
+    public void stop() {
+        if (playing) {
+            stopRequested = true;
+        }
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * 리소스 정리 (이후 사용 불가)
+     */
+    public void release() {
+        stop();
+        worker.execute(() -> {
+            releaseAudioTrack();
+            closeSession();
+        });
+        worker.shutdown();
+    }
+
+    // ===== 작업 스레드 =====
+
+    /**
+     * 버퍼를 현재 선택 구간에 맞춤
+     * 겹치는 부분은 유지, 시작 핸들이 앞으로 이동한 만큼만 앞에 디코딩, 시작부는 WARM_UP_US까지 확보
+     */
+    private void syncCacheToSelection() throws IOException {
+        if (session == null) {
+            return;
+        }
+        long startUs = selectionStartUs;
+        long endUs = selectionEndUs;
+        if (endUs <= startUs) {
+            return;
+        }
+
+        if (cache == null) {
+            // 포맷(실제 디코더 출력 기준) 확인을 겸해 시작부 디코딩
+            appendDecoded(startUs, Math.min(endUs, startUs + WARM_UP_US), true);
+            return;
+        }
+
+        long startFrame = toFrame(startUs);
+        long endFrame = toFrame(endUs);
+        long previousStart = cache.getStartFrame();
+        cache.retain(startFrame, endFrame);
+
+        if (!cache.isEmpty() && startFrame < cache.getStartFrame()) {
+            // 시작 핸들을 앞으로 옮긴 경우: 새로 드러난 앞부분만 디코딩
+            long missingFrames = cache.getStartFrame() - startFrame;
+            if (missingFrames >= cache.getMaxCapacityFrames()) {
+                cache.reset(startFrame);
+            } else {
+                PcmRangeDecoder.PcmBlock block = decodeRange(startUs, toUs(cache.getStartFrame()));
+                int frames = (int) Math.min(missingFrames, block.frameCount);
+                short[] samples = adaptChannels(block, frames);
+                // 블록이 짧으면 모자란 만큼 무음으로 채워 연속성 유지
+                if (frames < missingFrames) {
+                    short[] padded = new short[(int) missingFrames * channelCount];
+                    System.arraycopy(samples, 0, padded, 0, frames * channelCount);
+                    samples = padded;
+                }
+                cache.prepend(samples, 0, (int) missingFrames);
+                LoggerManager.logger("🎧 미리듣기 앞부분 " + (missingFrames * 1000 / sampleRate) + "ms만 추가 디코딩");
+            }
+        }
+
+        long warmEnd = Math.min(endFrame, startFrame + toFrame(WARM_UP_US));
+        if (cache.getEndFrame() < warmEnd) {
+            appendDecoded(toUs(cache.isEmpty() ? startFrame : cache.getEndFrame()), toUs(warmEnd), false);
+        }
+
+        if (previousStart != cache.getStartFrame() || cache.getEndFrame() >= warmEnd) {
+            LoggerManager.logger("🎧 미리듣기 버퍼: " + (cache.getFrameCount() * 1000L / sampleRate) + "ms 보관");
+        }
+    }
+
+    /**
+     * 선택 구간을 처음부터 재생 (필요한 부분은 재생하면서 디코딩)
+     */
+    private void playSelection(long requestedAt) throws IOException {
+        if (session == null) {
+            notifyError("미리듣기 소스가 준비되지 않았습니다");
+            return;
+        }
+
+        syncCacheToSelection();
+        if (cache == null) {
+            return;
+        }
+
+        long position = toFrame(selectionStartUs);
+        long endFrame = toFrame(selectionEndUs);
+        AudioTrack track = obtainAudioTrack();
+        track.play();
+
+        boolean firstWrite = true;
+        short[] uncached = null;
+        long uncachedStart = 0;
+        int uncachedFrames = 0;
+
+        while (position < endFrame && !stopRequested) {
+            int frames = (int) Math.min(WRITE_FRAMES, endFrame - position);
+            int read;
+
+            if (position < cache.getEndFrame() && position >= cache.getStartFrame()) {
+                read = cache.read(position, writeBuffer, 0, frames);
+            } else if (position == cache.getEndFrame() && !cache.isFull()) {
+                // 버퍼 끝에 이어서 디코딩 (다음 재생/핸들 이동 때 재사용)
+                appendDecoded(toUs(position), toUs(Math.min(endFrame, position + toFrame(DECODE_CHUNK_US))), false);
+                continue;
+            } else {
+                // 버퍼 한도를 넘는 구간: 보관하지 않고 바로 디코딩해 재생
+                if (uncached == null || position < uncachedStart || position >= uncachedStart + uncachedFrames) {
+                    long chunkEnd = Math.min(endFrame, position + toFrame(DECODE_CHUNK_US));
+                    PcmRangeDecoder.PcmBlock block = decodeRange(toUs(position), toUs(chunkEnd));
+                    uncachedFrames = (int) Math.min(chunkEnd - position, block.frameCount);
+                    uncached = adaptChannels(block, uncachedFrames).clone();
+                    uncachedStart = position;
+                    if (uncachedFrames <= 0) {
+                        break;
+                    }
+                }
+                read = (int) Math.min(frames, uncachedStart + uncachedFrames - position);
+                System.arraycopy(uncached, (int) (position - uncachedStart) * channelCount,
+                                 writeBuffer, 0, read * channelCount);
+            }
+
+            if (read <= 0) {
+                break;
+            }
+
+            track.write(writeBuffer, 0, read * channelCount);
+            if (firstWrite) {
+                firstWrite = false;
+                LoggerManager.logger("🎧 미리듣기 시작 지연: " + (SystemClock.elapsedRealtime() - requestedAt) + "ms");
+            }
+            position += read;
+        }
+
+        if (stopRequested) {
+            track.pause();
+            track.flush();
+        } else {
+            // 남은 버퍼를 끝까지 재생하고 정지
+            track.stop();
+        }
+    }
+
+    /**
+     * [fromUs, toUs) 디코딩 후 버퍼 끝에 붙임 (resetToFrom이면 버퍼를 fromUs 위치로 새로 시작)
+     */
+    private void appendDecoded(long fromUs, long toUs, boolean resetToFrom) throws IOException {
+        PcmRangeDecoder.PcmBlock block = decodeRange(fromUs, toUs);
+        ensureCache(block);
+
+        long fromFrame = toFrame(fromUs);
+        if (resetToFrom || cache.isEmpty() || cache.getEndFrame() != fromFrame) {
+            cache.reset(fromFrame);
+        }
+
+        int frames = (int) Math.min(toFrame(toUs) - fromFrame, block.frameCount);
+        if (frames > 0) {
+            cache.append(adaptChannels(block, frames), 0, frames);
+        }
+        if (frames < toFrame(toUs) - fromFrame) {
+            // 디코더가 구간 끝까지 내지 못한 경우(파일 끝) 무음으로 채워 무한 재시도 방지
+            int missing = (int) (toFrame(toUs) - fromFrame - Math.max(0, frames));
+            cache.append(new short[missing * channelCount], 0, missing);
+        }
+    }
+
+    private PcmRangeDecoder.PcmBlock decodeRange(long fromUs, long toUs) throws IOException {
+        // decode()가 매번 구간 시작으로 seek하므로 extractor 위치는 되돌리지 않음
+        return decoder.decode(session.getExtractor(), fromUs, toUs);
+    }
+
+    /**
+     * 첫 디코딩 결과로 출력 포맷 결정 및 버퍼 생성 (3채널 이상은 스테레오로 다운믹스)
+     */
+    private void ensureCache(PcmRangeDecoder.PcmBlock block) {
+        int outputChannels = Math.min(MAX_OUTPUT_CHANNELS, block.channelCount);
+        if (cache != null && sampleRate == block.sampleRate && channelCount == outputChannels) {
+            return;
+        }
+
+        sampleRate = block.sampleRate;
+        channelCount = outputChannels;
+        channelAdapter = block.channelCount != outputChannels
+            ? new PcmFormatAdapter(sampleRate, block.channelCount, sampleRate, outputChannels) : null;
+        cache = new PcmRingBuffer(channelCount, sampleRate * 2, (int) (MAX_CACHE_US * sampleRate / 1_000_000L));
+        writeBuffer = new short[WRITE_FRAMES * channelCount];
+        releaseAudioTrack();
+    }
+
+    /**
+     * 블록 앞 frames 프레임을 출력 채널 수로 변환 (변환 불필요 시 원본 배열)
+     */
+    private short[] adaptChannels(PcmRangeDecoder.PcmBlock block, int frames) {
+        if (channelAdapter == null) {
+            return block.samples;
+        }
+        channelAdapter.process(block.samples, frames);
+        return channelAdapter.getOutput();
+    }
+
+    private AudioTrack obtainAudioTrack() {
+        if (audioTrack != null) {
+            return audioTrack;
+        }
+
+        int channelMask = channelCount == 1 ? AudioFormat.CHANNEL_OUT_MONO : AudioFormat.CHANNEL_OUT_STEREO;
+        int minBufferSize = AudioTrack.getMinBufferSize(sampleRate, channelMask, AudioFormat.ENCODING_PCM_16BIT);
+
+        audioTrack = new AudioTrack.Builder()
+            .setAudioAttributes(new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_MEDIA)
+                .setContentType(AudioAttributes.CONTENT_TYPE_MUSIC)
+                .build())
+            .setAudioFormat(new AudioFormat.Builder()
+                .setSampleRate(sampleRate)
+                .setChannelMask(channelMask)
+                .setEncoding(AudioFormat.ENCODING_PCM_16BIT)
+                .build())
+            .setBufferSizeInBytes(Math.max(minBufferSize, WRITE_FRAMES * channelCount * 2 * 2))
+            .setTransferMode(AudioTrack.MODE_STREAM)
+            .setPerformanceMode(AudioTrack.PERFORMANCE_MODE_LOW_LATENCY)
+            .build();
+
+        LoggerManager.logger("🎧 미리듣기 AudioTrack 생성: " + sampleRate + "Hz, " + channelCount + "ch");
+        return audioTrack;
+    }
+
+    private void releaseAudioTrack() {
+        if (audioTrack != null) {
+            try {
+                audioTrack.release();
+            } catch (Exception e) {
+                LoggerManager.logger("⚠️ AudioTrack 정리 실패: " + e.getMessage());
+            }
+            audioTrack = null;
+        }
+    }
+
+    private void resetCache() {
+        if (cache != null) {
+            cache.reset(0);
+        }
+    }
+
+    private void closeSession() {
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+        decoder = null;
+        cache = null;
+        channelAdapter = null;
+    }
+
+    private long toFrame(long timeUs) {
+        return Math.round(timeUs * (double) sampleRate / 1_000_000d);
+    }
+
+    private long toUs(long frame) {
+        return Math.round(frame * 1_000_000d / sampleRate);
+    }
+
+    private void notifyStateChanged(boolean isPlaying) {
+        if (onStateChangeListener != null) {
+            mainHandler.post(() -> onStateChangeListener.onPreviewStateChanged(isPlaying));
+        }
+    }
+
+    private void notifyError(String error) {
+        if (onErrorListener != null) {
+            mainHandler.post(() -> onErrorListener.onPreviewError(error));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.devc.lab.audios.manager;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * 스트리밍 WAV 출력 (16bit PCM, RIFF/RF64)
+ * PCM을 direct 버퍼에 모아 FileChannel로 순차 기록하고, 닫을 때 헤더의 크기 필드를 채움
+ *
+ * 헤더 구조:
+ * - RIFF(12) + JUNK(36) + fmt(24) + data(8) = 80 bytes
+ * - JUNK 청크는 RF64 ds64 청크와 같은 크기의 자리 확보용
+ * - 닫을 때 전체 크기가 4GB를 넘으면 RIFF → RF64, JUNK → ds64로 바꾸고 32bit 크기 필드는 0xFFFFFFFF
+ * - 기록 도중에는 크기 0인 헤더가 들어 있으므로 중단된 파일도 형식은 유효
+ */
+public class WavWriter implements PcmSink, Closeable {
+
+    public static final int BITS_PER_SAMPLE = 16;
+    static final int HEADER_SIZE = 80;
+    // RIFF 크기 필드 최대값 (초과 시 RF64)
+    static final long RIFF_MAX_SIZE = 0xFFFFFFFFL;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final int DS64_BODY_SIZE = 28;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int sampleRate;
+    private final int channelCount;
+    private final int frameBytes;
+    private final long rf64Threshold;
+    private long dataBytes = 0;
+    private boolean rf64 = false;
+    private boolean closed = false;
+
+    /**
+     * @param outputFile 출력 파일 (있으면 덮어씀)
+     * @param sampleRate 샘플레이트 (Hz)
+     * @param channelCount 채널 수
+     */
+    public WavWriter(File outputFile, int sampleRate, int channelCount) throws IOException {
+        this(outputFile, sampleRate, channelCount, RIFF_MAX_SIZE);
+    }
+
+    /**
+     * @param rf64Threshold RIFF 크기가 이 값을 넘으면 RF64로 기록 (테스트용)
+     */
+    WavWriter(File outputFile, int sampleRate, int channelCount, long rf64Threshold) throws IOException {
+        if (sampleRate <= 0 || channelCount <= 0) {
+            throw new IllegalArgumentException("잘못된 PCM 포맷: " + sampleRate + "Hz/" + channelCount + "ch");
+        }
+        this.sampleRate = sampleRate;
+        this.channelCount = channelCount;
+        this.frameBytes = channelCount * BITS_PER_SAMPLE / 8;
+        this.rf64Threshold = rf64Threshold;
+
+        this.file = new RandomAccessFile(outputFile, "rw");
+        this.channel = file.getChannel();
+        try {
+            channel.truncate(0);
+            ByteBuffer header = buildHeader();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+
+        // 버퍼 길이를 프레임 크기의 배수로 맞춰 프레임이 버퍼 경계에 걸치지 않게 함
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE - BUFFER_SIZE % frameBytes)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * 지금까지 기록한 PCM 바이트 수 (버퍼에 남은 것 포함)
+     */
+    public long getDataSize() {
+        return dataBytes;
+    }
+
+    public long getFrameCount() {
+        return dataBytes / frameBytes;
+    }
+
+    /**
+     * RF64로 마무리되었는지 여부 (close 이후에 의미 있음)
+     */
+    public boolean isRf64() {
+        return rf64;
+    }
+
+    @Override
+    public void writePcm(short[] samples, int frameOffset, int frames) throws IOException {
+        ensureOpen();
+        int sampleOffset = frameOffset * channelCount;
+        int remaining = frames * channelCount;
+
+        while (remaining > 0) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            int count = Math.min(remaining, buffer.remaining() / 2);
+            buffer.asShortBuffer().put(samples, sampleOffset, count);
+            buffer.position(buffer.position() + count * 2);
+            sampleOffset += count;
+            remaining -= count;
+        }
+        dataBytes += (long) frames * frameBytes;
+    }
+
+    /**
+     * 리틀 엔디언 16bit PCM 바이트 기록 (프레임 단위여야 함, buffer 위치가 끝으로 이동)
+     */
+    public void write(ByteBuffer pcm) throws IOException {
+        ensureOpen();
+        int length = pcm.remaining();
+        if (length % frameBytes != 0) {
+            throw new IllegalArgumentException("PCM 길이가 프레임 크기의 배수가 아닙니다: " + length);
+        }
+
+        // 큰 입력은 버퍼를 거치지 않고 바로 기록
+        if (length >= buffer.capacity()) {
+            flushBuffer();
+            while (pcm.hasRemaining()) {
+                channel.write(pcm);
+            }
+        } else {
+            while (pcm.hasRemaining()) {
+                if (!buffer.hasRemaining()) {
+                    flushBuffer();
+                }
+                int count = Math.min(pcm.remaining(), buffer.remaining());
+                int limit = pcm.limit();
+                pcm.limit(pcm.position() + count);
+                buffer.put(pcm);
+                pcm.limit(limit);
+            }
+        }
+        dataBytes += length;
+    }
+
+    /**
+     * 남은 PCM을 기록하고 헤더 크기 필드를 채운 뒤 파일을 닫음
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            flushBuffer();
+            rf64 = HEADER_SIZE - 8 + dataBytes > rf64Threshold;
+
+            ByteBuffer header = buildHeader();
+            long position = 0;
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("이미 닫힌 WavWriter");
+        }
+    }
+
+    /**
+     * 현재 dataBytes/rf64 기준 헤더 생성
+     */
+    private ByteBuffer buildHeader() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long riffSize = HEADER_SIZE - 8 + dataBytes;
+
+        header.put(ascii(rf64 ? "RF64" : "RIFF"));
+        header.putInt((int) (rf64 ? RIFF_MAX_SIZE : riffSize));
+        header.put(ascii("WAVE"));
+
+        // ds64 (RF64) 또는 같은 크기의 JUNK 청크
+        header.put(ascii(rf64 ? "ds64" : "JUNK"));
+        header.putInt(DS64_BODY_SIZE);
+        if (rf64) {
+            header.putLong(riffSize);
+            header.putLong(dataBytes);
+            header.putLong(dataBytes / frameBytes);
+            header.putInt(0);   // 추가 청크 크기 테이블 없음
+        } else {
+            header.put(new byte[DS64_BODY_SIZE]);
+        }
+
+        header.put(ascii("fmt "));
+        header.putInt(16);
+        header.putShort((short) 1);     // WAVE_FORMAT_PCM
+        header.putShort((short) channelCount);
+        header.putInt(sampleRate);
+        header.putInt(sampleRate * frameBytes);
+        header.putShort((short) frameBytes);
+        header.putShort((short) BITS_PER_SAMPLE);
+
+        header.put(ascii("data"));
+        header.putInt((int) (rf64 ? RIFF_MAX_SIZE : dataBytes));
+
+        header.flip();
+        return header;
+    }
+
+    private static byte[] ascii(String id) {
+        byte[] bytes = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            bytes[i] = (byte) id.charAt(i);
+        }
+        return bytes;
+    }
+}
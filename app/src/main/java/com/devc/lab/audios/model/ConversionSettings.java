@@ -2,7 +2,10 @@ package com.devc.lab.audios.model;
 
 public class ConversionSettings {
     public enum AudioFormat {
-        M4A("m4a");
+        M4A("m4a"),
+        WAV("wav"),
+        FLAC("flac"),
+        OPUS("opus");
         
         private final String extension;
         
@@ -15,17 +18,49 @@ public class ConversionSettings {
         }
     }
     
+    // 출력 채널 구성 (SOURCE면 스테레오 이하 유지, 멀티채널은 재인코딩 시 스테레오 다운믹스)
+    public enum ChannelMode {
+        SOURCE,
+        STEREO,     // 5.1 등 멀티채널 → 스테레오 다운믹스
+        MONO,
+        LEFT,       // 왼쪽 채널만 모노로
+        RIGHT       // 오른쪽 채널만 모노로
+    }
+    
+    // 0이면 원본 값 유지 (재인코딩하지 않음)
+    public static final int KEEP_SOURCE = 0;
+    
     private AudioFormat format;
-    private int bitrate;
-    private int sampleRate;
+    private int bitrate;      // kbps
+    private int sampleRate;   // Hz
+    private boolean speechOptimized;  // Opus 음성 프리셋 (모노, 낮은 비트레이트)
+    private ChannelMode channelMode;
+    private boolean normalizeLoudness;  // 라우드니스 평준화 (2-pass, 항상 재인코딩)
     private String inputPath;
     private String outputPath;
     
     public ConversionSettings() {
         // 기본 설정
         this.format = AudioFormat.M4A;
-        this.bitrate = 128;
-        this.sampleRate = 44100;
+        this.bitrate = KEEP_SOURCE;
+        this.sampleRate = KEEP_SOURCE;
+        this.channelMode = ChannelMode.SOURCE;
+    }
+    
+    /**
+     * 같은 변환 옵션의 복사본 (일괄 변환 시 항목별 입출력 경로 지정용)
+     */
+    public ConversionSettings copy() {
+        ConversionSettings copy = new ConversionSettings();
+        copy.format = format;
+        copy.bitrate = bitrate;
+        copy.sampleRate = sampleRate;
+        copy.speechOptimized = speechOptimized;
+        copy.channelMode = channelMode;
+        copy.normalizeLoudness = normalizeLoudness;
+        copy.inputPath = inputPath;
+        copy.outputPath = outputPath;
+        return copy;
     }
     
     // Getters and Setters
@@ -53,6 +88,38 @@ public class ConversionSettings {
         this.sampleRate = sampleRate;
     }
     
+    public boolean isSpeechOptimized() {
+        return speechOptimized;
+    }
+    
+    public void setSpeechOptimized(boolean speechOptimized) {
+        this.speechOptimized = speechOptimized;
+    }
+    
+    public ChannelMode getChannelMode() {
+        return channelMode;
+    }
+    
+    public void setChannelMode(ChannelMode channelMode) {
+        this.channelMode = channelMode != null ? channelMode : ChannelMode.SOURCE;
+    }
+    
+    public boolean isNormalizeLoudness() {
+        return normalizeLoudness;
+    }
+    
+    public void setNormalizeLoudness(boolean normalizeLoudness) {
+        this.normalizeLoudness = normalizeLoudness;
+    }
+    
+    public boolean keepsSourceBitrate() {
+        return bitrate == KEEP_SOURCE;
+    }
+    
+    public boolean keepsSourceSampleRate() {
+        return sampleRate == KEEP_SOURCE;
+    }
+    
     public String getInputPath() {
         return inputPath;
     }
@@ -75,6 +142,9 @@ public class ConversionSettings {
                 "format=" + format +
                 ", bitrate=" + bitrate +
                 ", sampleRate=" + sampleRate +
+                ", speechOptimized=" + speechOptimized +
+                ", channelMode=" + channelMode +
+                ", normalizeLoudness=" + normalizeLoudness +
                 ", inputPath='" + inputPath + '\'' +
                 ", outputPath='" + outputPath + '\'' +
                 '}';
@@ -8,6 +8,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import com.devc.lab.audios.manager.AudioTrimManager;
 import com.devc.lab.audios.manager.LoggerManager;
+import com.devc.lab.audios.manager.NativeAudioTrimManager;
 
 /**
  * 편집 화면의 ViewModel
@@ -20,6 +21,7 @@ public class EditViewModel extends AndroidViewModel {
     private final MutableLiveData<Long> audioDuration = new MutableLiveData<>(0L);
     private final MutableLiveData<Float> trimStartPosition = new MutableLiveData<>(0f);
     private final MutableLiveData<Float> trimEndPosition = new MutableLiveData<>(1f);
+    private final MutableLiveData<Boolean> deleteSelection = new MutableLiveData<>(false); // true: 선택 구간 삭제
     private final MutableLiveData<Boolean> isProcessing = new MutableLiveData<>(false);
     private final MutableLiveData<Integer> processingProgress = new MutableLiveData<>(0);
     private final MutableLiveData<String> statusMessage = new MutableLiveData<>("");
@@ -116,6 +118,18 @@ public class EditViewModel extends AndroidViewModel {
         LoggerManager.logger("자르기 끝 위치: " + position);
     }
     
+    /**
+     * 선택 구간 모드 설정 (false: 선택 구간 유지, true: 선택 구간 삭제)
+     */
+    public void setDeleteSelection(boolean delete) {
+        deleteSelection.setValue(delete);
+        LoggerManager.logger("선택 구간 모드: " + (delete ? "삭제" : "유지"));
+    }
+    
+    public boolean isDeleteSelection() {
+        return Boolean.TRUE.equals(deleteSelection.getValue());
+    }
+    
     /**
      * 자르기 실행
      */
@@ -149,10 +163,17 @@ public class EditViewModel extends AndroidViewModel {
         String extension = originalName.contains(".") ? 
             originalName.substring(originalName.lastIndexOf(".")) : ".mp3";
         
-        String outputFileName = "trimmed_" + baseName + "_" + System.currentTimeMillis() + extension;
+        String prefix = isDeleteSelection() ? "cut_" : "trimmed_";
+        String outputFileName = prefix + baseName + "_" + System.currentTimeMillis() + extension;
         
-        // 자르기 실행
-        audioTrimManager.trimAudioByRatio(uri, startPos, endPos, duration, outputFileName);
+        if (isDeleteSelection()) {
+            // 선택 구간 삭제 (앞/뒤 부분을 이어 붙임)
+            audioTrimManager.cutOutAudioByRatio(uri, startPos, endPos, duration, outputFileName);
+        } else {
+            // 자르기 실행 (파형 핸들 위치와 정확히 맞도록 스마트 자르기)
+            audioTrimManager.trimAudioByRatio(uri, startPos, endPos, duration, outputFileName,
+                                              NativeAudioTrimManager.TrimMode.SMART);
+        }
         
         LoggerManager.logger(String.format("자르기 실행: %s (%.1f%% ~ %.1f%%)", 
             outputFileName, startPos * 100, endPos * 100));
@@ -192,6 +213,10 @@ public class EditViewModel extends AndroidViewModel {
         }
         
         long trimDurationMs = (long) ((endPos - startPos) * duration);
+        if (isDeleteSelection()) {
+            // 삭제 모드에서는 남는 길이
+            trimDurationMs = duration - trimDurationMs;
+        }
         return audioTrimManager.millisToTimeString(trimDurationMs);
     }
     
@@ -327,6 +352,10 @@ public class EditViewModel extends AndroidViewModel {
         return trimEndPosition;
     }
     
+    public LiveData<Boolean> getDeleteSelection() {
+        return deleteSelection;
+    }
+    
     public LiveData<Boolean> getIsProcessing() {
         return isProcessing;
     }
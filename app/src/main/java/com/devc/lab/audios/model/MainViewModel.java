@@ -11,6 +11,7 @@ import androidx.lifecycle.MutableLiveData;
 
 import com.devc.lab.audios.manager.AudioPlayerManager;
 import com.devc.lab.audios.manager.AudioConversionManager;
+import com.devc.lab.audios.manager.BatchConversionQueue;
 import com.devc.lab.audios.manager.FileManager;
 import com.devc.lab.audios.manager.LoggerManager;
 import com.devc.lab.audios.manager.PermissionManager;
@@ -44,6 +45,14 @@ public class MainViewModel extends AndroidViewModel {
     private MutableLiveData<Boolean> isConverting = new MutableLiveData<>(false);
     private MutableLiveData<String> convertedFilePath = new MutableLiveData<>("");
     
+    // 일괄 변환 관련
+    private BatchConversionQueue batchConversionQueue;
+    private MutableLiveData<BatchConversionQueue.Snapshot> batchStatus = new MutableLiveData<>();
+    // 일괄 변환 화면 상태 (화면 회전 등으로 Fragment가 다시 만들어져도 진행 다이얼로그/결과 알림을 이어감)
+    private ConversionSettings batchSettings;
+    private boolean batchDialogVisible = false;
+    private boolean batchResultPending = false;
+    
     // 권한 관련
     private MutableLiveData<Boolean> hasRequiredPermissions = new MutableLiveData<>(false);
     private MutableLiveData<String> permissionStatusText = new MutableLiveData<>("");
@@ -80,6 +89,12 @@ public class MainViewModel extends AndroidViewModel {
             // AudioConversion 콜백 설정
             setupAudioConversionCallbacks();
             
+            // 일괄 변환 큐는 Activity가 다시 만들어져도 진행 중인 변환을 이어가도록 최초 1회만 생성
+            if (batchConversionQueue == null) {
+                batchConversionQueue = new BatchConversionQueue(new AudioConversionManager(), getApplication());
+                setupBatchConversionCallbacks();
+            }
+            
             // AudioPlayer 콜백 설정
             setupAudioPlayerCallbacks();
             
@@ -132,6 +147,18 @@ public class MainViewModel extends AndroidViewModel {
         });
     }
     
+    /**
+     * 일괄 변환 콜백 설정 (항목별/전체 진행률, 남은 시간)
+     */
+    private void setupBatchConversionCallbacks() {
+        batchConversionQueue.setListener(snapshot -> {
+            batchStatus.postValue(snapshot);
+            if (snapshot.finished) {
+                updateStatusMessage("일괄 변환 완료: 성공 " + snapshot.completedCount + " / " + snapshot.totalCount);
+            }
+        });
+    }
+    
     /**
      * AudioPlayer 콜백 설정
      */
@@ -360,6 +387,85 @@ public class MainViewModel extends AndroidViewModel {
         }
     }
     
+    /**
+     * 여러 파일 일괄 변환 시작 (같은 변환 설정, 코어/코덱 수에 맞춰 병렬 실행)
+     * @param fileUris 입력 파일 목록
+     * @param outputFileNames 항목별 출력 파일명
+     */
+    public void startBatchConversion(List<Uri> fileUris, List<String> outputFileNames, ConversionSettings settings) {
+        if (batchConversionQueue == null) {
+            updateErrorMessage("BatchConversionQueue가 초기화되지 않음");
+            return;
+        }
+        
+        if (batchConversionQueue.isRunning()) {
+            updateStatusMessage("이미 일괄 변환이 진행 중입니다.");
+            return;
+        }
+        
+        if (batchConversionQueue.start(fileUris, outputFileNames, settings)) {
+            batchSettings = settings;
+            batchDialogVisible = true;
+            batchResultPending = true;
+            updateStatusMessage("일괄 변환 시작: " + fileUris.size() + "개 파일");
+        } else {
+            updateErrorMessage("일괄 변환을 시작할 수 없습니다.");
+        }
+    }
+    
+    /**
+     * 일괄 변환 전체 취소
+     */
+    public void cancelBatchConversion() {
+        if (batchConversionQueue != null && batchConversionQueue.isRunning()) {
+            batchDialogVisible = false;
+            batchConversionQueue.cancelAll();
+            updateStatusMessage("일괄 변환 취소됨");
+        }
+    }
+    
+    /**
+     * 일괄 변환 진행 다이얼로그를 닫고 백그라운드로 계속 진행
+     */
+    public void sendBatchConversionToBackground() {
+        batchDialogVisible = false;
+    }
+    
+    /**
+     * 진행 중인 일괄 변환의 진행 다이얼로그를 (다시) 보여야 하는지
+     */
+    public boolean shouldShowBatchDialog() {
+        return batchDialogVisible && isBatchConversionRunning();
+    }
+    
+    public boolean isBatchConversionRunning() {
+        return batchConversionQueue != null && batchConversionQueue.isRunning();
+    }
+    
+    /**
+     * 진행 중이거나 마지막으로 시작한 일괄 변환의 설정/항목 수
+     */
+    public ConversionSettings getBatchSettings() {
+        return batchSettings;
+    }
+    
+    public int getBatchItemCount() {
+        return batchConversionQueue != null ? batchConversionQueue.getItems().size() : 0;
+    }
+    
+    /**
+     * 끝난 일괄 변환의 결과를 화면에 한 번만 알리기 위해 소비
+     * @return 아직 알리지 않은 결과이면 true
+     */
+    public boolean consumeBatchResult() {
+        if (!batchResultPending) {
+            return false;
+        }
+        batchResultPending = false;
+        batchDialogVisible = false;
+        return true;
+    }
+    
     /**
      * 오디오를 플레이어에 로드
      */
@@ -466,6 +572,10 @@ public class MainViewModel extends AndroidViewModel {
         return convertedFilePath;
     }
     
+    public LiveData<BatchConversionQueue.Snapshot> getBatchStatus() {
+        return batchStatus;
+    }
+    
     public LiveData<Boolean> getHasRequiredPermissions() {
         return hasRequiredPermissions;
     }
@@ -517,6 +627,10 @@ public class MainViewModel extends AndroidViewModel {
         
         try {
             // 리소스 정리
+            if (batchConversionQueue != null) {
+                batchConversionQueue.cancelAll();
+            }
+            
             if (audioConversionManager != null) {
                 audioConversionManager.cleanup();
             }
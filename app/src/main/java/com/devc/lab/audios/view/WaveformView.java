@@ -23,6 +23,7 @@ public class WaveformView extends View {
     // 페인트 객체들
     private Paint waveformPaint;
     private Paint selectedAreaPaint;
+    private Paint deletedAreaPaint;
     private Paint trimHandlePaint;
     private Paint centerLinePaint;
     private Paint playheadPaint;
@@ -32,6 +33,7 @@ public class WaveformView extends View {
     private int waveformLength = 0;
     
     // 자르기 영역
+    private SelectionMode selectionMode = SelectionMode.KEEP;
     private float trimStartPosition = 0f;
     private float trimEndPosition = 1f;
     private boolean isDraggingStart = false;
@@ -58,6 +60,14 @@ public class WaveformView extends View {
     private float lastTouchX = 0;
     private static final float SCROLL_THRESHOLD = 30f; // 스크롤 판단 임계값 (픽셀)
     
+    /**
+     * 선택 구간 의미 (유지할 구간 / 삭제할 구간)
+     */
+    public enum SelectionMode {
+        KEEP,
+        DELETE
+    }
+    
     public interface OnTrimPositionChangeListener {
         void onTrimStartChanged(float position);
         void onTrimEndChanged(float position);
@@ -91,6 +101,12 @@ public class WaveformView extends View {
         selectedAreaPaint.setAlpha(50);
         selectedAreaPaint.setStyle(Paint.Style.FILL);
         
+        // 삭제 영역 페인트
+        deletedAreaPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        deletedAreaPaint.setColor(context.getResources().getColor(R.color.md_theme_error, null));
+        deletedAreaPaint.setAlpha(70);
+        deletedAreaPaint.setStyle(Paint.Style.FILL);
+        
         // 자르기 핸들 페인트
         trimHandlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         trimHandlePaint.setColor(context.getResources().getColor(R.color.md_theme_primary, null));
@@ -240,8 +256,13 @@ public class WaveformView extends View {
         float startX = trimStartPosition * viewWidth;
         float endX = trimEndPosition * viewWidth;
         
-        // 선택된 영역에 반투명 오버레이
-        canvas.drawRect(startX, 0, endX, viewHeight, selectedAreaPaint);
+        if (selectionMode == SelectionMode.DELETE) {
+            // 삭제될 영역을 경고색으로 표시
+            canvas.drawRect(startX, 0, endX, viewHeight, deletedAreaPaint);
+        } else {
+            // 선택된 영역에 반투명 오버레이
+            canvas.drawRect(startX, 0, endX, viewHeight, selectedAreaPaint);
+        }
     }
     
     private void drawTrimHandles(Canvas canvas) {
@@ -424,6 +445,15 @@ public class WaveformView extends View {
         this.trimListener = listener;
     }
     
+    public void setSelectionMode(SelectionMode mode) {
+        this.selectionMode = mode != null ? mode : SelectionMode.KEEP;
+        invalidate();
+    }
+    
+    public SelectionMode getSelectionMode() {
+        return selectionMode;
+    }
+    
     public float getTrimStartPosition() {
         return trimStartPosition;
     }
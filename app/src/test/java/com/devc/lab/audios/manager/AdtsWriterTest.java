@@ -0,0 +1,138 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * AdtsWriter 헤더 생성/csd-0 분석 검증
+ */
+public class AdtsWriterTest {
+
+    // AAC-LC, 44.1kHz, 스테레오
+    private static final byte[] CSD_LC_44100_STEREO = {0x12, 0x10};
+
+    private File output;
+
+    @Before
+    public void setUp() throws IOException {
+        output = File.createTempFile("adts-writer", ".aac");
+    }
+
+    @After
+    public void tearDown() {
+        output.delete();
+    }
+
+    @Test
+    public void prependsHeaderToEachFrame() throws IOException {
+        byte[] first = payload(371, 1);
+        byte[] second = payload(402, 2);
+
+        try (AdtsWriter writer = new AdtsWriter(output, ByteBuffer.wrap(CSD_LC_44100_STEREO))) {
+            SampleInfo info = new SampleInfo();
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            buffer.put(new byte[10]).put(first);
+            info.set(10, first.length, 0, 1);
+            writer.writeSample(buffer, info);
+            assertEquals(10 + first.length, buffer.position());
+
+            writer.writeFrame(ByteBuffer.wrap(second), 0, second.length);
+            assertEquals(2, writer.getFrameCount());
+        }
+
+        byte[] file = Files.readAllBytes(output.toPath());
+        assertEquals(2 * AdtsWriter.HEADER_SIZE + first.length + second.length, file.length);
+
+        assertHeader(file, 0, 1, 4, 2, first.length + AdtsWriter.HEADER_SIZE);
+        assertEquals(first[0], file[AdtsWriter.HEADER_SIZE]);
+        assertEquals(first[first.length - 1], file[AdtsWriter.HEADER_SIZE + first.length - 1]);
+
+        int secondOffset = AdtsWriter.HEADER_SIZE + first.length;
+        assertHeader(file, secondOffset, 1, 4, 2, second.length + AdtsWriter.HEADER_SIZE);
+        assertEquals(second[5], file[secondOffset + AdtsWriter.HEADER_SIZE + 5]);
+    }
+
+    @Test
+    public void encodesKnownHeaderBytes() {
+        // AAC-LC 44.1kHz 스테레오, 프레임 길이 7 + 371 = 378
+        byte[] header = new byte[AdtsWriter.HEADER_SIZE];
+        AdtsWriter.buildHeader(header, AdtsWriter.parseAudioSpecificConfig(ByteBuffer.wrap(CSD_LC_44100_STEREO)), 371);
+        byte[] expected = {(byte) 0xFF, (byte) 0xF1, 0x50, (byte) 0x80, 0x2F, 0x5F, (byte) 0xFC};
+        assertArrayEquals(expected, header);
+    }
+
+    @Test
+    public void readsHeAacAsCoreProfile() {
+        // HE-AAC 명시 신호: SBR(5), 코어 24kHz(6), 스테레오, 확장 48kHz(3), 기반 AAC-LC(2)
+        byte[] csd = {0x2B, 0x11, (byte) 0x88, 0x00};
+        AdtsWriter.AudioConfig config = AdtsWriter.parseAudioSpecificConfig(ByteBuffer.wrap(csd));
+        assertEquals(2, config.objectType);
+        assertEquals(6, config.sampleRateIndex);
+        assertEquals(2, config.channelConfig);
+    }
+
+    @Test
+    public void readsExplicitSampleRate() {
+        // AAC-LC, 샘플레이트 인덱스 15 + 24bit 44100, 모노
+        int bits = (2 << 27) | (0xF << 23) | (44_100 >> 1);
+        byte[] csd = {(byte) (bits >>> 24), (byte) (bits >>> 16), (byte) (bits >>> 8), (byte) bits,
+                      (byte) (((44_100 & 1) << 7) | (1 << 3))};
+        AdtsWriter.AudioConfig config = AdtsWriter.parseAudioSpecificConfig(ByteBuffer.wrap(csd));
+        assertEquals(4, config.sampleRateIndex);
+        assertEquals(1, config.channelConfig);
+    }
+
+    @Test
+    public void leavesCsdPositionUntouched() {
+        ByteBuffer csd = ByteBuffer.wrap(CSD_LC_44100_STEREO);
+        AdtsWriter.parseAudioSpecificConfig(csd);
+        assertEquals(0, csd.position());
+    }
+
+    @Test
+    public void writesEncoderConfiguredStreams() throws IOException {
+        try (AdtsWriter writer = new AdtsWriter(output, AdtsWriter.OBJECT_TYPE_AAC_LC, 48_000, 1)) {
+            writer.writeFrame(ByteBuffer.wrap(payload(200, 3)), 0, 200);
+        }
+        byte[] file = Files.readAllBytes(output.toPath());
+        assertHeader(file, 0, 1, 3, 1, 207);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsPceChannelConfig() {
+        AdtsWriter.parseAudioSpecificConfig(ByteBuffer.wrap(new byte[] {0x12, 0x00}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOversizedFrames() {
+        AdtsWriter.buildHeader(new byte[AdtsWriter.HEADER_SIZE],
+            AdtsWriter.parseAudioSpecificConfig(ByteBuffer.wrap(CSD_LC_44100_STEREO)), AdtsWriter.MAX_FRAME_LENGTH);
+    }
+
+    private static void assertHeader(byte[] data, int offset, int profile, int rateIndex, int channels, int length) {
+        assertEquals((byte) 0xFF, data[offset]);
+        assertEquals((byte) 0xF1, data[offset + 1]);
+        assertEquals(profile, (data[offset + 2] & 0xFF) >>> 6);
+        assertEquals(rateIndex, (data[offset + 2] >>> 2) & 0xF);
+        assertEquals(channels, ((data[offset + 2] & 0x1) << 2) | ((data[offset + 3] & 0xFF) >>> 6));
+        int frameLength = ((data[offset + 3] & 0x3) << 11) | ((data[offset + 4] & 0xFF) << 3)
+            | ((data[offset + 5] & 0xFF) >>> 5);
+        assertEquals(length, frameLength);
+    }
+
+    private static byte[] payload(int size, int seed) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i * 7 + seed);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,215 @@
+package com.devc.lab.audios.manager;
+
+import android.net.Uri;
+
+import com.devc.lab.audios.model.ConversionSettings;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * BatchConversionQueue 항목 상태 전이, 전체 진행률/남은 시간, 전체 취소, 종료 알림 검증
+ * (작업 등록은 가짜 JobSubmitter로 대체하고 작업 콜백을 직접 호출)
+ */
+public class BatchConversionQueueTest {
+
+    /**
+     * 등록된 작업의 리스너/설정을 기록하는 가짜 작업 등록기 (작업 ID = 등록 순서)
+     */
+    private static final class FakeSubmitter implements BatchConversionQueue.JobSubmitter {
+        final List<MediaJob.Listener> listeners = new ArrayList<>();
+        final List<ConversionSettings> settings = new ArrayList<>();
+        final Set<Long> cancelled = new HashSet<>();
+
+        @Override
+        public long submit(Uri inputUri, ConversionSettings itemSettings, MediaJob.Listener listener) {
+            settings.add(itemSettings);
+            listeners.add(listener);
+            return listeners.size() - 1;
+        }
+
+        @Override
+        public void cancel(long jobId) {
+            cancelled.add(jobId);
+        }
+
+        MediaJob.Listener job(int index) {
+            return listeners.get(index);
+        }
+    }
+
+    private FakeSubmitter submitter;
+    private long nowMs;
+    private BatchConversionQueue queue;
+    private List<BatchConversionQueue.Snapshot> updates;
+
+    @Before
+    public void setUp() {
+        submitter = new FakeSubmitter();
+        nowMs = 1_000;
+        queue = new BatchConversionQueue(submitter, () -> nowMs);
+        updates = new ArrayList<>();
+        queue.setListener(updates::add);
+    }
+
+    private boolean start(String... outputFileNames) {
+        return queue.start(Collections.nCopies(outputFileNames.length, (Uri) null),
+                           Arrays.asList(outputFileNames), new ConversionSettings());
+    }
+
+    private BatchConversionQueue.Snapshot last() {
+        return updates.get(updates.size() - 1);
+    }
+
+    private int finishedUpdates() {
+        int count = 0;
+        for (BatchConversionQueue.Snapshot snapshot : updates) {
+            if (snapshot.finished) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void submitsEveryItemWithUniqueOutputNames() {
+        assertTrue(start("clip.m4a", "clip.m4a", "other.m4a"));
+
+        assertEquals(3, submitter.listeners.size());
+        assertEquals("clip.m4a", submitter.settings.get(0).getOutputPath());
+        assertEquals("clip_2.m4a", submitter.settings.get(1).getOutputPath());
+        assertEquals("other.m4a", submitter.settings.get(2).getOutputPath());
+
+        BatchConversionQueue.Snapshot snapshot = last();
+        assertEquals(3, snapshot.totalCount);
+        assertEquals(0, snapshot.progress);
+        assertFalse(snapshot.finished);
+        for (BatchConversionQueue.Item item : snapshot.items) {
+            assertEquals(BatchConversionQueue.ItemState.QUEUED, item.getState());
+        }
+
+        // 진행 중에는 새 일괄 변환을 받지 않음
+        assertFalse(start("again.m4a"));
+        assertEquals(3, submitter.listeners.size());
+    }
+
+    @Test
+    public void rejectsMismatchedInput() {
+        assertFalse(queue.start(Collections.nCopies(2, (Uri) null), Collections.singletonList("a.m4a"),
+                                new ConversionSettings()));
+        assertFalse(queue.isRunning());
+        assertTrue(submitter.listeners.isEmpty());
+    }
+
+    @Test
+    public void tracksItemStatesAndAggregateProgress() {
+        start("a.m4a", "b.m4a", "c.m4a", "d.m4a");
+
+        submitter.job(0).onJobStart(0);
+        submitter.job(0).onJobProgress(0, 50);
+        assertEquals(BatchConversionQueue.ItemState.RUNNING, queue.getItems().get(0).getState());
+        assertEquals(1, last().runningCount);
+        // 항목마다 같은 비중: (50 + 0 + 0 + 0) / 4
+        assertEquals(12, last().progress);
+
+        submitter.job(1).onJobStart(1);
+        submitter.job(1).onJobComplete(1, "/out/b.m4a");
+        assertEquals(BatchConversionQueue.ItemState.COMPLETED, queue.getItems().get(1).getState());
+        assertEquals("/out/b.m4a", queue.getItems().get(1).getOutputPath());
+        assertEquals(1, last().completedCount);
+        assertEquals(37, last().progress);
+
+        // 실패한 항목도 끝난 항목이므로 100으로 계산
+        submitter.job(2).onJobError(2, "디코딩 실패");
+        assertEquals(BatchConversionQueue.ItemState.FAILED, queue.getItems().get(2).getState());
+        assertEquals("디코딩 실패", queue.getItems().get(2).getError());
+        assertEquals(1, last().failedCount);
+        assertEquals(62, last().progress);
+        assertFalse(last().finished);
+        assertEquals(0, finishedUpdates());
+    }
+
+    @Test
+    public void estimatesRemainingTimeFromElapsedClock() {
+        start("a.m4a", "b.m4a");
+
+        nowMs += 10_000;
+        submitter.job(0).onJobStart(0);
+        submitter.job(0).onJobProgress(0, 50);
+        // 전체 25%에 10초 → 남은 75%는 30초
+        assertEquals(25, last().progress);
+        assertEquals(30_000, last().remainingMs);
+
+        // 시작 직후는 추정하지 않음
+        assertEquals(-1, BatchConversionQueue.estimateRemainingMs(500, 0.5));
+        assertEquals(-1, BatchConversionQueue.estimateRemainingMs(60_000, 0.01));
+    }
+
+    @Test
+    public void cancelAllMarksQueuedAndRunningItemsCancelled() {
+        start("a.m4a", "b.m4a", "c.m4a");
+        submitter.job(0).onJobStart(0);
+        submitter.job(0).onJobProgress(0, 40);
+        submitter.job(1).onJobStart(1);
+        submitter.job(1).onJobComplete(1, "/out/b.m4a");
+
+        queue.cancelAll();
+        assertEquals(new HashSet<>(Arrays.asList(0L, 2L)), submitter.cancelled);
+
+        // MediaJob은 취소된 작업(대기/실행 중)을 onJobError로 보고
+        submitter.job(2).onJobError(2, "작업이 취소되었습니다");
+        submitter.job(0).onJobError(0, "작업이 취소되었습니다");
+
+        List<BatchConversionQueue.Item> items = queue.getItems();
+        assertEquals(BatchConversionQueue.ItemState.CANCELLED, items.get(0).getState());
+        assertEquals(BatchConversionQueue.ItemState.COMPLETED, items.get(1).getState());
+        assertEquals(BatchConversionQueue.ItemState.CANCELLED, items.get(2).getState());
+
+        BatchConversionQueue.Snapshot snapshot = last();
+        assertTrue(snapshot.finished);
+        assertEquals(1, snapshot.completedCount);
+        assertEquals(2, snapshot.cancelledCount);
+        assertEquals(0, snapshot.failedCount);
+        assertFalse(queue.isRunning());
+        assertEquals(1, finishedUpdates());
+    }
+
+    @Test
+    public void reportsFinishedOnceWithCompletedCount() {
+        start("a.m4a", "b.m4a", "c.m4a");
+        for (int i = 0; i < 3; i++) {
+            submitter.job(i).onJobStart(i);
+            submitter.job(i).onJobComplete(i, "/out/" + i + ".m4a");
+        }
+
+        BatchConversionQueue.Snapshot snapshot = last();
+        assertTrue(snapshot.finished);
+        assertEquals(3, snapshot.completedCount);
+        assertEquals(100, snapshot.progress);
+        assertEquals(0, snapshot.remainingMs);
+        assertEquals(1, finishedUpdates());
+
+        // 끝난 뒤 취소는 아무 작업도 건드리지 않음
+        queue.cancelAll();
+        assertTrue(submitter.cancelled.isEmpty());
+    }
+
+    @Test
+    public void numbersDuplicateOutputNames() {
+        Set<String> used = new HashSet<>();
+        assertEquals("clip_converted.m4a", BatchConversionQueue.makeUnique("clip_converted.m4a", used));
+        assertEquals("clip_converted_2.m4a", BatchConversionQueue.makeUnique("clip_converted.m4a", used));
+        assertEquals("Clip_converted_3.m4a", BatchConversionQueue.makeUnique("Clip_converted.m4a", used));
+        assertEquals("noext", BatchConversionQueue.makeUnique("noext", used));
+        assertEquals("noext_2", BatchConversionQueue.makeUnique("noext", used));
+    }
+}
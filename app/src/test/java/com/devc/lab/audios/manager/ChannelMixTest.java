@@ -0,0 +1,83 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * ChannelMix 다운믹스 행렬 및 PcmFormatAdapter 채널 변환 검증
+ */
+public class ChannelMixTest {
+
+    private static final float MINUS_3DB = 0.70710678f;
+
+    @Test
+    public void downmixes51ToStereoWithoutLfeAndClipping() {
+        float[][] matrix = ChannelMix.SOURCE.createMatrix(6, 2);
+        float norm = 1 + 2 * MINUS_3DB;
+
+        // FL FR FC LFE BL BR
+        assertArrayEquals(new float[] {1 / norm, 0, MINUS_3DB / norm, 0, MINUS_3DB / norm, 0}, matrix[0], 1e-6f);
+        assertArrayEquals(new float[] {0, 1 / norm, MINUS_3DB / norm, 0, 0, MINUS_3DB / norm}, matrix[1], 1e-6f);
+        for (float[] row : matrix) {
+            float sum = 0;
+            for (float gain : row) {
+                sum += gain;
+            }
+            assertEquals(1f, sum, 1e-6f);
+        }
+    }
+
+    @Test
+    public void resolvesOutputChannelsPerMode() {
+        assertEquals(2, ChannelMix.SOURCE.resolveChannels(6));
+        assertEquals(1, ChannelMix.SOURCE.resolveChannels(1));
+        assertEquals(2, ChannelMix.STEREO.resolveChannels(1));
+        assertEquals(1, ChannelMix.MONO.resolveChannels(6));
+        assertEquals(1, ChannelMix.RIGHT.resolveChannels(2));
+
+        assertFalse(ChannelMix.STEREO.changes(2));
+        assertTrue(ChannelMix.MONO.changes(2));
+        assertTrue(ChannelMix.LEFT.changes(2));
+        assertFalse(ChannelMix.LEFT.changes(1));
+    }
+
+    @Test
+    public void adapterDownmixesStereoToMonoAndSelectsChannels() {
+        short[] stereo = {1000, 3000, -2000, 0};
+
+        PcmFormatAdapter mono = new PcmFormatAdapter(48_000, 2, 48_000, 1, ChannelMix.MONO);
+        assertEquals(2, mono.process(stereo, 2));
+        assertEquals(2000, mono.getOutput()[0]);
+        assertEquals(-1000, mono.getOutput()[1]);
+
+        PcmFormatAdapter right = new PcmFormatAdapter(48_000, 2, 48_000, 1, ChannelMix.RIGHT);
+        right.process(stereo, 2);
+        assertEquals(3000, right.getOutput()[0]);
+        assertEquals(0, right.getOutput()[1]);
+
+        PcmFormatAdapter left = new PcmFormatAdapter(48_000, 2, 48_000, 1, ChannelMix.LEFT);
+        left.process(stereo, 2);
+        assertEquals(1000, left.getOutput()[0]);
+        assertEquals(-2000, left.getOutput()[1]);
+    }
+
+    @Test
+    public void adapterDownmixes51CenterToBothSides() {
+        // 센터 채널만 있는 5.1 프레임은 좌우에 같은 크기로
+        short[] frame = {0, 0, 10_000, 20_000, 0, 0};
+        PcmFormatAdapter adapter = new PcmFormatAdapter(48_000, 6, 48_000, 2);
+        assertFalse(adapter.isPassthrough());
+        assertEquals(1, adapter.process(frame, 1));
+
+        short expected = (short) Math.round(10_000 * MINUS_3DB / (1 + 2 * MINUS_3DB));
+        assertEquals(expected, adapter.getOutput()[0]);
+        assertEquals(expected, adapter.getOutput()[1]);
+    }
+
+    @Test
+    public void adapterKeepsStereoAsPassthrough() {
+        assertTrue(new PcmFormatAdapter(44_100, 2, 44_100, 2, ChannelMix.STEREO).isPassthrough());
+        assertTrue(new PcmFormatAdapter(44_100, 1, 44_100, 1, ChannelMix.LEFT).isPassthrough());
+    }
+}
@@ -0,0 +1,75 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ContentFingerprint 샘플링 범위 및 내용 변화 감지 검증
+ */
+public class ContentFingerprintTest {
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    /**
+     * 배열을 소스로 지문 계산 (읽은 바이트 수도 함께 집계)
+     */
+    private static String fingerprint(byte[] data, long[] bytesRead) throws IOException {
+        return ContentFingerprint.compute(data.length, (position, buffer, offset, count) -> {
+            if (position >= data.length) {
+                return -1;
+            }
+            // 한 번에 일부만 돌려주는 provider 흉내
+            int read = (int) Math.min(Math.min(count, 10_000), data.length - position);
+            System.arraycopy(data, (int) position, buffer, offset, read);
+            bytesRead[0] += read;
+            return read;
+        });
+    }
+
+    @Test
+    public void fingerprintSamplesOnlyHeadMiddleAndTail() throws IOException {
+        byte[] data = randomBytes(8 * 1024 * 1024, 1);
+        long[] bytesRead = new long[1];
+        String first = fingerprint(data, bytesRead);
+
+        assertEquals(3L * ContentFingerprint.SAMPLE_BYTES, bytesRead[0]);
+        assertEquals(40, first.length());
+        assertEquals(first, fingerprint(data.clone(), new long[1]));
+    }
+
+    @Test
+    public void fingerprintChangesWithSampledContentOrLength() throws IOException {
+        byte[] data = randomBytes(1024 * 1024, 2);
+        String original = fingerprint(data, new long[1]);
+
+        for (int position : new int[] {0, data.length / 2, data.length - 1}) {
+            byte[] changed = data.clone();
+            changed[position] ^= 1;
+            assertNotEquals("position " + position, original, fingerprint(changed, new long[1]));
+        }
+
+        byte[] truncated = new byte[data.length - 1];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+        assertNotEquals(original, fingerprint(truncated, new long[1]));
+    }
+
+    @Test
+    public void fingerprintReadsSmallSourcesWhole() throws IOException {
+        byte[] data = randomBytes(100_000, 3);
+        long[] bytesRead = new long[1];
+        String original = fingerprint(data, bytesRead);
+        assertEquals(data.length, bytesRead[0]);
+
+        byte[] changed = data.clone();
+        changed[70_000] ^= 1;
+        assertNotEquals(original, fingerprint(changed, new long[1]));
+    }
+}
@@ -0,0 +1,178 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * FastStartRewriter moov 재배치 및 stco/co64 오프셋 보정 검증 (합성 MP4 박스 구조)
+ */
+public class FastStartRewriterTest {
+
+    private static final int CHUNK_BYTES = 1000;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("faststart", ".m4a");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private static byte[] box(String type, byte[]... children) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] child : children) {
+            body.write(child, 0, child.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8 + body.size());
+        buffer.putInt(8 + body.size()).put(type.getBytes(StandardCharsets.US_ASCII)).put(body.toByteArray());
+        return buffer.array();
+    }
+
+    private static byte[] chunkOffsetBox(boolean wide, long... offsets) {
+        ByteBuffer body = ByteBuffer.allocate(8 + offsets.length * (wide ? 8 : 4));
+        body.putInt(0).putInt(offsets.length);
+        for (long offset : offsets) {
+            if (wide) {
+                body.putLong(offset);
+            } else {
+                body.putInt((int) offset);
+            }
+        }
+        return box(wide ? "co64" : "stco", body.array());
+    }
+
+    private static byte[] moov(byte[] chunkOffsets) {
+        return box("moov", box("mvhd", new byte[100]),
+            box("trak", box("mdia", box("minf", box("stbl", box("stsd", new byte[16]), chunkOffsets)))));
+    }
+
+    /**
+     * ftyp + mdat(청크 3개, 각각 고유 패턴) + moov 구조 (MediaMuxer 출력과 같은 순서)
+     */
+    private static byte[] muxerLayout(boolean wide) {
+        byte[] ftyp = box("ftyp", "M4A isomM4A mp42".getBytes(StandardCharsets.US_ASCII));
+        byte[] payload = new byte[CHUNK_BYTES * 3];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i / CHUNK_BYTES + 1);
+        }
+        byte[] mdat = box("mdat", payload);
+        long first = ftyp.length + 8;
+        byte[] moov = moov(chunkOffsetBox(wide, first, first + CHUNK_BYTES, first + 2 * CHUNK_BYTES));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ftyp, 0, ftyp.length);
+        out.write(mdat, 0, mdat.length);
+        out.write(moov, 0, moov.length);
+        return out.toByteArray();
+    }
+
+    private void write(byte[] data) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(data);
+        }
+    }
+
+    private List<FastStartRewriter.Box> boxes() throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            return FastStartRewriter.readTopLevelBoxes(input.getChannel(), input.length());
+        }
+    }
+
+    /**
+     * 재배치 후 청크 오프셋이 가리키는 위치에 원래 청크 내용이 있는지 확인
+     */
+    private void assertChunksResolve(boolean wide) throws IOException {
+        byte[] data = Files.readAllBytes(file.toPath());
+        String tag = wide ? "co64" : "stco";
+        int index = new String(data, StandardCharsets.US_ASCII).indexOf(tag);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int count = buffer.getInt(index + 8);
+        assertEquals(3, count);
+        for (int i = 0; i < count; i++) {
+            long offset = wide ? buffer.getLong(index + 12 + i * 8) : buffer.getInt(index + 12 + i * 4) & 0xFFFFFFFFL;
+            byte[] expected = new byte[CHUNK_BYTES];
+            Arrays.fill(expected, (byte) (i + 1));
+            assertArrayEquals("chunk " + i, expected,
+                Arrays.copyOfRange(data, (int) offset, (int) offset + CHUNK_BYTES));
+        }
+    }
+
+    @Test
+    public void movesMoovBeforeMdatAndPatchesStco() throws IOException {
+        byte[] original = muxerLayout(false);
+        write(original);
+
+        assertTrue(FastStartRewriter.rewrite(file));
+
+        assertEquals(original.length, file.length());
+        List<FastStartRewriter.Box> boxes = boxes();
+        assertEquals(Arrays.asList("ftyp", "moov", "mdat"),
+            Arrays.asList(boxes.get(0).type, boxes.get(1).type, boxes.get(2).type));
+        assertChunksResolve(false);
+        assertFalse(new File(file.getPath() + ".faststart").exists());
+    }
+
+    @Test
+    public void patchesCo64Offsets() throws IOException {
+        write(muxerLayout(true));
+
+        assertTrue(FastStartRewriter.rewrite(file));
+        assertEquals("moov", boxes().get(1).type);
+        assertChunksResolve(true);
+    }
+
+    @Test
+    public void leavesFastStartAndNonMp4FilesUntouched() throws IOException {
+        write(muxerLayout(false));
+        assertTrue(FastStartRewriter.rewrite(file));
+        byte[] fastStart = Files.readAllBytes(file.toPath());
+
+        // 이미 moov가 앞에 있음
+        assertFalse(FastStartRewriter.rewrite(file));
+        assertArrayEquals(fastStart, Files.readAllBytes(file.toPath()));
+
+        // MP4가 아닌 파일 (WAV 헤더)
+        byte[] wav = "RIFF$\0\0\0WAVEfmt ".getBytes(StandardCharsets.US_ASCII);
+        write(wav);
+        assertFalse(FastStartRewriter.rewrite(file));
+        assertArrayEquals(wav, Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void refusesStcoOverflowAndBrokenBoxes() {
+        // 4GB 끝 근처 데이터가 moov 크기만큼 밀리면 stco(32bit)로 표현할 수 없음 → 보정 거부 (원본 유지)
+        byte[] moov = moov(chunkOffsetBox(false, 0x100, 0xFFFFFFF0L));
+        assertFalse(FastStartRewriter.patchChunkOffsets(ByteBuffer.wrap(moov), 0, moov.length,
+            0x100, 0x100000000L, moov.length));
+
+        // co64는 그대로 보정
+        byte[] wide = moov(chunkOffsetBox(true, 0x100, 0xFFFFFFF0L));
+        assertTrue(FastStartRewriter.patchChunkOffsets(ByteBuffer.wrap(wide), 0, wide.length,
+            0x100, 0x100000000L, wide.length));
+
+        // entry_count가 박스 크기를 넘으면 손상된 구조
+        byte[] broken = moov(chunkOffsetBox(false, 0x100));
+        int countIndex = new String(broken, StandardCharsets.US_ASCII).indexOf("stco") + 8;
+        ByteBuffer.wrap(broken).putInt(countIndex, 100);
+        assertFalse(FastStartRewriter.patchChunkOffsets(ByteBuffer.wrap(broken), 0, broken.length,
+            0, 0x1000, broken.length));
+    }
+}
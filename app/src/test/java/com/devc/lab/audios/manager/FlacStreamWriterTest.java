@@ -0,0 +1,184 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * FlacStreamWriter 메타데이터/seek table 검증 (합성 FLAC 프레임 헤더 사용)
+ */
+public class FlacStreamWriterTest {
+
+    private static final int SAMPLE_RATE = 44_100;
+    private static final int BLOCK_SIZE = 4096;
+    private static final int FRAME_BYTES = 1200;
+
+    private File output;
+
+    @Before
+    public void setUp() throws IOException {
+        output = File.createTempFile("flac-writer", ".flac");
+    }
+
+    @After
+    public void tearDown() {
+        output.delete();
+    }
+
+    @Test
+    public void writesStreamInfoAndSeekTable() throws IOException {
+        int frames = 400;   // 약 37초
+        FlacStreamWriter writer = new FlacStreamWriter(output, SAMPLE_RATE, 2, 16, (long) SAMPLE_RATE * 37);
+        assertEquals(4, writer.getSeekPointCapacity());
+
+        SampleInfo info = new SampleInfo();
+        ByteBuffer marker = ByteBuffer.wrap(new byte[] {'f', 'L', 'a', 'C', 0, 0, 0, 34});
+        info.set(0, marker.remaining(), 0, 0);
+        writer.writeSample(marker, info);   // 인코더 자체 헤더는 무시
+
+        for (int i = 0; i < frames; i++) {
+            ByteBuffer frame = ByteBuffer.wrap(fixedFrame(i));
+            info.set(0, frame.remaining(), 0, 0);
+            writer.writeSample(frame, info);
+        }
+        writer.setTotalSamples((long) frames * BLOCK_SIZE - 100);
+        writer.close();
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(output.toPath()));
+        long audioOffset = writer.getAudioOffset();
+        assertEquals(audioOffset + (long) frames * FRAME_BYTES, file.capacity());
+        assertEquals('f', file.get(0));
+        assertEquals('C', file.get(3));
+
+        // STREAMINFO
+        assertEquals(0, file.get(4));
+        assertEquals(FlacStreamWriter.STREAMINFO_SIZE, file.getInt(4) & 0xFFFFFF);
+        assertEquals(BLOCK_SIZE, file.getShort(8) & 0xFFFF);
+        assertEquals(BLOCK_SIZE, file.getShort(10) & 0xFFFF);
+        long packed = file.getLong(18);
+        assertEquals(SAMPLE_RATE, (int) (packed >>> 44));
+        assertEquals(1, (int) (packed >>> 41) & 0x7);
+        assertEquals(15, (int) (packed >>> 36) & 0x1F);
+        assertEquals((long) frames * BLOCK_SIZE, packed & 0xFFFFFFFFFL);
+
+        // SEEKTABLE (마지막 메타데이터 블록)
+        int seekHeader = file.getInt(42);
+        assertEquals(0x83, seekHeader >>> 24);
+        assertEquals(4 * FlacStreamWriter.SEEK_POINT_SIZE, seekHeader & 0xFFFFFF);
+        long interval = (long) SAMPLE_RATE * FlacStreamWriter.SEEK_POINT_INTERVAL_SECONDS;
+        for (int i = 0; i < 4; i++) {
+            int position = 46 + i * FlacStreamWriter.SEEK_POINT_SIZE;
+            long sample = file.getLong(position);
+            long offset = file.getLong(position + 8);
+            long frameIndex = (i * interval + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            assertEquals(frameIndex * BLOCK_SIZE, sample);
+            assertEquals(frameIndex * FRAME_BYTES, offset);
+            assertEquals(BLOCK_SIZE, file.getShort(position + 16) & 0xFFFF);
+
+            // 오프셋 위치에 실제 프레임 헤더가 있어야 함
+            assertEquals((byte) 0xFF, file.get((int) (audioOffset + offset)));
+        }
+    }
+
+    @Test
+    public void fillsUnusedSeekPointsWithPlaceholders() throws IOException {
+        FlacStreamWriter writer = new FlacStreamWriter(output, SAMPLE_RATE, 2, 16, (long) SAMPLE_RATE * 60);
+        for (int i = 0; i < 10; i++) {
+            byte[] frame = fixedFrame(i);
+            writer.writeFrames(ByteBuffer.wrap(frame), 0, frame.length);
+        }
+        writer.close();
+        assertEquals(1, writer.getSeekPointCount());
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(output.toPath()));
+        assertEquals(0, file.getLong(46));
+        for (int i = 1; i < writer.getSeekPointCapacity(); i++) {
+            assertEquals(-1L, file.getLong(46 + i * FlacStreamWriter.SEEK_POINT_SIZE));
+        }
+        assertEquals(10L * BLOCK_SIZE, file.getLong(18) & 0xFFFFFFFFFL);
+    }
+
+    @Test
+    public void countsSamplesOfBuffersWithSeveralFrames() throws IOException {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        batch.write(fixedFrame(0));
+        batch.write(fixedFrame(1));
+        byte[] bytes = batch.toByteArray();
+
+        FlacStreamWriter writer = new FlacStreamWriter(output, SAMPLE_RATE, 1, 16, 0);
+        writer.writeFrames(ByteBuffer.wrap(bytes), 0, bytes.length);
+        assertEquals(BLOCK_SIZE, writer.getTotalSamples());
+
+        writer.setTotalSamples(2L * BLOCK_SIZE);
+        writer.close();
+        assertEquals(2L * BLOCK_SIZE, writer.getTotalSamples());
+    }
+
+    @Test
+    public void parsesMultiByteFrameNumbers() throws IOException {
+        FlacStreamWriter.FrameHeader header = parse(fixedFrame(300));
+        assertFalse(header.variableBlockSize);
+        assertEquals(300, header.number);
+        assertEquals(BLOCK_SIZE, header.blockSize);
+
+        header = parse(fixedFrame(70_000));
+        assertEquals(70_000, header.number);
+    }
+
+    @Test
+    public void parsesVariableBlockSizeFrames() throws IOException {
+        // 가변 블록, 블록 크기 코드 7 (헤더 끝 16bit 값 + 1), 샘플 번호 1000
+        byte[] frame = {(byte) 0xFF, (byte) 0xF9, (byte) 0x79, 0x18,
+                        (byte) 0xC0 | (1000 >> 6), (byte) (0x80 | (1000 & 0x3F)), 0x03, (byte) 0xE7, 0};
+        FlacStreamWriter.FrameHeader header = parse(frame);
+        assertTrue(header.variableBlockSize);
+        assertEquals(1000, header.number);
+        assertEquals(1000, header.blockSize);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsDataWithoutSyncCode() throws IOException {
+        parse(new byte[] {0x12, 0x34, 0x56, 0x78, 0, 0});
+    }
+
+    private static FlacStreamWriter.FrameHeader parse(byte[] frame) throws IOException {
+        return FlacStreamWriter.parseFrameHeader(ByteBuffer.wrap(frame), 0, frame.length);
+    }
+
+    /**
+     * 고정 블록(4096) 스테레오 16bit 프레임 (헤더 + 채움 데이터)
+     */
+    private static byte[] fixedFrame(int frameNumber) {
+        byte[] frame = new byte[FRAME_BYTES];
+        frame[0] = (byte) 0xFF;
+        frame[1] = (byte) 0xF8;
+        frame[2] = (byte) 0xC9;     // 블록 크기 4096, 44.1kHz
+        frame[3] = 0x18;
+        byte[] number = utf8(frameNumber);
+        System.arraycopy(number, 0, frame, 4, number.length);
+        return frame;
+    }
+
+    private static byte[] utf8(int value) {
+        if (value < 0x80) {
+            return new byte[] {(byte) value};
+        }
+        if (value < 0x800) {
+            return new byte[] {(byte) (0xC0 | (value >> 6)), (byte) (0x80 | (value & 0x3F))};
+        }
+        if (value < 0x10000) {
+            return new byte[] {(byte) (0xE0 | (value >> 12)), (byte) (0x80 | ((value >> 6) & 0x3F)),
+                               (byte) (0x80 | (value & 0x3F))};
+        }
+        return new byte[] {(byte) (0xF0 | (value >> 18)), (byte) (0x80 | ((value >> 12) & 0x3F)),
+                           (byte) (0x80 | ((value >> 6) & 0x3F)), (byte) (0x80 | (value & 0x3F))};
+    }
+}
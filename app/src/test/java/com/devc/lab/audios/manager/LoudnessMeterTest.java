@@ -0,0 +1,151 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * LoudnessMeter BS.1770 측정 (EBU Tech 3341 방식의 합성 사인파) 및 평준화 gain 계산 검증
+ */
+public class LoudnessMeterTest {
+
+    private static final int BLOCK_FRAMES = 1024;
+
+    /**
+     * 모든 채널에 같은 1kHz 사인파 (진폭 dBFS)
+     */
+    private static float[] tone(double amplitudeDb, int rate, double seconds, int channels) {
+        int frames = (int) Math.round(rate * seconds);
+        double amplitude = Math.pow(10.0, amplitudeDb / 20.0);
+        float[] pcm = new float[frames * channels];
+        for (int i = 0; i < frames; i++) {
+            float value = (float) (amplitude * Math.sin(2 * Math.PI * 1000 * i / rate));
+            for (int c = 0; c < channels; c++) {
+                pcm[i * channels + c] = value;
+            }
+        }
+        return pcm;
+    }
+
+    private static void feed(LoudnessMeter meter, float[] pcm) {
+        int channels = meter.getChannelCount();
+        int frames = pcm.length / channels;
+        for (int offset = 0; offset < frames; offset += BLOCK_FRAMES) {
+            meter.process(pcm, offset, Math.min(BLOCK_FRAMES, frames - offset));
+        }
+    }
+
+    @Test
+    public void measuresReferenceToneAt48kAnd44k1() {
+        // 스테레오 1kHz -23dBFS → -23 LUFS (EBU Tech 3341 case 1)
+        for (int rate : new int[] {48_000, 44_100}) {
+            LoudnessMeter meter = new LoudnessMeter(rate, 2);
+            feed(meter, tone(-23, rate, 20, 2));
+            assertEquals("rate " + rate, -23.0, meter.getResult().integratedLufs, 0.1);
+        }
+    }
+
+    @Test
+    public void measures16BitPcm() {
+        LoudnessMeter meter = new LoudnessMeter(48_000, 2);
+        float[] pcm = tone(-33, 48_000, 5, 2);
+        short[] samples = new short[pcm.length];
+        for (int i = 0; i < pcm.length; i++) {
+            samples[i] = (short) Math.round(pcm[i] * 32767);
+        }
+        meter.process(samples, 0, samples.length / 2);
+        assertEquals(-33.0, meter.getResult().integratedLufs, 0.1);
+    }
+
+    @Test
+    public void gatesSilenceAndQuietPassages() {
+        // 무음은 절대 게이트(-70)로 제외
+        LoudnessMeter withSilence = new LoudnessMeter(48_000, 2);
+        feed(withSilence, tone(-23, 48_000, 10, 2));
+        feed(withSilence, new float[48_000 * 10 * 2]);
+        assertEquals(-23.0, withSilence.getResult().integratedLufs, 0.1);
+
+        // -36/-23/-36 dBFS 10/60/10초 → 상대 게이트(-10 LU)로 조용한 구간 제외 (EBU Tech 3341 case 3)
+        LoudnessMeter relative = new LoudnessMeter(48_000, 2);
+        feed(relative, tone(-36, 48_000, 10, 2));
+        feed(relative, tone(-23, 48_000, 60, 2));
+        feed(relative, tone(-36, 48_000, 10, 2));
+        assertEquals(-23.0, relative.getResult().integratedLufs, 0.1);
+
+        LoudnessMeter silent = new LoudnessMeter(48_000, 1);
+        feed(silent, new float[48_000]);
+        assertTrue(silent.getResult().isSilent());
+    }
+
+    @Test
+    public void measuresTruePeakBetweenSamples() {
+        // fs/4 사인파를 45도 위상으로 샘플링하면 샘플 peak는 -9dBFS지만 true peak는 -6dBTP
+        int rate = 48_000;
+        float[] pcm = new float[rate];
+        for (int i = 0; i < pcm.length; i++) {
+            pcm[i] = (float) (0.5 * Math.sin(Math.PI / 2 * i + Math.PI / 4));
+        }
+        LoudnessMeter meter = new LoudnessMeter(rate, 1);
+        feed(meter, pcm);
+        LoudnessMeter.Result result = meter.getResult();
+        assertEquals(-6.02, result.truePeakDb, 0.2);
+
+        LoudnessMeter tone = new LoudnessMeter(rate, 2);
+        feed(tone, tone(-6.02, rate, 2, 2));
+        assertEquals(-6.02, tone.getResult().truePeakDb, 0.1);
+    }
+
+    @Test
+    public void limitsNormalizationGainByTruePeak() {
+        // 조용한 입력은 목표까지 증폭
+        assertEquals(7.0, LoudnessNormalizer.computeGainDb(new LoudnessMeter.Result(-23, -12), -16), 1e-9);
+        // 증폭하면 true peak 상한(-1dBTP)을 넘는 경우는 상한까지만
+        assertEquals(3.0, LoudnessNormalizer.computeGainDb(new LoudnessMeter.Result(-23, -4), -16), 1e-9);
+        // 큰 입력은 감쇠
+        assertEquals(-6.0, LoudnessNormalizer.computeGainDb(new LoudnessMeter.Result(-10, -0.5), -16), 1e-9);
+        // 거의 무음은 최대 증폭 제한, 완전 무음은 그대로
+        assertEquals(LoudnessNormalizer.MAX_GAIN_DB,
+            LoudnessNormalizer.computeGainDb(new LoudnessMeter.Result(-60, -50), -16), 1e-9);
+        assertEquals(0.0, LoudnessNormalizer.computeGainDb(
+            new LoudnessMeter.Result(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY), -16), 1e-9);
+    }
+
+    @Test
+    public void targetCopiesKeepSettingsAndRejectInvalidLoudness() {
+        AudioTranscoder.Target target = new AudioTranscoder.Target(128_000, 48_000)
+            .withOpusPreset(AudioTranscoder.OpusPreset.SPEECH)
+            .withChannelMix(ChannelMix.MONO)
+            .withLoudnessTarget(-16);
+        AudioTranscoder.Target gained = target.withGain(3.5);
+        assertEquals(128_000, gained.bitrate);
+        assertEquals(48_000, gained.sampleRate);
+        assertEquals(AudioTranscoder.OpusPreset.SPEECH, gained.opusPreset);
+        assertEquals(ChannelMix.MONO, gained.channelMix);
+        assertEquals(-16, gained.loudnessTargetLufs, 0);
+        assertEquals(3.5, gained.gainDb, 0);
+        assertTrue(gained.normalizesLoudness());
+
+        // 0은 평준화 끔
+        assertFalse(target.withLoudnessTarget(0).normalizesLoudness());
+        for (double invalid : new double[] {5, Double.NaN, Double.NEGATIVE_INFINITY}) {
+            try {
+                target.withLoudnessTarget(invalid);
+                fail("accepted " + invalid + " LUFS");
+            } catch (IllegalArgumentException expected) {
+                // 거부
+            }
+        }
+    }
+
+    @Test
+    public void adapterAppliesGain() {
+        PcmFormatAdapter adapter = new PcmFormatAdapter(48_000, 2, 48_000, 2);
+        adapter.setGain(2f);
+        assertFalse(adapter.isPassthrough());
+        assertEquals(2, adapter.process(new short[] {1000, -1000, 20_000, -20_000}, 2));
+        assertArrayEquals(new short[] {2000, -2000, Short.MAX_VALUE, Short.MIN_VALUE},
+            Arrays.copyOf(adapter.getOutput(), 4));
+    }
+}
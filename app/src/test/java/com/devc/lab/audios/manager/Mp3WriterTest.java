@@ -0,0 +1,138 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Mp3Writer Xing/Info 태그와 TOC 검증 (합성 Layer III 프레임 사용)
+ */
+public class Mp3WriterTest {
+
+    // MPEG1 Layer III, CRC 없음, 44.1kHz, 조인트 스테레오
+    private static final int HEADER_BASE = 0xFFFB0040;
+    private static final int BITRATE_128 = 9;
+    private static final int BITRATE_320 = 14;
+
+    private File output;
+
+    @Before
+    public void setUp() throws IOException {
+        output = File.createTempFile("mp3-writer", ".mp3");
+    }
+
+    @After
+    public void tearDown() {
+        output.delete();
+    }
+
+    @Test
+    public void writesInfoTagForConstantBitrate() throws IOException {
+        Mp3Writer writer = new Mp3Writer(output);
+        for (int i = 0; i < 50; i++) {
+            byte[] frame = frame(BITRATE_128);
+            writer.writeFrame(ByteBuffer.wrap(frame), 0, frame.length);
+        }
+        writer.close();
+        assertFalse(writer.isVariableBitrate());
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(output.toPath()));
+        int tagSize = writer.getTagFrameSize();
+        assertEquals(tagSize + 50 * 417, file.capacity());
+
+        // 태그 프레임 헤더는 첫 프레임과 같은 버전/샘플레이트/채널
+        int header = file.getInt(0);
+        assertEquals(HEADER_BASE & 0xFFFF0CC0, header & 0xFFFF0CC0);
+        assertEquals(0, header & 0x200);
+
+        int tagOffset = 4 + 32;
+        assertEquals("Info", ascii(file, tagOffset));
+        assertEquals(Mp3Writer.XING_FLAGS, file.getInt(tagOffset + 4));
+        assertEquals(50, file.getInt(tagOffset + 8));
+        assertEquals(file.capacity(), file.getInt(tagOffset + 12));
+
+        // 첫 오디오 프레임은 태그 프레임 바로 뒤
+        assertEquals((byte) 0xFF, file.get(tagSize));
+    }
+
+    @Test
+    public void writesXingTagWithMonotonicToc() throws IOException {
+        Mp3Writer writer = new Mp3Writer(output);
+        long[] offsets = new long[9000];
+        long position = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            // 앞 절반은 128kbps, 뒤 절반은 320kbps
+            byte[] frame = frame(i < offsets.length / 2 ? BITRATE_128 : BITRATE_320);
+            offsets[i] = position;
+            position += frame.length;
+            writer.writeFrame(ByteBuffer.wrap(frame), 0, frame.length);
+        }
+        writer.close();
+        assertTrue(writer.isVariableBitrate());
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(output.toPath()));
+        int tagOffset = 4 + 32;
+        assertEquals("Xing", ascii(file, tagOffset));
+        assertEquals(offsets.length, file.getInt(tagOffset + 8));
+
+        long totalBytes = file.capacity();
+        int previous = -1;
+        for (int i = 0; i < Mp3Writer.TOC_SIZE; i++) {
+            int entry = file.get(tagOffset + 16 + i) & 0xFF;
+            assertTrue(entry >= previous);
+            previous = entry;
+
+            // 체크포인트 간격만큼의 오차 안에서 실제 프레임 위치와 일치
+            long frameIndex = (long) offsets.length * i / Mp3Writer.TOC_SIZE;
+            long expected = (writer.getTagFrameSize() + offsets[(int) frameIndex]) * 256 / totalBytes;
+            assertTrue("TOC[" + i + "] = " + entry + ", expected ~" + expected, Math.abs(entry - expected) <= 1);
+        }
+        // 절반 지점은 128kbps 구간이 끝나는 위치 (전체의 약 28%)
+        assertTrue((file.get(tagOffset + 16 + 50) & 0xFF) < 90);
+    }
+
+    @Test
+    public void usesMonoSideInfoOffset() throws IOException {
+        Mp3Writer writer = new Mp3Writer(output);
+        byte[] frame = frame(BITRATE_128);
+        frame[3] = (byte) 0xC0;     // 모노
+        writer.writeFrame(ByteBuffer.wrap(frame), 0, frame.length);
+        writer.close();
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(output.toPath()));
+        assertEquals("Info", ascii(file, 4 + 17));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsNonLayer3Frames() throws IOException {
+        // Layer II 헤더
+        byte[] frame = {(byte) 0xFF, (byte) 0xFD, (byte) 0x90, 0x40};
+        Mp3Writer.parseFrameHeader(ByteBuffer.wrap(frame), 0, frame.length);
+    }
+
+    private static byte[] frame(int bitrateIndex) {
+        int size = 144 * (bitrateIndex == BITRATE_320 ? 320_000 : 128_000) / 44_100;
+        byte[] frame = new byte[size];
+        int header = HEADER_BASE | (bitrateIndex << 12);
+        ByteBuffer.wrap(frame).putInt(header);
+        for (int i = 4; i < size; i++) {
+            frame[i] = (byte) i;
+        }
+        return frame;
+    }
+
+    private static String ascii(ByteBuffer buffer, int offset) {
+        char[] chars = new char[4];
+        for (int i = 0; i < 4; i++) {
+            chars[i] = (char) buffer.get(offset + i);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,185 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * PolyphaseResampler 정확도 검증 (사인파 SNR, aliasing 억제, 블록 분할 무관성) 및 처리량 측정
+ */
+public class PolyphaseResamplerBenchmarkTest {
+
+    private static final int BLOCK_FRAMES = 1024;
+
+    private static float[] sine(double frequency, int rate, int frames, int channels) {
+        float[] pcm = new float[frames * channels];
+        for (int i = 0; i < frames; i++) {
+            float value = (float) (0.5 * Math.sin(2 * Math.PI * frequency * i / rate));
+            for (int c = 0; c < channels; c++) {
+                pcm[i * channels + c] = value;
+            }
+        }
+        return pcm;
+    }
+
+    /**
+     * 블록 단위로 전체 입력을 변환 (마지막에 flush)
+     */
+    private static float[] resample(PolyphaseResampler resampler, float[] input, int blockFrames) {
+        int channels = resampler.getChannelCount();
+        int frames = input.length / channels;
+        float[] output = new float[(resampler.getMaxOutputFrames(frames) + resampler.getMaxOutputFrames(0))
+                                   * channels];
+        int produced = 0;
+        for (int offset = 0; offset < frames; offset += blockFrames) {
+            produced += resampler.process(input, offset, Math.min(blockFrames, frames - offset), output, produced);
+        }
+        produced += resampler.flush(output, produced);
+        float[] result = new float[produced * channels];
+        System.arraycopy(output, 0, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * 기대 사인파 대비 SNR (dB, 필터 가장자리 영향을 피해 가운데 구간만)
+     */
+    private static double snrDb(float[] actual, double frequency, int rate, int channels) {
+        int frames = actual.length / channels;
+        double signal = 0;
+        double noise = 0;
+        for (int i = frames / 10; i < frames - frames / 10; i++) {
+            double expected = 0.5 * Math.sin(2 * Math.PI * frequency * i / rate);
+            for (int c = 0; c < channels; c++) {
+                double error = actual[i * channels + c] - expected;
+                signal += expected * expected;
+                noise += error * error;
+            }
+        }
+        return 10 * Math.log10(signal / noise);
+    }
+
+    private static double rms(float[] pcm, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += pcm[i] * pcm[i];
+        }
+        return Math.sqrt(sum / (to - from));
+    }
+
+    @Test
+    public void converts48kTo44k1WithHighSnr() {
+        PolyphaseResampler resampler = new PolyphaseResampler(48_000, 44_100, 2);
+        float[] output = resample(resampler, sine(1000, 48_000, 48_000, 2), BLOCK_FRAMES);
+
+        assertEquals(44_100, output.length / 2);
+        double snr = snrDb(output, 1000, 44_100, 2);
+        assertTrue("SNR " + snr + " dB", snr > 80);
+    }
+
+    @Test
+    public void converts44k1To48kWithHighSnr() {
+        PolyphaseResampler resampler = new PolyphaseResampler(44_100, 48_000, 1);
+        float[] output = resample(resampler, sine(3000, 44_100, 44_100, 1), BLOCK_FRAMES);
+
+        assertEquals(48_000, output.length);
+        double snr = snrDb(output, 3000, 48_000, 1);
+        assertTrue("SNR " + snr + " dB", snr > 80);
+    }
+
+    @Test
+    public void downsamplesSpeechRatesWithHighSnr() {
+        float[] output16k = resample(new PolyphaseResampler(44_100, 16_000, 1),
+                                     sine(440, 44_100, 44_100, 1), BLOCK_FRAMES);
+        assertEquals(16_000, output16k.length);
+        assertTrue(snrDb(output16k, 440, 16_000, 1) > 80);
+
+        float[] output22k = resample(new PolyphaseResampler(48_000, 22_050, 2),
+                                     sine(2000, 48_000, 24_000, 2), BLOCK_FRAMES);
+        assertEquals(11_025, output22k.length / 2);
+        assertTrue(snrDb(output22k, 2000, 22_050, 2) > 80);
+    }
+
+    @Test
+    public void suppressesAliasingAboveOutputNyquist() {
+        // 12kHz는 16kHz 출력 Nyquist(8kHz) 위 - 그대로 두면 4kHz로 접혀 들어옴
+        float[] input = sine(12_000, 48_000, 48_000, 1);
+        float[] output = resample(new PolyphaseResampler(48_000, 16_000, 1), input, BLOCK_FRAMES);
+
+        double attenuationDb = 20 * Math.log10(rms(output, 1600, 14_400) / rms(input, 4800, 43_200));
+        assertTrue("attenuation " + attenuationDb + " dB", attenuationDb < -70);
+    }
+
+    @Test
+    public void outputDoesNotDependOnBlockSize() {
+        float[] input = sine(1000, 48_000, 10_000, 2);
+        float[] whole = resample(new PolyphaseResampler(48_000, 44_100, 2), input, 10_000);
+        float[] small = resample(new PolyphaseResampler(48_000, 44_100, 2), input, 37);
+        float[] single = resample(new PolyphaseResampler(48_000, 44_100, 2), input, 1);
+
+        assertArrayEquals(whole, small, 0f);
+        assertArrayEquals(whole, single, 0f);
+    }
+
+    @Test
+    public void preservesDcLevelAndTiming() {
+        // DC 이득 1, 임펄스 위치가 입력과 같은 시간축 (필터 지연 보정)
+        float[] dc = new float[4800];
+        Arrays.fill(dc, 0.25f);
+        float[] dcOut = resample(new PolyphaseResampler(48_000, 16_000, 1), dc, BLOCK_FRAMES);
+        assertEquals(0.25f, dcOut[dcOut.length / 2], 1e-5f);
+
+        float[] impulse = new float[4800];
+        impulse[2400] = 1f;
+        float[] impulseOut = resample(new PolyphaseResampler(48_000, 16_000, 1), impulse, BLOCK_FRAMES);
+        int peak = 0;
+        for (int i = 1; i < impulseOut.length; i++) {
+            if (impulseOut[i] > impulseOut[peak]) {
+                peak = i;
+            }
+        }
+        assertEquals(800, peak);
+    }
+
+    @Test
+    public void rejectsRatiosWithTooManyPhases() {
+        assertTrue(PolyphaseResampler.isSupported(48_000, 44_100));
+        assertTrue(PolyphaseResampler.isSupported(8_000, 44_100));
+        assertFalse(PolyphaseResampler.isSupported(44_100, 44_101));
+    }
+
+    @Test
+    public void benchmark_framesPerSecond() {
+        // 10분 분량 스테레오 48k → 44.1k
+        int frames = 48_000 * 60 * 10;
+        float[] input = sine(1000, 48_000, BLOCK_FRAMES * 4, 2);
+        PolyphaseResampler resampler = new PolyphaseResampler(48_000, 44_100, 2);
+        float[] output = new float[resampler.getMaxOutputFrames(BLOCK_FRAMES) * 2];
+
+        // JIT 워밍업
+        for (int i = 0; i < 2000; i++) {
+            resampler.process(input, (i % 4) * BLOCK_FRAMES, BLOCK_FRAMES, output, 0);
+        }
+
+        int rounds = 3;
+        long bestNs = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            resampler.reset();
+            long produced = 0;
+            long begin = System.nanoTime();
+            for (int offset = 0; offset < frames; offset += BLOCK_FRAMES) {
+                produced += resampler.process(input, (offset / BLOCK_FRAMES % 4) * BLOCK_FRAMES, BLOCK_FRAMES,
+                                              output, 0);
+            }
+            produced += resampler.flush(output, 0);
+            bestNs = Math.min(bestNs, System.nanoTime() - begin);
+            assertEquals(44_100L * 60 * 10, produced);
+        }
+
+        double realtime = frames / 48_000.0 / (bestNs / 1e9);
+        System.out.println(String.format("PolyphaseResampler: %d taps, %d frames in %.1f ms -> %.0fx realtime",
+            resampler.getTapCount(), frames, bestNs / 1e6, realtime));
+        assertTrue(realtime > 1);
+    }
+}
@@ -0,0 +1,173 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * SampleCopyKernel 동작 검증 및 처리량 측정 (합성 AAC 크기 프레임 사용)
+ */
+public class SampleCopyKernelBenchmarkTest {
+
+    private static final int FRAME_BYTES = 372;            // 128kbps/44.1kHz AAC 평균 프레임 크기
+    private static final long FRAME_DURATION_US = 23_220;  // 1024 samples @ 44.1kHz
+
+    /**
+     * 고정 크기 프레임을 만들어내는 합성 소스
+     */
+    private static class SyntheticSource implements SampleSource {
+        private final int frameCount;
+        private final byte[] payload = new byte[FRAME_BYTES];
+        private int index;
+
+        SyntheticSource(int frameCount) {
+            this.frameCount = frameCount;
+        }
+
+        @Override
+        public long getSampleTime() {
+            return index < frameCount ? index * FRAME_DURATION_US : -1;
+        }
+
+        @Override
+        public int getSampleFlags() {
+            return 1;
+        }
+
+        @Override
+        public int readSampleData(ByteBuffer buffer, int offset) {
+            if (index >= frameCount) {
+                return -1;
+            }
+            buffer.position(offset);
+            buffer.put(payload);
+            buffer.position(offset);
+            return FRAME_BYTES;
+        }
+
+        @Override
+        public boolean advance() {
+            index++;
+            return index < frameCount;
+        }
+    }
+
+    /**
+     * 기록된 샘플을 세기만 하는 출력
+     */
+    private static class CountingSink implements SampleSink {
+        int samples;
+        long bytes;
+        long firstPtsUs;
+        long lastPtsUs;
+
+        @Override
+        public void writeSample(ByteBuffer buffer, SampleInfo info) {
+            if (samples == 0) {
+                firstPtsUs = info.presentationTimeUs;
+            }
+            lastPtsUs = info.presentationTimeUs;
+            samples++;
+            bytes += info.size;
+        }
+    }
+
+    @Test
+    public void copy_stopsAtEndTimeAndRebasesTimestamps() throws Exception {
+        SyntheticSource source = new SyntheticSource(1000);
+        CountingSink sink = new CountingSink();
+        ByteBuffer buffer = DirectBufferPool.acquire(FRAME_BYTES);
+
+        SampleCopyKernel.Result result = new SampleCopyKernel()
+            .setEndTimeUs(100 * FRAME_DURATION_US)
+            .setPtsOffsetUs(10 * FRAME_DURATION_US)
+            .copy(source, sink, buffer);
+        DirectBufferPool.release(buffer);
+
+        assertEquals(100, result.sampleCount);
+        assertTrue(result.reachedEndTime);
+        assertEquals(100L * FRAME_BYTES, sink.bytes);
+        assertEquals(-10 * FRAME_DURATION_US, sink.firstPtsUs);
+        assertEquals(89 * FRAME_DURATION_US, sink.lastPtsUs);
+    }
+
+    @Test
+    public void copy_throttlesProgressCallbacks() throws Exception {
+        int frameCount = 200_000;
+        final int[] calls = {0};
+        final long[] lastProcessed = {-1};
+
+        new SampleCopyKernel()
+            .setProgress(0, frameCount * FRAME_DURATION_US, (processedUs, totalUs) -> {
+                assertTrue(processedUs >= lastProcessed[0]);
+                lastProcessed[0] = processedUs;
+                calls[0]++;
+            })
+            .setProgressThrottle(0, 1)
+            .copy(new SyntheticSource(frameCount), new CountingSink(), ByteBuffer.allocateDirect(FRAME_BYTES));
+
+        // 1% 단위로만 보고 (최대 101회)
+        assertTrue("progress calls: " + calls[0], calls[0] <= 101);
+        assertTrue(calls[0] >= 99);
+    }
+
+    @Test
+    public void copy_throwsWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            new SampleCopyKernel().copy(new SyntheticSource(10), new CountingSink(), ByteBuffer.allocate(FRAME_BYTES));
+            fail("InterruptedException expected");
+        } catch (InterruptedException expected) {
+            assertFalse(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void directBufferPool_reusesReleasedBuffer() {
+        ByteBuffer first = DirectBufferPool.acquire(200_000);
+        DirectBufferPool.release(first);
+        ByteBuffer second = DirectBufferPool.acquire(100_000);
+        DirectBufferPool.release(second);
+
+        assertSame(first, second);
+        assertTrue(second.isDirect());
+        assertTrue(second.capacity() >= 200_000);
+    }
+
+    @Test
+    public void benchmark_samplesPerSecond() throws Exception {
+        // 2시간 분량 (약 31만 프레임)
+        int frameCount = (int) (2L * 60 * 60 * 1_000_000 / FRAME_DURATION_US);
+        ByteBuffer buffer = DirectBufferPool.acquire(FRAME_BYTES);
+        MediaProcessingEngine.ProgressCallback noop = (processedUs, totalUs) -> { };
+
+        // JIT 워밍업
+        for (int i = 0; i < 3; i++) {
+            new SampleCopyKernel()
+                .setProgress(0, frameCount * FRAME_DURATION_US, noop)
+                .copy(new SyntheticSource(frameCount), new CountingSink(), buffer);
+        }
+
+        int rounds = 5;
+        long bestNs = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            CountingSink sink = new CountingSink();
+            long begin = System.nanoTime();
+            new SampleCopyKernel()
+                .setProgress(0, frameCount * FRAME_DURATION_US, noop)
+                .copy(new SyntheticSource(frameCount), sink, buffer);
+            bestNs = Math.min(bestNs, System.nanoTime() - begin);
+            assertEquals(frameCount, sink.samples);
+        }
+        DirectBufferPool.release(buffer);
+
+        double samplesPerSecond = frameCount / (bestNs / 1e9);
+        System.out.println(String.format("SampleCopyKernel: %d samples in %.1f ms -> %.0f samples/s",
+            frameCount, bestNs / 1e6, samplesPerSecond));
+        assertTrue(samplesPerSecond > 0);
+    }
+}
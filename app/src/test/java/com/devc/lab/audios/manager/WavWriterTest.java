@@ -0,0 +1,155 @@
+package com.devc.lab.audios.manager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * WavWriter 헤더/데이터 검증 (RF64 전환은 낮은 임계값으로 확인)
+ */
+public class WavWriterTest {
+
+    private File output;
+
+    @Before
+    public void setUp() throws IOException {
+        output = File.createTempFile("wav-writer", ".wav");
+    }
+
+    @After
+    public void tearDown() {
+        output.delete();
+    }
+
+    @Test
+    public void writesRiffHeaderAndSamples() throws IOException {
+        short[] samples = ramp(1000 * 2);
+        try (WavWriter writer = new WavWriter(output, 44_100, 2)) {
+            writer.writePcm(samples, 0, 400);
+            writer.writePcm(samples, 400, 600);
+            assertEquals(1000, writer.getFrameCount());
+        }
+
+        ByteBuffer file = readFile();
+        assertEquals(WavWriter.HEADER_SIZE + 4000, file.capacity());
+        assertEquals("RIFF", id(file, 0));
+        assertEquals(WavWriter.HEADER_SIZE - 8 + 4000, file.getInt(4));
+        assertEquals("WAVE", id(file, 8));
+        assertEquals("JUNK", id(file, 12));
+        assertEquals("fmt ", id(file, 48));
+        assertEquals(1, file.getShort(56));
+        assertEquals(2, file.getShort(58));
+        assertEquals(44_100, file.getInt(60));
+        assertEquals(44_100 * 4, file.getInt(64));
+        assertEquals(4, file.getShort(68));
+        assertEquals(16, file.getShort(70));
+        assertEquals("data", id(file, 72));
+        assertEquals(4000, file.getInt(76));
+
+        for (int i = 0; i < samples.length; i++) {
+            assertEquals(samples[i], file.getShort(WavWriter.HEADER_SIZE + i * 2));
+        }
+    }
+
+    @Test
+    public void writesAcrossBufferBoundary() throws IOException {
+        // 1MB 내부 버퍼보다 큰 입력 (모노 70만 프레임 = 1.4MB)
+        short[] samples = ramp(700_000);
+        try (WavWriter writer = new WavWriter(output, 48_000, 1)) {
+            writer.writePcm(samples, 0, samples.length);
+        }
+
+        ByteBuffer file = readFile();
+        assertEquals(samples.length * 2, file.getInt(76));
+        for (int i = 0; i < samples.length; i += 997) {
+            assertEquals(samples[i], file.getShort(WavWriter.HEADER_SIZE + i * 2));
+        }
+        assertEquals(samples[samples.length - 1],
+                     file.getShort(WavWriter.HEADER_SIZE + (samples.length - 1) * 2));
+    }
+
+    @Test
+    public void writesByteBuffers() throws IOException {
+        ByteBuffer pcm = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        pcm.putShort((short) 1).putShort((short) -1).putShort((short) 300).putShort((short) -300);
+        pcm.flip();
+
+        try (WavWriter writer = new WavWriter(output, 8_000, 2)) {
+            writer.write(pcm);
+            writer.writePcm(new short[] {7, 8}, 0, 1);
+        }
+
+        ByteBuffer file = readFile();
+        assertEquals(12, file.getInt(76));
+        assertEquals(-300, file.getShort(WavWriter.HEADER_SIZE + 6));
+        assertEquals(8, file.getShort(WavWriter.HEADER_SIZE + 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsPartialFrames() throws IOException {
+        try (WavWriter writer = new WavWriter(output, 8_000, 2)) {
+            writer.write(ByteBuffer.allocate(6));
+        }
+    }
+
+    @Test
+    public void switchesToRf64AboveThreshold() throws IOException {
+        short[] samples = ramp(512);
+        WavWriter writer = new WavWriter(output, 44_100, 1, 1000);
+        writer.writePcm(samples, 0, samples.length);
+        writer.close();
+        assertTrue(writer.isRf64());
+
+        ByteBuffer file = readFile();
+        long dataSize = samples.length * 2;
+        assertEquals("RF64", id(file, 0));
+        assertEquals(0xFFFFFFFF, file.getInt(4));
+        assertEquals("ds64", id(file, 12));
+        assertEquals(28, file.getInt(16));
+        assertEquals(WavWriter.HEADER_SIZE - 8 + dataSize, file.getLong(20));
+        assertEquals(dataSize, file.getLong(28));
+        assertEquals(samples.length, file.getLong(36));
+        assertEquals(0, file.getInt(44));
+        assertEquals("data", id(file, 72));
+        assertEquals(0xFFFFFFFF, file.getInt(76));
+        assertEquals(samples[100], file.getShort(WavWriter.HEADER_SIZE + 200));
+    }
+
+    @Test
+    public void staysRiffAtThreshold() throws IOException {
+        WavWriter writer = new WavWriter(output, 44_100, 1, WavWriter.HEADER_SIZE - 8 + 1024);
+        writer.writePcm(ramp(512), 0, 512);
+        writer.close();
+
+        assertFalse(writer.isRf64());
+        assertEquals("RIFF", id(readFile(), 0));
+    }
+
+    private ByteBuffer readFile() throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(output.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static String id(ByteBuffer buffer, int offset) {
+        char[] chars = new char[4];
+        for (int i = 0; i < 4; i++) {
+            chars[i] = (char) buffer.get(offset + i);
+        }
+        return new String(chars);
+    }
+
+    private static short[] ramp(int count) {
+        short[] samples = new short[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = (short) (i * 31);
+        }
+        return samples;
+    }
+}